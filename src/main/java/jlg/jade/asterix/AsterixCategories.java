@@ -0,0 +1,94 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import jlg.jade.asterix.cat004.Cat004Category;
+import jlg.jade.asterix.cat034.Cat034Category;
+import jlg.jade.asterix.cat048.Cat048Category;
+import jlg.jade.asterix.cat062.Cat062Category;
+import jlg.jade.asterix.cat065.Cat065Category;
+import jlg.jade.asterix.cat150.Cat150Category;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.ServiceLoader;
+
+/**
+ * The supported Asterix categories, in a table indexed by category number, so finding the
+ * category of a data block is a single array load.
+ * The table holds the categories of the library (004, 034, 048, 062, 065, 150) and the
+ * categories found by ServiceLoader when this class is initialized. A category provided through
+ * ServiceLoader replaces the library implementation of the same category. Categories can also be
+ * registered by the application with the register method.
+ *
+ * @implNote The table is copied when a category is registered, so it can be read by decoding
+ * threads without locking
+ */
+public final class AsterixCategories {
+    private static final int NB_OF_CATEGORIES = 256;
+
+    private static volatile AsterixCategoryPlugin<?>[] categories = loadCategories();
+
+    private AsterixCategories() {
+    }
+
+    /**
+     * @return The category with the given number, or null if it is not supported
+     */
+    public static AsterixCategoryPlugin<?> get(int category) {
+        return categories[category & 0xFF];
+    }
+
+    public static boolean isSupported(int category) {
+        return get(category) != null;
+    }
+
+    /**
+     * @return The numbers of the supported categories, in ascending order
+     */
+    public static int[] getCategoryNumbers() {
+        AsterixCategoryPlugin<?>[] current = categories;
+        int[] numbers = new int[NB_OF_CATEGORIES];
+        int nbCategories = 0;
+        for (int category = 0; category < NB_OF_CATEGORIES; category++) {
+            if (current[category] != null) {
+                numbers[nbCategories++] = category;
+            }
+        }
+        return Arrays.copyOf(numbers, nbCategories);
+    }
+
+    /**
+     * Adds a category, or replaces the category with the same number. Data blocks already being
+     * decoded keep the previous category.
+     */
+    public static synchronized void register(AsterixCategoryPlugin<?> category) {
+        Assert.notNull(category, "The category is mandatory");
+        AsterixCategoryPlugin<?>[] copy = categories.clone();
+        copy[checkCategory(category)] = category;
+        categories = copy;
+    }
+
+    private static AsterixCategoryPlugin<?>[] loadCategories() {
+        AsterixCategoryPlugin<?>[] table = new AsterixCategoryPlugin<?>[NB_OF_CATEGORIES];
+        AsterixCategoryPlugin<?>[] libraryCategories = {new Cat004Category(), new Cat034Category(),
+                new Cat048Category(), new Cat062Category(), new Cat065Category(), new Cat150Category()};
+        for (AsterixCategoryPlugin<?> category : libraryCategories) {
+            table[category.getCategory()] = category;
+        }
+        for (AsterixCategoryPlugin<?> category : ServiceLoader.load(AsterixCategoryPlugin.class)) {
+            table[checkCategory(category)] = category;
+        }
+        return table;
+    }
+
+    private static int checkCategory(AsterixCategoryPlugin<?> category) {
+        int number = category.getCategory();
+        Assert.isTrue(number >= 0 && number < NB_OF_CATEGORIES, "Invalid Asterix category " + number +
+                " of " + category.getClass().getName());
+        return number;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import jlg.jade.asterix.counters.ArrayItemCounter;
+
+/**
+ * Plugin interface of an Asterix category. A category creates the records decoded from its data
+ * blocks, and optionally describes their layout and counts their items.
+ * The categories supported by the library are always available. Other categories (eg. in-house
+ * categories) are added without modifying the library by a ServiceLoader provider: a class
+ * implementing this interface, with a public no-argument constructor, listed in the
+ * META-INF/services/jlg.jade.asterix.AsterixCategoryPlugin file of its jar. See AsterixCategories.
+ *
+ * @param <R> The type of record of the category (eg. Cat062Record)
+ */
+public interface AsterixCategoryPlugin<R extends FspecAsterixData> {
+    /**
+     * @return The category number, from 0 to 255
+     */
+    int getCategory();
+
+    /**
+     * @return The class of the records of the category
+     */
+    Class<R> getRecordType();
+
+    /**
+     * Creates an empty record, to be decoded
+     *
+     * @param reservedFieldFactory The custom factory of the SP and RE fields, or null for the
+     *                             default fields. Categories without SP and RE fields ignore it.
+     */
+    R createRecord(ReservedFieldFactory reservedFieldFactory);
+
+    /**
+     * @return The SAC/SIC label of a decoded record (see AsterixStringDecoder.sacSicLabel), or NA
+     * if the record has no data source identifier
+     */
+    default String getSacSicCode(R record) {
+        return "NA";
+    }
+
+    /**
+     * @return The length layout of a complete record, used to find the record boundaries without
+     * decoding the records, or null if the category has no layout
+     */
+    default AsterixItemLayout getRecordLayout() {
+        return null;
+    }
+
+    /**
+     * @return A new counter of the items of the records, used by the DefaultDecodingReport, or
+     * null if the items are not counted
+     */
+    default ArrayItemCounter<R> createItemCounter() {
+        return null;
+    }
+}
@@ -8,11 +8,13 @@ package jlg.jade.asterix;
 
 import jlg.jade.common.DebugMessageSource;
 import jlg.jade.common.Decodable;
+import jlg.jade.metrics.JfrEvents;
 import org.springframework.util.Assert;
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The application data is transmitted over the communication medium via one or a concatenation of
@@ -24,6 +26,15 @@ public class AsterixDataBlock extends DebugMessageSource implements Decodable {
     private final int category;
     private final List<AsterixRecord> records;
     private ReservedFieldFactory customReservedFieldFactory;
+    private DecodeProfiler profiler;
+    private DecodingErrorMode errorMode = DecodingErrorMode.THROW;
+    private DecodingLimits limits = DecodingLimits.NONE;
+    private ValidationMode validationMode = ValidationMode.INLINE;
+    private boolean debugMessages = true;
+    private boolean lazyCompoundItems;
+    private ParallelRecordDecoding parallelDecoding;
+    private List<AsterixItem> pendingValidations;
+    private AsterixDecodingError decodingError;
 
     /**
      * Create an Asterix data block for the specified category
@@ -57,56 +68,64 @@ public class AsterixDataBlock extends DebugMessageSource implements Decodable {
      * @param offset The start offset in the raw data, at which reading should begin
      * @param length The number of bytes to read
      * @return The new offset in the raw data
+     * @implNote With the REPORT error mode, the record where an error is found is dropped, the
+     * error is available through getDecodingError and the end of the data block is returned
      */
     public int decode(byte[] input, int offset, int length) {
-        while (offset < length) {
-            AsterixRecord record = buildAsterixRecord(category, customReservedFieldFactory);
+        Object event = JfrEvents.beginDataBlockDecode();
+        int startOffset = offset;
+        int nbRecordsBefore = records.size();
+        boolean reporting = errorMode == DecodingErrorMode.REPORT;
+        if (validationMode == ValidationMode.DEFERRED && pendingValidations == null) {
+            pendingValidations = new ArrayList<>();
+        }
+        //always started, even with the default settings, so a data block decoded while the thread is
+        //decoding another one (nested decoding, fork join tasks) does not use the context of the other
+        DecodingContext context = DecodingContext.start(reporting, limits, validationMode, pendingValidations,
+                debugMessages, lazyCompoundItems);
+        DecodingContext errors = reporting ? context : null;
 
-            offset = record.decode(input, offset, length);
+        try {
+            if (parallelDecoding != null && !reporting && validationMode != ValidationMode.DEFERRED &&
+                    profiler == null) {
+                offset = decodeInParallel(input, offset, length);
+            }
+            while (offset < length) {
+                AsterixRecord record = buildAsterixRecord(category, customReservedFieldFactory);
 
-            //append logs
-            switch (category) {
-                case 4: {
-                    appendNewLine();
-                    appendDebugMsg(record.getCat004Record().getDebugString());
-                    break;
-                }
-                case 34: {
-                    appendNewLine();
-                    appendDebugMsg(record.getCat034Record().getDebugString());
-                    break;
-                }
-                case 48: {
-                    appendNewLine();
-                    appendDebugMsg(record.getCat048Record().getDebugString());
-                    break;
-                }
-                case 62: {
-                    appendNewLine();
-                    appendDebugMsg(record.getCat062Record().getDebugString());
-                    break;
-                }
-                case 65: {
-                    appendNewLine();
-                    appendDebugMsg(record.getCat065Record().getDebugString());
-                    break;
-                }
-                case 150: {
-                    appendNewLine();
-                    appendDebugMsg(record.getCat150Record().getDebugString());
-                    break;
-                }
-                default: {
-                    break;
+                if (errors == null) {
+                    offset = decodeRecord(record, input, offset, length);
+                } else {
+                    int recordOffset = offset;
+                    try {
+                        offset = decodeRecord(record, input, offset, length);
+                    } catch (RuntimeException e) {
+                        errors.record(DecodingErrorCode.RECORD_DECODING_FAILED, recordOffset, null);
+                    }
+                    if (!errors.hasError() && offset > length) {
+                        errors.record(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, recordOffset, null);
+                    }
+                    if (errors.hasError()) {
+                        decodingError = errors.toError(category);
+                        offset = length;
+                        break;
+                    }
                 }
+
+                appendRecordDebugMsg(record);
+                records.add(record);
             }
+        } finally {
+            context.stop();
+        }
 
-            records.add(record);
+        if (JfrEvents.shouldCommit(event)) {
+            JfrEvents.commitDataBlockDecode(event, category, offset - startOffset, records.size() - nbRecordsBefore,
+                    countInvalidRecords(records.subList(nbRecordsBefore, records.size())));
         }
         return offset;
     }
 
-
     /**
      * Encodes the current Asterix data block into a byte array, that can be then sent over the
      * network
@@ -131,6 +150,137 @@ public class AsterixDataBlock extends DebugMessageSource implements Decodable {
         return records;
     }
 
+    /**
+     * Validates the items whose validation was deferred while decoding (DEFERRED validation mode).
+     * Items already validated by a call to isValid are not validated again. Does nothing for the
+     * other validation modes.
+     *
+     * @return The number of invalid items among the deferred ones
+     */
+    public int validate() {
+        if (pendingValidations == null) {
+            return 0;
+        }
+        int nbInvalidItems = 0;
+        for (AsterixItem item : pendingValidations) {
+            if (!item.isValid()) {
+                nbInvalidItems++;
+            }
+        }
+        pendingValidations.clear();
+        return nbInvalidItems;
+    }
+
+    /**
+     * @return The error found while decoding the data block with the REPORT error mode, or null if
+     * the data block was decoded successfully
+     */
+    public AsterixDecodingError getDecodingError() {
+        return decodingError;
+    }
+
+    public boolean hasDecodingError() {
+        return decodingError != null;
+    }
+
+    void setDecodingError(AsterixDecodingError decodingError) {
+        this.decodingError = decodingError;
+    }
+
+    void setErrorMode(DecodingErrorMode errorMode) {
+        this.errorMode = errorMode;
+    }
+
+    void setLimits(DecodingLimits limits) {
+        this.limits = limits;
+    }
+
+    void setValidationMode(ValidationMode validationMode) {
+        this.validationMode = validationMode;
+    }
+
+    void setDebugMessages(boolean debugMessages) {
+        this.debugMessages = debugMessages;
+    }
+
+    void setLazyCompoundItems(boolean lazyCompoundItems) {
+        this.lazyCompoundItems = lazyCompoundItems;
+    }
+
+    /**
+     * @param parallelDecoding The parallel decoding of the records of large data blocks, or null
+     */
+    void setParallelDecoding(ParallelRecordDecoding parallelDecoding) {
+        this.parallelDecoding = parallelDecoding;
+    }
+
+    /**
+     * @param profiler The profiler measuring the decoding cost of the records, or null
+     */
+    void setProfiler(DecodeProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    static int countInvalidRecords(List<AsterixRecord> records) {
+        int nbInvalidRecords = 0;
+        for (AsterixRecord record : records) {
+            if (!record.isValid()) {
+                nbInvalidRecords++;
+            }
+        }
+        return nbInvalidRecords;
+    }
+
+    /**
+     * Decodes the records of the data block in parallel, if the data block is large enough and its
+     * record boundaries are found by the pre-scan (see ParallelRecordDecoding).
+     *
+     * @return The end of the data block if its records were decoded, the given offset if they must
+     * be decoded sequentially
+     */
+    private int decodeInParallel(byte[] input, int offset, int length) {
+        int[] recordOffsets = parallelDecoding.findParallelRecords(category, input, offset, length);
+        if (recordOffsets == null) {
+            return offset;
+        }
+        AsterixRecord[] decodedRecords = new AsterixRecord[recordOffsets.length - 1];
+        RuntimeException[] failures = new RuntimeException[decodedRecords.length];
+        //always started, so tasks run by a thread decoding another data block do not use its context
+        Supplier<DecodingContext> contextStarter = () -> DecodingContext.start(false, limits, validationMode, null,
+                debugMessages, lazyCompoundItems);
+        if (!parallelDecoding.decode(decodedRecords, failures, index -> buildAsterixRecord(category,
+                customReservedFieldFactory), input, recordOffsets, length, contextStarter)) {
+            return offset;
+        }
+        for (int i = 0; i < decodedRecords.length; i++) {
+            if (failures[i] != null) {
+                throw failures[i];
+            }
+            appendRecordDebugMsg(decodedRecords[i]);
+            records.add(decodedRecords[i]);
+        }
+        return length;
+    }
+
+    private void appendRecordDebugMsg(AsterixRecord record) {
+        FspecAsterixData categoryRecord = record.getCategoryRecord();
+        if (categoryRecord != null) {
+            appendNewLine();
+            appendDebugMsg(categoryRecord.getDebugString());
+        }
+    }
+
+    private int decodeRecord(AsterixRecord record, byte[] input, int offset, int length) {
+        if (profiler != null && profiler.startRecord(category)) {
+            try {
+                return record.decode(input, offset, length);
+            } finally {
+                profiler.endRecord();
+            }
+        }
+        return record.decode(input, offset, length);
+    }
+
     /**
      * Build an Asterix record, by calling the appropriate constructor.
      *
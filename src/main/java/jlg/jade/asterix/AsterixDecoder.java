@@ -6,11 +6,16 @@
 */
 package jlg.jade.asterix;
 
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.metrics.JfrEvents;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Main class for decoding raw data from the input communication medium.
@@ -19,67 +24,45 @@ import java.util.List;
  * multiple times
  */
 public class AsterixDecoder {
-    private final HashMap<Integer, Boolean> allowedCategories;
-    private final HashMap<Integer, Integer> nbOfDataBlocks;
-    private final HashMap<Integer, ReservedFieldFactory> customReservedFieldFactories;
-
-    private AsterixDecoder() {
-        allowedCategories = new HashMap<>();
-        allowedCategories.put(4, false);
-        allowedCategories.put(34, false);
-        allowedCategories.put(48, false);
-        allowedCategories.put(62, false);
-        allowedCategories.put(65, false);
-        allowedCategories.put(150, false);
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
 
-        nbOfDataBlocks = new HashMap<>();
-        nbOfDataBlocks.put(4, 0);
-        nbOfDataBlocks.put(34, 0);
-        nbOfDataBlocks.put(48, 0);
-        nbOfDataBlocks.put(62, 0);
-        nbOfDataBlocks.put(65, 0);
-        nbOfDataBlocks.put(150, 0);
-
-        customReservedFieldFactories = new HashMap<>();
-    }
+    private final AsterixDecoderConfigurationHolder configuration;
+    private final HashMap<Integer, Integer> nbOfDataBlocks;
 
     public AsterixDecoder(int... categoriesToDecode) {
-        this();
+        this(new AsterixDecoderConfigurationHolder(AsterixDecoderConfiguration.of(categoriesToDecode)));
         for (int category : categoriesToDecode) {
-            allowedCategories.put(category, true);
             nbOfDataBlocks.put(category, 0);
         }
     }
 
 
     public AsterixDecoder(String categoriesToDecode) {
-        this();
-        if (categoriesToDecode.contains("4")) {
-            allowedCategories.put(4, true);
-        }
-        if (categoriesToDecode.contains("34")) {
-            allowedCategories.put(34, true);
-        }
-        if (categoriesToDecode.contains("48")) {
-            allowedCategories.put(48, true);
-        }
-        if (categoriesToDecode.contains("62")) {
-            allowedCategories.put(62, true);
-        }
-        if (categoriesToDecode.contains("65")) {
-            allowedCategories.put(65, true);
-        }
-        if (categoriesToDecode.contains("150")) {
-            allowedCategories.put(150, true);
-        }
+        this(new AsterixDecoderConfigurationHolder(AsterixDecoderConfiguration.of(
+                parseCategories(categoriesToDecode))));
     }
 
     public AsterixDecoder(List<Integer> categoriesToDecode) {
-        this();
-        allowedCategories.clear();
+        this(new AsterixDecoderConfigurationHolder(AsterixDecoderConfiguration.of(
+                categoriesToDecode.stream().mapToInt(Integer::intValue).toArray())));
         nbOfDataBlocks.clear();
         for (int category : categoriesToDecode) {
-            allowedCategories.put(category, true);
+            nbOfDataBlocks.put(category, 0);
+        }
+    }
+
+    /**
+     * Create a decoder using a configuration that can be changed while decoding. The current
+     * configuration is read once for each call of the decode method.
+     *
+     * @param configuration The configuration holder, that can be shared between decoders
+     */
+    public AsterixDecoder(AsterixDecoderConfigurationHolder configuration) {
+        Assert.notNull(configuration);
+        this.configuration = configuration;
+
+        nbOfDataBlocks = new HashMap<>();
+        for (int category : AsterixCategories.getCategoryNumbers()) {
             nbOfDataBlocks.put(category, 0);
         }
     }
@@ -91,23 +74,62 @@ public class AsterixDecoder {
      * @param offset The start offset in the raw data, at which reading should begin
      * @param length The number of bytes to read
      * @return The list of decoded Asterix data blocks
+     * @implNote With the REPORT error mode nothing is thrown. A data block where an error was found
+     * is returned with the records decoded before the error and with the error code (see
+     * AsterixDataBlock.getDecodingError), and decoding continues with the next data block. If the
+     * data block header itself is invalid, an empty data block holding the error is returned and the
+     * rest of the input is skipped.
+     * With hardened DecodingLimits, the data block header is checked in both error modes and the
+     * limits are enforced by the items.
      */
     public List<AsterixDataBlock> decode(byte[] input, int offset, int length) {
+        Object event = JfrEvents.beginAsterixDecode();
+        AsterixDecoderConfiguration currentConfiguration = configuration.get();
+        DecodingErrorMode errorMode = currentConfiguration.getErrorMode();
+        DecodingLimits limits = currentConfiguration.getLimits();
         List<AsterixDataBlock> dataBlocks = new ArrayList<>();
         int inputIndex = offset;
 
         while (inputIndex < length) {
+            int dataBlockStart = inputIndex;
             int dataBlockCategory = Byte.toUnsignedInt(input[inputIndex]);
+            if (errorMode == DecodingErrorMode.REPORT || limits.isHardened()) {
+                DecodingErrorCode headerError = checkDataBlockHeader(input, inputIndex, length);
+                if (headerError != null) {
+                    if (errorMode == DecodingErrorMode.THROW) {
+                        throw headerException(headerError, dataBlockCategory, inputIndex);
+                    }
+                    if (currentConfiguration.isCategoryAllowed(dataBlockCategory)) {
+                        AsterixDataBlock dataBlock = new AsterixDataBlock(dataBlockCategory);
+                        dataBlock.setDecodingError(new AsterixDecodingError(headerError, dataBlockCategory,
+                                inputIndex, null));
+                        dataBlocks.add(dataBlock);
+                        this.nbOfDataBlocks.merge(dataBlockCategory, 1, Integer::sum);
+                    }
+                    break;
+                }
+            }
             int dataBlockSize = Byte.toUnsignedInt(
                     input[inputIndex + 1]) * 256 + Byte.toUnsignedInt(input[inputIndex + 2]);
+            if (dataBlockSize < DATA_BLOCK_HEADER_SIZE) {
+                //the next data block can not be found
+                throw new AsterixDecodingException.InvalidDataBlockLength("Invalid length " + dataBlockSize +
+                        " of the Cat" + dataBlockCategory + " data block at offset " + inputIndex);
+            }
 
-            Boolean shouldDecodeCategory = allowedCategories.get(dataBlockCategory);
-            if (shouldDecodeCategory != null && shouldDecodeCategory) {
+            if (currentConfiguration.isCategoryAllowed(dataBlockCategory)) {
 
                 AsterixDataBlock dataBlock = buildAsterixDataBlock(
                         dataBlockCategory,
-                        getCustomReservedFieldFactory(dataBlockCategory)
+                        currentConfiguration.getReservedFieldFactory(dataBlockCategory)
                 );
+                dataBlock.setProfiler(currentConfiguration.getProfiler());
+                dataBlock.setErrorMode(errorMode);
+                dataBlock.setLimits(limits);
+                dataBlock.setValidationMode(currentConfiguration.getValidationMode());
+                dataBlock.setDebugMessages(currentConfiguration.hasDebugMessages());
+                dataBlock.setLazyCompoundItems(currentConfiguration.hasLazyCompoundItems());
+                dataBlock.setParallelDecoding(currentConfiguration.getParallelDecoding());
 
                 inputIndex += 3;
 
@@ -127,20 +149,56 @@ public class AsterixDecoder {
                      */
                     inputIndex = dataBlock.decode(input, inputIndex, dataBlockSize);
                 }
+                if (errorMode == DecodingErrorMode.REPORT) {
+                    //resynchronise on the next data block, whatever happened inside this one
+                    inputIndex = dataBlockStart + dataBlockSize;
+                }
+                AsterixRecordFilter recordFilter = currentConfiguration.getRecordFilter(dataBlockCategory);
+                if (recordFilter != null) {
+                    dataBlock.getRecords().removeIf(record -> !recordFilter.accept(record));
+                }
                 dataBlocks.add(dataBlock);
-                int nbDataBlocks = this.nbOfDataBlocks.get(dataBlockCategory);
-                this.nbOfDataBlocks.replace(dataBlockCategory, nbDataBlocks + 1);
+                this.nbOfDataBlocks.merge(dataBlockCategory, 1, Integer::sum);
             } else {
                 // Data block not in allowed categories. Skip decoding and add length to existing
                 // offset
                 inputIndex += dataBlockSize;
             }
         }
+
+        if (JfrEvents.shouldCommit(event)) {
+            int nbRecords = 0;
+            int nbInvalidRecords = 0;
+            for (AsterixDataBlock dataBlock : dataBlocks) {
+                nbRecords += dataBlock.getRecords().size();
+                nbInvalidRecords += AsterixDataBlock.countInvalidRecords(dataBlock.getRecords());
+            }
+            JfrEvents.commitAsterixDecode(event, length > offset ? Byte.toUnsignedInt(input[offset]) : 0,
+                    length - offset, dataBlocks.size(), nbRecords, nbInvalidRecords);
+        }
         return dataBlocks;
     }
 
-    public HashMap<Integer, Boolean> getAllowedCategories() {
-        return allowedCategories;
+    /**
+     * @return A read only snapshot of the categories allowed by the current configuration. The
+     * supported categories (see AsterixCategories) are always present in the map, with a false
+     * value if they are not decoded.
+     * @implNote The map used to be the mutable state of the decoder. It is now built from the
+     * configuration, so writing to it throws UnsupportedOperationException instead of being silently
+     * ignored. The categories are changed with getConfiguration().update(cfg -> cfg.withCategories(...)).
+     */
+    public Map<Integer, Boolean> getAllowedCategories() {
+        AsterixDecoderConfiguration currentConfiguration = configuration.get();
+        HashMap<Integer, Boolean> allowedCategories = new HashMap<>();
+        for (int category : AsterixCategories.getCategoryNumbers()) {
+            allowedCategories.put(category, false);
+        }
+        for (int category = 0; category < 256; category++) {
+            if (currentConfiguration.isCategoryAllowed(category)) {
+                allowedCategories.put(category, true);
+            }
+        }
+        return Collections.unmodifiableMap(allowedCategories);
     }
 
     public HashMap<Integer, Integer> getNbOfDataBlocks() {
@@ -158,7 +216,7 @@ public class AsterixDecoder {
     public void attachCustomReservedFieldFactory(int category,
                                                  ReservedFieldFactory reservedFieldFactory) {
         Assert.notNull(reservedFieldFactory);
-        this.customReservedFieldFactories.put(category, reservedFieldFactory);
+        this.configuration.update(cfg -> cfg.withReservedFieldFactory(category, reservedFieldFactory));
     }
 
     /**
@@ -169,7 +227,46 @@ public class AsterixDecoder {
      * @return
      */
     public ReservedFieldFactory getCustomReservedFieldFactory(int category) {
-        return this.customReservedFieldFactories.get(category);
+        return this.configuration.get().getReservedFieldFactory(category);
+    }
+
+    /**
+     * @return The configuration holder of this decoder. Changes made through the holder are
+     * used starting with the next call of the decode method.
+     */
+    public AsterixDecoderConfigurationHolder getConfiguration() {
+        return configuration;
+    }
+
+    private static int[] parseCategories(String categoriesToDecode) {
+        return Arrays.stream(AsterixCategories.getCategoryNumbers())
+                .filter(category -> categoriesToDecode.contains(String.valueOf(category)))
+                .toArray();
+    }
+
+    /**
+     * @return The error code if the data block header or length is invalid, null otherwise
+     */
+    private static DecodingErrorCode checkDataBlockHeader(byte[] input, int inputIndex, int length) {
+        if (inputIndex + DATA_BLOCK_HEADER_SIZE > length || inputIndex + DATA_BLOCK_HEADER_SIZE > input.length) {
+            return DecodingErrorCode.TRUNCATED_DATA_BLOCK;
+        }
+        int dataBlockSize = Byte.toUnsignedInt(input[inputIndex + 1]) * 256 + Byte.toUnsignedInt(input[inputIndex + 2]);
+        if (dataBlockSize < DATA_BLOCK_HEADER_SIZE) {
+            return DecodingErrorCode.INVALID_DATA_BLOCK_LENGTH;
+        }
+        if (inputIndex + dataBlockSize > length || inputIndex + dataBlockSize > input.length) {
+            return DecodingErrorCode.TRUNCATED_DATA_BLOCK;
+        }
+        return null;
+    }
+
+    private static RuntimeException headerException(DecodingErrorCode headerError, int category, int inputIndex) {
+        String msg = headerError + " for the Cat" + category + " data block at offset " + inputIndex;
+        if (headerError == DecodingErrorCode.INVALID_DATA_BLOCK_LENGTH) {
+            return new AsterixDecodingException.InvalidDataBlockLength(msg);
+        }
+        return new AsterixDecodingException.UnexpectedEndOfData(msg);
     }
 
     private AsterixDataBlock buildAsterixDataBlock(int category, ReservedFieldFactory customReservedFieldFactory) {
@@ -0,0 +1,261 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import org.springframework.util.Assert;
+
+/**
+ * The settings used by the AsterixDecoder: allowed categories, custom reserved field factories,
+ * record filters, profiler, error mode, decoding limits, validation mode, debug messages, lazy
+ * decoding of compound items and parallel decoding of records.
+ * Instances are immutable. Every "with" method returns a modified copy (copy-on-write), so a
+ * configuration can be read by decoding threads without any locking while a new version is
+ * being prepared.
+ */
+public final class AsterixDecoderConfiguration {
+    private static final int NB_OF_CATEGORIES = 256;
+
+    private final boolean[] allowedCategories;
+    private final ReservedFieldFactory[] reservedFieldFactories;
+    private final AsterixRecordFilter[] recordFilters;
+    private final DecodeProfiler profiler;
+    private final DecodingErrorMode errorMode;
+    private final DecodingLimits limits;
+    private final ValidationMode validationMode;
+    private final boolean debugMessages;
+    private final boolean lazyCompoundItems;
+    private final ParallelRecordDecoding parallelDecoding;
+
+    private AsterixDecoderConfiguration(boolean[] allowedCategories,
+                                        ReservedFieldFactory[] reservedFieldFactories,
+                                        AsterixRecordFilter[] recordFilters,
+                                        DecodeProfiler profiler,
+                                        DecodingErrorMode errorMode,
+                                        DecodingLimits limits,
+                                        ValidationMode validationMode,
+                                        boolean debugMessages,
+                                        boolean lazyCompoundItems,
+                                        ParallelRecordDecoding parallelDecoding) {
+        this.allowedCategories = allowedCategories;
+        this.reservedFieldFactories = reservedFieldFactories;
+        this.recordFilters = recordFilters;
+        this.profiler = profiler;
+        this.errorMode = errorMode;
+        this.limits = limits;
+        this.validationMode = validationMode;
+        this.debugMessages = debugMessages;
+        this.lazyCompoundItems = lazyCompoundItems;
+        this.parallelDecoding = parallelDecoding;
+    }
+
+    /**
+     * @param categoriesToDecode The categories that will be decoded
+     * @return A configuration decoding the given categories, with default reserved fields, no
+     * filters, the THROW error mode, no decoding limits, INLINE validation, debug messages,
+     * compound items decoded with their record and records decoded sequentially
+     */
+    public static AsterixDecoderConfiguration of(int... categoriesToDecode) {
+        boolean[] allowedCategories = new boolean[NB_OF_CATEGORIES];
+        for (int category : categoriesToDecode) {
+            allowedCategories[checkCategory(category)] = true;
+        }
+        return new AsterixDecoderConfiguration(allowedCategories,
+                new ReservedFieldFactory[NB_OF_CATEGORIES],
+                new AsterixRecordFilter[NB_OF_CATEGORIES],
+                null,
+                DecodingErrorMode.THROW,
+                DecodingLimits.NONE,
+                ValidationMode.INLINE,
+                true,
+                false,
+                null);
+    }
+
+    /**
+     * @return A copy of this configuration where the given category is decoded (or not)
+     */
+    public AsterixDecoderConfiguration withCategory(int category, boolean shouldDecode) {
+        boolean[] newAllowedCategories = allowedCategories.clone();
+        newAllowedCategories[checkCategory(category)] = shouldDecode;
+        return new AsterixDecoderConfiguration(newAllowedCategories, reservedFieldFactories, recordFilters,
+                profiler, errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @return A copy of this configuration decoding only the given categories
+     */
+    public AsterixDecoderConfiguration withCategories(int... categoriesToDecode) {
+        return new AsterixDecoderConfiguration(of(categoriesToDecode).allowedCategories,
+                reservedFieldFactories, recordFilters, profiler, errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param category             The Asterix category
+     * @param reservedFieldFactory The custom reserved field factory, or null to use the default
+     *                             reserved field implementation
+     * @return A copy of this configuration using the given reserved field factory
+     */
+    public AsterixDecoderConfiguration withReservedFieldFactory(int category,
+                                                                ReservedFieldFactory reservedFieldFactory) {
+        ReservedFieldFactory[] newFactories = reservedFieldFactories.clone();
+        newFactories[checkCategory(category)] = reservedFieldFactory;
+        return new AsterixDecoderConfiguration(allowedCategories, newFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param category     The Asterix category
+     * @param recordFilter The filter applied on the decoded records of the category, or null to
+     *                     keep all records
+     * @return A copy of this configuration using the given record filter
+     */
+    public AsterixDecoderConfiguration withRecordFilter(int category, AsterixRecordFilter recordFilter) {
+        AsterixRecordFilter[] newFilters = recordFilters.clone();
+        newFilters[checkCategory(category)] = recordFilter;
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, newFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param profiler The profiler measuring the decoding cost of the items, or null to stop
+     *                 profiling
+     * @return A copy of this configuration using the given profiler
+     */
+    public AsterixDecoderConfiguration withProfiler(DecodeProfiler profiler) {
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param errorMode What the decoder does when the raw data can not be decoded
+     * @return A copy of this configuration using the given error mode
+     */
+    public AsterixDecoderConfiguration withErrorMode(DecodingErrorMode errorMode) {
+        Assert.notNull(errorMode);
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param limits The limits enforced while decoding (see DecodingLimits.HARDENED), or
+     *               DecodingLimits.NONE
+     * @return A copy of this configuration using the given decoding limits
+     */
+    public AsterixDecoderConfiguration withLimits(DecodingLimits limits) {
+        Assert.notNull(limits);
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param validationMode When the decoded items are validated
+     * @return A copy of this configuration using the given validation mode
+     */
+    public AsterixDecoderConfiguration withValidationMode(ValidationMode validationMode) {
+        Assert.notNull(validationMode);
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param debugMessages True if the decoded items keep a debug message (see getDebugString),
+     *                      false to save the memory and time used to build them
+     * @return A copy of this configuration with or without debug messages
+     */
+    public AsterixDecoderConfiguration withDebugMessages(boolean debugMessages) {
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages,
+                lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param lazyCompoundItems True if the compound items listed by LazyAsterixItem are only located
+     *                          when their record is decoded, and decoded by the first call of their
+     *                          getter, false to decode them with their record
+     * @return A copy of this configuration with or without lazy decoding of compound items
+     * @implNote With lazy decoding, the records keep a reference to the decoded byte array, which
+     * must not be modified while the records are in use
+     */
+    public AsterixDecoderConfiguration withLazyCompoundItems(boolean lazyCompoundItems) {
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages, lazyCompoundItems, parallelDecoding);
+    }
+
+    /**
+     * @param parallelDecoding The parallel decoding of the records of large data blocks (see
+     *                         ParallelRecordDecoding), or null to decode the records sequentially
+     * @return A copy of this configuration using the given parallel decoding
+     */
+    public AsterixDecoderConfiguration withParallelDecoding(ParallelRecordDecoding parallelDecoding) {
+        return new AsterixDecoderConfiguration(allowedCategories, reservedFieldFactories, recordFilters, profiler,
+                errorMode, limits, validationMode, debugMessages, lazyCompoundItems, parallelDecoding);
+    }
+
+    public boolean isCategoryAllowed(int category) {
+        return allowedCategories[category & 0xFF];
+    }
+
+    /**
+     * @return The custom reserved field factory of the category, or null if none is attached
+     */
+    public ReservedFieldFactory getReservedFieldFactory(int category) {
+        return reservedFieldFactories[category & 0xFF];
+    }
+
+    /**
+     * @return The record filter of the category, or null if none is set
+     */
+    public AsterixRecordFilter getRecordFilter(int category) {
+        return recordFilters[category & 0xFF];
+    }
+
+    /**
+     * @return The decoding profiler, or null if profiling is not enabled
+     */
+    public DecodeProfiler getProfiler() {
+        return profiler;
+    }
+
+    public DecodingErrorMode getErrorMode() {
+        return errorMode;
+    }
+
+    public DecodingLimits getLimits() {
+        return limits;
+    }
+
+    public ValidationMode getValidationMode() {
+        return validationMode;
+    }
+
+    public boolean hasDebugMessages() {
+        return debugMessages;
+    }
+
+    public boolean hasLazyCompoundItems() {
+        return lazyCompoundItems;
+    }
+
+    /**
+     * @return The parallel decoding of the records, or null if the records are decoded sequentially
+     */
+    public ParallelRecordDecoding getParallelDecoding() {
+        return parallelDecoding;
+    }
+
+    private static int checkCategory(int category) {
+        Assert.isTrue(category >= 0 && category < NB_OF_CATEGORIES, "Invalid Asterix category " + category);
+        return category;
+    }
+}
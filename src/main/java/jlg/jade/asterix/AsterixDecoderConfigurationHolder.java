@@ -0,0 +1,84 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current AsterixDecoderConfiguration and allows it to be replaced while decoding
+ * is in progress. Decoders read the configuration once per decode call, so a new configuration
+ * is used starting with the next datagram, without locks and without restarting the ingest.
+ * The same holder can be shared by all the decoders of a pipeline.
+ * Features that make the items look for the state of their data block (hardened limits, validation
+ * modes, disabled debug messages, lazy compound items) are enabled for the whole process when a
+ * configuration using them is first published by a holder.
+ *
+ * @implNote Example:
+ * AsterixDecoderConfigurationHolder holder = new AsterixDecoderConfigurationHolder(
+ * AsterixDecoderConfiguration.of(62, 65));
+ * AsterixDecoder decoder = new AsterixDecoder(holder);
+ * ...
+ * holder.update(cfg -> cfg.withCategory(48, true));
+ */
+public class AsterixDecoderConfigurationHolder {
+    private final AtomicReference<AsterixDecoderConfiguration> current;
+    private final AtomicLong version;
+
+    public AsterixDecoderConfigurationHolder(AsterixDecoderConfiguration initialConfiguration) {
+        Assert.notNull(initialConfiguration);
+        DecodingContext.configurationPublished(initialConfiguration);
+        this.current = new AtomicReference<>(initialConfiguration);
+        this.version = new AtomicLong();
+    }
+
+    /**
+     * @return The configuration currently in use
+     */
+    public AsterixDecoderConfiguration get() {
+        return current.get();
+    }
+
+    /**
+     * Replace the current configuration
+     */
+    public void set(AsterixDecoderConfiguration configuration) {
+        Assert.notNull(configuration);
+        DecodingContext.configurationPublished(configuration);
+        current.set(configuration);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Atomically replace the current configuration with a modified copy. The update function
+     * may be called more than once if another thread changes the configuration at the same time,
+     * so it must not have side effects.
+     *
+     * @return The new configuration
+     */
+    public AsterixDecoderConfiguration update(UnaryOperator<AsterixDecoderConfiguration> updateFunction) {
+        Assert.notNull(updateFunction);
+        AsterixDecoderConfiguration updated = current.updateAndGet(cfg -> {
+            AsterixDecoderConfiguration newConfiguration = updateFunction.apply(cfg);
+            Assert.notNull(newConfiguration);
+            //before the compare and set: harmless if the update is retried, as the flags are never cleared
+            DecodingContext.configurationPublished(newConfiguration);
+            return newConfiguration;
+        });
+        version.incrementAndGet();
+        return updated;
+    }
+
+    /**
+     * @return The number of times the configuration was replaced
+     */
+    public long getVersion() {
+        return version.get();
+    }
+}
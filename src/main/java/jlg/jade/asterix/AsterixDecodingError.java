@@ -0,0 +1,52 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+/**
+ * A decoding error reported by the AsterixDecoder when the REPORT error mode is used
+ */
+public final class AsterixDecodingError {
+    private final DecodingErrorCode code;
+    private final int category;
+    private final int offset;
+    private final String itemName;
+
+    public AsterixDecodingError(DecodingErrorCode code, int category, int offset, String itemName) {
+        this.code = code;
+        this.category = category;
+        this.offset = offset;
+        this.itemName = itemName;
+    }
+
+    public DecodingErrorCode getCode() {
+        return code;
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    /**
+     * @return The offset in the raw data where the failing item, record or data block starts
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The display name of the failing item, or null if the error was not found while
+     * decoding an item
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    @Override
+    public String toString() {
+        return "Cat" + String.format("%03d", category) + " " + code + " at offset " + offset +
+                (itemName != null ? " (" + itemName + ")" : "");
+    }
+}
@@ -6,6 +6,7 @@
 */
 package jlg.jade.asterix;
 
+import jlg.jade.common.AsterixDecodingException;
 import jlg.jade.common.AsterixException;
 import jlg.jade.common.DebugMessageSource;
 
@@ -16,13 +17,18 @@ import jlg.jade.common.DebugMessageSource;
 public abstract class AsterixItem extends DebugMessageSource {
     protected int sizeInBytes;
     protected boolean valid;
-    private final String displayName;
+    private boolean validationPending;
 
     public AsterixItem(){
+        super(DecodingContext.currentDebugMessages());
         this.valid = true;
-        this.displayName = setDisplayName();
-        if(this.displayName == null){
-            throw new AsterixException.InvalidDisplayName();
+        AsterixItemDescriptor descriptor = AsterixItemDescriptor.of(getClass());
+        if (descriptor.getDisplayName() == null) {
+            String displayName = setDisplayName();
+            if(displayName == null){
+                throw new AsterixException.InvalidDisplayName();
+            }
+            descriptor.setDisplayName(displayName);
         }
     }
 
@@ -36,11 +42,33 @@ public abstract class AsterixItem extends DebugMessageSource {
 
     /**
      * @return True when item is valid according to Asterix validation rules, and false otherwise.
+     * With the DEFERRED validation mode, the item is validated by the first call. With the OFF
+     * validation mode, items are not validated and this method returns true.
+     * @implNote Like decoding, the deferred validation is not thread safe: the record must be
+     * used by one thread at a time
      */
     public boolean isValid() {
+        if (validationPending) {
+            this.valid = validate();
+            validationPending = false;
+        }
         return this.valid;
     }
 
+    /**
+     * Called by the decode method once the item is decoded, to validate it according to the
+     * validation mode of the current data block
+     */
+    void validateOrDefer() {
+        ValidationMode validationMode = DecodingContext.currentValidationMode();
+        if (validationMode == ValidationMode.INLINE) {
+            this.valid = validate();
+        } else if (validationMode == ValidationMode.DEFERRED) {
+            validationPending = true;
+            DecodingContext.deferValidation(this);
+        }
+    }
+
     /**
      * Gets the length of the Asterix Item
      * @return An integer, representing the length in bytes or -1 if the length has not been set or is not fixed.
@@ -50,14 +78,68 @@ public abstract class AsterixItem extends DebugMessageSource {
     }
 
     /**
-     * @return The display name of the Asterix Item (eg. Cat062Item390 - Flight Plan)
+     * @return The display name of the Asterix Item (eg. Cat062Item390 - Flight Plan). The name is
+     * shared by all the instances of the item class.
      */
     public String getDisplayName() {
-        return displayName;
+        return AsterixItemDescriptor.of(getClass()).getDisplayName();
+    }
+
+    /**
+     * Called by the decode method when the raw data can not be decoded. The error is reported to
+     * the DecodingContext with the REPORT error mode, or thrown otherwise.
+     *
+     * @return The end of the available data, when the error is reported
+     */
+    protected int failDecoding(DecodingErrorCode code, byte[] input, int offset, int inputLength) {
+        return failDecoding(null, code, input, offset, inputLength);
+    }
+
+    int failDecoding(DecodeProfiler.ProfilingContext profiling, DecodingErrorCode code, byte[] input, int offset,
+                     int inputLength) {
+        if (DecodingContext.report(code, offset, this)) {
+            return skipAfterDecodingError(profiling, inputLength);
+        }
+        String msg = code + " while creating " + getDisplayName() + " input: " + input.length + ", offset: " + offset +
+                ", available length: " + inputLength;
+        switch (code) {
+            case UNEXPECTED_END_OF_DATA:
+                throw new AsterixDecodingException.UnexpectedEndOfData(msg);
+            case FX_CHAIN_TOO_LONG:
+            case REPETITION_FACTOR_TOO_LARGE:
+                throw new AsterixDecodingException.DecodingLimitExceeded(msg);
+            default:
+                throw new AsterixDecodingException.AvailableLengthExceeded(msg);
+        }
+    }
+
+    /**
+     * @return The error code to use when the end of the available data is reached: the end of the
+     * data block or the end of the input
+     */
+    static DecodingErrorCode endOfDataError(byte[] input, int inputLength) {
+        return input.length < inputLength ? DecodingErrorCode.UNEXPECTED_END_OF_DATA :
+                DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED;
+    }
+
+    /**
+     * Called by the decode method after an error was reported to the DecodingContext. The
+     * item is not decoded and the offset is moved to the end of the available data, so the
+     * remaining items of the record are skipped without decoding.
+     *
+     * @return The end of the available data
+     */
+    int skipAfterDecodingError(DecodeProfiler.ProfilingContext profiling, int inputLength) {
+        this.valid = false;
+        if (profiling != null) {
+            profiling.exitItem(this);
+        }
+        return inputLength;
     }
 
     /**
-     * Set the display name of the Asterix field
+     * Set the display name of the Asterix field. Called once for each item class, the name must be
+     * the same for all the instances.
      * @return The given display name for item
      */
     protected abstract String setDisplayName();
@@ -0,0 +1,39 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+/**
+ * Metadata shared by all the instances of an Asterix item class, so that it is not stored in each
+ * decoded item. The descriptor of a class is completed by its first instance.
+ */
+final class AsterixItemDescriptor {
+    private static final ClassValue<AsterixItemDescriptor> DESCRIPTORS = new ClassValue<AsterixItemDescriptor>() {
+        @Override
+        protected AsterixItemDescriptor computeValue(Class<?> itemClass) {
+            return new AsterixItemDescriptor();
+        }
+    };
+
+    private volatile String displayName;
+
+    private AsterixItemDescriptor() {
+    }
+
+    static AsterixItemDescriptor of(Class<?> itemClass) {
+        return DESCRIPTORS.get(itemClass);
+    }
+
+    /**
+     * @return The display name of the item class, or null if no instance was created yet
+     */
+    String getDisplayName() {
+        return displayName;
+    }
+
+    void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+}
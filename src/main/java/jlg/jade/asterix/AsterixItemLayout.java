@@ -0,0 +1,247 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import jlg.jade.common.Constants;
+
+/**
+ * Describes how the length of an Asterix item is encoded, without decoding its content. Used
+ * to walk records and items directly on the raw bytes (find record boundaries, locate a given
+ * item), which is much cheaper than a full decode.
+ * A record is described as a compound layout, where each FSPEC index holds the layout of the
+ * corresponding item (same FSPEC indexes as the ones used by the decoders).
+ */
+public final class AsterixItemLayout {
+    /**
+     * Returned by the walking methods when the length can not be determined (data exceeds the
+     * available length, FSPEC too long, unknown item present in FSPEC)
+     */
+    public static final int INVALID_OFFSET = -1;
+
+    private static final int FX_BIT = 0x01;
+
+    private final Kind kind;
+    private final int size;
+    private final int maxFspecSizeInBytes;
+    private final AsterixItemLayout[] subfields;
+
+    private AsterixItemLayout(Kind kind, int size, int maxFspecSizeInBytes,
+                              AsterixItemLayout[] subfields) {
+        this.kind = kind;
+        this.size = size;
+        this.maxFspecSizeInBytes = maxFspecSizeInBytes;
+        this.subfields = subfields;
+    }
+
+    /**
+     * Item with a fixed length
+     */
+    public static AsterixItemLayout fixed(int sizeInBytes) {
+        return new AsterixItemLayout(Kind.FIXED, sizeInBytes, 0, null);
+    }
+
+    /**
+     * Item extended with one octet while the FX bit of the last octet is 1
+     */
+    public static AsterixItemLayout variable() {
+        return variable(1);
+    }
+
+    /**
+     * Item made of groups of octets, extended with a new group while the FX bit of the last
+     * octet of the group is 1 (eg. I062/510)
+     */
+    public static AsterixItemLayout variable(int groupSizeInBytes) {
+        return new AsterixItemLayout(Kind.VARIABLE, groupSizeInBytes, 0, null);
+    }
+
+    /**
+     * Item where the first octet is the repetition factor, followed by blocks of a known size
+     */
+    public static AsterixItemLayout repetitive(int blockSizeInBytes) {
+        return new AsterixItemLayout(Kind.REPETITIVE, blockSizeInBytes, 0, null);
+    }
+
+    /**
+     * Item where the first octet is the length of the item, including the length octet (RE, SP)
+     */
+    public static AsterixItemLayout explicit() {
+        return new AsterixItemLayout(Kind.EXPLICIT, 0, 0, null);
+    }
+
+    /**
+     * Item where the first octet is the length of the data following it, without the length
+     * octet (eg. I150/200)
+     */
+    public static AsterixItemLayout lengthPrefixed() {
+        return new AsterixItemLayout(Kind.LENGTH_PREFIXED, 0, 0, null);
+    }
+
+    /**
+     * Compound item (or record) made of a FSPEC followed by the present subfields. The layout of
+     * each subfield is added with the "with" method, at the index of its FSPEC bit.
+     *
+     * @param maxFspecSizeInBytes The maximum size of the FSPEC
+     */
+    public static AsterixItemLayout compound(int maxFspecSizeInBytes) {
+        return new AsterixItemLayout(Kind.COMPOUND, 0, maxFspecSizeInBytes,
+                new AsterixItemLayout[maxFspecSizeInBytes * Constants.BYTE_TO_BITS]);
+    }
+
+    /**
+     * Set the layout of a subfield of a compound layout. FSPEC indexes without a layout (FX and
+     * spare bits) make the walk fail if they are set in the data.
+     *
+     * @param fspecIndex The FSPEC index of the subfield
+     * @param subfield   The layout of the subfield
+     * @return This compound layout
+     */
+    public AsterixItemLayout with(int fspecIndex, AsterixItemLayout subfield) {
+        if (kind != Kind.COMPOUND) {
+            throw new IllegalStateException("Only compound items have subfields");
+        }
+        subfields[fspecIndex] = subfield;
+        return this;
+    }
+
+    /**
+     * Computes where the item starting at the given offset ends.
+     *
+     * @param input  The raw data
+     * @param offset The offset of the first octet of the item
+     * @param end    The offset after the last octet that may be read
+     * @return The offset of the next item, or INVALID_OFFSET if the length can not be determined
+     */
+    public int skip(byte[] input, int offset, int end) {
+        int next;
+        switch (kind) {
+            case FIXED: {
+                next = offset + size;
+                break;
+            }
+            case VARIABLE: {
+                next = offset + size;
+                while (next <= end && (input[next - 1] & FX_BIT) != 0) {
+                    next += size;
+                }
+                break;
+            }
+            case REPETITIVE: {
+                if (offset >= end) {
+                    return INVALID_OFFSET;
+                }
+                next = offset + 1 + Byte.toUnsignedInt(input[offset]) * size;
+                break;
+            }
+            case EXPLICIT: {
+                if (offset >= end) {
+                    return INVALID_OFFSET;
+                }
+                int length = Byte.toUnsignedInt(input[offset]);
+                if (length == 0) {
+                    return INVALID_OFFSET;
+                }
+                next = offset + length;
+                break;
+            }
+            case LENGTH_PREFIXED: {
+                if (offset >= end) {
+                    return INVALID_OFFSET;
+                }
+                next = offset + 1 + Byte.toUnsignedInt(input[offset]);
+                break;
+            }
+            default: {
+                return skipCompound(input, offset, end, -1);
+            }
+        }
+        return next <= end ? next : INVALID_OFFSET;
+    }
+
+    /**
+     * Finds the offset of a subfield of a compound layout (eg. I062/040 in a Cat062 record),
+     * walking only the FSPEC and the lengths of the preceding subfields.
+     *
+     * @param fspecIndex The FSPEC index of the subfield
+     * @return The offset of the subfield, or INVALID_OFFSET if the subfield is not present or
+     * the record can not be walked
+     */
+    public int find(byte[] input, int offset, int end, int fspecIndex) {
+        if (kind != Kind.COMPOUND) {
+            throw new IllegalStateException("Only compound items have subfields");
+        }
+        return skipCompound(input, offset, end, fspecIndex);
+    }
+
+    public int getMaxFspecSizeInBytes() {
+        return maxFspecSizeInBytes;
+    }
+
+    /**
+     * @return The layout of the subfield at the given FSPEC index or null if the index is a FX
+     * or spare bit
+     */
+    public AsterixItemLayout getSubfield(int fspecIndex) {
+        return subfields == null ? null : subfields[fspecIndex];
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The size of fixed items, the group size of variable items or the block size of
+     * repetitive items
+     */
+    public int getSize() {
+        return size;
+    }
+
+    private int skipCompound(byte[] input, int offset, int end, int targetFspecIndex) {
+        //read the fspec
+        int fspecStart = offset;
+        int fspecSize = 0;
+        do {
+            if (fspecSize == maxFspecSizeInBytes || offset >= end) {
+                return INVALID_OFFSET;
+            }
+            fspecSize++;
+            offset++;
+        } while ((input[offset - 1] & FX_BIT) != 0);
+
+        //walk the present subfields in FRN order (octet by octet, from MSB to LSB)
+        for (int octet = 0; octet < fspecSize; octet++) {
+            int fspecOctet = input[fspecStart + octet];
+            for (int bit = 7; bit > 0; bit--) {
+                if ((fspecOctet & (1 << bit)) == 0) {
+                    continue;
+                }
+                int fspecIndex = octet * Constants.BYTE_TO_BITS + bit;
+                if (fspecIndex == targetFspecIndex) {
+                    return offset;
+                }
+                AsterixItemLayout subfield = subfields[fspecIndex];
+                if (subfield == null) {
+                    return INVALID_OFFSET;
+                }
+                offset = subfield.skip(input, offset, end);
+                if (offset == INVALID_OFFSET) {
+                    return INVALID_OFFSET;
+                }
+            }
+        }
+        return targetFspecIndex < 0 ? offset : INVALID_OFFSET;
+    }
+
+    public enum Kind {
+        FIXED,
+        VARIABLE,
+        REPETITIVE,
+        EXPLICIT,
+        LENGTH_PREFIXED,
+        COMPOUND
+    }
+}
@@ -17,6 +17,23 @@ import java.util.AbstractMap;
 public interface AsterixRecord extends Decodable, Encodable {
     int getCategory();
 
+    /**
+     * @return The record of the category, created by its AsterixCategoryPlugin (eg. a Cat062Record
+     * for a Cat062 record), or null if the implementation does not hold one
+     */
+    default FspecAsterixData getCategoryRecord() {
+        return null;
+    }
+
+    /**
+     * @param recordType The class of the records of a category (eg. Cat062Record.class)
+     * @return The record of the category if it has the given type, null otherwise
+     */
+    default <R extends FspecAsterixData> R getRecord(Class<R> recordType) {
+        FspecAsterixData record = getCategoryRecord();
+        return recordType.isInstance(record) ? recordType.cast(record) : null;
+    }
+
     Cat062Record getCat062Record();
 
     Cat065Record getCat065Record();
@@ -31,6 +48,11 @@ public interface AsterixRecord extends Decodable, Encodable {
 
     String getDebugString();
 
+    /**
+     * @return True if the record of the category has been decoded without validation errors
+     */
+    boolean isValid();
+
     AbstractMap<String, Object> getAdditionalInfo();
     
     String getSacSicCode();
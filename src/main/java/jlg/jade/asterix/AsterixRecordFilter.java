@@ -0,0 +1,17 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+/**
+ * Decides which decoded records are handed to the caller of the AsterixDecoder
+ */
+@FunctionalInterface
+public interface AsterixRecordFilter {
+    /**
+     * @return True if the record must be kept
+     */
+    boolean accept(AsterixRecord record);
+}
@@ -0,0 +1,178 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import jlg.jade.common.Constants;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Finds the structure of Asterix data (record boundaries, item offsets) from an AsterixItemLayout,
+ * without decoding the items. Used to split large data blocks in records before decoding them.
+ * <p>
+ * FX chains (FSPECs and variable length items) are scanned octet by octet. The present items of
+ * a FSPEC octet are enumerated with numberOfLeadingZeros instead of testing the 7 bits one by one.
+ */
+public final class AsterixStructureScanner {
+    /**
+     * Returned when a structure can not be determined (data exceeds the available length, FX
+     * chain or FSPEC too long, unknown item present in FSPEC)
+     */
+    public static final int INVALID_OFFSET = AsterixItemLayout.INVALID_OFFSET;
+
+    private static final int FX_BIT = 0x01;
+    private static final int FSPEC_PRESENCE_BITS = 0xFE;
+
+    private static final String NEGATIVE_OFFSET = "The offset must not be negative";
+
+    private static final AsterixStructureScanner INSTANCE = new AsterixStructureScanner();
+
+    private AsterixStructureScanner() {
+    }
+
+    public static AsterixStructureScanner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Computes the length of the FX chain starting at the given offset: the number of octets up
+     * to, and including, the first octet with the FX bit set to 0.
+     *
+     * @param input  The raw data
+     * @param offset The offset of the first octet of the chain
+     * @param end    The offset after the last octet that may be read
+     * @return The length of the chain, or INVALID_OFFSET if the chain does not end before end
+     * @throws IllegalArgumentException if the offset is negative
+     */
+    public int fxChainLength(byte[] input, int offset, int end) {
+        Assert.isTrue(offset >= 0, NEGATIVE_OFFSET);
+        end = Math.min(end, input.length);
+        int start = offset;
+        while (offset < end) {
+            if ((input[offset++] & FX_BIT) == 0) {
+                return offset - start;
+            }
+        }
+        return INVALID_OFFSET;
+    }
+
+    /**
+     * Computes where the item starting at the given offset ends. Same result as
+     * AsterixItemLayout.skip.
+     *
+     * @param layout The layout of the item
+     * @param input  The raw data
+     * @param offset The offset of the first octet of the item
+     * @param end    The offset after the last octet that may be read
+     * @return The offset of the next item, or INVALID_OFFSET if the length can not be determined
+     * @throws IllegalArgumentException if the offset is negative
+     */
+    public int skip(AsterixItemLayout layout, byte[] input, int offset, int end) {
+        Assert.isTrue(offset >= 0, NEGATIVE_OFFSET);
+        switch (layout.getKind()) {
+            case FIXED: {
+                int next = offset + layout.getSize();
+                return next <= end ? next : INVALID_OFFSET;
+            }
+            case VARIABLE: {
+                if (layout.getSize() != 1) {
+                    return layout.skip(input, offset, end);
+                }
+                int length = fxChainLength(input, offset, end);
+                return length == INVALID_OFFSET ? INVALID_OFFSET : offset + length;
+            }
+            case COMPOUND: {
+                return scanCompound(layout, input, offset, end, null);
+            }
+            default: {
+                return layout.skip(input, offset, end);
+            }
+        }
+    }
+
+    /**
+     * Computes the offsets of the items present in a record (or compound item).
+     *
+     * @param recordLayout The compound layout of the record
+     * @param input        The raw data
+     * @param offset       The offset of the FSPEC of the record
+     * @param end          The offset after the last octet that may be read
+     * @param itemOffsets  Filled with the offset of each present item, at its FSPEC index, and
+     *                     with INVALID_OFFSET for the absent items. Must hold at least
+     *                     maxFspecSizeInBytes * 8 elements.
+     * @return The offset after the record, or INVALID_OFFSET if the record can not be walked
+     * @throws IllegalArgumentException if the offset is negative
+     */
+    public int scanItems(AsterixItemLayout recordLayout, byte[] input, int offset, int end, int[] itemOffsets) {
+        Assert.isTrue(offset >= 0, NEGATIVE_OFFSET);
+        if (recordLayout.getKind() != AsterixItemLayout.Kind.COMPOUND) {
+            throw new IllegalStateException("Only compound items have subfields");
+        }
+        Arrays.fill(itemOffsets, INVALID_OFFSET);
+        return scanCompound(recordLayout, input, offset, end, itemOffsets);
+    }
+
+    /**
+     * Computes the record boundaries of a data block.
+     *
+     * @param recordLayout The compound layout of the records of the data block category
+     * @param input        The raw data
+     * @param offset       The offset of the first record (after the data block header)
+     * @param end          The end of the data block
+     * @return The offset of each record, followed by the end of the last record (equal to end),
+     * or null if a record can not be walked or the records do not fill the data block
+     * @throws IllegalArgumentException if the offset is negative
+     */
+    public int[] scanRecords(AsterixItemLayout recordLayout, byte[] input, int offset, int end) {
+        Assert.isTrue(offset >= 0, NEGATIVE_OFFSET);
+        int[] recordOffsets = new int[16];
+        int nbRecords = 0;
+        while (offset < end) {
+            if (nbRecords + 1 == recordOffsets.length) {
+                recordOffsets = Arrays.copyOf(recordOffsets, recordOffsets.length * 2);
+            }
+            recordOffsets[nbRecords++] = offset;
+            offset = scanCompound(recordLayout, input, offset, end, null);
+            if (offset == INVALID_OFFSET) {
+                return null;
+            }
+        }
+        recordOffsets[nbRecords] = offset;
+        return Arrays.copyOf(recordOffsets, nbRecords + 1);
+    }
+
+    private int scanCompound(AsterixItemLayout layout, byte[] input, int offset, int end, int[] itemOffsets) {
+        int fspecSize = fxChainLength(input, offset, Math.min(end, offset + layout.getMaxFspecSizeInBytes()));
+        if (fspecSize == INVALID_OFFSET) {
+            return INVALID_OFFSET;
+        }
+        int fspecStart = offset;
+        offset += fspecSize;
+
+        //walk the present items in FRN order (octet by octet, from MSB to LSB)
+        for (int octet = 0; octet < fspecSize; octet++) {
+            int presentItems = input[fspecStart + octet] & FSPEC_PRESENCE_BITS;
+            while (presentItems != 0) {
+                int bit = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(presentItems);
+                presentItems ^= 1 << bit;
+                int fspecIndex = octet * Constants.BYTE_TO_BITS + bit;
+                AsterixItemLayout item = layout.getSubfield(fspecIndex);
+                if (item == null) {
+                    return INVALID_OFFSET;
+                }
+                if (itemOffsets != null) {
+                    itemOffsets[fspecIndex] = offset;
+                }
+                offset = skip(item, input, offset, end);
+                if (offset == INVALID_OFFSET) {
+                    return INVALID_OFFSET;
+                }
+            }
+        }
+        return offset;
+    }
+}
@@ -39,7 +39,15 @@ public class Cat062AsterixAgingDataField extends FixedLengthAsterixData {
      * @return The aging information, in seconds
      */
     public double getAgeSeconds() {
-        return this.age / Constants.FROM_QUARTER_OF_SEC_TO_SEC;
+        return toSeconds(this.age);
+    }
+
+    /**
+     * @param age An age, in 1/4 seconds
+     * @return The age, in seconds
+     */
+    public static double toSeconds(int age) {
+        return age / Constants.FROM_QUARTER_OF_SEC_TO_SEC;
     }
 
     @Override
@@ -0,0 +1,256 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import org.springframework.util.Assert;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampling profiler of the decoding cost of Asterix items. For one record out of every
+ * samplingInterval records, the time and the allocated bytes of every item decoding are
+ * measured and attributed to the item class and to the category. The ranked report shows which
+ * items dominate the decoding cost for the actual traffic mix.
+ * For each item, the total cost includes the cost of its subfields, while the self cost does
+ * not. Helper decoders (IA5, ACAS, ...) are part of the cost of the item using them. The self
+ * cost of a record class contains the FSPEC decoding and the items with a custom decode method
+ * (eg. custom RE/SP fields).
+ *
+ * @implNote Example:
+ * DecodeProfiler profiler = new DecodeProfiler(100);
+ * decoder.getConfiguration().update(cfg -> cfg.withProfiler(profiler));
+ * ...
+ * System.out.println(profiler.toDebugString());
+ */
+public class DecodeProfiler {
+    private static final int NB_OF_CATEGORIES = 256;
+    private static final int MAX_DEPTH = 16;
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+    private static final ThreadLocal<ProfilingContext> CONTEXT = ThreadLocal.withInitial(ProfilingContext::new);
+
+    /**
+     * Set once a profiler is created, so items do not look for a profiling context when
+     * profiling has never been used
+     */
+    private static volatile boolean profilingUsed;
+
+    private final int samplingInterval;
+    private final AtomicReferenceArray<ConcurrentHashMap<Class<?>, ItemDecodeCost>> costs;
+    private final LongAdder nbRecords;
+    private final LongAdder nbSampledRecords;
+
+    /**
+     * @param samplingInterval Profile one record out of this number of records (1 to profile all
+     *                         records)
+     */
+    public DecodeProfiler(int samplingInterval) {
+        Assert.isTrue(samplingInterval > 0, "The sampling interval must be positive");
+        this.samplingInterval = samplingInterval;
+        this.costs = new AtomicReferenceArray<>(NB_OF_CATEGORIES);
+        this.nbRecords = new LongAdder();
+        this.nbSampledRecords = new LongAdder();
+        profilingUsed = true;
+    }
+
+    /**
+     * @return The cost of all the profiled items, starting with the highest self time
+     */
+    public List<ItemDecodeCost> getRankedCosts() {
+        List<ItemDecodeCost> ranked = new ArrayList<>();
+        for (int category = 0; category < NB_OF_CATEGORIES; category++) {
+            ConcurrentHashMap<Class<?>, ItemDecodeCost> categoryCosts = costs.get(category);
+            if (categoryCosts != null) {
+                ranked.addAll(categoryCosts.values());
+            }
+        }
+        ranked.sort(Comparator.comparingLong(ItemDecodeCost::getSelfNanos).reversed());
+        return ranked;
+    }
+
+    public long getNbRecords() {
+        return nbRecords.sum();
+    }
+
+    public long getNbSampledRecords() {
+        return nbSampledRecords.sum();
+    }
+
+    /**
+     * @return True if the allocated bytes are measured (not supported by all JVMs)
+     */
+    public boolean isAllocationMeasured() {
+        return ALLOCATION_BEAN != null;
+    }
+
+    /**
+     * Remove all the measurements
+     */
+    public void reset() {
+        for (int category = 0; category < NB_OF_CATEGORIES; category++) {
+            costs.set(category, null);
+        }
+        nbRecords.reset();
+        nbSampledRecords.reset();
+    }
+
+    public String toDebugString() {
+        List<ItemDecodeCost> ranked = getRankedCosts();
+        long totalSelfNanos = ranked.stream().mapToLong(ItemDecodeCost::getSelfNanos).sum();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("*** DECODING COST REPORT (%d of %d records sampled) ***",
+                getNbSampledRecords(), getNbRecords()));
+        sb.append(System.lineSeparator());
+        sb.append(String.format("  %-4s %-6s %-36s %-10s %-14s %-14s %-14s %-7s", "Rank", "Cat", "Item",
+                "Decodes", "Self ns/item", "Total ns/item", "Self B/item", "Self %"));
+        sb.append(System.lineSeparator());
+        int rank = 1;
+        for (ItemDecodeCost cost : ranked) {
+            long nbDecodes = Math.max(1, cost.getNbDecodes());
+            sb.append(String.format("  %-4d %-6s %-36s %-10d %-14d %-14d %-14d %-7.2f", rank++,
+                    String.format("%03d", cost.getCategory()), cost.getItemName(), cost.getNbDecodes(),
+                    cost.getSelfNanos() / nbDecodes, cost.getTotalNanos() / nbDecodes,
+                    cost.getSelfAllocatedBytes() / nbDecodes,
+                    totalSelfNanos == 0 ? 0.0 : 100.0 * cost.getSelfNanos() / totalSelfNanos));
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Called before a record is decoded
+     *
+     * @return True if the record is sampled, in which case endRecord must be called after the
+     * record is decoded
+     */
+    boolean startRecord(int category) {
+        nbRecords.increment();
+        ProfilingContext context = CONTEXT.get();
+        if (++context.nbRecords % samplingInterval != 0) {
+            return false;
+        }
+        nbSampledRecords.increment();
+        context.start(this, category);
+        return true;
+    }
+
+    void endRecord() {
+        CONTEXT.get().stop();
+    }
+
+    /**
+     * Called when the decoding of an item begins
+     *
+     * @return The profiling context, or null if the current record is not sampled
+     */
+    static ProfilingContext enterItem() {
+        if (!profilingUsed) {
+            return null;
+        }
+        ProfilingContext context = CONTEXT.get();
+        return context.enter() ? context : null;
+    }
+
+    private void add(int category, Class<?> itemClass, long totalNanos, long selfNanos,
+                     long totalBytes, long selfBytes) {
+        ConcurrentHashMap<Class<?>, ItemDecodeCost> categoryCosts = costs.get(category);
+        if (categoryCosts == null) {
+            costs.compareAndSet(category, null, new ConcurrentHashMap<>());
+            categoryCosts = costs.get(category);
+        }
+        categoryCosts.computeIfAbsent(itemClass, c -> new ItemDecodeCost(category, c))
+                .add(totalNanos, selfNanos, totalBytes, selfBytes);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+                if (allocationBean.isThreadAllocatedMemorySupported() &&
+                        allocationBean.isThreadAllocatedMemoryEnabled()) {
+                    return allocationBean;
+                }
+            }
+        } catch (RuntimeException | LinkageError e) {
+            //allocation is not measured on this JVM
+        }
+        return null;
+    }
+
+    /**
+     * Profiling state of a decoding thread: the stack of the items being decoded
+     */
+    static final class ProfilingContext {
+        private final long threadId;
+        private final long[] startNanos;
+        private final long[] startBytes;
+        private final long[] childNanos;
+        private final long[] childBytes;
+        private DecodeProfiler profiler;
+        private int category;
+        private int depth;
+        private long nbRecords;
+
+        private ProfilingContext() {
+            this.threadId = Thread.currentThread().getId();
+            this.startNanos = new long[MAX_DEPTH];
+            this.startBytes = new long[MAX_DEPTH];
+            this.childNanos = new long[MAX_DEPTH];
+            this.childBytes = new long[MAX_DEPTH];
+        }
+
+        /**
+         * Called when the decoding of an item ends
+         */
+        void exitItem(AsterixItem item) {
+            long nanos = System.nanoTime();
+            long bytes = allocatedBytes();
+            int level = --depth;
+            long totalNanos = nanos - startNanos[level];
+            long totalBytes = bytes - startBytes[level];
+            if (level > 0) {
+                childNanos[level - 1] += totalNanos;
+                childBytes[level - 1] += totalBytes;
+            }
+            profiler.add(category, item.getClass(), totalNanos, totalNanos - childNanos[level],
+                    totalBytes, totalBytes - childBytes[level]);
+        }
+
+        private void start(DecodeProfiler profiler, int category) {
+            this.profiler = profiler;
+            this.category = category;
+            this.depth = 0;
+        }
+
+        private void stop() {
+            this.profiler = null;
+            this.depth = 0;
+        }
+
+        private boolean enter() {
+            if (profiler == null || depth == MAX_DEPTH) {
+                return false;
+            }
+            childNanos[depth] = 0;
+            childBytes[depth] = 0;
+            startBytes[depth] = allocatedBytes();
+            startNanos[depth] = System.nanoTime();
+            depth++;
+            return true;
+        }
+
+        private long allocatedBytes() {
+            return ALLOCATION_BEAN == null ? 0 : ALLOCATION_BEAN.getThreadAllocatedBytes(threadId);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * State of the data block being decoded by the current thread, shared with its items:
+ * - the first decoding error, when the REPORT error mode is used
+ * - the decoding limits
+ * - the validation mode, and the items waiting for a DEFERRED validation
+ * - whether the items keep debug messages
+ * - whether compound items are decoded lazily
+ * Items only look for the context when they find an error or when hardened limits, a validation
+ * mode other than INLINE, disabled debug messages or lazy compound items are used, so the decoding
+ * of valid data is not affected by default.
+ * Contexts nest: start keeps the context that was current on the thread and stop restores it. A
+ * thread decoding a data block can then decode the records of another data block, for example a
+ * fork join worker running the parallel decoding task of another caller while it waits for its
+ * own tasks.
+ */
+final class DecodingContext {
+    private static final ThreadLocal<DecodingContext> CONTEXT =
+            ThreadLocal.withInitial(() -> new DecodingContext(null));
+
+    /**
+     * Set once a validation mode other than INLINE is used by a published configuration
+     */
+    private static volatile boolean validationModeUsed;
+
+    /**
+     * Set once debug messages are disabled by a published configuration
+     */
+    private static volatile boolean debugMessagesDisabledUsed;
+
+    /**
+     * Set once lazy decoding of compound items is enabled by a published configuration
+     */
+    private static volatile boolean lazyCompoundItemsUsed;
+
+    private final DecodingContext previous;
+    private boolean reporting;
+    private DecodingLimits limits = DecodingLimits.NONE;
+    private ValidationMode validationMode = ValidationMode.INLINE;
+    private List<AsterixItem> pendingValidations;
+    private boolean debugMessages = true;
+    private boolean lazyCompoundItems;
+    private DecodingErrorCode code;
+    private int offset;
+    private String itemName;
+
+    private DecodingContext(DecodingContext previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Start decoding a data block on the current thread. The new context replaces the current
+     * context of the thread until stop is called.
+     *
+     * @param reporting True if errors are collected, false if they are thrown by the items
+     * @param limits             The limits enforced by the items
+     * @param validationMode     When the items are validated
+     * @param pendingValidations The list where items waiting for a DEFERRED validation are added
+     * @param debugMessages      True if the items keep debug messages
+     * @param lazyCompoundItems  True if the compound items are decoded lazily
+     */
+    static DecodingContext start(boolean reporting, DecodingLimits limits, ValidationMode validationMode,
+                                 List<AsterixItem> pendingValidations, boolean debugMessages,
+                                 boolean lazyCompoundItems) {
+        DecodingContext context = new DecodingContext(CONTEXT.get());
+        context.reporting = reporting;
+        context.limits = limits;
+        context.validationMode = validationMode;
+        context.pendingValidations = pendingValidations;
+        context.debugMessages = debugMessages;
+        context.lazyCompoundItems = lazyCompoundItems;
+        CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * @return The limits of the data block being decoded by the current thread
+     */
+    static DecodingLimits currentLimits() {
+        if (!DecodingLimits.isHardeningUsed()) {
+            return DecodingLimits.NONE;
+        }
+        return CONTEXT.get().limits;
+    }
+
+    /**
+     * @return The validation mode of the data block being decoded by the current thread
+     */
+    static ValidationMode currentValidationMode() {
+        if (!validationModeUsed) {
+            return ValidationMode.INLINE;
+        }
+        return CONTEXT.get().validationMode;
+    }
+
+    /**
+     * @return True if the items created by the current thread keep debug messages. This is the
+     * case outside the decoding of a data block.
+     */
+    static boolean currentDebugMessages() {
+        if (!debugMessagesDisabledUsed) {
+            return true;
+        }
+        return CONTEXT.get().debugMessages;
+    }
+
+    /**
+     * @return True if the compound items of the data block being decoded by the current thread are
+     * decoded lazily
+     */
+    static boolean currentLazyCompoundItems() {
+        if (!lazyCompoundItemsUsed) {
+            return false;
+        }
+        return CONTEXT.get().lazyCompoundItems;
+    }
+
+    /**
+     * Decodes a lazy item, outside the decoding of its data block. Errors are thrown, the item is
+     * validated INLINE and keeps debug messages only if its data block did. The context of the
+     * current thread is restored afterwards, in case a data block is being decoded.
+     */
+    static <T> T decodeDetached(boolean debugMessages, Supplier<T> decoding) {
+        DecodingContext context = CONTEXT.get();
+        boolean reporting = context.reporting;
+        DecodingLimits limits = context.limits;
+        ValidationMode validationMode = context.validationMode;
+        boolean contextDebugMessages = context.debugMessages;
+        boolean lazyCompoundItems = context.lazyCompoundItems;
+        context.reporting = false;
+        context.limits = DecodingLimits.NONE;
+        context.validationMode = ValidationMode.INLINE;
+        context.debugMessages = debugMessages;
+        context.lazyCompoundItems = false;
+        try {
+            return decoding.get();
+        } finally {
+            context.reporting = reporting;
+            context.limits = limits;
+            context.validationMode = validationMode;
+            context.debugMessages = contextDebugMessages;
+            context.lazyCompoundItems = lazyCompoundItems;
+        }
+    }
+
+    /**
+     * Keep an item decoded with the DEFERRED validation mode, so it can be validated later by
+     * AsterixDataBlock.validate
+     */
+    static void deferValidation(AsterixItem item) {
+        List<AsterixItem> pending = CONTEXT.get().pendingValidations;
+        if (pending != null) {
+            pending.add(item);
+        }
+    }
+
+    /**
+     * Called by AsterixDecoderConfigurationHolder before a configuration is published, so the items
+     * look for the context of their data block as soon as a decoder can use the configuration.
+     * Configurations that are built but never published do not affect the decoding.
+     */
+    static void configurationPublished(AsterixDecoderConfiguration configuration) {
+        if (configuration.getLimits().isHardened()) {
+            DecodingLimits.setHardeningUsed();
+        }
+        if (configuration.getValidationMode() != ValidationMode.INLINE) {
+            validationModeUsed = true;
+        }
+        if (!configuration.hasDebugMessages()) {
+            debugMessagesDisabledUsed = true;
+        }
+        if (configuration.hasLazyCompoundItems()) {
+            lazyCompoundItemsUsed = true;
+        }
+    }
+
+    /**
+     * Called by the items when the data can not be decoded.
+     *
+     * @return True if the error was recorded and the item must return without decoding, false if
+     * errors are not reported and the item must throw
+     */
+    static boolean report(DecodingErrorCode code, int offset, AsterixItem item) {
+        DecodingContext context = CONTEXT.get();
+        if (!context.reporting) {
+            return false;
+        }
+        context.record(code, offset, item != null ? item.getDisplayName() : null);
+        return true;
+    }
+
+    void record(DecodingErrorCode code, int offset, String itemName) {
+        //keep the first error, the next ones are caused by it
+        if (this.code == null) {
+            this.code = code;
+            this.offset = offset;
+            this.itemName = itemName;
+        }
+    }
+
+    boolean hasError() {
+        return code != null;
+    }
+
+    AsterixDecodingError toError(int category) {
+        return new AsterixDecodingError(code, category, offset, itemName);
+    }
+
+    /**
+     * Stop decoding the data block, restoring the context that was current when it was started.
+     * Must be called by the thread that started the context.
+     */
+    void stop() {
+        CONTEXT.set(previous);
+    }
+}
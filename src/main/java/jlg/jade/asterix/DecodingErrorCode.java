@@ -0,0 +1,42 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+/**
+ * The decoding errors reported by the AsterixDecoder when the REPORT error mode is used
+ */
+public enum DecodingErrorCode {
+    /**
+     * The data block length is smaller than the data block header. The rest of the datagram can
+     * not be decoded, because the next data block can not be found.
+     */
+    INVALID_DATA_BLOCK_LENGTH,
+    /**
+     * The data block header or the data block length goes beyond the end of the input
+     */
+    TRUNCATED_DATA_BLOCK,
+    /**
+     * An item goes beyond the end of its data block
+     */
+    AVAILABLE_LENGTH_EXCEEDED,
+    /**
+     * An item goes beyond the end of the input
+     */
+    UNEXPECTED_END_OF_DATA,
+    /**
+     * A variable length item has more octets than allowed by the DecodingLimits
+     */
+    FX_CHAIN_TOO_LONG,
+    /**
+     * The repetition factor of a repetitive item is larger than allowed by the DecodingLimits
+     */
+    REPETITION_FACTOR_TOO_LARGE,
+    /**
+     * A record could not be decoded for any other reason (eg. a custom reserved field
+     * implementation failed)
+     */
+    RECORD_DECODING_FAILED
+}
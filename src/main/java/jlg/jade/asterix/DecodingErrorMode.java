@@ -0,0 +1,19 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+/**
+ * What the AsterixDecoder does when the raw data can not be decoded:
+ * - THROW: an AsterixDecodingException (or a runtime exception) is thrown and the rest of the
+ * datagram is lost
+ * - REPORT: nothing is thrown. The error code and the offset are stored in the data block where the
+ * error was found, the record being decoded is dropped and decoding continues with the next data
+ * block. No stack trace or message is built, so corrupt traffic costs about as much as good traffic.
+ */
+public enum DecodingErrorMode {
+    THROW,
+    REPORT
+}
@@ -0,0 +1,78 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import org.springframework.util.Assert;
+
+/**
+ * Limits enforced by the hardened decoding mode, on top of the checks against the available data
+ * that are always done:
+ * - the data block LEN field must be at least 3 and must not go beyond the input (checked in both
+ * error modes)
+ * - a variable length item can not have more than maxFxChainLength octets (or groups of octets)
+ * - the repetition factor of a repetitive item can not be larger than maxRepetitionFactor
+ * A datagram exceeding a limit is handled according to the error mode: an
+ * AsterixDecodingException.DecodingLimitExceeded is thrown or a decoding error is reported.
+ * Every item consumes at least one octet, so the decoding cost stays linear in the input size.
+ *
+ * @implNote Example:
+ * decoder.getConfiguration().update(cfg -> cfg.withLimits(DecodingLimits.HARDENED));
+ */
+public final class DecodingLimits {
+    /**
+     * No limit other than the available data. Used by default.
+     */
+    public static final DecodingLimits NONE = new DecodingLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * Limits well above the largest items of the implemented categories
+     */
+    public static final DecodingLimits HARDENED = new DecodingLimits(16, 128);
+
+    /**
+     * Set once hardened limits are used by a published configuration, so items do not look for the
+     * limits of the current data block when hardening has never been used
+     */
+    private static volatile boolean hardeningUsed;
+
+    private final int maxFxChainLength;
+    private final int maxRepetitionFactor;
+
+    /**
+     * @param maxFxChainLength    The maximum number of octets (or groups of octets) of a variable
+     *                            length item
+     * @param maxRepetitionFactor The maximum repetition factor of a repetitive item
+     */
+    public DecodingLimits(int maxFxChainLength, int maxRepetitionFactor) {
+        Assert.isTrue(maxFxChainLength > 0, "The maximum FX chain length must be positive");
+        Assert.isTrue(maxRepetitionFactor >= 0, "The maximum repetition factor can not be negative");
+        this.maxFxChainLength = maxFxChainLength;
+        this.maxRepetitionFactor = maxRepetitionFactor;
+    }
+
+    public int getMaxFxChainLength() {
+        return maxFxChainLength;
+    }
+
+    public int getMaxRepetitionFactor() {
+        return maxRepetitionFactor;
+    }
+
+    /**
+     * @return True if these limits are stricter than the available data
+     */
+    public boolean isHardened() {
+        return this != NONE;
+    }
+
+    static boolean isHardeningUsed() {
+        return hardeningUsed;
+    }
+
+    static void setHardeningUsed() {
+        hardeningUsed = true;
+    }
+}
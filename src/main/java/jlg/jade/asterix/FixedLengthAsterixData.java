@@ -22,9 +22,15 @@ public abstract class FixedLengthAsterixData extends AsterixItem implements Deco
 
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
-        checkLength(input, offset, inputLength);
+        DecodeProfiler.ProfilingContext profiling = DecodeProfiler.enterItem();
+        if (!checkLength(input, offset, inputLength)) {
+            return skipAfterDecodingError(profiling, inputLength);
+        }
         decodeFromByteArray(input, offset);
-        this.valid = validate();
+        validateOrDefer();
+        if (profiling != null) {
+            profiling.exitItem(this);
+        }
 
         return offset + sizeInBytes;
     }
@@ -33,7 +39,20 @@ public abstract class FixedLengthAsterixData extends AsterixItem implements Deco
 
     protected abstract void decodeFromByteArray(byte[] input, int offset);
 
-    private void checkLength(byte[] input, int offset, int inputLength) {
+    /**
+     * @return False if the error was reported to the DecodingContext and the item must not
+     * be decoded
+     */
+    private boolean checkLength(byte[] input, int offset, int inputLength) {
+        if (offset + sizeInBytes > inputLength &&
+                DecodingContext.report(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, offset, this)) {
+            return false;
+        }
+        if (input.length < offset + sizeInBytes &&
+                DecodingContext.report(DecodingErrorCode.UNEXPECTED_END_OF_DATA, offset, this)) {
+            return false;
+        }
+
         appendDebugMsg(this.getDisplayName() + ":");
         appendNewLine();
 
@@ -69,5 +88,6 @@ public abstract class FixedLengthAsterixData extends AsterixItem implements Deco
             }
         }
         appendNewLine();
+        return true;
     }
 }
@@ -10,14 +10,15 @@ import jlg.jade.common.BitWriter;
 import jlg.jade.common.Constants;
 import jlg.jade.common.Decodable;
 
-import java.util.BitSet;
-
 /**
  * Represents an Asterix data item where the content is split in two parts: a spec and the actual data.
  * The spec is used to know what subfields/subitems are present in the data. This is usually represented by a FX field.
  * Will be extended by all Asterix data items that have fspec.
  */
 public abstract class FspecAsterixData extends AsterixItem implements Decodable {
+    private static final int FX_BIT = 0x01;
+    private static final int FSPEC_NOT_ENDED = -1;
+
     private final int maxFspecSizeInBytes;
     private int actualFspecSizeInBytes;
     private int nbPresentDataFields;
@@ -31,6 +32,10 @@ public abstract class FspecAsterixData extends AsterixItem implements Decodable
 
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
+        DecodeProfiler.ProfilingContext profiling = DecodeProfiler.enterItem();
+        if (getFspecSizeInBytes(input, offset, inputLength) == FSPEC_NOT_ENDED) {
+            return failDecoding(profiling, endOfDataError(input, inputLength), input, offset, inputLength);
+        }
         appendDebugMsg(this.getDisplayName() + ":");
         appendNewLine();
         int initialOffset = offset;
@@ -38,6 +43,9 @@ public abstract class FspecAsterixData extends AsterixItem implements Decodable
         offset += actualFspecSizeInBytes;
         offset = decodeFromByteArray(input, offset, inputLength);
         this.sizeInBytes = offset - initialOffset;
+        if (profiling != null) {
+            profiling.exitItem(this);
+        }
 
         return offset;
     }
@@ -71,26 +79,41 @@ public abstract class FspecAsterixData extends AsterixItem implements Decodable
 
     protected abstract int decodeFromByteArray(byte[] input, int offset, int length);
 
+    /**
+     * Follows the FX bits of the FSPEC, so readFspec never reads beyond the available data
+     *
+     * @return The FSPEC size, or FSPEC_NOT_ENDED if the available data ends before the FSPEC
+     */
+    private int getFspecSizeInBytes(byte[] input, int offset, int inputLength) {
+        int end = Math.min(inputLength, input.length);
+        for (int i = 0; i < maxFspecSizeInBytes; i++) {
+            if (offset + i >= end) {
+                return FSPEC_NOT_ENDED;
+            }
+            if ((input[offset + i] & FX_BIT) == 0) {
+                return i + 1;
+            }
+        }
+        return maxFspecSizeInBytes;
+    }
+
     private int readFspec(byte[] input, int offset) {
-        final int FX_BIT_POS = 0;
         final int BITS_IN_OCTET = 8;
         int currentLength = 0;
 
         for (int i = 0; i < maxFspecSizeInBytes; i++) {
-            BitSet bs = BitSet.valueOf(new byte[]{input[offset + i]});
+            int octet = input[offset + i];
 
-            //populate fspec
+            //populate fspec, the FX bit being at index 0 of each octet
             for (int j = 0; j < BITS_IN_OCTET; j++) {
-                int fspecIndex = currentLength * BITS_IN_OCTET + j;
-                fspec[fspecIndex] = bs.get(j);
-                if (bs.get(j) && j != FX_BIT_POS) {
-                    nbPresentDataFields++;
-                }
+                boolean present = (octet & (1 << j)) != 0;
+                fspec[currentLength * BITS_IN_OCTET + j] = present;
             }
+            nbPresentDataFields += Integer.bitCount(octet & 0xFE);
 
             //increase length and read next octet
             currentLength++;
-            if (!bs.get(FX_BIT_POS)) {
+            if ((octet & FX_BIT) == 0) {
                 appendDebugMsg("  -- FX bit is 0. Finished reading data for this item");
                 appendNewLine();
                 break;
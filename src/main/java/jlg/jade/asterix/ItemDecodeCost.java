@@ -0,0 +1,72 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decoding cost of an item class in a category, measured by a DecodeProfiler. The total values
+ * include the cost of the subfields of the item, the self values do not.
+ */
+public class ItemDecodeCost {
+    private final int category;
+    private final Class<?> itemClass;
+    private final LongAdder nbDecodes;
+    private final LongAdder totalNanos;
+    private final LongAdder selfNanos;
+    private final LongAdder totalAllocatedBytes;
+    private final LongAdder selfAllocatedBytes;
+
+    ItemDecodeCost(int category, Class<?> itemClass) {
+        this.category = category;
+        this.itemClass = itemClass;
+        this.nbDecodes = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.selfNanos = new LongAdder();
+        this.totalAllocatedBytes = new LongAdder();
+        this.selfAllocatedBytes = new LongAdder();
+    }
+
+    void add(long totalNanos, long selfNanos, long totalBytes, long selfBytes) {
+        this.nbDecodes.increment();
+        this.totalNanos.add(totalNanos);
+        this.selfNanos.add(selfNanos);
+        this.totalAllocatedBytes.add(totalBytes);
+        this.selfAllocatedBytes.add(selfBytes);
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    public Class<?> getItemClass() {
+        return itemClass;
+    }
+
+    public String getItemName() {
+        return itemClass.getSimpleName();
+    }
+
+    public long getNbDecodes() {
+        return nbDecodes.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getSelfNanos() {
+        return selfNanos.sum();
+    }
+
+    public long getTotalAllocatedBytes() {
+        return totalAllocatedBytes.sum();
+    }
+
+    public long getSelfAllocatedBytes() {
+        return selfAllocatedBytes.sum();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import java.util.function.Supplier;
+
+/**
+ * A compound item of a record which is only located when the record is decoded, and decoded the
+ * first time it is needed. Used when lazy decoding is enabled in the decoder configuration for the
+ * items few consumers read: I062/110, I062/340, I062/380, I062/390, I062/500, I048/130,
+ * I004/100, I004/170 and I004/171.
+ * The end of the item is found by walking its AsterixItemLayout, which only reads the FSPEC and
+ * the lengths of the subfields.
+ *
+ * @implNote A lazy item keeps a reference to the raw data. It is decoded without the error mode,
+ * limits and validation mode of its data block: errors are thrown and the item is validated
+ * INLINE. Its debug message is not part of the debug message of the record. Like the records, a
+ * lazy item must be used by one thread at a time.
+ */
+public final class LazyAsterixItem<T extends FspecAsterixData> {
+    private final Supplier<T> factory;
+    private final byte[] input;
+    private final int offset;
+    private final int end;
+    private final boolean debugMessages;
+
+    private LazyAsterixItem(Supplier<T> factory, byte[] input, int offset, int end, boolean debugMessages) {
+        this.factory = factory;
+        this.input = input;
+        this.offset = offset;
+        this.end = end;
+        this.debugMessages = debugMessages;
+    }
+
+    /**
+     * Locates a compound item, when the current data block is decoded with lazy compound items.
+     *
+     * @param factory     Creates the item, when it is decoded
+     * @param layout      The layout of the item
+     * @param input       The raw data
+     * @param offset      The offset of the first octet of the item
+     * @param inputLength The end of the available data
+     * @return The lazy item, or null if the item must be decoded now: lazy decoding is not enabled,
+     * or the end of the item can not be found (the decoding will report the error)
+     */
+    public static <T extends FspecAsterixData> LazyAsterixItem<T> defer(Supplier<T> factory, AsterixItemLayout layout,
+                                                                        byte[] input, int offset, int inputLength) {
+        if (!DecodingContext.currentLazyCompoundItems()) {
+            return null;
+        }
+        int end = layout.skip(input, offset, Math.min(inputLength, input.length));
+        if (end == AsterixItemLayout.INVALID_OFFSET) {
+            return null;
+        }
+        return new LazyAsterixItem<>(factory, input, offset, end, DecodingContext.currentDebugMessages());
+    }
+
+    /**
+     * @return The offset of the octet following the item in the raw data
+     */
+    public int getEndOffset() {
+        return end;
+    }
+
+    /**
+     * Decodes the item. The caller keeps the decoded item and drops this lazy item.
+     *
+     * @return The decoded item
+     */
+    public T decode() {
+        return DecodingContext.decodeDetached(debugMessages, () -> {
+            T item = factory.get();
+            item.decode(input, offset, end);
+            return item;
+        });
+    }
+}
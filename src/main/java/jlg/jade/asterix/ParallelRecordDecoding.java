@@ -0,0 +1,192 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decodes the records of large data blocks in parallel. The record boundaries of a data block are
+ * found first by a pre-scan walking only the FSPECs and the item lengths (see
+ * AsterixStructureScanner), then the records are decoded by tasks of a fork join pool and added
+ * to the data block in their original order.
+ * Data blocks with fewer records than the given minimum are decoded sequentially, as well as the
+ * data blocks of categories without a record layout (see AsterixCategoryPlugin.getRecordLayout).
+ *
+ * @implNote The REPORT error mode, the DEFERRED validation mode and the profiler collect their
+ * results in the order of the records, so data blocks decoded with one of them are always decoded
+ * sequentially. With the THROW error mode, the exception of the first failing record is thrown,
+ * after the records preceding it have been added to the data block.
+ */
+public final class ParallelRecordDecoding {
+    public static final int DEFAULT_MIN_RECORDS_PER_BLOCK = 32;
+    public static final int DEFAULT_RECORDS_PER_TASK = 8;
+
+    private final ForkJoinPool pool;
+    private final int minRecordsPerBlock;
+    private final int recordsPerTask;
+
+    /**
+     * Decodes the data blocks with at least DEFAULT_MIN_RECORDS_PER_BLOCK records in parallel,
+     * DEFAULT_RECORDS_PER_TASK records per task
+     *
+     * @param pool The pool running the decoding tasks
+     */
+    public ParallelRecordDecoding(ForkJoinPool pool) {
+        this(pool, DEFAULT_MIN_RECORDS_PER_BLOCK, DEFAULT_RECORDS_PER_TASK);
+    }
+
+    /**
+     * @param pool               The pool running the decoding tasks
+     * @param minRecordsPerBlock The minimum number of records of a data block decoded in parallel
+     * @param recordsPerTask     The number of records decoded by each task
+     */
+    public ParallelRecordDecoding(ForkJoinPool pool, int minRecordsPerBlock, int recordsPerTask) {
+        Assert.notNull(pool, "The fork join pool is mandatory");
+        Assert.isTrue(minRecordsPerBlock > 1, "The minimum number of records per block must be greater than 1");
+        Assert.isTrue(recordsPerTask > 0, "The number of records per task must be positive");
+        this.pool = pool;
+        this.minRecordsPerBlock = minRecordsPerBlock;
+        this.recordsPerTask = recordsPerTask;
+    }
+
+    /**
+     * Pre-scans the records of a data block, walking only the FSPECs and the item lengths. The
+     * records can then be decoded independently, starting at their offset.
+     *
+     * @param category The category of the data block
+     * @param input    The raw data
+     * @param offset   The offset of the first record (after the data block header)
+     * @param end      The end of the data block
+     * @return The offset of each record, followed by the end of the data block, or null if the
+     * category has no record layout or the records can not be walked up to the end of the block
+     */
+    public static int[] findRecordBoundaries(int category, byte[] input, int offset, int end) {
+        AsterixItemLayout recordLayout = recordLayout(category);
+        if (recordLayout == null || end > input.length) {
+            return null;
+        }
+        return AsterixStructureScanner.getInstance().scanRecords(recordLayout, input, offset, end);
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getMinRecordsPerBlock() {
+        return minRecordsPerBlock;
+    }
+
+    public int getRecordsPerTask() {
+        return recordsPerTask;
+    }
+
+    /**
+     * @return The record boundaries of the data block if it should be decoded in parallel, null
+     * otherwise
+     */
+    int[] findParallelRecords(int category, byte[] input, int offset, int end) {
+        if (recordLayout(category) == null || end - offset < minRecordsPerBlock) {
+            return null;
+        }
+        int[] recordOffsets = findRecordBoundaries(category, input, offset, end);
+        return recordOffsets != null && recordOffsets.length > minRecordsPerBlock ? recordOffsets : null;
+    }
+
+    /**
+     * Decodes the records found by the pre-scan.
+     *
+     * @param records        Filled with the decoded records. A record whose decoding failed, or
+     *                       which did not end at the next boundary, is left null
+     * @param failures       Filled with the exception of the records whose decoding failed
+     * @param recordFactory  Creates the record at the given index
+     * @param input          The raw data
+     * @param recordOffsets  The record boundaries
+     * @param length         The end of the data block
+     * @param contextStarter Starts the decoding context of the data block on the thread decoding
+     *                       a task
+     * @return False if a record did not end where the pre-scan found it ends
+     */
+    boolean decode(AsterixRecord[] records, RuntimeException[] failures, IntFunction<AsterixRecord> recordFactory,
+                   byte[] input, int[] recordOffsets, int length, Supplier<DecodingContext> contextStarter) {
+        DecodeTask task = new DecodeTask(records, failures, recordFactory, input, recordOffsets, length,
+                contextStarter, 0, records.length);
+        pool.invoke(task);
+        for (int i = 0; i < records.length; i++) {
+            if (records[i] == null && failures[i] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AsterixItemLayout recordLayout(int category) {
+        AsterixCategoryPlugin<?> plugin = AsterixCategories.get(category);
+        return plugin == null ? null : plugin.getRecordLayout();
+    }
+
+    private final class DecodeTask extends RecursiveAction {
+        private final AsterixRecord[] records;
+        private final RuntimeException[] failures;
+        private final IntFunction<AsterixRecord> recordFactory;
+        private final byte[] input;
+        private final int[] recordOffsets;
+        private final int length;
+        private final Supplier<DecodingContext> contextStarter;
+        private final int from;
+        private final int to;
+
+        private DecodeTask(AsterixRecord[] records, RuntimeException[] failures,
+                           IntFunction<AsterixRecord> recordFactory, byte[] input, int[] recordOffsets,
+                           int length, Supplier<DecodingContext> contextStarter, int from, int to) {
+            this.records = records;
+            this.failures = failures;
+            this.recordFactory = recordFactory;
+            this.input = input;
+            this.recordOffsets = recordOffsets;
+            this.length = length;
+            this.contextStarter = contextStarter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > recordsPerTask) {
+                int middle = (from + to) >>> 1;
+                invokeAll(split(from, middle), split(middle, to));
+                return;
+            }
+
+            //the thread may be in the middle of another data block (its own, or the one of a task it
+            //runs while waiting): the context of this data block is nested in the current one
+            DecodingContext context = contextStarter.get();
+            try {
+                for (int i = from; i < to; i++) {
+                    AsterixRecord record = recordFactory.apply(i);
+                    try {
+                        if (record.decode(input, recordOffsets[i], length) == recordOffsets[i + 1]) {
+                            records[i] = record;
+                        }
+                    } catch (RuntimeException e) {
+                        failures[i] = e;
+                    }
+                }
+            } finally {
+                context.stop();
+            }
+        }
+
+        private DecodeTask split(int from, int to) {
+            return new DecodeTask(records, failures, recordFactory, input, recordOffsets, length, contextStarter,
+                    from, to);
+        }
+    }
+}
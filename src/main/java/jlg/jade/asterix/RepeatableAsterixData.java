@@ -23,15 +23,27 @@ public abstract class RepeatableAsterixData extends AsterixItem implements Decod
 
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
+        DecodeProfiler.ProfilingContext profiling = DecodeProfiler.enterItem();
+        if (offset >= inputLength || offset >= input.length) {
+            return failDecoding(profiling, endOfDataError(input, inputLength), input, offset, inputLength);
+        }
         this.sizeInBytes = setSizeInBytes(input, offset);
-        checkLength(input, offset, inputLength);
+        if (repetitionFactor > DecodingContext.currentLimits().getMaxRepetitionFactor()) {
+            return failDecoding(profiling, DecodingErrorCode.REPETITION_FACTOR_TOO_LARGE, input, offset, inputLength);
+        }
+        if (!checkLength(input, offset, inputLength)) {
+            return skipAfterDecodingError(profiling, inputLength);
+        }
         /**
          * @implNote
          * We pass offset+1 because we used the first bit to get the repetition factor and
          * we are not interested to reparse it in the decoding process
          */
         decodeFromByteArray(input, offset + 1);
-        this.valid = validate();
+        validateOrDefer();
+        if (profiling != null) {
+            profiling.exitItem(this);
+        }
 
         return offset + sizeInBytes;
     }
@@ -44,7 +56,20 @@ public abstract class RepeatableAsterixData extends AsterixItem implements Decod
         return totalSize;
     }
 
-    private void checkLength(byte[] input, int offset, int inputLength) {
+    /**
+     * @return False if the error was reported to the DecodingContext and the item must not
+     * be decoded
+     */
+    private boolean checkLength(byte[] input, int offset, int inputLength) {
+        if (offset + sizeInBytes > inputLength &&
+                DecodingContext.report(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, offset, this)) {
+            return false;
+        }
+        if (input.length < offset + sizeInBytes &&
+                DecodingContext.report(DecodingErrorCode.UNEXPECTED_END_OF_DATA, offset, this)) {
+            return false;
+        }
+
         appendDebugMsg(this.getDisplayName() + ":");
         appendNewLine();
 
@@ -80,6 +105,7 @@ public abstract class RepeatableAsterixData extends AsterixItem implements Decod
             }
         }
         appendNewLine();
+        return true;
     }
 
     protected abstract int setRepeatableBlockSizeInBytes();
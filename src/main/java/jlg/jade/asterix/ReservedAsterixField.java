@@ -33,6 +33,10 @@ public class ReservedAsterixField extends AsterixItem implements Decodable, Enco
 
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
+        DecodeProfiler.ProfilingContext profiling = DecodeProfiler.enterItem();
+        if (offset >= inputLength || offset >= input.length) {
+            return failDecoding(profiling, endOfDataError(input, inputLength), input, offset, inputLength);
+        }
         /**
          * @implNote
          * We have the item present, but no custom implementation function. By default, we assume that the
@@ -46,6 +50,12 @@ public class ReservedAsterixField extends AsterixItem implements Decodable, Enco
 
         int length = UnsignedNumericDecoder.decodeFromOneByte(input, offset);
         appendItemDebugMsg("Length ", length);
+        if (offset + length > inputLength) {
+            return failDecoding(profiling, endOfDataError(input, inputLength), input, offset, inputLength);
+        }
+        if (profiling != null) {
+            profiling.exitItem(this);
+        }
 
         return offset + length;
     }
@@ -20,17 +20,14 @@ import java.util.AbstractMap;
 import java.util.HashMap;
 
 /**
- * Represents a single Asterix message of a given category.
+ * Represents a single Asterix message of a given category. The record of the category is
+ * created and decoded through the AsterixCategoryPlugin found in AsterixCategories.
  */
 public class StandardAsterixRecord extends DebugMessageSource implements AsterixRecord {
     private String sacSicCode;
     private final int category;
-    private Cat062Record cat062Record;
-    private Cat065Record cat065Record;
-    private Cat004Record cat004Record;
-    private Cat034Record cat034Record;
-    private Cat048Record cat048Record;
-    private Cat150Record cat150Record;
+    private final AsterixCategoryPlugin<FspecAsterixData> categoryPlugin;
+    private FspecAsterixData categoryRecord;
     /**
      * This field is used by 3rd party applications using this library. It helps to
      * add more information on the ASTERIX record, that can simplify the logic in
@@ -47,35 +44,8 @@ public class StandardAsterixRecord extends DebugMessageSource implements Asterix
      */
     public StandardAsterixRecord(int category) {
         this.category = category;
-        this.additionalInfo = new HashMap<>();
-        switch (category) {
-            case 4: {
-                this.cat004Record = new Cat004Record();
-                break;
-            }
-            case 34: {
-                this.cat034Record = new Cat034Record();
-                break;
-            }
-            case 48: {
-                this.cat048Record = new Cat048Record();
-                break;
-            }
-            case 62: {
-                this.cat062Record = new Cat062Record();
-                break;
-            }
-            case 65: {
-                this.cat065Record = new Cat065Record();
-                break;
-            }
-            case 150: {
-                this.cat150Record = new Cat150Record();
-                break;
-            }
-            default:
-                throw new NotImplementedException();
-        }
+        this.categoryPlugin = plugin(category);
+        this.categoryRecord = categoryPlugin.createRecord(null);
     }
 
     /**
@@ -87,36 +57,8 @@ public class StandardAsterixRecord extends DebugMessageSource implements Asterix
         Assert.notNull(customReservedFieldFactory); //Use other constructor if no custom factory is needed
 
         this.category = category;
-        this.additionalInfo = new HashMap<>();
-        switch (category) {
-            case 4: {
-                this.cat004Record = new Cat004Record(customReservedFieldFactory);
-                break;
-            }
-            case 34: {
-                this.cat034Record = new Cat034Record(customReservedFieldFactory);
-                break;
-            }
-            case 48: {
-                this.cat048Record = new Cat048Record(customReservedFieldFactory);
-                break;
-            }
-            case 62: {
-                this.cat062Record = new Cat062Record(customReservedFieldFactory);
-                break;
-            }
-            case 65: {
-                this.cat065Record = new Cat065Record(customReservedFieldFactory);
-                break;
-            }
-            case 150: {
-                //Cat150 does not have SP and RE fields, so we do not need to pass in additional arguments
-                this.cat150Record = new Cat150Record();
-                break;
-            }
-            default:
-                throw new NotImplementedException();
-        }
+        this.categoryPlugin = plugin(category);
+        this.categoryRecord = categoryPlugin.createRecord(customReservedFieldFactory);
     }
 
     /**
@@ -130,45 +72,9 @@ public class StandardAsterixRecord extends DebugMessageSource implements Asterix
      */
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
-        switch (category) {
-            case 4: {
-                int newOffset = this.cat004Record.decode(input, offset, inputLength);
-                this.sacSicCode = cat004Record.getItem010().getSac() + "/" + cat004Record
-                        .getItem010().getSic();
-                return newOffset;
-            }
-            case 34: {
-                int newOffset = this.cat034Record.decode(input, offset, inputLength);
-                this.sacSicCode = cat034Record.getItem010().getSac() + "/" + cat034Record
-                        .getItem010().getSic();
-                return newOffset;
-            }
-            case 48: {
-                int newOffset = this.cat048Record.decode(input, offset, inputLength);
-                this.sacSicCode = cat048Record.getItem010().getSac() + "/" + cat048Record
-                        .getItem010().getSic();
-                return newOffset;
-            }
-            case 62: {
-                int newOffset = this.cat062Record.decode(input, offset, inputLength);
-                this.sacSicCode = cat062Record.getItem010().getSac() + "/" + cat062Record
-                        .getItem010().getSic();
-                return newOffset;
-            }
-            case 65: {
-                int newOffset = this.cat065Record.decode(input, offset, inputLength);
-                this.sacSicCode = cat065Record.getItem010().getSac() + "/" + cat065Record
-                        .getItem010().getSic();
-                return newOffset;
-            }
-            case 150: {
-                int newOffset = this.cat150Record.decode(input, offset, inputLength);
-                this.sacSicCode = "NA";
-                return newOffset;
-            }
-            default:
-                throw new NotImplementedException();
-        }
+        int newOffset = this.categoryRecord.decode(input, offset, inputLength);
+        this.sacSicCode = categoryPlugin.getSacSicCode(categoryRecord);
+        return newOffset;
     }
 
     /**
@@ -189,69 +95,118 @@ public class StandardAsterixRecord extends DebugMessageSource implements Asterix
         return category;
     }
 
+    @Override
+    public boolean isValid() {
+        return categoryRecord != null && categoryRecord.isValid();
+    }
+
+    /**
+     * @return The record of the category (eg. a Cat062Record for a Cat062 record)
+     */
+    @Override
+    public FspecAsterixData getCategoryRecord() {
+        return categoryRecord;
+    }
+
     @Override
     public Cat062Record getCat062Record() {
-        return cat062Record;
+        return getRecord(Cat062Record.class);
     }
 
+    /**
+     * Replaces the record of the category
+     *
+     * @throws IllegalArgumentException if the record is not a Cat062 record
+     */
     @Override
     public void setCat062Record(Cat062Record cat062Record) {
-        this.cat062Record = cat062Record;
+        setCategoryRecord(Cat062Record.class, cat062Record);
     }
 
     @Override
     public Cat065Record getCat065Record() {
-        return cat065Record;
+        return getRecord(Cat065Record.class);
     }
 
+    /**
+     * Replaces the record of the category
+     *
+     * @throws IllegalArgumentException if the record is not a Cat065 record
+     */
     @Override
     public void setCat065Record(Cat065Record cat065Record) {
-        this.cat065Record = cat065Record;
+        setCategoryRecord(Cat065Record.class, cat065Record);
     }
 
     @Override
     public Cat004Record getCat004Record() {
-        return cat004Record;
+        return getRecord(Cat004Record.class);
     }
 
+    /**
+     * Replaces the record of the category
+     *
+     * @throws IllegalArgumentException if the record is not a Cat004 record
+     */
     @Override
     public void setCat004Record(Cat004Record cat004Record) {
-        this.cat004Record = cat004Record;
+        setCategoryRecord(Cat004Record.class, cat004Record);
     }
 
     @Override
     public Cat034Record getCat034Record() {
-        return cat034Record;
+        return getRecord(Cat034Record.class);
     }
 
+    /**
+     * Replaces the record of the category
+     *
+     * @throws IllegalArgumentException if the record is not a Cat034 record
+     */
     @Override
     public void setCat034Record(Cat034Record cat034Record) {
-        this.cat034Record = cat034Record;
+        setCategoryRecord(Cat034Record.class, cat034Record);
     }
 
     @Override
-    public Cat048Record getCat048Record() { return cat048Record; }
+    public Cat048Record getCat048Record() {
+        return getRecord(Cat048Record.class);
+    }
 
+    /**
+     * Replaces the record of the category
+     *
+     * @throws IllegalArgumentException if the record is not a Cat048 record
+     */
     @Override
     public void setCat048Record(Cat048Record cat048Record) {
-        this.cat048Record = cat048Record;
+        setCategoryRecord(Cat048Record.class, cat048Record);
     }
 
     @Override
     public Cat150Record getCat150Record() {
-        return cat150Record;
+        return getRecord(Cat150Record.class);
     }
 
+    /**
+     * Replaces the record of the category
+     *
+     * @throws IllegalArgumentException if the record is not a Cat150 record
+     */
     @Override
     public void setCat150Record(Cat150Record cat150Record) {
-        this.cat150Record = cat150Record;
+        setCategoryRecord(Cat150Record.class, cat150Record);
     }
 
     /**
-     * Dictionary of key-value pairs for extending the information of the ASTERIX record
+     * Dictionary of key-value pairs for extending the information of the ASTERIX record. The
+     * dictionary is created by the first call.
      */
     @Override
     public AbstractMap<String, Object> getAdditionalInfo() {
+        if (this.additionalInfo == null) {
+            this.additionalInfo = new HashMap<>();
+        }
         return this.additionalInfo;
     }
 
@@ -265,4 +220,19 @@ public class StandardAsterixRecord extends DebugMessageSource implements Asterix
     public String getSacSicCode() {
         return sacSicCode;
     }
+
+    private void setCategoryRecord(Class<? extends FspecAsterixData> recordType, FspecAsterixData record) {
+        Assert.isTrue(recordType == categoryPlugin.getRecordType(), "A " + recordType.getSimpleName() +
+                " can not replace the record of a category " + category + " Asterix record");
+        this.categoryRecord = record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AsterixCategoryPlugin<FspecAsterixData> plugin(int category) {
+        AsterixCategoryPlugin<?> plugin = AsterixCategories.get(category);
+        if (plugin == null) {
+            throw new NotImplementedException();
+        }
+        return (AsterixCategoryPlugin<FspecAsterixData>) plugin;
+    }
 }
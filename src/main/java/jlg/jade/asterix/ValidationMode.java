@@ -0,0 +1,19 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix;
+
+/**
+ * When the decoded items are validated (range checks, warning messages, ...):
+ * - INLINE: while decoding, every item is validated right after it is decoded
+ * - DEFERRED: items are validated the first time isValid is called, or all at once by
+ * AsterixDataBlock.validate (eg. from a pipeline stage or on another thread)
+ * - OFF: items are not validated and are considered valid. Use it for trusted feeds.
+ */
+public enum ValidationMode {
+    INLINE,
+    DEFERRED,
+    OFF
+}
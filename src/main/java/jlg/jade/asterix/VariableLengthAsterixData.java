@@ -8,8 +8,6 @@ package jlg.jade.asterix;
 
 import jlg.jade.common.Decodable;
 
-import java.util.BitSet;
-
 /**
  * Represents an Asterix data item with a variable length, where the size is calculated based
  * on the FX bit. If the FX bit is 1, then another octet of data is availbale, else the data
@@ -19,30 +17,51 @@ import java.util.BitSet;
  */
 public abstract class VariableLengthAsterixData extends AsterixItem implements Decodable {
 
+    private static final int FX_BIT = 0x01;
+    private static final int FX_CHAIN_NOT_ENDED = -1;
+    private static final int FX_CHAIN_TOO_LONG = -2;
+
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
+        DecodeProfiler.ProfilingContext profiling = DecodeProfiler.enterItem();
+        int fxChainLength = getFxChainLength(input, offset, inputLength);
+        if (fxChainLength == FX_CHAIN_NOT_ENDED) {
+            return failDecoding(profiling, endOfDataError(input, inputLength), input, offset, inputLength);
+        }
+        if (fxChainLength == FX_CHAIN_TOO_LONG) {
+            return failDecoding(profiling, DecodingErrorCode.FX_CHAIN_TOO_LONG, input, offset, inputLength);
+        }
         this.sizeInBytes = setSizeInBytes(input, offset);
         decodeFromByteArray(input,offset);
-        this.valid = validate();
+        validateOrDefer();
+        if (profiling != null) {
+            profiling.exitItem(this);
+        }
 
         return offset + sizeInBytes;
     }
 
     protected abstract void decodeFromByteArray(byte[] input, int offset);
 
+    /**
+     * @return The number of octets of each part of the item. The FX bit is the last bit of each
+     * part. Override for items made of parts of several octets.
+     */
+    protected int getFxGroupSizeInBytes() {
+        return 1;
+    }
+
     protected int setSizeInBytes(byte[] input, int offset) {
         int currentLength = 1;
-        BitSet bs = BitSet.valueOf(new byte[]{input[offset]});
 
         appendDebugMsg(this.getDisplayName() + ":");
         appendNewLine();
 
-        while (bs.get(0)){
+        while ((input[offset + currentLength - 1] & FX_BIT) != 0) {
             appendDebugMsg("  -- FX bit is 1. Continue to read data");
             appendNewLine();
             //increase length and read next octet
             currentLength++;
-            bs = BitSet.valueOf(new byte[]{input[offset+currentLength-1]});
         }
         appendDebugMsg("  -- FX bit is 0. Finished reading data for this item");
         appendNewLine();
@@ -53,4 +72,27 @@ public abstract class VariableLengthAsterixData extends AsterixItem implements D
         }
         return currentLength;
     }
+
+    /**
+     * Follows the FX bits without decoding, so setSizeInBytes never reads beyond the available
+     * data and the work done is bounded by the available length and by the DecodingLimits.
+     *
+     * @return The number of parts of the item, FX_CHAIN_NOT_ENDED or FX_CHAIN_TOO_LONG
+     */
+    private int getFxChainLength(byte[] input, int offset, int inputLength) {
+        int groupSize = getFxGroupSizeInBytes();
+        int end = Math.min(inputLength, input.length);
+        int maxFxChainLength = DecodingContext.currentLimits().getMaxFxChainLength();
+        int nbGroups = 0;
+        for (int fxIndex = offset + groupSize - 1; fxIndex < end; fxIndex += groupSize) {
+            nbGroups++;
+            if ((input[fxIndex] & FX_BIT) == 0) {
+                return nbGroups;
+            }
+            if (nbGroups >= maxFxChainLength) {
+                return FX_CHAIN_TOO_LONG;
+            }
+        }
+        return FX_CHAIN_NOT_ENDED;
+    }
 }
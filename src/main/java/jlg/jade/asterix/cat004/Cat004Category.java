@@ -0,0 +1,44 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat004;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.counters.ArrayItemCounter;
+import jlg.jade.asterix.counters.Cat004ItemCounter;
+import jlg.jade.common.AsterixStringDecoder;
+
+/**
+ * Asterix Category 004 - Safety Nets, as provided to AsterixCategories
+ */
+public final class Cat004Category implements AsterixCategoryPlugin<Cat004Record> {
+    @Override
+    public int getCategory() {
+        return 4;
+    }
+
+    @Override
+    public Class<Cat004Record> getRecordType() {
+        return Cat004Record.class;
+    }
+
+    @Override
+    public Cat004Record createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return reservedFieldFactory == null ? new Cat004Record() : new Cat004Record(reservedFieldFactory);
+    }
+
+    @Override
+    public String getSacSicCode(Cat004Record record) {
+        //I004/010 is mandatory, but can be missing from corrupt data
+        return record.getItem010() == null ? "NA" :
+                AsterixStringDecoder.sacSicLabel(record.getItem010().getSac(), record.getItem010().getSic());
+    }
+
+    @Override
+    public ArrayItemCounter<Cat004Record> createItemCounter() {
+        return new Cat004ItemCounter();
+    }
+}
@@ -23,14 +23,17 @@ public class Cat004Record extends FspecAsterixData {
     private Cat004Item060 item060;
     private Cat004Item030 item030;
     private Cat004Item170 item170;
+    private LazyAsterixItem<Cat004Item170> lazyItem170;
     private Cat004Item120 item120;
     private Cat004Item070 item070;
     private Cat004Item076 item076;
     private Cat004Item074 item074;
     private Cat004Item075 item075;
     private Cat004Item100 item100;
+    private LazyAsterixItem<Cat004Item100> lazyItem100;
     private Cat004Item035 item035;
     private Cat004Item171 item171;
+    private LazyAsterixItem<Cat004Item171> lazyItem171;
     private Cat004Item110 item110;
     private ReservedAsterixField reservedExpansionField;
     private ReservedAsterixField specialPurposeField;
@@ -106,9 +109,15 @@ public class Cat004Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I004_170)) {
-            this.item170 = new Cat004Item170();
-            offset = this.item170.decode(input, offset, length);
-            appendDebugMsg(this.item170.getDebugString());
+            this.lazyItem170 = LazyAsterixItem.defer(Cat004Item170::new, Cat004RecordLayout.AIRCRAFT_CHARACTERISTICS,
+                    input, offset, length);
+            if (this.lazyItem170 != null) {
+                offset = this.lazyItem170.getEndOffset();
+            } else {
+                this.item170 = new Cat004Item170();
+                offset = this.item170.decode(input, offset, length);
+                appendDebugMsg(this.item170.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I004_120)) {
@@ -142,9 +151,15 @@ public class Cat004Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I004_100)) {
-            this.item100 = new Cat004Item100();
-            offset = this.item100.decode(input, offset, length);
-            appendDebugMsg(this.item100.getDebugString());
+            this.lazyItem100 = LazyAsterixItem.defer(Cat004Item100::new, Cat004RecordLayout.ITEM_100,
+                    input, offset, length);
+            if (this.lazyItem100 != null) {
+                offset = this.lazyItem100.getEndOffset();
+            } else {
+                this.item100 = new Cat004Item100();
+                offset = this.item100.decode(input, offset, length);
+                appendDebugMsg(this.item100.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I004_035)) {
@@ -154,9 +169,15 @@ public class Cat004Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I004_171)) {
-            this.item171 = new Cat004Item171();
-            offset = this.item171.decode(input, offset, length);
-            appendDebugMsg(this.item171.getDebugString());
+            this.lazyItem171 = LazyAsterixItem.defer(Cat004Item171::new, Cat004RecordLayout.AIRCRAFT_CHARACTERISTICS,
+                    input, offset, length);
+            if (this.lazyItem171 != null) {
+                offset = this.lazyItem171.getEndOffset();
+            } else {
+                this.item171 = new Cat004Item171();
+                offset = this.item171.decode(input, offset, length);
+                appendDebugMsg(this.item171.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I004_110)) {
@@ -228,7 +249,18 @@ public class Cat004Record extends FspecAsterixData {
         return item030;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem170
+     */
+    public boolean isItem170Deferred() {
+        return lazyItem170 != null;
+    }
+
     public Cat004Item170 getItem170() {
+        if (lazyItem170 != null) {
+            item170 = lazyItem170.decode();
+            lazyItem170 = null;
+        }
         return item170;
     }
 
@@ -252,7 +284,18 @@ public class Cat004Record extends FspecAsterixData {
         return item075;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem100
+     */
+    public boolean isItem100Deferred() {
+        return lazyItem100 != null;
+    }
+
     public Cat004Item100 getItem100() {
+        if (lazyItem100 != null) {
+            item100 = lazyItem100.decode();
+            lazyItem100 = null;
+        }
         return item100;
     }
 
@@ -260,7 +303,18 @@ public class Cat004Record extends FspecAsterixData {
         return item035;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem171
+     */
+    public boolean isItem171Deferred() {
+        return lazyItem171 != null;
+    }
+
     public Cat004Item171 getItem171() {
+        if (lazyItem171 != null) {
+            item171 = lazyItem171.decode();
+            lazyItem171 = null;
+        }
         return item171;
     }
 
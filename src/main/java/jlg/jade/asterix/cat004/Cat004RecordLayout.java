@@ -0,0 +1,44 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat004;
+
+import jlg.jade.asterix.AsterixItemLayout;
+
+import static jlg.jade.asterix.AsterixItemLayout.compound;
+import static jlg.jade.asterix.AsterixItemLayout.fixed;
+import static jlg.jade.asterix.AsterixItemLayout.variable;
+
+/**
+ * Length layout of the compound items of the Cat004 record. The FSPEC indexes are the same as
+ * the ones used by the compound item decoders.
+ */
+public final class Cat004RecordLayout {
+    public static final AsterixItemLayout ITEM_100 = compound(1)
+            .with(7, fixed(6))              //subfield 1 - area name
+            .with(6, fixed(7))              //subfield 2 - crossing area name
+            .with(5, fixed(7))              //subfield 3 - runway/taxiway designator 1
+            .with(4, fixed(7))              //subfield 4 - runway/taxiway designator 2
+            .with(3, fixed(7))              //subfield 5 - stop bar designator
+            .with(2, fixed(7));             //subfield 6 - gate designator
+
+    /**
+     * Layout of I004/170 and I004/171, the aircraft characteristics of the two aircraft
+     */
+    public static final AsterixItemLayout AIRCRAFT_CHARACTERISTICS = compound(2)
+            .with(7, fixed(7))              //subfield 1 - aircraft identifier
+            .with(6, fixed(2))              //subfield 2 - mode 3/A code
+            .with(5, fixed(10))             //subfield 3 - predicted conflict position
+            .with(4, fixed(8))              //subfield 4 - predicted conflict position cartesian
+            .with(3, fixed(3))              //subfield 5 - time to threshold
+            .with(2, fixed(2))              //subfield 6 - distance to threshold
+            .with(1, variable())            //subfield 7 - aircraft characteristics
+            .with(15, fixed(6))             //subfield 8 - mode S identifier
+            .with(14, fixed(4))             //subfield 9 - flight plan number
+            .with(13, fixed(2));            //subfield 10 - cleared flight level
+
+    private Cat004RecordLayout() {
+    }
+}
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat004.item100;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Base class containg the implementation for RIMCA designator data
@@ -21,7 +22,7 @@ public abstract class Cat004Item100RimcaDesignatorData extends FixedLengthAsteri
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.designator = new String(input, offset, this.sizeInBytes).replace(" ", "");
+        this.designator = AsterixStringDecoder.decodeWithoutSpaces(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Designator", this.designator);
     }
 
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat004.item100;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat004 Item100 Subfield2 - Crossing Area Name
@@ -23,7 +24,7 @@ public class Cat004Item100Subfield2 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.crossingAreaName = new String(input, offset, this.sizeInBytes).replace(" ", "");
+        this.crossingAreaName = AsterixStringDecoder.decodeWithoutSpaces(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Crossing Area Name", this.crossingAreaName);
     }
 
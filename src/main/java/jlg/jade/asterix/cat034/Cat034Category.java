@@ -0,0 +1,44 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat034;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.counters.ArrayItemCounter;
+import jlg.jade.asterix.counters.Cat034ItemCounter;
+import jlg.jade.common.AsterixStringDecoder;
+
+/**
+ * Asterix Category 034 - Radar Service Messages, as provided to AsterixCategories
+ */
+public final class Cat034Category implements AsterixCategoryPlugin<Cat034Record> {
+    @Override
+    public int getCategory() {
+        return 34;
+    }
+
+    @Override
+    public Class<Cat034Record> getRecordType() {
+        return Cat034Record.class;
+    }
+
+    @Override
+    public Cat034Record createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return reservedFieldFactory == null ? new Cat034Record() : new Cat034Record(reservedFieldFactory);
+    }
+
+    @Override
+    public String getSacSicCode(Cat034Record record) {
+        //I034/010 is mandatory, but can be missing from corrupt data
+        return record.getItem010() == null ? "NA" :
+                AsterixStringDecoder.sacSicLabel(record.getItem010().getSac(), record.getItem010().getSic());
+    }
+
+    @Override
+    public ArrayItemCounter<Cat034Record> createItemCounter() {
+        return new Cat034ItemCounter();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat048;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.counters.ArrayItemCounter;
+import jlg.jade.asterix.counters.Cat048ItemCounter;
+import jlg.jade.common.AsterixStringDecoder;
+
+/**
+ * Asterix Category 048 - Monoradar Target Reports, as provided to AsterixCategories
+ */
+public final class Cat048Category implements AsterixCategoryPlugin<Cat048Record> {
+    @Override
+    public int getCategory() {
+        return 48;
+    }
+
+    @Override
+    public Class<Cat048Record> getRecordType() {
+        return Cat048Record.class;
+    }
+
+    @Override
+    public Cat048Record createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return reservedFieldFactory == null ? new Cat048Record() : new Cat048Record(reservedFieldFactory);
+    }
+
+    @Override
+    public String getSacSicCode(Cat048Record record) {
+        //I048/010 is mandatory, but can be missing from corrupt data
+        return record.getItem010() == null ? "NA" :
+                AsterixStringDecoder.sacSicLabel(record.getItem010().getSac(), record.getItem010().getSic());
+    }
+
+    @Override
+    public AsterixItemLayout getRecordLayout() {
+        return Cat048RecordLayout.RECORD;
+    }
+
+    @Override
+    public ArrayItemCounter<Cat048Record> createItemCounter() {
+        return new Cat048ItemCounter();
+    }
+}
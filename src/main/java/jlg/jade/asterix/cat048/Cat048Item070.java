@@ -5,10 +5,9 @@ package jlg.jade.asterix.cat048;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.BitReader;
 import jlg.jade.common.ModeACode;
 
-import java.util.BitSet;
-
 public class Cat048Item070 extends FixedLengthAsterixData {
     private boolean mode3AValidated;
     private boolean mode3AGarbled;
@@ -22,17 +21,15 @@ public class Cat048Item070 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        BitSet bs = BitSet.valueOf(new byte[]{input[offset]});
-
-        decodeMode3AValidated(bs);
-        decodeMode3Garbled(bs);
-        decodeMode3Deduction(bs);
+        decodeMode3AValidated(input, offset);
+        decodeMode3Garbled(input, offset);
+        decodeMode3Deduction(input, offset);
         decodeMode3ARepresentation(input, offset);
     }
 
-    private void decodeMode3Deduction(BitSet bs) {
-        final int MODE3A_DEDUCTION_BIT = 5;
-        if (bs.get(MODE3A_DEDUCTION_BIT)) {
+    private void decodeMode3Deduction(byte[] input, int offset) {
+        final int MODE3A_DEDUCTION_BIT_OFFSET = 2;
+        if (BitReader.readBit(input, offset, MODE3A_DEDUCTION_BIT_OFFSET)) {
             this.mode3ADeduction = 1;
         } else {
             this.mode3ADeduction = 0;
@@ -40,46 +37,21 @@ public class Cat048Item070 extends FixedLengthAsterixData {
         appendItemDebugMsg("Mode3 Deduction", this.mode3ADeduction);
     }
 
-    private void decodeMode3Garbled(BitSet bs) {
-        final int MODE3A_GARBLED_BIT = 6;
-        if (bs.get(MODE3A_GARBLED_BIT)) {
-            this.mode3AGarbled = true;
-        } else {
-            this.mode3AGarbled = false;
-        }
+    private void decodeMode3Garbled(byte[] input, int offset) {
+        final int MODE3A_GARBLED_BIT_OFFSET = 1;
+        this.mode3AGarbled = BitReader.readBit(input, offset, MODE3A_GARBLED_BIT_OFFSET);
         appendItemDebugMsg("Mode3A Garbled", this.mode3AGarbled);
     }
 
-    private void decodeMode3AValidated(BitSet bs) {
-        final int MODE3_VALIDATED_BIT = 7;
-        if (bs.get(MODE3_VALIDATED_BIT)) {
-            this.mode3AValidated = false;
-        } else {
-            this.mode3AValidated = true;
-        }
+    private void decodeMode3AValidated(byte[] input, int offset) {
+        final int MODE3_VALIDATED_BIT_OFFSET = 0;
+        this.mode3AValidated = !BitReader.readBit(input, offset, MODE3_VALIDATED_BIT_OFFSET);
         appendItemDebugMsg("Mode3A Validated", this.mode3AValidated);
     }
 
     private void decodeMode3ARepresentation(byte[] input, int offset) {
-
-        int firstByteValue = Byte.toUnsignedInt(input[offset]);
-        BitSet firstByteBits = BitSet.valueOf(new byte[]{input[offset]});
-
-        // for each present bit with pos = 7-4 substract 2^pos from integer value
-        if (firstByteBits.get(7)) {
-            firstByteValue = firstByteValue - 128;
-        }
-        if (firstByteBits.get(6)) {
-            firstByteValue = firstByteValue - 64;
-        }
-        if (firstByteBits.get(5)) {
-            firstByteValue = firstByteValue - 32;
-        }
-        if (firstByteBits.get(4)) {
-            firstByteValue = firstByteValue - 16;
-        }
-
-        this.mode3AReply = firstByteValue * 256 + Byte.toUnsignedInt(input[offset + 1]);
+        // the reply is given by the last 12 bits of the item
+        this.mode3AReply = BitReader.readUnsignedInt(input, offset, 4, 12);
         appendItemDebugMsg("Mode3A (decimal)", this.mode3AReply);
         appendItemDebugMsg("Mode3A (octal)", this.getMode3AReplyOctal());
 
@@ -5,8 +5,7 @@ package jlg.jade.asterix.cat048;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.util.BitSet;
+import jlg.jade.common.BitReader;
 
 /**
  * Cat048Item090 - Flight Level in Binary Representation
@@ -24,37 +23,18 @@ public class Cat048Item090 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        BitSet firstOctetBits = BitSet.valueOf(new byte[]{input[offset]});
-        int firstOctetValue = Byte.toUnsignedInt(input[offset]);
-
         // determine flight level is validated
-        final int FL_VALIDATED_BIT_VALUE = 7;
-        if (firstOctetBits.get(FL_VALIDATED_BIT_VALUE)) {
-            this.flightLevelValidated = false;
-        } else {
-            this.flightLevelValidated = true;
-        }
+        final int FL_VALIDATED_BIT_OFFSET = 0;
+        this.flightLevelValidated = !BitReader.readBit(input, offset, FL_VALIDATED_BIT_OFFSET);
         appendItemDebugMsg("Flight level validated", this.flightLevelValidated);
 
         // determine flight level is garbled
-        final int FL_GARBLED_BIT_VALUE = 6;
-        if (firstOctetBits.get(FL_GARBLED_BIT_VALUE)) {
-            this.flightLevelGarbled = true;
-        } else {
-            this.flightLevelGarbled = false;
-        }
+        final int FL_GARBLED_BIT_OFFSET = 1;
+        this.flightLevelGarbled = BitReader.readBit(input, offset, FL_GARBLED_BIT_OFFSET);
         appendItemDebugMsg("Flight level garbled", this.flightLevelGarbled);
 
-        // substract value for bits 7-6 if present
-        if (firstOctetBits.get(7)) {
-            firstOctetValue = firstOctetValue - 128;
-        }
-        if (firstOctetBits.get(6)) {
-            firstOctetValue = firstOctetValue - 64;
-        }
-
-        // calculate flight level with remaining value for first byte and second byte
-        this.flightLevel = firstOctetValue * 256 + Byte.toUnsignedInt(input[offset + 1]);
+        // calculate flight level with the remaining 14 bits
+        this.flightLevel = BitReader.readUnsignedInt(input, offset, 2, 14);
         appendItemDebugMsg("Flight level (ft)", this.getFlightLevelFeet());
     }
 
@@ -18,6 +18,7 @@ public class Cat048Record extends FspecAsterixData {
     private Cat048Item070 item070;
     private Cat048Item090 item090;
     private Cat048Item130 item130;
+    private LazyAsterixItem<Cat048Item130> lazyItem130;
     private Cat048Item220 item220;
     private Cat048Item240 item240;
     private Cat048Item250 item250;
@@ -99,9 +100,15 @@ public class Cat048Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(FSPEC.I048_130)) {
-            this.item130 = new Cat048Item130();
-            offset = item130.decode(input, offset, length);
-            appendDebugMsg(item130.getDebugString());
+            this.lazyItem130 = LazyAsterixItem.defer(Cat048Item130::new, Cat048RecordLayout.ITEM_130,
+                    input, offset, length);
+            if (this.lazyItem130 != null) {
+                offset = this.lazyItem130.getEndOffset();
+            } else {
+                this.item130 = new Cat048Item130();
+                offset = this.item130.decode(input, offset, length);
+                appendDebugMsg(this.item130.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(FSPEC.I048_220)) {
@@ -301,7 +308,18 @@ public class Cat048Record extends FspecAsterixData {
         return item090;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem130
+     */
+    public boolean isItem130Deferred() {
+        return lazyItem130 != null;
+    }
+
     public Cat048Item130 getItem130() {
+        if (lazyItem130 != null) {
+            item130 = lazyItem130.decode();
+            lazyItem130 = null;
+        }
         return item130;
     }
 
@@ -0,0 +1,73 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat048;
+
+import jlg.jade.asterix.AsterixItemLayout;
+
+import static jlg.jade.asterix.AsterixItemLayout.compound;
+import static jlg.jade.asterix.AsterixItemLayout.explicit;
+import static jlg.jade.asterix.AsterixItemLayout.fixed;
+import static jlg.jade.asterix.AsterixItemLayout.repetitive;
+import static jlg.jade.asterix.AsterixItemLayout.variable;
+
+/**
+ * Length layout of the Cat048 record and of its compound items. The FSPEC indexes are the same
+ * as the ones used by Cat048Record and by the compound item decoders.
+ */
+public final class Cat048RecordLayout {
+    public static final AsterixItemLayout ITEM_130 = compound(1)
+            .with(7, fixed(1))              //subfield 1 - SSR plot runlength
+            .with(6, fixed(1))              //subfield 2 - number of received replies
+            .with(5, fixed(1))              //subfield 3 - amplitude of received replies
+            .with(4, fixed(1))              //subfield 4 - PSR plot runlength
+            .with(3, fixed(1))              //subfield 5 - PSR amplitude
+            .with(2, fixed(1))              //subfield 6 - range difference
+            .with(1, fixed(1));             //subfield 7 - azimuth difference
+
+    public static final AsterixItemLayout ITEM_120 = compound(1)
+            .with(7, fixed(2))              //subfield 1 - calculated doppler speed
+            .with(6, repetitive(6));        //subfield 2 - raw doppler speed
+
+    /**
+     * Layout of a complete Cat048 record
+     */
+    public static final AsterixItemLayout RECORD = compound(4)
+            //first octet
+            .with(7, fixed(2))              //010
+            .with(6, fixed(3))              //140
+            .with(5, variable())            //020
+            .with(4, fixed(4))              //040
+            .with(3, fixed(2))              //070
+            .with(2, fixed(2))              //090
+            .with(1, ITEM_130)
+            //second octet
+            .with(15, fixed(3))             //220
+            .with(14, fixed(6))             //240
+            .with(13, repetitive(8))        //250
+            .with(12, fixed(2))             //161
+            .with(11, fixed(4))             //042
+            .with(10, fixed(4))             //200
+            .with(9, variable())            //170
+            //third octet
+            .with(23, fixed(4))             //210
+            .with(22, variable())           //030
+            .with(21, fixed(2))             //080
+            .with(20, fixed(4))             //100
+            .with(19, fixed(2))             //110
+            .with(18, ITEM_120)
+            .with(17, fixed(2))             //230
+            //fourth octet
+            .with(31, fixed(7))             //260
+            .with(30, fixed(1))             //055
+            .with(29, fixed(2))             //050
+            .with(28, fixed(1))             //065
+            .with(27, fixed(2))             //060
+            .with(26, explicit())           //SP
+            .with(25, explicit());          //RE
+
+    private Cat048RecordLayout() {
+    }
+}
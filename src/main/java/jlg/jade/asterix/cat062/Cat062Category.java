@@ -0,0 +1,50 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat062;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.counters.ArrayItemCounter;
+import jlg.jade.asterix.counters.Cat062ItemCounter;
+import jlg.jade.common.AsterixStringDecoder;
+
+/**
+ * Asterix Category 062 - System Track Data, as provided to AsterixCategories
+ */
+public final class Cat062Category implements AsterixCategoryPlugin<Cat062Record> {
+    @Override
+    public int getCategory() {
+        return 62;
+    }
+
+    @Override
+    public Class<Cat062Record> getRecordType() {
+        return Cat062Record.class;
+    }
+
+    @Override
+    public Cat062Record createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return reservedFieldFactory == null ? new Cat062Record() : new Cat062Record(reservedFieldFactory);
+    }
+
+    @Override
+    public String getSacSicCode(Cat062Record record) {
+        //I062/010 is mandatory, but can be missing from corrupt data
+        return record.getItem010() == null ? "NA" :
+                AsterixStringDecoder.sacSicLabel(record.getItem010().getSac(), record.getItem010().getSic());
+    }
+
+    @Override
+    public AsterixItemLayout getRecordLayout() {
+        return Cat062RecordLayout.RECORD;
+    }
+
+    @Override
+    public ArrayItemCounter<Cat062Record> createItemCounter() {
+        return new Cat062ItemCounter();
+    }
+}
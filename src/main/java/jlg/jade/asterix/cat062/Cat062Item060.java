@@ -8,10 +8,10 @@ package jlg.jade.asterix.cat062;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.BitReader;
 import jlg.jade.common.ModeACode;
 
 import java.nio.ByteBuffer;
-import java.util.BitSet;
 
 /**
  * Asterix Cat 062 Item 060 - Mode 3/A - Optional
@@ -23,30 +23,14 @@ public class Cat062Item060 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        BitSet firstOctetBits = BitSet.valueOf(new byte[]{input[offset]});
-
         /**
          * @implNote
-         * We interpret bit 5 to determine if the mode 3A has changed
-         * In the ICD, it says bit 14, but when we use bit set, because of
-         * eandianess we need to interrogate bit number 5. We transform the first octet
-         * to bits, and we look at it in reverse
+         * We interpret bit 14 (in the ICD) to determine if the mode 3A has changed. The mode 3A
+         * value is given by the last 12 bits of the item
          */
-        final int CHANGE_BIT = 5;
-        int firstOctetValueForModeA;
-        if (firstOctetBits.get(CHANGE_BIT)) {
-            this.modeAChange = true;
-            //assume bit 5 is 0 => we subtract 32 (2 pow 5) from octet value (as if bit 5 was 0)
-            firstOctetValueForModeA = Byte.toUnsignedInt(input[offset]) - 32;
-        } else {
-            this.modeAChange = false;
-            firstOctetValueForModeA = Byte.toUnsignedInt(input[offset]);
-        }
-
-        this.modeADecimal =
-                firstOctetValueForModeA * 256 +
-                        Byte.toUnsignedInt(input[offset + 1]);
-
+        final int CHANGE_BIT_OFFSET = 2;
+        this.modeAChange = BitReader.readBit(input, offset, CHANGE_BIT_OFFSET);
+        this.modeADecimal = BitReader.readUnsignedInt(input, offset, 4, 12);
 
         appendItemDebugMsg("Mode A changed", this.modeAChange);
         appendItemDebugMsg("Mode A value (decimal)", this.modeADecimal);
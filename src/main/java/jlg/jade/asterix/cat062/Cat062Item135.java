@@ -8,10 +8,9 @@ package jlg.jade.asterix.cat062;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-import jlg.jade.common.UnsignedNumericDecoder;
+import jlg.jade.common.BitReader;
 
 import java.nio.ByteBuffer;
-import java.util.BitSet;
 
 /**
  * Cat 062 Item 135 - Barometric altitude - Opt
@@ -32,30 +31,12 @@ public class Cat062Item135 extends FixedLengthAsterixData {
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
         //decode qnh
-        BitSet firstOctetBits = BitSet.valueOf(new byte[]{input[offset]});
-        final int QNH_BIT_INDEX = 7;
-        this.qnhCorrectionApplied = firstOctetBits.get(QNH_BIT_INDEX);
+        final int QNH_BIT_OFFSET = 0;
+        this.qnhCorrectionApplied = BitReader.readBit(input, offset, QNH_BIT_OFFSET);
         appendItemDebugMsg("QNH correction applied", this.qnhCorrectionApplied);
 
-        //decode barometric alt
-        /**
-         * @implNote
-         * - We need to substract 128 if MSB is 1 (QNH)
-         * - We need to generate two complment if bit[6] = 1 (sign)
-         */
-        int firstOctetValueForCalculation = UnsignedNumericDecoder.decodeFromOneByte(input, offset);
-        if (qnhCorrectionApplied) {
-            firstOctetValueForCalculation = (byte) (input[offset] - 128);
-        }
-
-        final int SIGN_BIT_INDEX = 6;
-        if (firstOctetBits.get(SIGN_BIT_INDEX)) {
-            //bit set to 1 = > we need two complement to represent negative (number - 2 pow N where N is
-            //nb of bits (in our case 7))
-            firstOctetValueForCalculation = (byte) (firstOctetValueForCalculation - 128);
-        }
-
-        this.barometricAltitude = firstOctetValueForCalculation * 256 + Byte.toUnsignedInt(input[offset + 1]);
+        //decode barometric alt, represented in two's complement on the remaining 15 bits
+        this.barometricAltitude = BitReader.readSignedInt(input, offset, 1, 15);
         appendItemDebugMsg("Barometric altitude", barometricAltitude);
         appendItemDebugMsg("Barometric altitude (ft)", getBarometricAltitudeFeet());
     }
@@ -8,43 +8,75 @@ package jlg.jade.asterix.cat062;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.Cat062AsterixAgingDataField;
+import jlg.jade.asterix.DecodingErrorCode;
 import jlg.jade.asterix.FspecAsterixData;
 
 /**
  * Cat 062 Item 295 - Track Data Ages - Optional
+ * The ages are read directly from the raw data. The getters of the subfields create their
+ * Cat062AsterixAgingDataField on the first call and return the same field afterwards.
  */
 public class Cat062Item295 extends FspecAsterixData {
-    private Cat062AsterixAgingDataField subfield1;
-    private Cat062AsterixAgingDataField subfield2;
-    private Cat062AsterixAgingDataField subfield3;
-    private Cat062AsterixAgingDataField subfield4;
-    private Cat062AsterixAgingDataField subfield5;
-    private Cat062AsterixAgingDataField subfield6;
-    private Cat062AsterixAgingDataField subfield7;
-    private Cat062AsterixAgingDataField subfield8;
-    private Cat062AsterixAgingDataField subfield9;
-    private Cat062AsterixAgingDataField subfield10;
-    private Cat062AsterixAgingDataField subfield11;
-    private Cat062AsterixAgingDataField subfield12;
-    private Cat062AsterixAgingDataField subfield13;
-    private Cat062AsterixAgingDataField subfield14;
-    private Cat062AsterixAgingDataField subfield15;
-    private Cat062AsterixAgingDataField subfield16;
-    private Cat062AsterixAgingDataField subfield17;
-    private Cat062AsterixAgingDataField subfield18;
-    private Cat062AsterixAgingDataField subfield19;
-    private Cat062AsterixAgingDataField subfield20;
-    private Cat062AsterixAgingDataField subfield21;
-    private Cat062AsterixAgingDataField subfield22;
-    private Cat062AsterixAgingDataField subfield23;
-    private Cat062AsterixAgingDataField subfield24;
-    private Cat062AsterixAgingDataField subfield25;
-    private Cat062AsterixAgingDataField subfield26;
-    private Cat062AsterixAgingDataField subfield27;
-    private Cat062AsterixAgingDataField subfield28;
-    private Cat062AsterixAgingDataField subfield29;
-    private Cat062AsterixAgingDataField subfield30;
-    private Cat062AsterixAgingDataField subfield31;
+    private static final int NB_SUBFIELDS = 31;
+
+    /**
+     * FSPEC index of each subfield, by subfield number - 1
+     */
+    private static final int[] SUBFIELD_FSPEC_INDEXES = {
+            Fspec.SUBFIELD_1, Fspec.SUBFIELD_2, Fspec.SUBFIELD_3, Fspec.SUBFIELD_4,
+            Fspec.SUBFIELD_5, Fspec.SUBFIELD_6, Fspec.SUBFIELD_7, Fspec.SUBFIELD_8,
+            Fspec.SUBFIELD_9, Fspec.SUBFIELD_10, Fspec.SUBFIELD_11, Fspec.SUBFIELD_12,
+            Fspec.SUBFIELD_13, Fspec.SUBFIELD_14, Fspec.SUBFIELD_15, Fspec.SUBFIELD_16,
+            Fspec.SUBFIELD_17, Fspec.SUBFIELD_18, Fspec.SUBFIELD_19, Fspec.SUBFIELD_20,
+            Fspec.SUBFIELD_21, Fspec.SUBFIELD_22, Fspec.SUBFIELD_23, Fspec.SUBFIELD_24,
+            Fspec.SUBFIELD_25, Fspec.SUBFIELD_26, Fspec.SUBFIELD_27, Fspec.SUBFIELD_28,
+            Fspec.SUBFIELD_29, Fspec.SUBFIELD_30, Fspec.SUBFIELD_31
+    };
+
+    /**
+     * Debug message title of each subfield, by subfield number - 1
+     */
+    private static final String[] SUBFIELD_TITLES = {
+            "Item295Subfield1 - MFL age",
+            "Item295Subfield2 - Mode1 age",
+            "Item295Subfield3 - Mode2 age",
+            "Item295Subfield4 - Mode 3/A age",
+            "Item295Subfield5 - Mode 4 age",
+            "Item295Subfield6 - Mode5 age",
+            "Item295Subfield7 - MGH age",
+            "Item295Subfield8 - IAS/Mach age",
+            "Item295Subfield9 - True airspeed age",
+            "Item295Subfield10 - Selected altitude age",
+            "Item295Subfield11 - Final state selected altitude age",
+            "Item295Subfield12 - Trajectory intent age",
+            "Item295Subfield13 - Comm/ACAS age",
+            "Item295Subfield14 - ADSB",
+            "Item295Subfield15 - RA Report age",
+            "Item295Subfield16 - Barometric vertical age",
+            "Item295Subfield17 - Geometric vertical age",
+            "Item295Subfield18 - Roll angle age",
+            "Item295Subfield19 - Track angle rate age",
+            "Item295Subfield20 - Track angle age",
+            "Item295Subfield21 - Ground speed age",
+            "Item295Subfield22 - Velocity uncertainty age",
+            "Item295Subfield23 - MET age",
+            "Item295Subfield24 - Emmiter category age",
+            "Item295Subfield25 - Pos age",
+            "Item295Subfield26 - Geometric altitude age",
+            "Item295Subfield27 - Pos uncertainty age",
+            "Item295Subfield28 - Mode S MB data age",
+            "Item295Subfield29 - Indicated airspeed data age",
+            "Item295Subfield30 - Mach number data age",
+            "Item295Subfield31 - Barometric pressure setting data age"
+    };
+
+    /**
+     * The subfields are one byte ages, kept as primitives instead of Asterix items to reduce the memory
+     * used by the decoded records. Bit N of presentSubfields is set when subfield N + 1 is present.
+     */
+    private int presentSubfields;
+    private byte[] ages;
+    private Cat062AsterixAgingDataField[] subfields;
 
     @Override
     protected int setMaxFspecSizeInBytes() {
@@ -53,380 +85,181 @@ public class Cat062Item295 extends FspecAsterixData {
 
     @Override
     protected int decodeFromByteArray(byte[] input, int offset, int length) {
-        if (fspecDataAtIndex(Fspec.SUBFIELD_1)) {
-            subfield1 = new Cat062AsterixAgingDataField();
-            offset = subfield1.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield1 - MFL age");
-            appendNewLine();
-            appendDebugMsg(subfield1.getDebugString());
+        for (int i = 0; i < NB_SUBFIELDS; i++) {
+            if (fspecDataAtIndex(SUBFIELD_FSPEC_INDEXES[i])) {
+                presentSubfields |= 1 << i;
+            }
         }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_2)) {
-            subfield2 = new Cat062AsterixAgingDataField();
-            offset = subfield2.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield2 - Mode1 age");
-            appendNewLine();
-            appendDebugMsg(subfield2.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_3)) {
-            subfield3 = new Cat062AsterixAgingDataField();
-            offset = subfield3.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield3 - Mode2 age");
-            appendNewLine();
-            appendDebugMsg(subfield3.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_4)) {
-            subfield4 = new Cat062AsterixAgingDataField();
-            offset = subfield4.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield4 - Mode 3/A age");
-            appendNewLine();
-            appendDebugMsg(subfield4.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_5)) {
-            subfield5 = new Cat062AsterixAgingDataField();
-            offset = subfield5.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield5 - Mode 4 age");
-            appendNewLine();
-            appendDebugMsg(subfield5.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_6)) {
-            subfield6 = new Cat062AsterixAgingDataField();
-            offset = subfield6.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield6 - Mode5 age");
-            appendNewLine();
-            appendDebugMsg(subfield6.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_7)) {
-            subfield7 = new Cat062AsterixAgingDataField();
-            offset = subfield7.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield7 - MGH age");
-            appendNewLine();
-            appendDebugMsg(subfield7.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_8)) {
-            subfield8 = new Cat062AsterixAgingDataField();
-            offset = subfield8.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield8 - IAS/Mach age");
-            appendNewLine();
-            appendDebugMsg(subfield8.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_9)) {
-            subfield9 = new Cat062AsterixAgingDataField();
-            offset = subfield9.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield9 - True airspeed age");
-            appendNewLine();
-            appendDebugMsg(subfield9.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_10)) {
-            subfield10 = new Cat062AsterixAgingDataField();
-            offset = subfield10.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield10 - Selected altitude age");
-            appendNewLine();
-            appendDebugMsg(subfield10.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_11)) {
-            subfield11 = new Cat062AsterixAgingDataField();
-            offset = subfield11.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield11 - Final state selected altitude age");
-            appendNewLine();
-            appendDebugMsg(subfield11.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_12)) {
-            subfield12 = new Cat062AsterixAgingDataField();
-            offset = subfield12.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield12 - Trajectory intent age");
-            appendNewLine();
-            appendDebugMsg(subfield12.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_13)) {
-            subfield13 = new Cat062AsterixAgingDataField();
-            offset = subfield13.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield13 - Comm/ACAS age");
-            appendNewLine();
-            appendDebugMsg(subfield13.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_14)) {
-            subfield14 = new Cat062AsterixAgingDataField();
-            offset = subfield14.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield14 - ADSB");
-            appendNewLine();
-            appendDebugMsg(subfield14.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_15)) {
-            subfield15 = new Cat062AsterixAgingDataField();
-            offset = subfield15.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield15 - RA Report age");
-            appendNewLine();
-            appendDebugMsg(subfield15.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_16)) {
-            subfield16 = new Cat062AsterixAgingDataField();
-            offset = subfield16.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield16 - Barometric vertical age");
-            appendNewLine();
-            appendDebugMsg(subfield16.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_17)) {
-            subfield17 = new Cat062AsterixAgingDataField();
-            offset = subfield17.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield17 - Geometric vertical age");
-            appendNewLine();
-            appendDebugMsg(subfield17.getDebugString());
+        int end = offset + Integer.bitCount(presentSubfields);
+        if (end > length) {
+            return failDecoding(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, input, offset, length);
         }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_18)) {
-            subfield18 = new Cat062AsterixAgingDataField();
-            offset = subfield18.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield18 - Roll angle age");
-            appendNewLine();
-            appendDebugMsg(subfield18.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_19)) {
-            subfield19 = new Cat062AsterixAgingDataField();
-            offset = subfield19.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield19 - Track angle rate age");
-            appendNewLine();
-            appendDebugMsg(subfield19.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_20)) {
-            subfield20 = new Cat062AsterixAgingDataField();
-            offset = subfield20.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield20 - Track angle age");
-            appendNewLine();
-            appendDebugMsg(subfield20.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_21)) {
-            subfield21 = new Cat062AsterixAgingDataField();
-            offset = subfield21.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield21 - Ground speed age");
-            appendNewLine();
-            appendDebugMsg(subfield21.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_22)) {
-            subfield22 = new Cat062AsterixAgingDataField();
-            offset = subfield22.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield22 - Velocity uncertainty age");
-            appendNewLine();
-            appendDebugMsg(subfield22.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_23)) {
-            subfield23 = new Cat062AsterixAgingDataField();
-            offset = subfield23.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield23 - MET age");
-            appendNewLine();
-            appendDebugMsg(subfield23.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_24)) {
-            subfield24 = new Cat062AsterixAgingDataField();
-            offset = subfield24.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield24 - Emmiter category age");
-            appendNewLine();
-            appendDebugMsg(subfield24.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_25)) {
-            subfield25 = new Cat062AsterixAgingDataField();
-            offset = subfield25.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield25 - Pos age");
-            appendNewLine();
-            appendDebugMsg(subfield25.getDebugString());
+        if (end > input.length) {
+            return failDecoding(DecodingErrorCode.UNEXPECTED_END_OF_DATA, input, offset, length);
         }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_26)) {
-            subfield26 = new Cat062AsterixAgingDataField();
-            offset = subfield26.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield26 - Geometric altitude age");
-            appendNewLine();
-            appendDebugMsg(subfield26.getDebugString());
+        if (presentSubfields == 0) {
+            return offset;
         }
 
-        if (fspecDataAtIndex(Fspec.SUBFIELD_27)) {
-            subfield27 = new Cat062AsterixAgingDataField();
-            offset = subfield27.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield27 - Pos uncertainty age");
-            appendNewLine();
-            appendDebugMsg(subfield27.getDebugString());
+        ages = new byte[NB_SUBFIELDS];
+        for (int i = 0; i < NB_SUBFIELDS; i++) {
+            if ((presentSubfields & (1 << i)) != 0) {
+                ages[i] = input[offset++];
+                if (isDebugMessagesEnabled()) {
+                    int age = Byte.toUnsignedInt(ages[i]);
+                    appendDebugMsg(SUBFIELD_TITLES[i]);
+                    appendNewLine();
+                    appendItemDebugMsg("Age", age);
+                    appendItemDebugMsg("Age (sec)", Cat062AsterixAgingDataField.toSeconds(age));
+                }
+            }
         }
 
-        if (fspecDataAtIndex(Fspec.SUBFIELD_28)) {
-            subfield28 = new Cat062AsterixAgingDataField();
-            offset = subfield28.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield28 - Mode S MB data age");
-            appendNewLine();
-            appendDebugMsg(subfield28.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_29)) {
-            subfield29 = new Cat062AsterixAgingDataField();
-            offset = subfield29.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield29 - Indicated airspeed data age");
-            appendNewLine();
-            appendDebugMsg(subfield29.getDebugString());
-        }
-
-        if (fspecDataAtIndex(Fspec.SUBFIELD_30)) {
-            subfield30 = new Cat062AsterixAgingDataField();
-            offset = subfield30.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield30 - Mach number data age");
-            appendNewLine();
-            appendDebugMsg(subfield30.getDebugString());
-        }
+        return offset;
+    }
 
-        if (fspecDataAtIndex(Fspec.SUBFIELD_31)) {
-            subfield31 = new Cat062AsterixAgingDataField();
-            offset = subfield31.decode(input, offset, length);
-            appendDebugMsg("Item295Subfield31 - Barometric pressure setting data age");
-            appendNewLine();
-            appendDebugMsg(subfield31.getDebugString());
+    /**
+     * @param subfieldNumber The number of the subfield, from 1 to 31
+     * @return The age given by the subfield in 1/4 seconds, or -1 if the subfield is not present
+     */
+    public int getSubfieldAge(int subfieldNumber) {
+        if (!isSubfieldPresent(subfieldNumber)) {
+            return -1;
         }
+        return Byte.toUnsignedInt(ages[subfieldNumber - 1]);
+    }
 
-
-        return offset;
+    /**
+     * @param subfieldNumber The number of the subfield, from 1 to 31
+     * @return True if the subfield is present
+     */
+    public boolean isSubfieldPresent(int subfieldNumber) {
+        return subfieldNumber >= 1 && subfieldNumber <= NB_SUBFIELDS &&
+                (presentSubfields & (1 << (subfieldNumber - 1))) != 0;
     }
 
     public Cat062AsterixAgingDataField getSubfield1() {
-        return subfield1;
+        return getSubfield(1);
     }
 
     public Cat062AsterixAgingDataField getSubfield2() {
-        return subfield2;
+        return getSubfield(2);
     }
 
     public Cat062AsterixAgingDataField getSubfield3() {
-        return subfield3;
+        return getSubfield(3);
     }
 
     public Cat062AsterixAgingDataField getSubfield4() {
-        return subfield4;
+        return getSubfield(4);
     }
 
     public Cat062AsterixAgingDataField getSubfield5() {
-        return subfield5;
+        return getSubfield(5);
     }
 
     public Cat062AsterixAgingDataField getSubfield6() {
-        return subfield6;
+        return getSubfield(6);
     }
 
     public Cat062AsterixAgingDataField getSubfield7() {
-        return subfield7;
+        return getSubfield(7);
     }
 
     public Cat062AsterixAgingDataField getSubfield8() {
-        return subfield8;
+        return getSubfield(8);
     }
 
     public Cat062AsterixAgingDataField getSubfield9() {
-        return subfield9;
+        return getSubfield(9);
     }
 
     public Cat062AsterixAgingDataField getSubfield10() {
-        return subfield10;
+        return getSubfield(10);
     }
 
     public Cat062AsterixAgingDataField getSubfield11() {
-        return subfield11;
+        return getSubfield(11);
     }
 
     public Cat062AsterixAgingDataField getSubfield12() {
-        return subfield12;
+        return getSubfield(12);
     }
 
     public Cat062AsterixAgingDataField getSubfield13() {
-        return subfield13;
+        return getSubfield(13);
     }
 
     public Cat062AsterixAgingDataField getSubfield14() {
-        return subfield14;
+        return getSubfield(14);
     }
 
     public Cat062AsterixAgingDataField getSubfield15() {
-        return subfield15;
+        return getSubfield(15);
     }
 
     public Cat062AsterixAgingDataField getSubfield16() {
-        return subfield16;
+        return getSubfield(16);
     }
 
     public Cat062AsterixAgingDataField getSubfield17() {
-        return subfield17;
+        return getSubfield(17);
     }
 
     public Cat062AsterixAgingDataField getSubfield18() {
-        return subfield18;
+        return getSubfield(18);
     }
 
     public Cat062AsterixAgingDataField getSubfield19() {
-        return subfield19;
+        return getSubfield(19);
     }
 
     public Cat062AsterixAgingDataField getSubfield20() {
-        return subfield20;
+        return getSubfield(20);
     }
 
     public Cat062AsterixAgingDataField getSubfield21() {
-        return subfield21;
+        return getSubfield(21);
     }
 
     public Cat062AsterixAgingDataField getSubfield22() {
-        return subfield22;
+        return getSubfield(22);
     }
 
     public Cat062AsterixAgingDataField getSubfield23() {
-        return subfield23;
+        return getSubfield(23);
     }
 
     public Cat062AsterixAgingDataField getSubfield24() {
-        return subfield24;
+        return getSubfield(24);
     }
 
     public Cat062AsterixAgingDataField getSubfield25() {
-        return subfield25;
+        return getSubfield(25);
     }
 
     public Cat062AsterixAgingDataField getSubfield26() {
-        return subfield26;
+        return getSubfield(26);
     }
 
     public Cat062AsterixAgingDataField getSubfield27() {
-        return subfield27;
+        return getSubfield(27);
     }
 
     public Cat062AsterixAgingDataField getSubfield28() {
-        return subfield28;
+        return getSubfield(28);
     }
 
     public Cat062AsterixAgingDataField getSubfield29() {
-        return subfield29;
+        return getSubfield(29);
     }
 
     public Cat062AsterixAgingDataField getSubfield30() {
-        return subfield30;
+        return getSubfield(30);
     }
 
     public Cat062AsterixAgingDataField getSubfield31() {
-        return subfield31;
+        return getSubfield(31);
     }
 
     @Override
@@ -434,6 +267,26 @@ public class Cat062Item295 extends FspecAsterixData {
         return "Cat062Item295 - Track Data Ages";
     }
 
+    /**
+     * @return The aging field holding the age of the subfield, created by the first call, or null
+     * if the subfield is not present
+     */
+    private Cat062AsterixAgingDataField getSubfield(int subfieldNumber) {
+        if (!isSubfieldPresent(subfieldNumber)) {
+            return null;
+        }
+        if (subfields == null) {
+            subfields = new Cat062AsterixAgingDataField[NB_SUBFIELDS];
+        }
+        Cat062AsterixAgingDataField subfield = subfields[subfieldNumber - 1];
+        if (subfield == null) {
+            subfield = new Cat062AsterixAgingDataField();
+            subfield.decode(ages, subfieldNumber - 1, NB_SUBFIELDS);
+            subfields[subfieldNumber - 1] = subfield;
+        }
+        return subfield;
+    }
+
     private static class Fspec {
         //first extent
         static final int SUBFIELD_7 = 1;
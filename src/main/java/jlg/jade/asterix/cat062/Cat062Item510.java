@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062;
 
 import jlg.jade.asterix.DecodingNotImplemented;
 import jlg.jade.asterix.VariableLengthAsterixData;
-
-import java.util.BitSet;
+import jlg.jade.common.BitReader;
 
 /**
  * Cat 062 Item 510 - Composed Track Number
@@ -26,22 +25,25 @@ public class Cat062Item510 extends VariableLengthAsterixData {
         appendNotImplementedMsg();
     }
 
+    @Override
+    protected int getFxGroupSizeInBytes() {
+        return 3;
+    }
+
     @Override
     protected int setSizeInBytes(byte[] input, int offset) {
+        final int FX_BIT_OFFSET = 7;
         int currentLength = 3;  //first part has 3 octets
 
-        //3 octet sequences => FX bit is at each 3rd octet
-        BitSet bs = BitSet.valueOf(new byte[]{input[offset + 2]});
-
         appendDebugMsg(this.getDisplayName() + ":");
         appendNewLine();
 
-        while (bs.get(0)) {
+        //3 octet sequences => FX bit is at each 3rd octet
+        while (BitReader.readBit(input, offset + currentLength - 1, FX_BIT_OFFSET)) {
             appendDebugMsg("FX bit is 1. Continue to read data");
             appendNewLine();
             //increase length and read next octet (by 3 octets)
             currentLength += 3;
-            bs = BitSet.valueOf(new byte[]{input[offset + currentLength - 1]});
         }
         appendDebugMsg("FX bit is 0. Finished reading data for this item");
         appendNewLine();
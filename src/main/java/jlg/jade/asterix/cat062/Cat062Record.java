@@ -30,6 +30,7 @@ public class Cat062Record extends FspecAsterixData {
     private Cat062Item060 item060;
     private Cat062Item245 item245;
     private Cat062Item380 item380;
+    private LazyAsterixItem<Cat062Item380> lazyItem380;
     private Cat062Item040 item040;
     private Cat062Item080 item080;
     private Cat062Item290 item290;
@@ -40,13 +41,17 @@ public class Cat062Record extends FspecAsterixData {
     private Cat062Item135 item135;
     private Cat062Item220 item220;
     private Cat062Item390 item390;
+    private LazyAsterixItem<Cat062Item390> lazyItem390;
     private Cat062Item270 item270;
     private Cat062Item300 item300;
     private Cat062Item110 item110;
+    private LazyAsterixItem<Cat062Item110> lazyItem110;
     private Cat062Item120 item120;
     private Cat062Item510 item510;
     private Cat062Item500 item500;
+    private LazyAsterixItem<Cat062Item500> lazyItem500;
     private Cat062Item340 item340;
+    private LazyAsterixItem<Cat062Item340> lazyItem340;
     private ReservedAsterixField reservedExpansionField;
     private ReservedAsterixField specialPurposeField;
 
@@ -135,9 +140,15 @@ public class Cat062Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I062_380)) {
-            this.item380 = new Cat062Item380();
-            offset = this.item380.decode(input, offset, length);
-            appendDebugMsg(this.item380.getDebugString());
+            this.lazyItem380 = LazyAsterixItem.defer(Cat062Item380::new, Cat062RecordLayout.ITEM_380,
+                    input, offset, length);
+            if (this.lazyItem380 != null) {
+                offset = this.lazyItem380.getEndOffset();
+            } else {
+                this.item380 = new Cat062Item380();
+                offset = this.item380.decode(input, offset, length);
+                appendDebugMsg(this.item380.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I062_040)) {
@@ -195,9 +206,15 @@ public class Cat062Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I062_390)) {
-            this.item390 = new Cat062Item390();
-            offset = this.item390.decode(input, offset, length);
-            appendDebugMsg(this.item390.getDebugString());
+            this.lazyItem390 = LazyAsterixItem.defer(Cat062Item390::new, Cat062RecordLayout.ITEM_390,
+                    input, offset, length);
+            if (this.lazyItem390 != null) {
+                offset = this.lazyItem390.getEndOffset();
+            } else {
+                this.item390 = new Cat062Item390();
+                offset = this.item390.decode(input, offset, length);
+                appendDebugMsg(this.item390.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I062_270)) {
@@ -213,9 +230,15 @@ public class Cat062Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I062_110)) {
-            this.item110 = new Cat062Item110();
-            offset = this.item110.decode(input, offset, length);
-            appendDebugMsg(this.item110.getDebugString());
+            this.lazyItem110 = LazyAsterixItem.defer(Cat062Item110::new, Cat062RecordLayout.ITEM_110,
+                    input, offset, length);
+            if (this.lazyItem110 != null) {
+                offset = this.lazyItem110.getEndOffset();
+            } else {
+                this.item110 = new Cat062Item110();
+                offset = this.item110.decode(input, offset, length);
+                appendDebugMsg(this.item110.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I062_120)) {
@@ -231,15 +254,27 @@ public class Cat062Record extends FspecAsterixData {
         }
 
         if (fspecDataAtIndex(Fspec.I062_500)) {
-            this.item500 = new Cat062Item500();
-            offset = this.item500.decode(input, offset, length);
-            appendDebugMsg(this.item500.getDebugString());
+            this.lazyItem500 = LazyAsterixItem.defer(Cat062Item500::new, Cat062RecordLayout.ITEM_500,
+                    input, offset, length);
+            if (this.lazyItem500 != null) {
+                offset = this.lazyItem500.getEndOffset();
+            } else {
+                this.item500 = new Cat062Item500();
+                offset = this.item500.decode(input, offset, length);
+                appendDebugMsg(this.item500.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I062_340)) {
-            this.item340 = new Cat062Item340();
-            offset = this.item340.decode(input, offset, length);
-            appendDebugMsg(this.item340.getDebugString());
+            this.lazyItem340 = LazyAsterixItem.defer(Cat062Item340::new, Cat062RecordLayout.ITEM_340,
+                    input, offset, length);
+            if (this.lazyItem340 != null) {
+                offset = this.lazyItem340.getEndOffset();
+            } else {
+                this.item340 = new Cat062Item340();
+                offset = this.item340.decode(input, offset, length);
+                appendDebugMsg(this.item340.getDebugString());
+            }
         }
 
         if (fspecDataAtIndex(Fspec.I062_RE)) {
@@ -396,12 +431,24 @@ public class Cat062Record extends FspecAsterixData {
         this.item245 = item245;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem380
+     */
+    public boolean isItem380Deferred() {
+        return lazyItem380 != null;
+    }
+
     public Cat062Item380 getItem380() {
+        if (lazyItem380 != null) {
+            item380 = lazyItem380.decode();
+            lazyItem380 = null;
+        }
         return item380;
     }
 
     public void setItem380(Cat062Item380 item380) {
         this.item380 = item380;
+        this.lazyItem380 = null;
     }
 
     public Cat062Item040 getItem040() {
@@ -476,12 +523,24 @@ public class Cat062Record extends FspecAsterixData {
         this.item220 = item220;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem390
+     */
+    public boolean isItem390Deferred() {
+        return lazyItem390 != null;
+    }
+
     public Cat062Item390 getItem390() {
+        if (lazyItem390 != null) {
+            item390 = lazyItem390.decode();
+            lazyItem390 = null;
+        }
         return item390;
     }
 
     public void setItem390(Cat062Item390 item390) {
         this.item390 = item390;
+        this.lazyItem390 = null;
     }
 
     public Cat062Item270 getItem270() {
@@ -500,12 +559,24 @@ public class Cat062Record extends FspecAsterixData {
         this.item300 = item300;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem110
+     */
+    public boolean isItem110Deferred() {
+        return lazyItem110 != null;
+    }
+
     public Cat062Item110 getItem110() {
+        if (lazyItem110 != null) {
+            item110 = lazyItem110.decode();
+            lazyItem110 = null;
+        }
         return item110;
     }
 
     public void setItem110(Cat062Item110 item110) {
         this.item110 = item110;
+        this.lazyItem110 = null;
     }
 
     public Cat062Item120 getItem120() {
@@ -524,20 +595,44 @@ public class Cat062Record extends FspecAsterixData {
         this.item510 = item510;
     }
 
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem500
+     */
+    public boolean isItem500Deferred() {
+        return lazyItem500 != null;
+    }
+
     public Cat062Item500 getItem500() {
+        if (lazyItem500 != null) {
+            item500 = lazyItem500.decode();
+            lazyItem500 = null;
+        }
         return item500;
     }
 
     public void setItem500(Cat062Item500 item500) {
         this.item500 = item500;
+        this.lazyItem500 = null;
+    }
+
+    /**
+     * @return True if the item is present and waits to be decoded by the first call of getItem340
+     */
+    public boolean isItem340Deferred() {
+        return lazyItem340 != null;
     }
 
     public Cat062Item340 getItem340() {
+        if (lazyItem340 != null) {
+            item340 = lazyItem340.decode();
+            lazyItem340 = null;
+        }
         return item340;
     }
 
     public void setItem340(Cat062Item340 item340) {
         this.item340 = item340;
+        this.lazyItem340 = null;
     }
 
     public ReservedAsterixField getReservedExpansionField() {
@@ -0,0 +1,158 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat062;
+
+import jlg.jade.asterix.AsterixItemLayout;
+
+import static jlg.jade.asterix.AsterixItemLayout.compound;
+import static jlg.jade.asterix.AsterixItemLayout.explicit;
+import static jlg.jade.asterix.AsterixItemLayout.fixed;
+import static jlg.jade.asterix.AsterixItemLayout.repetitive;
+import static jlg.jade.asterix.AsterixItemLayout.variable;
+
+/**
+ * Length layout of the Cat062 record and of its compound items. The FSPEC indexes are the same
+ * as the ones used by Cat062Record and by the compound item decoders.
+ */
+public final class Cat062RecordLayout {
+    public static final int I062_010 = 7;
+    public static final int I062_040 = 11;
+    public static final int I062_070 = 4;
+
+    private static final AsterixItemLayout AGE = fixed(1);
+
+    public static final AsterixItemLayout ITEM_380 = compound(4)
+            .with(7, fixed(3))              //subfield 1 - target address
+            .with(6, fixed(6))              //subfield 2 - target identification
+            .with(5, fixed(2))              //subfield 3 - magnetic heading
+            .with(4, fixed(2))              //subfield 4 - indicated airspeed / mach
+            .with(3, fixed(2))              //subfield 5 - true airspeed
+            .with(2, fixed(2))              //subfield 6 - selected altitude
+            .with(1, fixed(2))              //subfield 7 - final state selected altitude
+            .with(15, variable())           //subfield 8 - trajectory intent status
+            .with(14, repetitive(15))       //subfield 9 - trajectory intent data
+            .with(13, fixed(2))             //subfield 10 - communications capability
+            .with(12, fixed(2))             //subfield 11 - status reported by ADS-B
+            .with(11, fixed(7))             //subfield 12 - ACAS resolution advisory report
+            .with(10, fixed(2))             //subfield 13 - barometric vertical rate
+            .with(9, fixed(2))              //subfield 14 - geometric vertical rate
+            .with(23, fixed(2))             //subfield 15 - roll angle
+            .with(22, fixed(2))             //subfield 16 - track angle rate
+            .with(21, fixed(2))             //subfield 17 - track angle
+            .with(20, fixed(2))             //subfield 18 - ground speed
+            .with(19, fixed(1))             //subfield 19 - velocity uncertainty
+            .with(18, fixed(8))             //subfield 20 - meteorological data
+            .with(17, fixed(1))             //subfield 21 - emitter category
+            .with(31, fixed(6))             //subfield 22 - position data
+            .with(30, fixed(2))             //subfield 23 - geometric altitude data
+            .with(29, fixed(1))             //subfield 24 - position uncertainty data
+            .with(28, repetitive(8))        //subfield 25 - mode S MB data
+            .with(27, fixed(2))             //subfield 26 - indicated airspeed
+            .with(26, fixed(2))             //subfield 27 - mach number
+            .with(25, fixed(2));            //subfield 28 - barometric pressure setting
+
+    public static final AsterixItemLayout ITEM_290 = compound(2)
+            .with(7, AGE).with(6, AGE).with(5, AGE).with(4, AGE)
+            .with(3, fixed(2))              //subfield 5 - ADS-C age
+            .with(2, AGE).with(1, AGE)
+            .with(15, AGE).with(14, AGE).with(13, AGE);
+
+    public static final AsterixItemLayout ITEM_295 = compound(5)
+            .with(7, AGE).with(6, AGE).with(5, AGE).with(4, AGE).with(3, AGE).with(2, AGE).with(1, AGE)
+            .with(15, AGE).with(14, AGE).with(13, AGE).with(12, AGE).with(11, AGE).with(10, AGE).with(9, AGE)
+            .with(23, AGE).with(22, AGE).with(21, AGE).with(20, AGE).with(19, AGE).with(18, AGE).with(17, AGE)
+            .with(31, AGE).with(30, AGE).with(29, AGE).with(28, AGE).with(27, AGE).with(26, AGE).with(25, AGE)
+            .with(39, AGE).with(38, AGE).with(37, AGE);
+
+    public static final AsterixItemLayout ITEM_390 = compound(3)
+            .with(7, fixed(2))              //subfield 1 - FPPS identification tag
+            .with(6, fixed(7))              //subfield 2 - callsign
+            .with(5, fixed(4))              //subfield 3 - IFPS flight id
+            .with(4, fixed(1))              //subfield 4 - flight category
+            .with(3, fixed(4))              //subfield 5 - type of aircraft
+            .with(2, fixed(1))              //subfield 6 - wake turbulence category
+            .with(1, fixed(4))              //subfield 7 - departure airport
+            .with(15, fixed(4))             //subfield 8 - destination airport
+            .with(14, fixed(3))             //subfield 9 - runway designation
+            .with(13, fixed(2))             //subfield 10 - current cleared flight level
+            .with(12, fixed(2))             //subfield 11 - current control position
+            .with(11, repetitive(4))        //subfield 12 - time of departure / arrival
+            .with(10, fixed(6))             //subfield 13 - aircraft stand
+            .with(9, fixed(1))              //subfield 14 - stand status
+            .with(23, fixed(7))             //subfield 15 - standard instrument departure
+            .with(22, fixed(7))             //subfield 16 - standard instrument arrival
+            .with(21, fixed(2))             //subfield 17 - pre-emergency mode 3/A
+            .with(20, fixed(7));            //subfield 18 - pre-emergency callsign
+
+    public static final AsterixItemLayout ITEM_110 = compound(1)
+            .with(7, fixed(1))
+            .with(6, fixed(4))
+            .with(5, fixed(6))
+            .with(4, fixed(2))
+            .with(3, fixed(2))
+            .with(2, fixed(1))
+            .with(1, fixed(1));
+
+    public static final AsterixItemLayout ITEM_500 = compound(2)
+            .with(7, fixed(4))
+            .with(6, fixed(2))
+            .with(5, fixed(4))
+            .with(4, fixed(1))
+            .with(3, fixed(1))
+            .with(2, fixed(2))
+            .with(1, fixed(2))
+            .with(15, fixed(1));
+
+    public static final AsterixItemLayout ITEM_340 = compound(1)
+            .with(7, fixed(2))
+            .with(6, fixed(4))
+            .with(5, fixed(2))
+            .with(4, fixed(2))
+            .with(3, fixed(2))
+            .with(2, fixed(1));
+
+    /**
+     * Layout of a complete Cat062 record
+     */
+    public static final AsterixItemLayout RECORD = compound(5)
+            //first octet
+            .with(I062_010, fixed(2))
+            .with(5, fixed(1))              //015
+            .with(I062_070, fixed(3))
+            .with(3, fixed(8))              //105
+            .with(2, fixed(6))              //100
+            .with(1, fixed(4))              //185
+            //second octet
+            .with(15, fixed(2))             //210
+            .with(14, fixed(2))             //060
+            .with(13, fixed(7))             //245
+            .with(12, ITEM_380)
+            .with(I062_040, fixed(2))
+            .with(10, variable())           //080
+            .with(9, ITEM_290)
+            //third octet
+            .with(23, fixed(1))             //200
+            .with(22, ITEM_295)
+            .with(21, fixed(2))             //136
+            .with(20, fixed(2))             //130
+            .with(19, fixed(2))             //135
+            .with(18, fixed(2))             //220
+            .with(17, ITEM_390)
+            //fourth octet
+            .with(31, variable())           //270
+            .with(30, fixed(1))             //300
+            .with(29, ITEM_110)
+            .with(28, fixed(2))             //120
+            .with(27, variable(3))          //510
+            .with(26, ITEM_500)
+            .with(25, ITEM_340)
+            //fifth octet
+            .with(34, explicit())           //RE
+            .with(33, explicit());          //SP
+
+    private Cat062RecordLayout() {
+    }
+}
@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 13 - Aircraft Stand (on the taxiway)
@@ -29,11 +28,7 @@ public class Cat062Item390Subfield13 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.aircraftStand = new String(input, offset, getSizeInBytes(), "UTF-8").replace(" ", "");
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-        }
+        this.aircraftStand = AsterixStringDecoder.decodeWithoutSpaces(input, offset, getSizeInBytes());
     }
 
     /**
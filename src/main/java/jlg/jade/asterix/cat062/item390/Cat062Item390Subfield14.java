@@ -8,9 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-import jlg.jade.common.BitValueDecoder;
-
-import java.util.BitSet;
+import jlg.jade.common.BitReader;
 
 /**
  * Item 390 subfield 14 - Stand Status
@@ -26,9 +24,8 @@ public class Cat062Item390Subfield14 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        BitSet bs = BitSet.valueOf(new byte[]{input[offset]});
-        this.standEmptiness = BitValueDecoder.decodeFromTwoBits(bs, 6, 7);
-        this.standAvailability = BitValueDecoder.decodeFromTwoBits(bs, 4, 5);
+        this.standEmptiness = BitReader.readUnsignedInt(input, offset, 0, 2);
+        this.standAvailability = BitReader.readUnsignedInt(input, offset, 2, 2);
 
         appendItemDebugMsg("EMP (0=Empty,1=Occupied,2=Unk,3=Invalid)", this.standEmptiness);
         appendItemDebugMsg("AVL (0=Available,1=Not available,2=Unk,3=Invalid)", this.standAvailability);
@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 15 - Standard Instrumented Departure
@@ -28,13 +27,8 @@ public class Cat062Item390Subfield15 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.standardInstrumentDeparture = new String(input, offset, getSizeInBytes(), "UTF-8").replace(" ", "");
-            appendItemDebugMsg("SID", this.standardInstrumentDeparture);
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-            valid = false;
-        }
+        this.standardInstrumentDeparture = AsterixStringDecoder.decodeWithoutSpaces(input, offset, getSizeInBytes());
+        appendItemDebugMsg("SID", this.standardInstrumentDeparture);
     }
 
     public String getStandardInstrumentDeparture() {
@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 - Subfield 16 - Standard Instrument Arrival
@@ -28,13 +27,8 @@ public class Cat062Item390Subfield16 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.standardInstrumentArrival = new String(input, offset, getSizeInBytes(), "UTF-8").replace(" ", "");
-            appendItemDebugMsg("STAR", this.getStandardInstrumentArrival());
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-            this.valid = false;
-        }
+        this.standardInstrumentArrival = AsterixStringDecoder.decodeWithoutSpaces(input, offset, getSizeInBytes());
+        appendItemDebugMsg("STAR", this.getStandardInstrumentArrival());
     }
 
     public String getStandardInstrumentArrival() {
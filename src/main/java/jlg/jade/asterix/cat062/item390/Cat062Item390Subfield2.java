@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 2 - Callsign
@@ -28,15 +27,11 @@ public class Cat062Item390Subfield2 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            /**
-             * @implNote CallSign encoded on 7 characters, but can have less. We need to
-             * trim whitespaces at the end if need be.
-             */
-            this.callsign = new String(input, offset, 7, "UTF-8").replace(" ", "");
-        } catch (UnsupportedEncodingException e) {
-            appendDebugMsg("[ERROR] - UnsupportedEncodingException");
-        }
+        /**
+         * @implNote CallSign encoded on 7 characters, but can have less. We need to
+         * trim whitespaces at the end if need be.
+         */
+        this.callsign = AsterixStringDecoder.decodeWithoutSpaces(input, offset, 7);
         appendItemDebugMsg("Callsign", this.callsign);
     }
 
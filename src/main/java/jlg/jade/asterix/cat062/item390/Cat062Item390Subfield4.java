@@ -8,9 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-import jlg.jade.common.BitValueDecoder;
-
-import java.util.BitSet;
+import jlg.jade.common.BitReader;
 
 /**
  * Item 390 - Subfield 4 - Flight category
@@ -29,22 +27,20 @@ public class Cat062Item390Subfield4 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        BitSet bs = BitSet.valueOf(new byte[]{input[offset]});
-
         //decode traffic type
-        this.trafficType = BitValueDecoder.decodeFromTwoBits(bs, 6, 7);
+        this.trafficType = BitReader.readUnsignedInt(input, offset, 0, 2);
         appendItemDebugMsg("Traffic type (0=Unk,1=GAT,2=OAT,3=NA)", this.trafficType);
 
         //decode flight rules
-        this.flightRules = BitValueDecoder.decodeFromTwoBits(bs, 4, 5);
+        this.flightRules = BitReader.readUnsignedInt(input, offset, 2, 2);
         appendItemDebugMsg("Flight rules (0=IFR,1=VFR,2=NA,3=Ctrl. VFR)", this.flightRules);
 
         //decode RVSM
-        this.rvsm = BitValueDecoder.decodeFromTwoBits(bs, 2, 3);
+        this.rvsm = BitReader.readUnsignedInt(input, offset, 4, 2);
         appendItemDebugMsg("RVSM (0=Unk,1=Approved,2=Exempt,3=Not approved)", this.rvsm);
 
         //decode HPR
-        if (bs.get(0)) {
+        if (BitReader.readBit(input, offset, 7)) {
             this.priority = 1;
         } else {
             this.priority = 0;
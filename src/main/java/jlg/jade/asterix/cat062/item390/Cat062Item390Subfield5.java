@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 5 - Type of Aircraft
@@ -26,13 +25,9 @@ public class Cat062Item390Subfield5 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.typeOfAircraft = new String(input, offset, getSizeInBytes(), "UTF-8").replace(" ", "");
-            appendItemDebugMsg("Type of aircraft", this.typeOfAircraft);
+        this.typeOfAircraft = AsterixStringDecoder.decodeWithoutSpaces(input, offset, getSizeInBytes());
+        appendItemDebugMsg("Type of aircraft", this.typeOfAircraft);
 
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-        }
     }
 
     @Override
@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 6 - Wake Turbulence Category
@@ -29,12 +28,8 @@ public class Cat062Item390Subfield6 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.wakeTurbulenceCategory = new String(input, offset, getSizeInBytes(), "UTF-8");
-            appendItemDebugMsg("Wake turbulence category", this.wakeTurbulenceCategory);
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-        }
+        this.wakeTurbulenceCategory = AsterixStringDecoder.decode(input, offset, getSizeInBytes());
+        appendItemDebugMsg("Wake turbulence category", this.wakeTurbulenceCategory);
     }
 
     /**
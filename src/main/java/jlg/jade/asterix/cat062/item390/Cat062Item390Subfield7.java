@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 7 - Departure airport
@@ -28,12 +27,8 @@ public class Cat062Item390Subfield7 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.departureAirport = new String(input, offset, getSizeInBytes(), "UTF-8").replace("", "");
-            appendItemDebugMsg("Departure Airport", this.departureAirport);
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-        }
+        this.departureAirport = AsterixStringDecoder.decode(input, offset, getSizeInBytes());
+        appendItemDebugMsg("Departure Airport", this.departureAirport);
     }
 
     /**
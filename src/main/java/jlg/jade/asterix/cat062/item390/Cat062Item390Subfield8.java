@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 8 - Destination airport
@@ -28,12 +27,8 @@ public class Cat062Item390Subfield8 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.destinationAirport = new String(input, offset, getSizeInBytes(), "UTF-8").replace(" ", "");
-            appendItemDebugMsg("Destination airport", this.destinationAirport);
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encodin exception");
-        }
+        this.destinationAirport = AsterixStringDecoder.decodeWithoutSpaces(input, offset, getSizeInBytes());
+        appendItemDebugMsg("Destination airport", this.destinationAirport);
     }
 
     /**
@@ -8,8 +8,7 @@ package jlg.jade.asterix.cat062.item390;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
-
-import java.io.UnsupportedEncodingException;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Item 390 Subfield 9 - Runway Designation
@@ -27,11 +26,7 @@ public class Cat062Item390Subfield9 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        try {
-            this.runwayDesignator = new String(input, offset, getSizeInBytes(), "UTF-8").replace(" ", "");
-        } catch (UnsupportedEncodingException e) {
-            appendErrorMessage("Unsupported encoding exception");
-        }
+        this.runwayDesignator = AsterixStringDecoder.decodeWithoutSpaces(input, offset, getSizeInBytes());
     }
 
     /**
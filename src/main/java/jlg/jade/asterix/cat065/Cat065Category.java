@@ -0,0 +1,44 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat065;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.counters.ArrayItemCounter;
+import jlg.jade.asterix.counters.Cat065ItemCounter;
+import jlg.jade.common.AsterixStringDecoder;
+
+/**
+ * Asterix Category 065 - SDPS Service Status Messages, as provided to AsterixCategories
+ */
+public final class Cat065Category implements AsterixCategoryPlugin<Cat065Record> {
+    @Override
+    public int getCategory() {
+        return 65;
+    }
+
+    @Override
+    public Class<Cat065Record> getRecordType() {
+        return Cat065Record.class;
+    }
+
+    @Override
+    public Cat065Record createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return reservedFieldFactory == null ? new Cat065Record() : new Cat065Record(reservedFieldFactory);
+    }
+
+    @Override
+    public String getSacSicCode(Cat065Record record) {
+        //I065/010 is mandatory, but can be missing from corrupt data
+        return record.getItem010() == null ? "NA" :
+                AsterixStringDecoder.sacSicLabel(record.getItem010().getSac(), record.getItem010().getSic());
+    }
+
+    @Override
+    public ArrayItemCounter<Cat065Record> createItemCounter() {
+        return new Cat065ItemCounter();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.cat150;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.counters.ArrayItemCounter;
+import jlg.jade.asterix.counters.Cat150ItemCounter;
+
+/**
+ * Asterix Category 150 - Full Flight Plan Data, as provided to AsterixCategories
+ */
+public final class Cat150Category implements AsterixCategoryPlugin<Cat150Record> {
+    @Override
+    public int getCategory() {
+        return 150;
+    }
+
+    @Override
+    public Class<Cat150Record> getRecordType() {
+        return Cat150Record.class;
+    }
+
+    /**
+     * Cat150 does not have SP and RE fields, so the reserved field factory is not used
+     */
+    @Override
+    public Cat150Record createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return new Cat150Record();
+    }
+
+    @Override
+    public ArrayItemCounter<Cat150Record> createItemCounter() {
+        return new Cat150ItemCounter();
+    }
+}
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item050 - Callsign
@@ -21,7 +22,7 @@ public class Cat150Item050 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.callsign = new String(input, offset, this.sizeInBytes).replace(" ", "");
+        this.callsign = AsterixStringDecoder.decodeWithoutSpaces(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Callsign", this.callsign);
     }
 
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item060 - Mode 3A
@@ -21,7 +22,7 @@ public class Cat150Item060 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.modeAOctal = new String(input, offset, this.sizeInBytes);
+        this.modeAOctal = AsterixStringDecoder.decode(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Mode 3A", this.modeAOctal);
     }
 
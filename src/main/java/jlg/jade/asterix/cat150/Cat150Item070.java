@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item070 - Next Mode 3A
@@ -22,7 +23,7 @@ public class Cat150Item070 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.mode3AOctal = new String(input, offset, this.sizeInBytes);
+        this.mode3AOctal = AsterixStringDecoder.decode(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Next Mode-3A", this.getMode3AOctal());
     }
 
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item080 - Departure Aerodrome.
@@ -21,7 +22,7 @@ public class Cat150Item080 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.departureAerodrome = new String(input, offset, this.sizeInBytes).replace(" ", "");
+        this.departureAerodrome = AsterixStringDecoder.decodeWithoutSpaces(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Departure Aerodrome", this.departureAerodrome);
     }
 
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item090 - Destination Aerodrome
@@ -21,7 +22,7 @@ public class Cat150Item090 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.destinationAerodrome = new String(input, offset, this.sizeInBytes).replace(" ", "");
+        this.destinationAerodrome = AsterixStringDecoder.decodeWithoutSpaces(input, offset, this.sizeInBytes);
         appendItemDebugMsg("Destination Aerodrome", this.destinationAerodrome);
     }
 
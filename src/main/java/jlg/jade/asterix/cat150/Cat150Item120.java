@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item120 - Aircraft Type
@@ -24,9 +25,9 @@ public class Cat150Item120 extends FixedLengthAsterixData {
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
         this.numberOfAircraft = Integer.parseInt(new String(input, offset, 2));
-        this.typeOfAircraft = new String(input, offset + 2, 4);
+        this.typeOfAircraft = AsterixStringDecoder.decode(input, offset + 2, 4);
         if(input[offset+6] != 0) {
-            this.wakeTurbulence = new String(input, offset + 6, 1);
+            this.wakeTurbulence = AsterixStringDecoder.decode(input, offset + 6, 1);
         }
 
         appendItemDebugMsg("Nb. of aircraft", this.numberOfAircraft);
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.RepeatableAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 import jlg.jade.common.UnsignedNumericDecoder;
 
 import java.util.ArrayList;
@@ -33,7 +34,7 @@ public class Cat150Item140 extends RepeatableAsterixData {
     protected void decodeFromByteArray(byte[] input, int offset) {
         for (int i = 0; i < this.getRepetitionFactor(); i++) {
             int type = UnsignedNumericDecoder.decodeFromOneByte(input, offset + (i * 12));
-            String description = new String(input, offset + ((i * 12) + 1), 11).replace(" ", "");
+            String description = AsterixStringDecoder.decodeWithoutSpaces(input, offset + ((i * 12) + 1), 11);
             Cat150RoutePointDescription routePoint = new Cat150RoutePointDescription(type, description);
             routePoints.add(routePoint);
 
@@ -6,6 +6,7 @@ package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItemLength;
 import jlg.jade.asterix.FixedLengthAsterixData;
+import jlg.jade.common.AsterixStringDecoder;
 
 /**
  * Cat150 Item190 - Controller ID
@@ -24,7 +25,7 @@ public class Cat150Item190 extends FixedLengthAsterixData {
 
     @Override
     protected void decodeFromByteArray(byte[] input, int offset) {
-        this.controllerId = new String(input, offset, 2).replace(" ", "");
+        this.controllerId = AsterixStringDecoder.decodeWithoutSpaces(input, offset, 2);
         this.appendItemDebugMsg("Controller ID", this.controllerId);
     }
 
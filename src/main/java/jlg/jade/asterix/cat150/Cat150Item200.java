@@ -5,6 +5,7 @@
 package jlg.jade.asterix.cat150;
 
 import jlg.jade.asterix.AsterixItem;
+import jlg.jade.asterix.DecodingErrorCode;
 import jlg.jade.common.Decodable;
 import jlg.jade.common.UnsignedNumericDecoder;
 
@@ -24,8 +25,14 @@ public class Cat150Item200 extends AsterixItem implements Decodable {
 
     @Override
     public int decode(byte[] input, int offset, int inputLength) {
+        if (offset >= inputLength || offset >= input.length) {
+            return failDecoding(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, input, offset, inputLength);
+        }
         //size in bytes + first byte that indicates the length
         this.sizeInBytes = UnsignedNumericDecoder.decodeFromOneByte(input, offset) + 1;
+        if (offset + sizeInBytes > inputLength || offset + sizeInBytes > input.length) {
+            return failDecoding(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, input, offset, inputLength);
+        }
         this.text = new String(input, offset + 1, this.sizeInBytes - 1);
         appendItemDebugMsg("Free Text", this.text);
 
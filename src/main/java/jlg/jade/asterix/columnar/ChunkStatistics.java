@@ -0,0 +1,56 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+/**
+ * Statistics of the values of a column chunk, stored in the footer of a columnar recording file
+ * so chunks can be skipped without reading them. The values of the callsign column are compared
+ * as packed callsigns, which have the same order as the callsigns.
+ */
+public final class ChunkStatistics {
+    private final int nbValues;
+    private final long min;
+    private final long max;
+
+    public ChunkStatistics(int nbValues, long min, long max) {
+        this.nbValues = nbValues;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @return The number of rows holding a value
+     */
+    public int getNbValues() {
+        return nbValues;
+    }
+
+    /**
+     * @return The smallest value, undefined if the chunk has no value
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return The largest value, undefined if the chunk has no value
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return True if the chunk may hold values between from and to (inclusive)
+     */
+    public boolean mayContain(long from, long to) {
+        return nbValues > 0 && min <= to && max >= from;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkStatistics{nbValues=" + nbValues + ", min=" + min + ", max=" + max + "}";
+    }
+}
@@ -0,0 +1,33 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+/**
+ * Location and statistics of a column chunk, as found in the footer of a columnar recording file
+ */
+final class ColumnChunk {
+    private final long offset;
+    private final int sizeInBytes;
+    private final ChunkStatistics statistics;
+
+    ColumnChunk(long offset, int sizeInBytes, ChunkStatistics statistics) {
+        this.offset = offset;
+        this.sizeInBytes = sizeInBytes;
+        this.statistics = statistics;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    int getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    ChunkStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.AsterixStructureScanner;
+import jlg.jade.asterix.cat048.Cat048RecordLayout;
+import jlg.jade.asterix.cat062.Cat062RecordLayout;
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.common.BitReader;
+import jlg.jade.common.Constants;
+import jlg.jade.common.IA5Decoder;
+import org.springframework.util.Assert;
+
+/**
+ * Decodes the Cat062 and Cat048 records of raw Asterix data straight into the columns of a
+ * TrackColumnBatch, without creating records or items. The items of each record are found with
+ * the AsterixStructureScanner, and only the items of the selected columns are read. The data
+ * blocks of the other categories are skipped.
+ * Data blocks are added to the batch as a whole: when the records of a data block do not fit in
+ * the remaining rows, decoding stops before this data block, so it can be decoded in the next
+ * batch.
+ *
+ * @implNote The decoder reuses an item offset buffer, so it is not thread safe. Items are not
+ * validated: a column holds the raw value of the item, the same as the one returned by the item
+ * decoder.
+ */
+public final class ColumnarBatchDecoder {
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+    private static final int CAT048 = 48;
+    private static final int CAT062 = 62;
+    private static final int NO_ITEM = -1;
+
+    private static final int CAT062_CALLSIGN_SUBFIELD = 6;
+    private static final int CAT062_CALLSIGN_LENGTH = 7;
+    private static final int CAT048_IDENTIFICATION_BITS = 48;
+    private static final int IA5_CHARACTER_SIZE_IN_BITS = 6;
+    private static final long SPACES = 0x2020202020202020L;
+
+    //FSPEC index of the item of each column, by column ordinal
+    private static final int[] CAT062_ITEMS = {7, 4, 11, 3, 14, 21, 17};
+    private static final int[] CAT048_ITEMS = {7, 6, 12, NO_ITEM, 3, 2, 14};
+
+    private static final TrackColumn[] COLUMNS = TrackColumn.values();
+
+    private final AsterixStructureScanner scanner;
+    private final int[] itemOffsets;
+    private final int[] subfieldOffsets;
+
+    public ColumnarBatchDecoder() {
+        this.scanner = AsterixStructureScanner.getInstance();
+        int maxFspecSize = Math.max(Cat062RecordLayout.RECORD.getMaxFspecSizeInBytes(),
+                Cat048RecordLayout.RECORD.getMaxFspecSizeInBytes());
+        this.itemOffsets = new int[maxFspecSize * Constants.BYTE_TO_BITS];
+        this.subfieldOffsets = new int[Cat062RecordLayout.ITEM_390.getMaxFspecSizeInBytes() * Constants.BYTE_TO_BITS];
+    }
+
+    /**
+     * Decodes data blocks into the batch, until the end of the input or until the batch can not
+     * hold the records of the next data block.
+     *
+     * @param input  The raw data
+     * @param offset The offset of the first data block
+     * @param length The offset after the last data block
+     * @param batch  The batch where the records are added
+     * @return The offset of the first data block that was not decoded, or length if all the data
+     * blocks were decoded
+     * @throws IllegalArgumentException if an empty batch can not hold the records of a data block
+     */
+    public int decode(byte[] input, int offset, int length, TrackColumnBatch batch) {
+        Assert.notNull(batch, "The batch is mandatory");
+        int inputIndex = offset;
+        while (inputIndex < length) {
+            if (inputIndex + DATA_BLOCK_HEADER_SIZE > length) {
+                throw new AsterixDecodingException.UnexpectedEndOfData("The data block header at offset " +
+                        inputIndex + " exceeds the available length " + length);
+            }
+            int category = Byte.toUnsignedInt(input[inputIndex]);
+            int dataBlockSize = Byte.toUnsignedInt(input[inputIndex + 1]) * 256 +
+                    Byte.toUnsignedInt(input[inputIndex + 2]);
+            if (dataBlockSize < DATA_BLOCK_HEADER_SIZE) {
+                throw new AsterixDecodingException.InvalidDataBlockLength("Invalid length " + dataBlockSize +
+                        " of the Cat" + category + " data block at offset " + inputIndex);
+            }
+            int dataBlockEnd = inputIndex + dataBlockSize;
+            if (dataBlockEnd > length) {
+                throw new AsterixDecodingException.UnexpectedEndOfData("The Cat" + category +
+                        " data block at offset " + inputIndex + " exceeds the available length " + length);
+            }
+
+            if ((category == CAT062 || category == CAT048)
+                    && !decodeDataBlock(category, input, inputIndex, dataBlockEnd, batch)) {
+                return inputIndex;
+            }
+            inputIndex = dataBlockEnd;
+        }
+        return length;
+    }
+
+    /**
+     * @return False if the records of the data block do not fit in the batch
+     */
+    private boolean decodeDataBlock(int category, byte[] input, int dataBlockStart, int dataBlockEnd,
+                                    TrackColumnBatch batch) {
+        AsterixItemLayout recordLayout = category == CAT062 ? Cat062RecordLayout.RECORD : Cat048RecordLayout.RECORD;
+        int[] items = category == CAT062 ? CAT062_ITEMS : CAT048_ITEMS;
+        int initialSize = batch.getSize();
+        int offset = dataBlockStart + DATA_BLOCK_HEADER_SIZE;
+        while (offset < dataBlockEnd) {
+            if (batch.isFull()) {
+                Assert.isTrue(initialSize > 0, "The batch capacity " + batch.getCapacity() +
+                        " is too small for the Cat" + category + " data block at offset " + dataBlockStart);
+                batch.truncate(initialSize);
+                return false;
+            }
+            int recordEnd = scanner.scanItems(recordLayout, input, offset, dataBlockEnd, itemOffsets);
+            if (recordEnd == AsterixStructureScanner.INVALID_OFFSET) {
+                batch.truncate(initialSize);
+                throw new AsterixDecodingException.UnexpectedEndOfData("The Cat" + category +
+                        " record at offset " + offset + " can not be walked up to the end of its data block");
+            }
+            int row = batch.addRow(category);
+            for (TrackColumn column : COLUMNS) {
+                int fspecIndex = items[column.ordinal()];
+                if (fspecIndex != NO_ITEM && batch.hasColumn(column) && itemOffsets[fspecIndex] >= 0
+                        && readColumn(category, column, input, itemOffsets[fspecIndex], recordEnd, batch, row)) {
+                    batch.setPresent(column, row);
+                }
+            }
+            offset = recordEnd;
+        }
+        return true;
+    }
+
+    /**
+     * @return False if the value of the column is not present in the item
+     */
+    private boolean readColumn(int category, TrackColumn column, byte[] input, int offset, int recordEnd,
+                               TrackColumnBatch batch, int row) {
+        switch (column) {
+            case SAC_SIC:
+                batch.getSacSic()[row] = readUnsigned(input, offset, 2);
+                break;
+            case TIME_OF_TRACK:
+                batch.getTimeOfTrack()[row] = readUnsigned(input, offset, 3);
+                break;
+            case TRACK_NUMBER:
+                batch.getTrackNumber()[row] = readUnsigned(input, offset, 2);
+                break;
+            case POSITION_WGS84:
+                batch.getLatitude()[row] = readUnsigned(input, offset, 4);
+                batch.getLongitude()[row] = readUnsigned(input, offset + 4, 4);
+                break;
+            case MODE_A:
+                //the code is given by the last 12 bits of the item
+                batch.getModeA()[row] = (short) (readUnsigned(input, offset, 2) & 0x0FFF);
+                break;
+            case FLIGHT_LEVEL:
+                //Cat062 I136 is a two's complement value, Cat048 I090 is read from the last 14 bits
+                int value = readUnsigned(input, offset, 2);
+                batch.getFlightLevel()[row] = category == CAT062 ? (short) value : (short) (value & 0x3FFF);
+                break;
+            case CALLSIGN:
+                if (category == CAT048) {
+                    batch.getCallsign()[row] = packCat048Identification(input, offset);
+                    break;
+                }
+                //the callsign is a subfield of I062/390
+                scanner.scanItems(Cat062RecordLayout.ITEM_390, input, offset, recordEnd, subfieldOffsets);
+                if (subfieldOffsets[CAT062_CALLSIGN_SUBFIELD] < 0) {
+                    return false;
+                }
+                batch.getCallsign()[row] = packCat062Callsign(input, subfieldOffsets[CAT062_CALLSIGN_SUBFIELD]);
+                break;
+            default:
+                throw new IllegalStateException("Unknown column " + column);
+        }
+        return true;
+    }
+
+    /**
+     * Packs the 7 ASCII characters of the callsign, without spaces, as Cat062Item390Subfield2
+     */
+    private static long packCat062Callsign(byte[] input, int offset) {
+        long packed = SPACES;
+        int nbCharacters = 0;
+        for (int i = 0; i < CAT062_CALLSIGN_LENGTH; i++) {
+            int character = input[offset + i] & 0xFF;
+            if (character != ' ') {
+                packed = packCharacter(packed, nbCharacters++, character);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Packs the 8 IA5 characters of the aircraft identification, without the leading spaces, as
+     * Cat048Item240
+     */
+    private static long packCat048Identification(byte[] input, int offset) {
+        long characters = BitReader.readUnsigned(input, offset, 0, CAT048_IDENTIFICATION_BITS);
+        long packed = SPACES;
+        int nbCharacters = 0;
+        for (int i = 0; i < TrackColumnBatch.CALLSIGN_LENGTH; i++) {
+            int shift = CAT048_IDENTIFICATION_BITS - IA5_CHARACTER_SIZE_IN_BITS * (i + 1);
+            char character = IA5Decoder.toAscii((int) (characters >>> shift));
+            if (character != ' ' || nbCharacters > 0) {
+                packed = packCharacter(packed, nbCharacters++, character);
+            }
+        }
+        return packed;
+    }
+
+    private static long packCharacter(long packed, int index, int character) {
+        int shift = Long.SIZE - Byte.SIZE * (index + 1);
+        return (packed & ~(0xFFL << shift)) | ((long) character << shift);
+    }
+
+    /**
+     * @return The big endian value of the given number of octets (4 octets give a two's
+     * complement value)
+     */
+    private static int readUnsigned(byte[] input, int offset, int nbOctets) {
+        int value = 0;
+        for (int i = 0; i < nbOctets; i++) {
+            value = (value << 8) | (input[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
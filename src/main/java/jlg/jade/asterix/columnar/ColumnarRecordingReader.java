@@ -0,0 +1,248 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Reads a columnar recording file written by the ColumnarRecordingWriter. The file is memory
+ * mapped, and only the footer is read when the reader is created: the chunks are read when the
+ * rows of a row group are requested, and only for the columns of the batch they are read into.
+ * The statistics of the chunks can be used to skip the row groups that do not hold the values
+ * looked for (see findRowGroups).
+ *
+ * @implNote The file is mapped in a single buffer, so its size is limited to 2GB. A reader is not
+ * thread safe, but several readers can map the same file.
+ */
+public final class ColumnarRecordingReader implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final RecordingColumn[] columns;
+    private final int[] columnIndexes;
+    private final int[] rowGroupSizes;
+    private final ColumnChunk[][] chunks;
+
+    public ColumnarRecordingReader(Path file) throws IOException {
+        Assert.notNull(file, "The columnar file is mandatory");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The columnar file " + file + " is larger than 2GB");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < ColumnarRecordingWriter.TRAILER_SIZE
+                    || buffer.getInt(0) != ColumnarRecordingWriter.MAGIC
+                    || buffer.getInt((int) size - Integer.BYTES) != ColumnarRecordingWriter.MAGIC) {
+                throw new IOException(file + " is not a complete columnar recording file");
+            }
+            int version = buffer.getShort(Integer.BYTES);
+            if (version != ColumnarRecordingWriter.VERSION) {
+                throw new IOException("Unsupported version " + version + " of the columnar file " + file);
+            }
+
+            //header
+            ByteBuffer header = buffer.duplicate();
+            header.position(Integer.BYTES + Short.BYTES);
+            this.columns = new RecordingColumn[header.get()];
+            this.columnIndexes = new int[RecordingColumn.values().length];
+            Arrays.fill(columnIndexes, -1);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = RecordingColumn.values()[header.get()];
+                columnIndexes[columns[i].ordinal()] = i;
+            }
+
+            //footer
+            ByteBuffer footer = buffer.duplicate();
+            footer.position((int) buffer.getLong((int) size - ColumnarRecordingWriter.TRAILER_SIZE));
+            this.rowGroupSizes = new int[footer.getInt()];
+            this.chunks = new ColumnChunk[rowGroupSizes.length][columns.length];
+            for (int rowGroup = 0; rowGroup < rowGroupSizes.length; rowGroup++) {
+                rowGroupSizes[rowGroup] = footer.getInt();
+                for (int i = 0; i < columns.length; i++) {
+                    long offset = footer.getLong();
+                    int sizeInBytes = footer.getInt();
+                    chunks[rowGroup][i] = new ColumnChunk(offset, sizeInBytes,
+                            new ChunkStatistics(footer.getInt(), footer.getLong(), footer.getLong()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The columns of the file
+     */
+    public Set<RecordingColumn> getColumns() {
+        EnumSet<RecordingColumn> set = EnumSet.noneOf(RecordingColumn.class);
+        set.addAll(Arrays.asList(columns));
+        return set;
+    }
+
+    public boolean hasColumn(RecordingColumn column) {
+        return columnIndexes[column.ordinal()] >= 0;
+    }
+
+    public int getNbRowGroups() {
+        return rowGroupSizes.length;
+    }
+
+    public int getNbRows(int rowGroup) {
+        return rowGroupSizes[rowGroup];
+    }
+
+    /**
+     * @return The number of records of the file
+     */
+    public long getNbRows() {
+        long nbRows = 0;
+        for (int rowGroupSize : rowGroupSizes) {
+            nbRows += rowGroupSize;
+        }
+        return nbRows;
+    }
+
+    /**
+     * @return The statistics of the chunk of the column in the given row group
+     */
+    public ChunkStatistics getStatistics(int rowGroup, RecordingColumn column) {
+        return chunks[rowGroup][columnIndex(column)].getStatistics();
+    }
+
+    /**
+     * @return The row groups that may hold values of the column between from and to (inclusive),
+     * found from the chunk statistics, without reading the chunks
+     */
+    public int[] findRowGroups(RecordingColumn column, long from, long to) {
+        int index = columnIndex(column);
+        int[] rowGroups = new int[rowGroupSizes.length];
+        int nbRowGroups = 0;
+        for (int rowGroup = 0; rowGroup < rowGroupSizes.length; rowGroup++) {
+            if (chunks[rowGroup][index].getStatistics().mayContain(from, to)) {
+                rowGroups[nbRowGroups++] = rowGroup;
+            }
+        }
+        return Arrays.copyOf(rowGroups, nbRowGroups);
+    }
+
+    /**
+     * Reads the rows of a row group into the batch, replacing its content. Only the chunks of the
+     * columns of the batch are read. The columns of the batch that are not in the file have no
+     * value.
+     *
+     * @throws IllegalArgumentException if the batch can not hold the rows of the row group
+     */
+    public void read(int rowGroup, TrackColumnBatch batch) {
+        int nbRows = rowGroupSizes[rowGroup];
+        Assert.isTrue(batch.getCapacity() >= nbRows, "The batch capacity " + batch.getCapacity() +
+                " is too small for the " + nbRows + " rows of the row group " + rowGroup);
+        batch.clear();
+        ByteBuffer categories = chunk(rowGroup, RecordingColumn.CATEGORY);
+        for (int row = 0; row < nbRows; row++) {
+            batch.addRow(Byte.toUnsignedInt(categories.get()));
+        }
+        for (RecordingColumn column : columns) {
+            if (column.getTrackColumn() != null && batch.hasColumn(column.getTrackColumn())) {
+                readColumn(chunk(rowGroup, column), column, batch, nbRows);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void readColumn(ByteBuffer chunk, RecordingColumn column, TrackColumnBatch batch, int nbRows) {
+        long[] presence = new long[(nbRows + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < presence.length; i++) {
+            presence[i] = chunk.getLong();
+        }
+
+        long[] dictionary = null;
+        if (column.getEncoding() == RecordingColumn.Encoding.DICTIONARY) {
+            dictionary = new long[(int) readVarLong(chunk)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = chunk.getLong();
+            }
+        }
+
+        long previous = 0;
+        for (int row = 0; row < nbRows; row++) {
+            if ((presence[row / Long.SIZE] & (1L << row)) == 0) {
+                continue;
+            }
+            long value;
+            switch (column.getEncoding()) {
+                case PLAIN:
+                    value = readPlain(chunk, column.getSizeInBytes());
+                    break;
+                case DELTA:
+                    value = previous + unzigzag(readVarLong(chunk));
+                    previous = value;
+                    break;
+                case DICTIONARY:
+                    value = dictionary[(int) readVarLong(chunk)];
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown encoding " + column.getEncoding());
+            }
+            column.setValue(batch, row, value);
+            batch.setPresent(column.getTrackColumn(), row);
+        }
+    }
+
+    private ByteBuffer chunk(int rowGroup, RecordingColumn column) {
+        ColumnChunk chunk = chunks[rowGroup][columnIndex(column)];
+        ByteBuffer view = buffer.duplicate();
+        view.position((int) chunk.getOffset());
+        view.limit((int) chunk.getOffset() + chunk.getSizeInBytes());
+        return view.slice();
+    }
+
+    private int columnIndex(RecordingColumn column) {
+        int index = columnIndexes[column.ordinal()];
+        Assert.isTrue(index >= 0, "The column " + column + " is not in the file");
+        return index;
+    }
+
+    private static long readPlain(ByteBuffer chunk, int sizeInBytes) {
+        long value = 0;
+        for (int i = 0; i < sizeInBytes; i++) {
+            value = (value << Byte.SIZE) | (chunk.get() & 0xFF);
+        }
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer chunk) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = chunk.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
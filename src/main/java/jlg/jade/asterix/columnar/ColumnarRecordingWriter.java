@@ -0,0 +1,281 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+import jlg.finalframe.FinalFrameReader;
+import jlg.jade.common.LongIntHashMap;
+import org.springframework.util.Assert;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the Cat062 / Cat048 records of raw Asterix data in a columnar file, so the records of a
+ * recording are decoded once and can then be queried without decoding them again.
+ * The records are decoded by a ColumnarBatchDecoder in row groups. Each column of a row group
+ * is written in its own chunk: the presence bitmap of the column, then the values of the rows
+ * holding one, stored with the encoding of the column (see RecordingColumn). The location and
+ * the statistics (min, max) of the chunks are written in the footer, so a reader can find the
+ * chunks of a column and skip the chunks that do not hold the values it looks for (see
+ * ColumnarRecordingReader).
+ * <p>
+ * File layout (big endian):
+ * <pre>
+ * header:  MAGIC (int), VERSION (short), number of columns (byte), ordinal of each column (byte)
+ * chunks:  for each row group, the chunk of each column, in header order
+ * footer:  number of row groups (int), then for each row group its number of rows (int) and for
+ *          each column chunk: offset (long), size (int), number of values (int), min (long), max (long)
+ * trailer: offset of the footer (long), MAGIC (int)
+ * </pre>
+ *
+ * @implNote A row group holds complete data blocks, so the row group size must be greater than
+ * the number of records of the largest data block.
+ */
+public final class ColumnarRecordingWriter implements Closeable {
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65536;
+
+    static final int MAGIC = 0x4A414443;    //JADC
+    static final int VERSION = 1;
+    static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final TrackColumnBatch batch;
+    private final ColumnarBatchDecoder decoder;
+    private final RecordingColumn[] columns;
+    private final DataOutputStream output;
+    private final ByteArrayOutputStream chunkBuffer;
+    private final DataOutputStream chunkOutput;
+    private final int[] dictionaryIds;
+    private final List<Integer> rowGroupSizes;
+    private final List<ColumnChunk[]> rowGroupChunks;
+    private long position;
+    private long nbRows;
+    private boolean closed;
+
+    /**
+     * @param file         The columnar file, replaced if it exists
+     * @param rowGroupSize The maximum number of records of a row group
+     * @param trackColumns The columns written in the file, with the category of the records
+     */
+    public ColumnarRecordingWriter(Path file, int rowGroupSize, TrackColumn... trackColumns) throws IOException {
+        Assert.notNull(file, "The columnar file is mandatory");
+        this.batch = new TrackColumnBatch(rowGroupSize, trackColumns);
+        this.decoder = new ColumnarBatchDecoder();
+        List<RecordingColumn> selectedColumns = new ArrayList<>();
+        for (RecordingColumn column : RecordingColumn.values()) {
+            if (column.getTrackColumn() == null || batch.hasColumn(column.getTrackColumn())) {
+                selectedColumns.add(column);
+            }
+        }
+        this.columns = selectedColumns.toArray(new RecordingColumn[0]);
+        this.chunkBuffer = new ByteArrayOutputStream();
+        this.chunkOutput = new DataOutputStream(chunkBuffer);
+        this.dictionaryIds = new int[rowGroupSize];
+        this.rowGroupSizes = new ArrayList<>();
+        this.rowGroupChunks = new ArrayList<>();
+
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeByte(columns.length);
+        for (RecordingColumn column : columns) {
+            output.writeByte(column.ordinal());
+        }
+        position = output.size();
+    }
+
+    /**
+     * Decodes a Final Frame recording and writes its Cat062 / Cat048 records in a columnar file
+     *
+     * @return The number of records written
+     */
+    public static long exportFinalFrame(Path finalFrameRecording, Path file, int rowGroupSize,
+                                        TrackColumn... trackColumns) throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(finalFrameRecording));
+             ColumnarRecordingWriter writer = new ColumnarRecordingWriter(file, rowGroupSize, trackColumns)) {
+            FinalFrameReader ffReader = new FinalFrameReader();
+            while (is.available() > 0) {
+                byte[] ffPayload = ffReader.read(is);
+                if (ffPayload != null) {
+                    writer.write(ffPayload, 0, ffPayload.length);
+                }
+            }
+            return writer.getNbRows();
+        }
+    }
+
+    /**
+     * Decodes the data blocks of the input and adds their records to the file
+     *
+     * @param input  The raw data
+     * @param offset The offset of the first data block
+     * @param length The offset after the last data block
+     */
+    public void write(byte[] input, int offset, int length) throws IOException {
+        Assert.isTrue(!closed, "The columnar file is closed");
+        int inputIndex = offset;
+        while (inputIndex < length) {
+            inputIndex = decoder.decode(input, inputIndex, length, batch);
+            if (inputIndex < length || batch.isFull()) {
+                writeRowGroup();
+            }
+        }
+    }
+
+    /**
+     * @return The number of records added to the file
+     */
+    public long getNbRows() {
+        return nbRows + batch.getSize();
+    }
+
+    /**
+     * Writes the last row group and the footer
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeRowGroup();
+            long footerOffset = position;
+            output.writeInt(rowGroupSizes.size());
+            for (int i = 0; i < rowGroupSizes.size(); i++) {
+                output.writeInt(rowGroupSizes.get(i));
+                for (ColumnChunk chunk : rowGroupChunks.get(i)) {
+                    output.writeLong(chunk.getOffset());
+                    output.writeInt(chunk.getSizeInBytes());
+                    output.writeInt(chunk.getStatistics().getNbValues());
+                    output.writeLong(chunk.getStatistics().getMin());
+                    output.writeLong(chunk.getStatistics().getMax());
+                }
+            }
+            output.writeLong(footerOffset);
+            output.writeInt(MAGIC);
+        } finally {
+            output.close();
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        if (batch.getSize() == 0) {
+            return;
+        }
+        ColumnChunk[] chunks = new ColumnChunk[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            chunkBuffer.reset();
+            ChunkStatistics statistics = encodeChunk(columns[i]);
+            chunkBuffer.writeTo(output);
+            chunks[i] = new ColumnChunk(position, chunkBuffer.size(), statistics);
+            position += chunkBuffer.size();
+        }
+        rowGroupSizes.add(batch.getSize());
+        rowGroupChunks.add(chunks);
+        nbRows += batch.getSize();
+        batch.clear();
+    }
+
+    private ChunkStatistics encodeChunk(RecordingColumn column) throws IOException {
+        int size = batch.getSize();
+        TrackColumn trackColumn = column.getTrackColumn();
+        if (trackColumn != null) {
+            writePresence(batch.getPresence(trackColumn), size);
+        }
+
+        LongIntHashMap dictionary = column.getEncoding() == RecordingColumn.Encoding.DICTIONARY
+                ? new LongIntHashMap(size) : null;
+        List<Long> dictionaryValues = new ArrayList<>();
+        int nbValues = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long previous = 0;
+        for (int row = 0; row < size; row++) {
+            if (trackColumn != null && !batch.isPresent(trackColumn, row)) {
+                continue;
+            }
+            long value = column.getValue(batch, row);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            switch (column.getEncoding()) {
+                case PLAIN:
+                    writePlain(value, column.getSizeInBytes());
+                    break;
+                case DELTA:
+                    writeVarLong(zigzag(value - previous));
+                    previous = value;
+                    break;
+                case DICTIONARY:
+                    //ids are stored plus one, 0 being returned for missing keys
+                    int id = dictionary.get(value);
+                    if (id == 0) {
+                        dictionaryValues.add(value);
+                        id = dictionaryValues.size();
+                        dictionary.put(value, id);
+                    }
+                    dictionaryIds[nbValues] = id - 1;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown encoding " + column.getEncoding());
+            }
+            nbValues++;
+        }
+
+        if (dictionary != null) {
+            writeVarLong(dictionaryValues.size());
+            for (long value : dictionaryValues) {
+                chunkOutput.writeLong(value);
+            }
+            for (int i = 0; i < nbValues; i++) {
+                writeVarLong(dictionaryIds[i]);
+            }
+        }
+        return new ChunkStatistics(nbValues, min, max);
+    }
+
+    /**
+     * Writes the bitmap words of the rows of the row group, without the bits of the rows after
+     * the last one
+     */
+    private void writePresence(long[] presence, int size) throws IOException {
+        int nbWords = (size + Long.SIZE - 1) / Long.SIZE;
+        for (int i = 0; i < nbWords; i++) {
+            long word = presence[i];
+            int rowsInWord = size - i * Long.SIZE;
+            if (rowsInWord < Long.SIZE) {
+                word &= (1L << rowsInWord) - 1;
+            }
+            chunkOutput.writeLong(word);
+        }
+    }
+
+    private void writePlain(long value, int sizeInBytes) throws IOException {
+        for (int i = sizeInBytes - 1; i >= 0; i--) {
+            chunkOutput.writeByte((int) (value >>> (i * Byte.SIZE)));
+        }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            chunkOutput.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        chunkOutput.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
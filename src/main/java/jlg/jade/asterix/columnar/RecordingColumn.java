@@ -0,0 +1,128 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+/**
+ * The columns of a columnar recording file (see ColumnarRecordingWriter), with their encoding.
+ * The category column is always written, the other columns are written when their track column
+ * is selected.
+ */
+public enum RecordingColumn {
+    CATEGORY(null, Encoding.PLAIN, 1),
+    SAC_SIC(TrackColumn.SAC_SIC, Encoding.PLAIN, 2),
+    TIME_OF_TRACK(TrackColumn.TIME_OF_TRACK, Encoding.DELTA, 0),
+    TRACK_NUMBER(TrackColumn.TRACK_NUMBER, Encoding.PLAIN, 2),
+    LATITUDE(TrackColumn.POSITION_WGS84, Encoding.DELTA, 0),
+    LONGITUDE(TrackColumn.POSITION_WGS84, Encoding.DELTA, 0),
+    MODE_A(TrackColumn.MODE_A, Encoding.PLAIN, 2),
+    FLIGHT_LEVEL(TrackColumn.FLIGHT_LEVEL, Encoding.PLAIN, 2),
+    CALLSIGN(TrackColumn.CALLSIGN, Encoding.DICTIONARY, 0);
+
+    /**
+     * How the values of a column chunk are stored
+     */
+    public enum Encoding {
+        /**
+         * Fixed size big endian values, so a value can be read at its index
+         */
+        PLAIN,
+
+        /**
+         * The difference with the previous value, as a zigzag varint
+         */
+        DELTA,
+
+        /**
+         * The distinct values of the chunk, followed by the index of each value in this
+         * dictionary, as a varint
+         */
+        DICTIONARY
+    }
+
+    private final TrackColumn trackColumn;
+    private final Encoding encoding;
+    private final int sizeInBytes;
+
+    RecordingColumn(TrackColumn trackColumn, Encoding encoding, int sizeInBytes) {
+        this.trackColumn = trackColumn;
+        this.encoding = encoding;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    /**
+     * @return The track column holding the values of this column, or null for the category
+     */
+    public TrackColumn getTrackColumn() {
+        return trackColumn;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @return The size of a PLAIN value
+     */
+    public int getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    long getValue(TrackColumnBatch batch, int row) {
+        switch (this) {
+            case CATEGORY:
+                return batch.getCategory(row);
+            case SAC_SIC:
+                return batch.getSacSic()[row];
+            case TIME_OF_TRACK:
+                return batch.getTimeOfTrack()[row];
+            case TRACK_NUMBER:
+                return batch.getTrackNumber()[row];
+            case LATITUDE:
+                return batch.getLatitude()[row];
+            case LONGITUDE:
+                return batch.getLongitude()[row];
+            case MODE_A:
+                return batch.getModeA()[row];
+            case FLIGHT_LEVEL:
+                return batch.getFlightLevel()[row];
+            case CALLSIGN:
+                return batch.getCallsign()[row];
+            default:
+                throw new IllegalStateException("Unknown column " + this);
+        }
+    }
+
+    void setValue(TrackColumnBatch batch, int row, long value) {
+        switch (this) {
+            case SAC_SIC:
+                batch.getSacSic()[row] = (int) value;
+                break;
+            case TIME_OF_TRACK:
+                batch.getTimeOfTrack()[row] = (int) value;
+                break;
+            case TRACK_NUMBER:
+                batch.getTrackNumber()[row] = (int) value;
+                break;
+            case LATITUDE:
+                batch.getLatitude()[row] = (int) value;
+                break;
+            case LONGITUDE:
+                batch.getLongitude()[row] = (int) value;
+                break;
+            case MODE_A:
+                batch.getModeA()[row] = (short) value;
+                break;
+            case FLIGHT_LEVEL:
+                batch.getFlightLevel()[row] = (short) value;
+                break;
+            case CALLSIGN:
+                batch.getCallsign()[row] = value;
+                break;
+            default:
+                throw new IllegalStateException("The " + this + " column is not a track column");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+/**
+ * The track fields that can be decoded in a TrackColumnBatch. The values are stored in their
+ * Asterix units, as returned by the corresponding item decoders.
+ */
+public enum TrackColumn {
+    /**
+     * Data source identifier (SAC << 8 | SIC) - Cat062 I010, Cat048 I010
+     */
+    SAC_SIC,
+
+    /**
+     * Time of track / time of day in 1/128 s - Cat062 I070, Cat048 I140
+     */
+    TIME_OF_TRACK,
+
+    /**
+     * Track number - Cat062 I040, Cat048 I161
+     */
+    TRACK_NUMBER,
+
+    /**
+     * WGS-84 latitude and longitude in 180/2^25 degrees - Cat062 I105
+     */
+    POSITION_WGS84,
+
+    /**
+     * Mode 3/A code (the 12 bits of the code, as a decimal value) - Cat062 I060, Cat048 I070
+     */
+    MODE_A,
+
+    /**
+     * Flight level in 1/4 FL - Cat062 I136, Cat048 I090
+     */
+    FLIGHT_LEVEL,
+
+    /**
+     * Callsign / aircraft identification, as up to 8 ASCII characters packed in a long (see
+     * TrackColumnBatch.callsignToString) - Cat062 I390 subfield 2, Cat048 I240
+     */
+    CALLSIGN
+}
@@ -0,0 +1,225 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.columnar;
+
+import org.springframework.util.Assert;
+
+import java.util.EnumSet;
+
+/**
+ * Reusable column buffers holding selected fields of a batch of Cat062 / Cat048 records (one row
+ * per record), filled by the ColumnarBatchDecoder or the ColumnarRecordingReader. Each column is
+ * a primitive array, with a presence bitmap telling which rows hold a value: bit (row & 63) of
+ * word (row >>> 6) is set when the item of the column was present in the record.
+ * The arrays are allocated once, for the selected columns only, and are returned as is by the
+ * getters. Only the first getSize() rows are valid.
+ *
+ * @implNote A batch is not thread safe. It is meant to be filled, processed and cleared by the
+ * same thread.
+ */
+public final class TrackColumnBatch {
+    private static final int ROWS_PER_WORD_SHIFT = 6;
+    static final int CALLSIGN_LENGTH = 8;
+
+    private final int capacity;
+    private final EnumSet<TrackColumn> columns;
+    private final long[][] presence;
+    private final byte[] categories;
+    private final int[] sacSic;
+    private final int[] timeOfTrack;
+    private final int[] trackNumber;
+    private final int[] latitude;
+    private final int[] longitude;
+    private final short[] modeA;
+    private final short[] flightLevel;
+    private final long[] callsign;
+    private int size;
+
+    /**
+     * @param capacity The maximum number of rows of the batch
+     * @param columns  The columns filled by the decoder
+     */
+    public TrackColumnBatch(int capacity, TrackColumn... columns) {
+        Assert.isTrue(capacity > 0, "The capacity of the batch must be positive");
+        Assert.notEmpty(columns, "At least one column must be selected");
+        this.capacity = capacity;
+        this.columns = EnumSet.noneOf(TrackColumn.class);
+        for (TrackColumn column : columns) {
+            Assert.notNull(column, "The columns can not be null");
+            this.columns.add(column);
+        }
+        this.presence = new long[TrackColumn.values().length][];
+        for (TrackColumn column : this.columns) {
+            presence[column.ordinal()] = new long[(capacity + Long.SIZE - 1) >>> ROWS_PER_WORD_SHIFT];
+        }
+        this.categories = new byte[capacity];
+        this.sacSic = hasColumn(TrackColumn.SAC_SIC) ? new int[capacity] : null;
+        this.timeOfTrack = hasColumn(TrackColumn.TIME_OF_TRACK) ? new int[capacity] : null;
+        this.trackNumber = hasColumn(TrackColumn.TRACK_NUMBER) ? new int[capacity] : null;
+        this.latitude = hasColumn(TrackColumn.POSITION_WGS84) ? new int[capacity] : null;
+        this.longitude = hasColumn(TrackColumn.POSITION_WGS84) ? new int[capacity] : null;
+        this.modeA = hasColumn(TrackColumn.MODE_A) ? new short[capacity] : null;
+        this.flightLevel = hasColumn(TrackColumn.FLIGHT_LEVEL) ? new short[capacity] : null;
+        this.callsign = hasColumn(TrackColumn.CALLSIGN) ? new long[capacity] : null;
+    }
+
+    /**
+     * Unpacks a value of the callsign column. The characters are packed from the most significant
+     * octet, and the unused octets hold spaces, so the packed values have the same order as the
+     * callsigns.
+     *
+     * @return The callsign, without the trailing spaces
+     */
+    public static String callsignToString(long packedCallsign) {
+        char[] characters = new char[CALLSIGN_LENGTH];
+        int length = 0;
+        for (int i = 0; i < CALLSIGN_LENGTH; i++) {
+            characters[i] = (char) ((packedCallsign >>> (Long.SIZE - Byte.SIZE * (i + 1))) & 0xFF);
+            if (characters[i] != ' ') {
+                length = i + 1;
+            }
+        }
+        return new String(characters, 0, length);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of valid rows
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public boolean hasColumn(TrackColumn column) {
+        return columns.contains(column);
+    }
+
+    /**
+     * Empties the batch, so it can be filled again. The buffers are kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return The Asterix category of the record of the given row
+     */
+    public int getCategory(int row) {
+        return Byte.toUnsignedInt(categories[row]);
+    }
+
+    /**
+     * @return True if the item of the column was present in the record of the given row. Always
+     * false for a column that is not selected, or a row after getSize().
+     */
+    public boolean isPresent(TrackColumn column, int row) {
+        long[] bitmap = presence[column.ordinal()];
+        return bitmap != null && row < size && (bitmap[row >>> ROWS_PER_WORD_SHIFT] & (1L << row)) != 0;
+    }
+
+    /**
+     * @return The number of valid rows holding a value of the column
+     */
+    public int countPresent(TrackColumn column) {
+        long[] bitmap = presence[column.ordinal()];
+        if (bitmap == null) {
+            return 0;
+        }
+        int count = 0;
+        int fullWords = size >>> ROWS_PER_WORD_SHIFT;
+        for (int i = 0; i < fullWords; i++) {
+            count += Long.bitCount(bitmap[i]);
+        }
+        int remainingRows = size & (Long.SIZE - 1);
+        if (remainingRows > 0) {
+            count += Long.bitCount(bitmap[fullWords] & ((1L << remainingRows) - 1));
+        }
+        return count;
+    }
+
+    /**
+     * @return The presence bitmap of the column, or null if it is not selected. The bits of the
+     * rows after getSize() are undefined.
+     */
+    public long[] getPresence(TrackColumn column) {
+        return presence[column.ordinal()];
+    }
+
+    /**
+     * @return The category of each row, as unsigned octets
+     */
+    public byte[] getCategories() {
+        return categories;
+    }
+
+    public int[] getSacSic() {
+        return sacSic;
+    }
+
+    public int[] getTimeOfTrack() {
+        return timeOfTrack;
+    }
+
+    public int[] getTrackNumber() {
+        return trackNumber;
+    }
+
+    public int[] getLatitude() {
+        return latitude;
+    }
+
+    public int[] getLongitude() {
+        return longitude;
+    }
+
+    public short[] getModeA() {
+        return modeA;
+    }
+
+    public short[] getFlightLevel() {
+        return flightLevel;
+    }
+
+    public long[] getCallsign() {
+        return callsign;
+    }
+
+    /**
+     * Adds a row with no value
+     *
+     * @return The index of the row
+     */
+    int addRow(int category) {
+        int row = size++;
+        categories[row] = (byte) category;
+        long mask = ~(1L << row);
+        int word = row >>> ROWS_PER_WORD_SHIFT;
+        for (long[] bitmap : presence) {
+            if (bitmap != null) {
+                bitmap[word] &= mask;
+            }
+        }
+        return row;
+    }
+
+    void setPresent(TrackColumn column, int row) {
+        presence[column.ordinal()][row >>> ROWS_PER_WORD_SHIFT] |= 1L << row;
+    }
+
+    /**
+     * Removes the rows added after the given size
+     */
+    void truncate(int newSize) {
+        size = newSize;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.counters;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixItem;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.common.Loggable;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Item counter driven by a CounterDefinition and backed by primitive arrays.
+ * The counters can be updated from several decoding threads: they are split in stripes, and
+ * each thread updates its own stripe (chosen from the thread id), so threads rarely compete for
+ * the same lock. All the counters of a record are updated at once, which makes every snapshot
+ * consistent. Counters of different workers can also be merged.
+ *
+ * @param <R> The type of record (eg. Cat062Record)
+ */
+public abstract class ArrayItemCounter<R extends AsterixItem> implements AsterixItemCounter, Loggable {
+    private static final int NB_STRIPES = stripeCount(Runtime.getRuntime().availableProcessors());
+
+    private final CounterDefinition<R> definition;
+    private final Function<AsterixRecord, R> recordAccessor;
+    private final long[][] stripes;
+
+    /**
+     * @param definition     The counted items
+     * @param recordAccessor Returns the record of the category from an Asterix record, or null
+     *                       if the record has another category
+     */
+    protected ArrayItemCounter(CounterDefinition<R> definition, Function<AsterixRecord, R> recordAccessor) {
+        Assert.notNull(definition);
+        Assert.notNull(recordAccessor);
+
+        this.definition = definition;
+        this.recordAccessor = recordAccessor;
+        this.stripes = new long[NB_STRIPES][definition.getNbSlots()];
+    }
+
+    /**
+     * Increments counter values with the the ones received from a new data block
+     */
+    @Override
+    public void increment(AsterixDataBlock asterixDataBlock) {
+        long[] stripe = stripes[(int) Thread.currentThread().getId() & (NB_STRIPES - 1)];
+        for (AsterixRecord record : asterixDataBlock.getRecords()) {
+            R categoryRecord = recordAccessor.apply(record);
+            if (categoryRecord != null) {
+                synchronized (stripe) {
+                    definition.count(categoryRecord, stripe);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the values of another counter (eg. the counter of another decoding worker) to this
+     * counter
+     */
+    public void merge(ArrayItemCounter<R> other) {
+        Assert.isTrue(other.definition == definition, "Only counters of the same category can be merged");
+        long[] otherSlots = other.snapshot().getSlots();
+        long[] stripe = stripes[(int) Thread.currentThread().getId() & (NB_STRIPES - 1)];
+        synchronized (stripe) {
+            for (int i = 0; i < otherSlots.length; i++) {
+                stripe[i] += otherSlots[i];
+            }
+        }
+    }
+
+    /**
+     * @return A consistent copy of the counter values
+     */
+    public ItemCounterSnapshot snapshot() {
+        long[] slots = new long[definition.getNbSlots()];
+        for (long[] stripe : stripes) {
+            synchronized (stripe) {
+                for (int i = 0; i < slots.length; i++) {
+                    slots[i] += stripe[i];
+                }
+            }
+        }
+        return new ItemCounterSnapshot(definition, slots);
+    }
+
+    /**
+     * Set all the counters to 0
+     */
+    public void reset() {
+        for (long[] stripe : stripes) {
+            synchronized (stripe) {
+                Arrays.fill(stripe, 0);
+            }
+        }
+    }
+
+    public int getNbRecords() {
+        return (int) sum(CounterDefinition.NB_RECORDS);
+    }
+
+    public int getNbOfInvalidRecords() {
+        return (int) sum(CounterDefinition.NB_INVALID_RECORDS);
+    }
+
+    /**
+     * @return The report of all the counters
+     */
+    @Override
+    public String getDebugString() {
+        return snapshot().getDebugString();
+    }
+
+    public CounterDefinition<R> getDefinition() {
+        return definition;
+    }
+
+    protected int getPresent(int entry) {
+        return (int) sum(CounterDefinition.presentSlot(entry));
+    }
+
+    protected int getInvalid(int entry) {
+        return (int) sum(CounterDefinition.invalidSlot(entry));
+    }
+
+    private long sum(int slot) {
+        long sum = 0;
+        for (long[] stripe : stripes) {
+            synchronized (stripe) {
+                sum += stripe[slot];
+            }
+        }
+        return sum;
+    }
+
+    private static int stripeCount(int nbProcessors) {
+        return Integer.highestOneBit(Math.max(1, nbProcessors - 1)) << 1;
+    }
+}
@@ -4,601 +4,247 @@
 
 package jlg.jade.asterix.counters;
 
-import jlg.jade.asterix.AsterixDataBlock;
 import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat004.Cat004Item170;
+import jlg.jade.asterix.cat004.Cat004Item171;
 import jlg.jade.asterix.cat004.Cat004MessageType;
 import jlg.jade.asterix.cat004.Cat004Record;
-import jlg.jade.common.DebugMessageSource;
+import jlg.jade.asterix.cat004.item100.Cat004Item100;
+
+import java.util.function.Function;
+
+import static jlg.jade.asterix.counters.CounterDefinition.lazyItem;
 
 /**
- * Counter class for Cat004
+ * Counter class for Cat004 items.
  */
-public class Cat004ItemCounter extends DebugMessageSource implements AsterixItemCounter {
-    private int nbRecords = 0;
-    private int nbOfInvalidRecords = 0;
-
-    private int item010Present = 0;
-    private int item010Invalid = 0;
-
-    private int item000Present = 0;
-    private int item000Invalid = 0;
-    private int nbStcaMessages = 0;
-    private int nbApwMessages = 0;
-    private int nbMsawMessages = 0;
-    private int nbEocMessages = 0;
-    private int nbAliveMessages = 0;
-
-    private int item015Present = 0;
-    private int item015Invalid = 0;
-
-    private int item020Present = 0;
-    private int item020Invalid = 0;
-
-    private int item040Present = 0;
-    private int item040Invalid = 0;
-
-    private int item045Present = 0;
-    private int item045Invalid = 0;
-
-    private int item060Present = 0;
-    private int item060Invalid = 0;
-
-    private int item030Present = 0;
-    private int item030Invalid = 0;
-
-    private int item170Present = 0;
-    private int item170Invalid = 0;
-
-    private int item120Present = 0;
-    private int item120Invalid = 0;
-
-    private int item070Present = 0;
-    private int item070Invalid = 0;
-
-    private int item076Present = 0;
-    private int item076Invalid = 0;
-
-    private int item074Present = 0;
-    private int item074Invalid = 0;
-
-    private int item075Present = 0;
-    private int item075Invalid = 0;
-
-    private int item100Present = 0;
-    private int item100Invalid = 0;
-
-    private int item035Present = 0;
-    private int item035Invalid = 0;
-
-    private int item171Present = 0;
-    private int item171Invalid = 0;
-
-    private int item110Present = 0;
-    private int item110Invalid = 0;
-
-    private int itemRePresent = 0;
-    private int itemReInvalid = 0;
-    private int itemSpPresent = 0;
-    private int itemSpInvalid = 0;
-
-    /**
-     * Increments counter values with the the ones received from a new data block
-     *
-     * @param asterixDataBlock An Asterix data block that has Cat 004 data
-     */
-    @Override
-    public void increment(AsterixDataBlock asterixDataBlock) {
-        for (AsterixRecord record : asterixDataBlock.getRecords()) {
-            if (record.getCategory() == 4) {
-                increment(record.getCat004Record());
-            }
-        }
-    }
-
-
-    /**
-     * Adds the current counter values with the new counter values
-     *
-     * @param record a new Asterix record
-     */
-    private void increment(Cat004Record record) {
-        clearDebugMsg();
-        appendNewLine();
-        appendNewLine();
-        appendItemCounterMsg("Asterix Category 004 Counters", "Nb. decoded", "Nb. invalid");
-
-        this.nbRecords = this.getNbRecords() + 1;
-        if (!record.isValid()) {
-            this.nbOfInvalidRecords = this.getNbOfInvalidRecords() + 1;
-        }
-        appendItemCounterMsg("Number of records", getNbRecords(), getNbOfInvalidRecords());
-
-        //increment counters for item 010
-        if (record.getItem010() != null) {
-            this.item010Present = this.item010Present + 1;
-            if (!record.getItem010().isValid()) {
-                this.item010Invalid = this.item010Invalid + 1;
-            }
-        }
-
-        //increment counters for item 000
-        if (record.getItem000() != null) {
-            this.item000Present = this.item000Present + 1;
-            if (!record.getItem000().isValid()) {
-                this.item000Invalid = this.item000Invalid + 1;
-            }
-
-
-            switch (record.getItem000().getMessageType()) {
-                case (Cat004MessageType.STCA):
-                    nbStcaMessages++;
-                    break;
-                case (Cat004MessageType.APW):
-                    nbApwMessages++;
-                    break;
-
-                case (Cat004MessageType.MSAW):
-                    nbMsawMessages++;
-                    break;
-
-                case (Cat004MessageType.EOC):
-                    nbEocMessages++;
-                    break;
-
-                case (Cat004MessageType.ALIVE):
-                    nbAliveMessages++;
-                    break;
-
-                default: {
-                    break;
-                }
-            }
-        }
-
-        //increment counters for item 015
-        if (record.getItem015() != null) {
-            this.item015Present = this.item015Present + 1;
-            if (!record.getItem015().isValid()) {
-                this.item015Invalid = this.item015Invalid + 1;
-            }
-        }
-
-        //increment counters for item 020
-        if (record.getItem020() != null) {
-            this.item020Present = this.item020Present + 1;
-            if (!record.getItem020().isValid()) {
-                this.item020Invalid = this.item020Invalid + 1;
-            }
-        }
-
-        //increment counters for item 040
-        if (record.getItem040() != null) {
-            this.item040Present = this.item040Present + 1;
-            if (!record.getItem040().isValid()) {
-                this.item040Invalid = this.item040Invalid + 1;
-            }
-        }
-
-        //increment counters for item 045
-        if (record.getItem045() != null) {
-            this.item045Present = this.item045Present + 1;
-            if (!record.getItem045().isValid()) {
-                this.item045Invalid = this.item045Invalid + 1;
-            }
-        }
-
-        //increment counters for item 060
-        if (record.getItem060() != null) {
-            this.item060Present = this.item060Present + 1;
-            if (!record.getItem060().isValid()) {
-                this.item060Invalid = this.item060Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 030
-        if (record.getItem030() != null) {
-            this.item030Present = this.item030Present + 1;
-            if (!record.getItem030().isValid()) {
-                this.item030Invalid = this.item030Invalid + 1;
-            }
-        }
-
-        //increment counters for item 170
-        if (record.getItem170() != null) {
-            this.item170Present = this.item170Present + 1;
-            if (!record.getItem170().isValid()) {
-                this.item170Invalid = this.item170Invalid + 1;
-            }
-        }
-
-        //increment counters for item 120
-        if (record.getItem120() != null) {
-            this.item120Present = this.item120Present + 1;
-            if (!record.getItem120().isValid()) {
-                this.item120Invalid = this.item120Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 070
-        if (record.getItem070() != null) {
-            this.item070Present = this.item070Present + 1;
-            if (!record.getItem070().isValid()) {
-                this.item070Invalid = this.item070Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 076
-        if (record.getItem076() != null) {
-            this.item076Present = this.item076Present + 1;
-            if (!record.getItem076().isValid()) {
-                this.item076Invalid = this.item076Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 074
-        if (record.getItem074() != null) {
-            this.item074Present = this.item074Present + 1;
-            if (!record.getItem074().isValid()) {
-                this.item074Invalid = this.item074Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 075
-        if (record.getItem075() != null) {
-            this.item075Present = this.item075Present + 1;
-            if (!record.getItem075().isValid()) {
-                this.item075Invalid = this.item075Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 100
-        if (record.getItem100() != null) {
-            this.item100Present = this.item100Present + 1;
-            if (!record.getItem100().isValid()) {
-                this.item100Invalid = this.item100Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 035
-        if (record.getItem035() != null) {
-            this.item035Present = this.item035Present + 1;
-            if (!record.getItem035().isValid()) {
-                this.item035Invalid = this.item035Invalid + 1;
-            }
-
-        }
-
-        //increment counters for item 171
-        if (record.getItem171() != null) {
-            this.item171Present = this.item171Present + 1;
-            if (!record.getItem171().isValid()) {
-                this.item171Invalid = this.item171Invalid + 1;
-            }
-        }
-
-        //increment counters for item 110
-        if (record.getItem110() != null) {
-            this.item110Present = this.item110Present + 1;
-            if (!record.getItem110().isValid()) {
-                this.item110Invalid = this.item110Invalid + 1;
-            }
-        }
-
-
-        if (record.getReservedExpansionField() != null) {
-            this.itemRePresent = this.getItemRePresent() + 1;
-            if (!record.getReservedExpansionField().isValid()) {
-                this.itemReInvalid = this.getItemReInvalid() + 1;
-            }
-        }
-
-        if (record.getSpecialPurposeField() != null) {
-            this.itemSpPresent = this.getItemSpPresent() + 1;
-            if (!record.getSpecialPurposeField().isValid()) {
-                this.itemSpInvalid = this.getItemSpInvalid() + 1;
-            }
-        }
-
-        createPrintMsg();
-    }
-
-    public int getNbRecords() {
-        return nbRecords;
-    }
-
-    public int getNbOfInvalidRecords() {
-        return nbOfInvalidRecords;
+public class Cat004ItemCounter extends ArrayItemCounter<Cat004Record> {
+    private static final CounterDefinition<Cat004Record> DEFINITION =
+            new CounterDefinition<>("Asterix Category 004 Counters");
+    private static final Function<Cat004Record, Cat004Item170> ITEM_170_ACCESSOR =
+            lazyItem(Cat004Record::getItem170, Cat004Record::isItem170Deferred);
+    private static final Function<Cat004Record, Cat004Item100> ITEM_100_ACCESSOR =
+            lazyItem(Cat004Record::getItem100, Cat004Record::isItem100Deferred);
+    private static final Function<Cat004Record, Cat004Item171> ITEM_171_ACCESSOR =
+            lazyItem(Cat004Record::getItem171, Cat004Record::isItem171Deferred);
+
+    private static final int ITEM_010 = DEFINITION.item(
+            "Item 010 - Data source identifier", Cat004Record::getItem010);
+    private static final int ITEM_000 = DEFINITION.item(
+            "Item 000 - Message Type", Cat004Record::getItem000);
+    private static final int ALIVE_MESSAGES = DEFINITION.value(
+            "  ALIVE", Cat004Record::getItem000,
+            item -> item.getMessageType() == Cat004MessageType.ALIVE);
+    private static final int STCA_MESSAGES = DEFINITION.value(
+            "  STCA", Cat004Record::getItem000,
+            item -> item.getMessageType() == Cat004MessageType.STCA);
+    private static final int APW_MESSAGES = DEFINITION.value(
+            "  APW", Cat004Record::getItem000,
+            item -> item.getMessageType() == Cat004MessageType.APW);
+    private static final int MSAW_MESSAGES = DEFINITION.value(
+            "  MSAW", Cat004Record::getItem000,
+            item -> item.getMessageType() == Cat004MessageType.MSAW);
+    private static final int EOC_MESSAGES = DEFINITION.value(
+            "  EOC", Cat004Record::getItem000,
+            item -> item.getMessageType() == Cat004MessageType.EOC);
+    private static final int ITEM_015 = DEFINITION.item(
+            "Item 015 - SDPS Identifier (Skipped)", Cat004Record::getItem015);
+    private static final int ITEM_020 = DEFINITION.item(
+            "Item 020 - Time of Message", Cat004Record::getItem020);
+    private static final int ITEM_040 = DEFINITION.item(
+            "Item 040 - Alert Identifier", Cat004Record::getItem040);
+    private static final int ITEM_045 = DEFINITION.item(
+            "Item 045 - Alert Status", Cat004Record::getItem045);
+    private static final int ITEM_060 = DEFINITION.item(
+            "Item 060 - Safety Net Function and Status (Skipped)", Cat004Record::getItem060);
+    private static final int ITEM_030 = DEFINITION.item(
+            "Item 030 - Track Number 1", Cat004Record::getItem030);
+    private static final int ITEM_170 = DEFINITION.item(
+            "Item 170 - Aircraft Characteristics 1", ITEM_170_ACCESSOR);
+    private static final int ITEM_120 = DEFINITION.item(
+            "Item 120 - Conflict Characteristics", Cat004Record::getItem120);
+    private static final int ITEM_070 = DEFINITION.item(
+            "Item 070 - Conflict Timing and Separation", Cat004Record::getItem070);
+    private static final int ITEM_076 = DEFINITION.item(
+            "Item 076 - Vertical Deviation", Cat004Record::getItem076);
+    private static final int ITEM_074 = DEFINITION.item(
+            "Item 074 - Longitudinal Deviation", Cat004Record::getItem074);
+    private static final int ITEM_075 = DEFINITION.item(
+            "Item 075 - Transversal Distance Deviation", Cat004Record::getItem075);
+    private static final int ITEM_100 = DEFINITION.item(
+            "Item 100 - Area Definitions", ITEM_100_ACCESSOR);
+    private static final int ITEM_035 = DEFINITION.item(
+            "Item 035 - Track Number 2", Cat004Record::getItem035);
+    private static final int ITEM_171 = DEFINITION.item(
+            "Item 171 - Aircraft Characteristics 2", ITEM_171_ACCESSOR);
+    private static final int ITEM_110 = DEFINITION.item(
+            "Item 110 - FDPS Control Identifier (Skipped)", Cat004Record::getItem110);
+    private static final int ITEM_RE = DEFINITION.item(
+            "RE", Cat004Record::getReservedExpansionField);
+    private static final int ITEM_SP = DEFINITION.item(
+            "SP", Cat004Record::getSpecialPurposeField);
+
+    public Cat004ItemCounter() {
+        super(DEFINITION, AsterixRecord::getCat004Record);
     }
 
     public int getItem010Present() {
-        return item010Present;
+        return getPresent(ITEM_010);
     }
 
     public int getItem010Invalid() {
-        return item010Invalid;
+        return getInvalid(ITEM_010);
     }
 
     public int getItem000Present() {
-        return item000Present;
+        return getPresent(ITEM_000);
     }
 
     public int getItem000Invalid() {
-        return item000Invalid;
+        return getInvalid(ITEM_000);
     }
 
     public int getItem015Present() {
-        return item015Present;
+        return getPresent(ITEM_015);
     }
 
     public int getItem015Invalid() {
-        return item015Invalid;
+        return getInvalid(ITEM_015);
     }
 
     public int getItem020Present() {
-        return item020Present;
+        return getPresent(ITEM_020);
     }
 
     public int getItem020Invalid() {
-        return item020Invalid;
+        return getInvalid(ITEM_020);
     }
 
     public int getItem040Present() {
-        return item040Present;
+        return getPresent(ITEM_040);
     }
 
     public int getItem040Invalid() {
-        return item040Invalid;
+        return getInvalid(ITEM_040);
     }
 
     public int getItem045Present() {
-        return item045Present;
+        return getPresent(ITEM_045);
     }
 
     public int getItem045Invalid() {
-        return item045Invalid;
+        return getInvalid(ITEM_045);
     }
 
     public int getItem060Present() {
-        return item060Present;
+        return getPresent(ITEM_060);
     }
 
     public int getItem060Invalid() {
-        return item060Invalid;
+        return getInvalid(ITEM_060);
     }
 
     public int getItem030Present() {
-        return item030Present;
+        return getPresent(ITEM_030);
     }
 
     public int getItem030Invalid() {
-        return item030Invalid;
+        return getInvalid(ITEM_030);
     }
 
     public int getItem170Present() {
-        return item170Present;
+        return getPresent(ITEM_170);
     }
 
     public int getItem170Invalid() {
-        return item170Invalid;
+        return getInvalid(ITEM_170);
     }
 
     public int getItem120Present() {
-        return item120Present;
+        return getPresent(ITEM_120);
     }
 
     public int getItem120Invalid() {
-        return item120Invalid;
+        return getInvalid(ITEM_120);
     }
 
     public int getItem070Present() {
-        return item070Present;
+        return getPresent(ITEM_070);
     }
 
     public int getItem070Invalid() {
-        return item070Invalid;
+        return getInvalid(ITEM_070);
     }
 
     public int getItem076Present() {
-        return item076Present;
+        return getPresent(ITEM_076);
     }
 
     public int getItem076Invalid() {
-        return item076Invalid;
+        return getInvalid(ITEM_076);
     }
 
     public int getItem074Present() {
-        return item074Present;
+        return getPresent(ITEM_074);
     }
 
     public int getItem074Invalid() {
-        return item074Invalid;
+        return getInvalid(ITEM_074);
     }
 
     public int getItem075Present() {
-        return item075Present;
+        return getPresent(ITEM_075);
     }
 
     public int getItem075Invalid() {
-        return item075Invalid;
+        return getInvalid(ITEM_075);
     }
 
     public int getItem100Present() {
-        return item100Present;
+        return getPresent(ITEM_100);
     }
 
     public int getItem100Invalid() {
-        return item100Invalid;
+        return getInvalid(ITEM_100);
     }
 
     public int getItem035Present() {
-        return item035Present;
+        return getPresent(ITEM_035);
     }
 
     public int getItem035Invalid() {
-        return item035Invalid;
+        return getInvalid(ITEM_035);
     }
 
     public int getItem171Present() {
-        return item171Present;
+        return getPresent(ITEM_171);
     }
 
     public int getItem171Invalid() {
-        return item171Invalid;
+        return getInvalid(ITEM_171);
     }
 
     public int getItem110Present() {
-        return item110Present;
+        return getPresent(ITEM_110);
     }
 
     public int getItem110Invalid() {
-        return item110Invalid;
+        return getInvalid(ITEM_110);
     }
 
     public int getItemRePresent() {
-        return itemRePresent;
+        return getPresent(ITEM_RE);
     }
 
     public int getItemReInvalid() {
-        return itemReInvalid;
+        return getInvalid(ITEM_RE);
     }
 
     public int getItemSpPresent() {
-        return itemSpPresent;
+        return getPresent(ITEM_SP);
     }
 
     public int getItemSpInvalid() {
-        return itemSpInvalid;
-    }
-
-    private void createPrintMsg() {
-        clearDebugMsg();
-        appendNewLine();
-        appendItemCounterMsg("Asterix Category 004 Counters", "Nb. decoded", "Nb. invalid");
-
-        appendItemCounterMsg(
-                "Item 010 - Data source identifier",
-                item010Present,
-                item010Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 000 - Message Type",
-                item000Present,
-                item000Invalid
-                            );
-
-        appendItemCounterMsg("  ALIVE", nbAliveMessages, 0);
-        appendItemCounterMsg("  STCA", nbStcaMessages, 0);
-        appendItemCounterMsg("  APW", nbApwMessages, 0);
-        appendItemCounterMsg("  MSAW", nbMsawMessages, 0);
-        appendItemCounterMsg("  EOC", nbEocMessages, 0);
-
-        appendItemCounterMsg(
-                "Item 015 - SDPS Identifier (Skipped)",
-                item015Present,
-                item015Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 020 - Time of Message",
-                item020Present,
-                item020Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 040 - Alert Identifier",
-                item040Present,
-                item040Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 045 - Alert Status",
-                item045Present,
-                item045Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 060 - Safety Net Function and Status (Skipped)",
-                item060Present,
-                item060Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 030 - Track Number 1",
-                item030Present,
-                item030Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 170 - Aircraft Characteristics 1",
-                item170Present,
-                item170Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 120 - Conflict Characteristics",
-                item120Present,
-                item120Invalid
-                            );
-
-
-        appendItemCounterMsg(
-                "Item 070 - Conflict Timing and Separation",
-                item070Present,
-                item070Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 076 - Vertical Deviation",
-                item076Present,
-                item076Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 074 - Longitudinal Deviation",
-                item074Present,
-                item074Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 075 - Transversal Distance Deviation",
-                item075Present,
-                item075Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 100 - Area Definitions",
-                item100Present,
-                item100Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 035 - Track Number 2",
-                item035Present,
-                item035Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 171 - Aircraft Characteristics 2",
-                item171Present,
-                item171Invalid
-                            );
-
-        appendItemCounterMsg(
-                "Item 110 - FDPS Control Identifier (Skipped)",
-                item110Present,
-                item110Invalid
-                            );
-
-        appendItemCounterMsg("RE", getItemRePresent(), getItemReInvalid());
-        appendItemCounterMsg("SP", getItemSpPresent(), getItemSpInvalid());
+        return getInvalid(ITEM_SP);
     }
-
 }
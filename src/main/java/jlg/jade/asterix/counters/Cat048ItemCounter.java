@@ -4,582 +4,305 @@
 
 package jlg.jade.asterix.counters;
 
-import jlg.jade.asterix.AsterixDataBlock;
 import jlg.jade.asterix.AsterixRecord;
 import jlg.jade.asterix.cat048.Cat048Record;
-import jlg.jade.common.DebugMessageSource;
-
-public class Cat048ItemCounter extends DebugMessageSource implements AsterixItemCounter {
-    private int nbRecords;
-    private int nbOfInvalidRecords;
-
-    private int item010Present;
-    private int item010Invalid;
-    private int item140Present;
-    private int item140Invalid;
-    private int item020Present;
-    private int item020Invalid;
-    private int item040Present;
-    private int item040Invalid;
-    private int item070Present;
-    private int item070Invalid;
-    private int item090Present;
-    private int item090Invalid;
-    private int item130Present;
-    private int item130Invalid;
-
-    private int item220Present;
-    private int item220Invalid;
-    private int item240Present;
-    private int item240Invalid;
-    private int item250Present;
-    private int item250Invalid;
-    private int item161Present;
-    private int item161Invalid;
-    private int item042Present;
-    private int item042Invalid;
-    private int item200Present;
-    private int item200Invalid;
-    private int item170Present;
-    private int item170Invalid;
-
-    private int item210Present;
-    private int item210Invalid;
-    private int item030Present;
-    private int item030Invalid;
-    private int item080Present;
-    private int item080Invalid;
-    private int item100Present;
-    private int item100Invalid;
-    private int item110Present;
-    private int item110Invalid;
-    private int item120Present;
-    private int item120Invalid;
-    private int item230Present;
-    private int item230Invalid;
-
-    private int item260Present;
-    private int item260Invalid;
-    private int item055Present;
-    private int item055Invalid;
-    private int item050Present;
-    private int item050Invalid;
-    private int item065Present;
-    private int item065Invalid;
-    private int item060Present;
-    private int item060Invalid;
-    private int itemSpPresent;
-    private int item0SpInvalid;
-    private int itemRePresent;
-    private int item0ReInvalid;
-
-    /**
-     * Increments counter values with the ones received from a new data block
-     *
-     * @param asterixDataBlock represents an Asterix data block with has Cat 048 data
-     */
-    @Override
-    public void increment(AsterixDataBlock asterixDataBlock) {
-        for (AsterixRecord record : asterixDataBlock.getRecords()) {
-            if (record.getCat048Record() != null) {
-                increment(record.getCat048Record());
-            }
-        }
-    }
-
-    /**
-     * Increments the existing counter with values from the Cat 048 record
-     *
-     * @param record represents a new Asterix record
-     */
-    public void increment(Cat048Record record) {
-        this.nbRecords++;
-        if (!record.isValid()) {
-            this.nbOfInvalidRecords++;
-        }
-
-        if (record.getItem010() != null) {
-            this.item010Present += 1;
-            if (!record.getItem010().isValid()) {
-                this.item010Invalid += 1;
-            }
-        }
-
-        if (record.getItem140() != null) {
-            this.item140Present += 1;
-            if (!record.getItem140().isValid()) {
-                this.item140Invalid += 1;
-            }
-        }
-
-        if (record.getItem020() != null) {
-            this.item020Present += 1;
-            if (!record.getItem020().isValid()) {
-                this.item020Invalid += 1;
-            }
-        }
-
-        if (record.getItem040() != null) {
-            this.item040Present += 1;
-            if (!record.getItem040().isValid()) {
-                this.item040Invalid += 1;
-            }
-        }
-
-        if (record.getItem070() != null) {
-            this.item070Present += 1;
-            if (!record.getItem070().isValid()) {
-                this.item070Invalid += 1;
-            }
-        }
-
-        if (record.getItem090() != null) {
-            this.item090Present += 1;
-            if (!record.getItem090().isValid()) {
-                this.item090Invalid += 1;
-            }
-        }
-
-        if (record.getItem130() != null) {
-            this.item130Present += 1;
-            if (!record.getItem130().isValid()) {
-                this.item130Invalid += 1;
-            }
-        }
-
-        if (record.getItem220() != null) {
-            this.item220Present += 1;
-            if (!record.getItem220().isValid()) {
-                this.item220Invalid += 1;
-            }
-        }
-
-        if (record.getItem240() != null) {
-            this.item240Present += 1;
-            if (!record.getItem240().isValid()) {
-                this.item240Invalid += 1;
-            }
-        }
-
-        if (record.getItem250() != null) {
-            this.item250Present += 1;
-            if (!record.getItem250().isValid()) {
-                this.item250Invalid += 1;
-            }
-        }
-
-        if (record.getItem161() != null) {
-            this.item161Present += 1;
-            if (!record.getItem161().isValid()) {
-                this.item161Invalid += 1;
-            }
-        }
-
-        if (record.getItem042() != null) {
-            this.item042Present += 1;
-            if (!record.getItem042().isValid()) {
-                this.item042Invalid += 1;
-            }
-        }
-
-        if (record.getItem200() != null) {
-            this.item200Present += 1;
-            if (!record.getItem200().isValid()) {
-                this.item200Invalid += 1;
-            }
-        }
-
-        if (record.getItem170() != null) {
-            this.item170Present += 1;
-            if (!record.getItem170().isValid()) {
-                this.item170Invalid += 1;
-            }
-        }
-
-        if (record.getItem210() != null) {
-            this.item210Present += 1;
-            if (!record.getItem210().isValid()) {
-                this.item210Invalid += 1;
-            }
-        }
-
-        if (record.getItem030() != null) {
-            this.item030Present += 1;
-            if (!record.getItem030().isValid()) {
-                this.item030Invalid += 1;
-            }
-        }
-
-        if (record.getItem080() != null) {
-            this.item080Present += 1;
-            if (!record.getItem080().isValid()) {
-                this.item080Invalid += 1;
-            }
-        }
-
-        if (record.getItem100() != null) {
-            this.item100Present += 1;
-            if (!record.getItem100().isValid()) {
-                this.item100Invalid += 1;
-            }
-        }
-
-        if (record.getItem110() != null) {
-            this.item110Present += 1;
-            if (!record.getItem110().isValid()) {
-                this.item110Invalid += 1;
-            }
-        }
-
-        if (record.getItem120() != null) {
-            this.item120Present += 1;
-            if (!record.getItem120().isValid()) {
-                this.item120Invalid += 1;
-            }
-        }
-
-        if (record.getItem230() != null) {
-            this.item230Present += 1;
-            if (!record.getItem230().isValid()) {
-                this.item230Invalid += 1;
-            }
-        }
-
-        if (record.getItem260() != null) {
-            this.item260Present += 1;
-            if (!record.getItem260().isValid()) {
-                this.item260Invalid += 1;
-            }
-        }
-
-        if (record.getItem055() != null) {
-            this.item055Present += 1;
-            if (!record.getItem055().isValid()) {
-                this.item055Invalid += 1;
-            }
-        }
-
-        if (record.getItem050() != null) {
-            this.item050Present += 1;
-            if (!record.getItem050().isValid()) {
-                this.item050Invalid += 1;
-            }
-        }
-
-        if (record.getItem065() != null) {
-            this.item065Present += 1;
-            if (!record.getItem065().isValid()) {
-                this.item065Invalid += 1;
-            }
-        }
-
-        if (record.getItem060() != null) {
-            this.item060Present += 1;
-            if (!record.getItem060().isValid()) {
-                this.item060Invalid += 1;
-            }
-        }
-
-        if (record.getReservedSpecialPurposeField() != null) {
-            this.itemSpPresent += 1;
-            if (!record.getReservedSpecialPurposeField().isValid()) {
-                this.item0SpInvalid += 1;
-            }
-        }
-
-        if (record.getReservedExpansionField() != null) {
-            this.itemRePresent += 1;
-            if (!record.getReservedExpansionField().isValid()) {
-                this.item0ReInvalid += 1;
-            }
-        }
-
-        createPrintMsg();
-    }
+import jlg.jade.asterix.cat048.item130.Cat048Item130;
+
+import java.util.function.Function;
 
+import static jlg.jade.asterix.counters.CounterDefinition.lazyItem;
+
+/**
+ * Counter class for Cat048 items.
+ */
+public class Cat048ItemCounter extends ArrayItemCounter<Cat048Record> {
+    private static final CounterDefinition<Cat048Record> DEFINITION =
+            new CounterDefinition<>("Asterix Category 048 Counters");
+    private static final Function<Cat048Record, Cat048Item130> ITEM_130_ACCESSOR =
+            lazyItem(Cat048Record::getItem130, Cat048Record::isItem130Deferred);
+
+    private static final int ITEM_010 = DEFINITION.item(
+            "Item 010 - Data Source Identifier", Cat048Record::getItem010);
+    private static final int ITEM_140 = DEFINITION.item(
+            "Item 140 - Time of Day", Cat048Record::getItem140);
+    private static final int ITEM_020 = DEFINITION.item(
+            "Item 020 - Target Report Descriptor", Cat048Record::getItem020);
+    private static final int ITEM_040 = DEFINITION.item(
+            "Item 040 - Measured Position in Slant Polar Coordinates", Cat048Record::getItem040);
+    private static final int ITEM_070 = DEFINITION.item(
+            "Item 070 - Mode-3/A Code in Octal Representation", Cat048Record::getItem070);
+    private static final int ITEM_090 = DEFINITION.item(
+            "Item 090 - Flight Level in Binary Representation", Cat048Record::getItem090);
+    private static final int ITEM_130 = DEFINITION.item(
+            "Item 130 - Radar Plot Characteristics", ITEM_130_ACCESSOR);
+    private static final int ITEM_220 = DEFINITION.item(
+            "Item 220 - Aircraft Address", Cat048Record::getItem220);
+    private static final int ITEM_240 = DEFINITION.item(
+            "Item 240 - Aircraft Identification", Cat048Record::getItem240);
+    private static final int ITEM_250 = DEFINITION.item(
+            "Item 250 - Mode S MB Data", Cat048Record::getItem250);
+    private static final int ITEM_161 = DEFINITION.item(
+            "Item 161 - Track Number", Cat048Record::getItem161);
+    private static final int ITEM_042 = DEFINITION.item(
+            "Item 042 - Calculated Position in Cartesian Coordinates", Cat048Record::getItem042);
+    private static final int ITEM_200 = DEFINITION.item(
+            "Item 200 - Calculated Track Velocity in Polar Representation", Cat048Record::getItem200);
+    private static final int ITEM_170 = DEFINITION.item(
+            "Item 170 - Track Status", Cat048Record::getItem170);
+    private static final int ITEM_210 = DEFINITION.item(
+            "Item 210 - Track Quality", Cat048Record::getItem210);
+    private static final int ITEM_030 = DEFINITION.item(
+            "Item 030 - Warning/Error Conditions", Cat048Record::getItem030);
+    private static final int ITEM_080 = DEFINITION.item(
+            "Item 080 - Mode-3/A Code Confidence Indicator", Cat048Record::getItem080);
+    private static final int ITEM_100 = DEFINITION.item(
+            "Item 100 - Mode-C Code and Confidence Indicator", Cat048Record::getItem100);
+    private static final int ITEM_110 = DEFINITION.item(
+            "Item 110 - Height Measured by 3D Radar", Cat048Record::getItem110);
+    private static final int ITEM_120 = DEFINITION.item(
+            "Item 120 - Radial Doppler Speed", Cat048Record::getItem120);
+    private static final int ITEM_230 = DEFINITION.item(
+            "Item 230 - Communications / ACAS Capability and Flight Status", Cat048Record::getItem230);
+    private static final int ITEM_260 = DEFINITION.item(
+            "Item 260 - ACAS Resolution Advisory Report", Cat048Record::getItem260);
+    private static final int ITEM_055 = DEFINITION.item(
+            "Item 055 - Mode-1 Code in Octal Representation", Cat048Record::getItem055);
+    private static final int ITEM_050 = DEFINITION.item(
+            "Item 050 - Mode-2 Code in Octal Representation", Cat048Record::getItem050);
+    private static final int ITEM_065 = DEFINITION.item(
+            "Item 065 - Mode-1 Code Confidence Indicator", Cat048Record::getItem065);
+    private static final int ITEM_060 = DEFINITION.item(
+            "Item 060 - Mode-2 Code Confidence Indicator", Cat048Record::getItem060);
+    private static final int ITEM_SP = DEFINITION.item(
+            "SP", Cat048Record::getReservedSpecialPurposeField);
+    private static final int ITEM_RE = DEFINITION.item(
+            "RE", Cat048Record::getReservedExpansionField);
+
+    public Cat048ItemCounter() {
+        super(DEFINITION, AsterixRecord::getCat048Record);
+    }
 
     public int getItem010Present() {
-        return item010Present;
+        return getPresent(ITEM_010);
     }
 
     public int getItem010Invalid() {
-        return item010Invalid;
+        return getInvalid(ITEM_010);
     }
 
     public int getItem140Present() {
-        return item140Present;
+        return getPresent(ITEM_140);
     }
 
     public int getItem140Invalid() {
-        return item140Invalid;
+        return getInvalid(ITEM_140);
     }
 
     public int getItem020Present() {
-        return item020Present;
+        return getPresent(ITEM_020);
     }
 
     public int getItem020Invalid() {
-        return item020Invalid;
+        return getInvalid(ITEM_020);
     }
 
     public int getItem040Present() {
-        return item040Present;
+        return getPresent(ITEM_040);
     }
 
     public int getItem040Invalid() {
-        return item040Invalid;
+        return getInvalid(ITEM_040);
     }
 
     public int getItem070Present() {
-        return item070Present;
+        return getPresent(ITEM_070);
     }
 
     public int getItem070Invalid() {
-        return item070Invalid;
+        return getInvalid(ITEM_070);
     }
 
     public int getItem090Present() {
-        return item090Present;
+        return getPresent(ITEM_090);
     }
 
     public int getItem090Invalid() {
-        return item090Invalid;
+        return getInvalid(ITEM_090);
     }
 
     public int getItem130Present() {
-        return item130Present;
+        return getPresent(ITEM_130);
     }
 
     public int getItem130Invalid() {
-        return item130Invalid;
+        return getInvalid(ITEM_130);
     }
 
     public int getItem220Present() {
-        return item220Present;
+        return getPresent(ITEM_220);
     }
 
     public int getItem220Invalid() {
-        return item220Invalid;
+        return getInvalid(ITEM_220);
     }
 
     public int getItem240Present() {
-        return item240Present;
+        return getPresent(ITEM_240);
     }
 
     public int getItem240Invalid() {
-        return item240Invalid;
+        return getInvalid(ITEM_240);
     }
 
     public int getItem250Present() {
-        return item250Present;
+        return getPresent(ITEM_250);
     }
 
     public int getItem250Invalid() {
-        return item250Invalid;
+        return getInvalid(ITEM_250);
     }
 
     public int getItem161Present() {
-        return item161Present;
+        return getPresent(ITEM_161);
     }
 
     public int getItem161Invalid() {
-        return item161Invalid;
+        return getInvalid(ITEM_161);
     }
 
     public int getItem042Present() {
-        return item042Present;
+        return getPresent(ITEM_042);
     }
 
     public int getItem042Invalid() {
-        return item042Invalid;
+        return getInvalid(ITEM_042);
     }
 
     public int getItem200Present() {
-        return item200Present;
+        return getPresent(ITEM_200);
     }
 
     public int getItem200Invalid() {
-        return item200Invalid;
+        return getInvalid(ITEM_200);
     }
 
     public int getItem170Present() {
-        return item170Present;
+        return getPresent(ITEM_170);
     }
 
     public int getItem170Invalid() {
-        return item170Invalid;
+        return getInvalid(ITEM_170);
     }
 
     public int getItem210Present() {
-        return item210Present;
+        return getPresent(ITEM_210);
     }
 
     public int getItem210Invalid() {
-        return item210Invalid;
+        return getInvalid(ITEM_210);
     }
 
     public int getItem030Present() {
-        return item030Present;
+        return getPresent(ITEM_030);
     }
 
     public int getItem030Invalid() {
-        return item030Invalid;
+        return getInvalid(ITEM_030);
     }
 
     public int getItem080Present() {
-        return item080Present;
+        return getPresent(ITEM_080);
     }
 
     public int getItem080Invalid() {
-        return item080Invalid;
+        return getInvalid(ITEM_080);
     }
 
     public int getItem100Present() {
-        return item100Present;
+        return getPresent(ITEM_100);
     }
 
     public int getItem100Invalid() {
-        return item100Invalid;
+        return getInvalid(ITEM_100);
     }
 
     public int getItem110Present() {
-        return item110Present;
+        return getPresent(ITEM_110);
     }
 
     public int getItem110Invalid() {
-        return item110Invalid;
+        return getInvalid(ITEM_110);
     }
 
     public int getItem120Present() {
-        return item120Present;
+        return getPresent(ITEM_120);
     }
 
     public int getItem120Invalid() {
-        return item120Invalid;
+        return getInvalid(ITEM_120);
     }
 
     public int getItem230Present() {
-        return item230Present;
+        return getPresent(ITEM_230);
     }
 
     public int getItem230Invalid() {
-        return item230Invalid;
+        return getInvalid(ITEM_230);
     }
 
     public int getItem260Present() {
-        return item260Present;
+        return getPresent(ITEM_260);
     }
 
     public int getItem260Invalid() {
-        return item260Invalid;
+        return getInvalid(ITEM_260);
     }
 
     public int getItem055Present() {
-        return item055Present;
+        return getPresent(ITEM_055);
     }
 
     public int getItem055Invalid() {
-        return item055Invalid;
+        return getInvalid(ITEM_055);
     }
 
     public int getItem050Present() {
-        return item050Present;
+        return getPresent(ITEM_050);
     }
 
     public int getItem050Invalid() {
-        return item050Invalid;
+        return getInvalid(ITEM_050);
     }
 
     public int getItem065Present() {
-        return item065Present;
+        return getPresent(ITEM_065);
     }
 
     public int getItem065Invalid() {
-        return item065Invalid;
+        return getInvalid(ITEM_065);
     }
 
     public int getItem060Present() {
-        return item060Present;
+        return getPresent(ITEM_060);
     }
 
     public int getItem060Invalid() {
-        return item060Invalid;
+        return getInvalid(ITEM_060);
     }
 
     public int getItemSpPresent() {
-        return itemSpPresent;
+        return getPresent(ITEM_SP);
     }
 
     public int getItem0SpInvalid() {
-        return item0SpInvalid;
+        return getInvalid(ITEM_SP);
     }
 
     public int getItemRePresent() {
-        return itemRePresent;
+        return getPresent(ITEM_RE);
     }
 
     public int getItem0ReInvalid() {
-        return item0ReInvalid;
-    }
-
-    private void createPrintMsg() {
-        clearDebugMsg();
-        appendNewLine();
-        appendItemCounterMsg("Asterix Category 048 Counters", "Nb. decoded", "Nb. invalid");
-        appendItemCounterMsg("Number of records", nbRecords, nbOfInvalidRecords);
-        appendItemCounterMsg("Item 010 - Data Source Identifier", this.item010Present,
-                             this.item010Invalid);
-        appendItemCounterMsg("Item 140 - Time of Day", this.item140Present,
-                             this.item140Invalid);
-        appendItemCounterMsg("Item 020 - Target Report Descriptor", this.item020Present,
-                             this.item020Invalid);
-        appendItemCounterMsg("Item 040 - Measured Position in Slant Polar Coordinates",
-                             this.item040Present, this.item040Invalid);
-        appendItemCounterMsg("Item 070 - Mode-3/A Code in Octal Representation",
-                             this.item070Present, this.item070Invalid);
-        appendItemCounterMsg("Item 090 - Flight Level in Binary Representation",
-                             this.item090Present, this.item090Invalid);
-        appendItemCounterMsg("Item 130 - Radar Plot Characteristics", this.item130Present,
-                             this.item130Invalid);
-        appendItemCounterMsg("Item 220 - Aircraft Address", this.item220Present,
-                             this.item220Invalid);
-        appendItemCounterMsg("Item 240 - Aircraft Identification", this.item240Present,
-                             this.item240Invalid);
-        appendItemCounterMsg("Item 250 - Mode S MB Data", this.item250Present,
-                             this.item250Invalid);
-        appendItemCounterMsg("Item 161 - Track Number", this.item161Present,
-                             this.item161Invalid);
-        appendItemCounterMsg("Item 042 - Calculated Position in Cartesian Coordinates",
-                             this.item042Present, this.item042Invalid);
-        appendItemCounterMsg("Item 200 - Calculated Track Velocity in Polar Representation",
-                             this.item200Present, this.item200Invalid);
-        appendItemCounterMsg("Item 170 - Track Status", this.item170Present,
-                             this.item170Invalid);
-        appendItemCounterMsg("Item 210 - Track Quality", this.item210Present,
-                             this.item210Invalid);
-        appendItemCounterMsg("Item 030 - Warning/Error Conditions", this.item030Present,
-                             this.item030Invalid);
-        appendItemCounterMsg("Item 080 - Mode-3/A Code Confidence Indicator",
-                             this.item080Present, this.item080Invalid);
-        appendItemCounterMsg("Item 100 - Mode-C Code and Confidence Indicator",
-                             this.item100Present, this.item100Invalid);
-        appendItemCounterMsg("Item 110 - Height Measured by 3D Radar", this.item110Present,
-                             this.item110Invalid);
-        appendItemCounterMsg("Item 120 - Radial Doppler Speed", this.item120Present,
-                             this.item120Invalid);
-        appendItemCounterMsg("Item 230 - Communications / ACAS Capability and Flight Status",
-                             this.item230Present, this.item230Invalid);
-        appendItemCounterMsg("Item 260 - ACAS Resolution Advisory Report", this.item260Present,
-                             this.item260Invalid);
-        appendItemCounterMsg("Item 055 - Mode-1 Code in Octal Representation",
-                             this.item055Present, this.item055Invalid);
-        appendItemCounterMsg("Item 050 - Mode-2 Code in Octal Representation",
-                             this.item050Present, this.item050Invalid);
-        appendItemCounterMsg("Item 065 - Mode-1 Code Confidence Indicator", this.item065Present,
-                             this.item065Invalid);
-        appendItemCounterMsg("Item 060 - Mode-2 Code Confidence Indicator", this.item060Present,
-                             this.item060Invalid);
-        appendItemCounterMsg("SP", this.itemSpPresent, this.item0SpInvalid);
-        appendItemCounterMsg("RE", this.itemRePresent, this.item0ReInvalid);
-    }
-}
\ No newline at end of file
+        return getInvalid(ITEM_RE);
+    }
+}
@@ -6,1331 +6,757 @@
 */
 package jlg.jade.asterix.counters;
 
-import jlg.jade.asterix.AsterixDataBlock;
 import jlg.jade.asterix.AsterixRecord;
 import jlg.jade.asterix.cat062.Cat062Record;
-import jlg.jade.common.DebugMessageSource;
+import jlg.jade.asterix.cat062.item110.Cat062Item110;
+import jlg.jade.asterix.cat062.item340.Cat062Item340;
+import jlg.jade.asterix.cat062.item380.Cat062Item380;
+import jlg.jade.asterix.cat062.item390.Cat062Item390;
+import jlg.jade.asterix.cat062.item500.Cat062Item500;
+
+import java.util.function.Function;
+
+import static jlg.jade.asterix.counters.CounterDefinition.lazyItem;
+import static jlg.jade.asterix.counters.CounterDefinition.subfield;
 
 /**
  * Counter class for Cat062 items and most of subfields.
  */
-public class Cat062ItemCounter extends DebugMessageSource implements AsterixItemCounter {
-    private int nbRecords = 0;
-    private int nbOfInvalidRecords = 0;
-
-    private int item010Present = 0;
-    private int item010Invalid = 0;
-    private int item015Present = 0;
-    private int item015Invalid = 0;
-    private int item070Present = 0;
-    private int item070Invalid = 0;
-    private int item105Present = 0;
-    private int item105Invalid = 0;
-    private int item100Present = 0;
-    private int item100Invalid = 0;
-    private int item185Present = 0;
-    private int item185Invalid = 0;
-    private int item210Present = 0;
-    private int item210Invalid = 0;
-    private int item060Present = 0;
-    private int item060Invalid = 0;
-    private int item245Present = 0;
-    private int item245Invalid = 0;
-
-    //380
-    private int item380Present = 0;
-    private int item380Invalid = 0;
-    private int item380Subfield1Present = 0;
-    private int item380Subfield1Invalid = 0;
-    private int item380Subfield3Present = 0;
-    private int item380Subfield3Invalid = 0;
-    private int item380Subfield4Present = 0;
-    private int item380Subfield4Invalid = 0;
-    private int item380Subfield5Present = 0;
-    private int item380Subfield5Invalid = 0;
-    private int item380Subfield6Present = 0;
-    private int item380Subfield6Invalid = 0;
-    private int item380Subfield7Present = 0;
-    private int item380Subfield7Invalid = 0;
-    private int item380Subfield12Present = 0;
-    private int item380Subfield12Invalid = 0;
-    private int item380Subfield15Present = 0;
-    private int item380Subfield15Invalid = 0;
-    private int item380Subfield17Present = 0;
-    private int item380Subfield17Invalid = 0;
-    private int item380Subfield18Present = 0;
-    private int item380Subfield18Invalid = 0;
-    private int item380Subfield20Present = 0;
-    private int item380Subfield20Invalid = 0;
-    private int item380Subfield21Present = 0;
-    private int item380Subfield21Invalid = 0;
-    private int item380Subfield26Present = 0;
-    private int item380Subfield26Invalid = 0;
-    private int item380Subfield27Present = 0;
-    private int item380Subfield27Invalid = 0;
-    private int item380Subfield28Present = 0;
-    private int item380Subfield28Invalid = 0;
-
-    private int item040Present = 0;
-    private int item040Invalid = 0;
-    private int item080Present = 0;
-    private int item080Invalid = 0;
-    private int item290Present = 0;
-    private int item290Invalid = 0;
-    private int item200Present = 0;
-    private int item200Invalid = 0;
-    private int item295Present = 0;
-    private int item295Invalid = 0;
-    private int item136Present = 0;
-    private int item136Invalid = 0;
-    private int item130Present = 0;
-    private int item130Invalid = 0;
-    private int item135Present = 0;
-    private int item135Invalid = 0;
-
-    //220
-    private int item220Present = 0;
-    private int item220Invalid = 0;
-    private int item220Negative = 0;
-    private int item220Positive = 0;
-    private int item220Zero = 0;
-
-    //390
-    private int item390Present = 0;
-    private int item390Invalid = 0;
-    private int item390Subfield2Present = 0;
-    private int item390Subfield2Invalid = 0;
-    private int item390Subfield4Present = 0;
-    private int item390Subfield4Invalid = 0;
-    private int item390Subfield4TrafficGat = 0;
-    private int item390Subfield4TrafficOat = 0;
-    private int item390Subfield4TrafficUnk = 0;
-    private int item390Subfield4TrafficNa = 0;
-    private int item390Subfield4RulesIfr = 0;
-    private int item390Subfield4RulesVfr = 0;
-    private int item390Subfield4RulesNa = 0;
-    private int item390Subfield4RulesCtrlVfr = 0;
-    private int item390Subfield4RvsmUnk = 0;
-    private int item390Subfield4RvsmApproved = 0;
-    private int item390Subfield4RvsmExempt = 0;
-    private int item390Subfield4RvsmNotApproved = 0;
-    private int item390Subfield5Present = 0;
-    private int item390Subfield5Invalid = 0;
-    private int item390Subfield6Present = 0;
-    private int item390Subfield6Invalid = 0;
-    private int item390Subfield6L = 0;
-    private int item390Subfield6M = 0;
-    private int item390Subfield6H = 0;
-    private int item390Subfield6J = 0;
-    private int item390Subfield7Present = 0;
-    private int item390Subfield7Invalid = 0;
-    private int item390Subfield8Present = 0;
-    private int item390Subfield8Invalid = 0;
-    private int item390Subfield9Present = 0;
-    private int item390Subfield9Invalid = 0;
-    private int item390Subfield10Present = 0;
-    private int item390Subfield10Invalid = 0;
-    private int item390Subfield11Present = 0;
-    private int item390Subfield11Invalid = 0;
-    private int item390Subfield12Present = 0;
-    private int item390Subfield12Invalid = 0;
-    private int item390Subfield13Present = 0;
-    private int item390Subfield13Invalid = 0;
-    private int item390Subfield14Present = 0;
-    private int item390Subfield14Invalid = 0;
-    private int item390Subfield15Present = 0;
-    private int item390Subfield15Invalid = 0;
-    private int item390Subfield16Present = 0;
-    private int item390Subfield16Invalid = 0;
-
-    private int item270Present = 0;
-    private int item270Invalid = 0;
-    private int item300Present = 0;
-    private int item300Invalid = 0;
-    private int item110Present = 0;
-    private int item110Invalid = 0;
-    private int item120Present = 0;
-    private int item120Invalid = 0;
-    private int item510Present = 0;
-    private int item510Invalid = 0;
-    private int item500Present = 0;
-    private int item500Invalid = 0;
-    private int item340Present = 0;
-    private int item340Invalid = 0;
-    private int itemRePresent = 0;
-    private int itemReInvalid = 0;
-    private int itemSpPresent = 0;
-    private int itemSpInvalid = 0;
-
-
-    /**
-     * Increments counter values with the the ones received from a new data block
-     *
-     * @param asterixDataBlock An Asterix data block that has Cat 062 data
-     */
-    public void increment(AsterixDataBlock asterixDataBlock) {
-        for (AsterixRecord record : asterixDataBlock.getRecords()) {
-            if (record.getCat062Record() != null) {
-                increment(record.getCat062Record());
-            }
-        }
-    }
-
-    /**
-     * Adds the current counter values with the new counter values
-     *
-     * @param record a new Asterix record
-     */
-    private void increment(Cat062Record record) {
-        this.nbRecords++;
-        if (!record.isValid()) {
-            this.nbOfInvalidRecords++;
-        }
-
-        if (record.getItem010() != null) {
-            this.item010Present += 1;
-            if (!record.getItem010().isValid()) {
-                this.item010Invalid += 1;
-            }
-        }
-
-        if (record.getItem015() != null) {
-            this.item015Present += 1;
-            if (!record.getItem015().isValid()) {
-                this.item015Invalid += 1;
-            }
-        }
-
-        if (record.getItem070() != null) {
-            this.item070Present += 1;
-            if (!record.getItem070().isValid()) {
-                this.item070Invalid += 1;
-            }
-        }
-
-        if (record.getItem105() != null) {
-            this.item105Present += 1;
-            if (!record.getItem105().isValid()) {
-                this.item105Invalid += 1;
-            }
-        }
-
-        if (record.getItem100() != null) {
-            this.item100Present += 1;
-            if (!record.getItem100().isValid()) {
-                this.item100Invalid += 1;
-            }
-        }
-
-        if (record.getItem185() != null) {
-            this.item185Present += 1;
-            if (!record.getItem185().isValid()) {
-                this.item185Invalid += 1;
-            }
-        }
-
-        if (record.getItem210() != null) {
-            this.item210Present += 1;
-            if (!record.getItem210().isValid()) {
-                this.item210Invalid += 1;
-            }
-        }
-
-        if (record.getItem060() != null) {
-            this.item060Present += 1;
-            if (!record.getItem060().isValid()) {
-                this.item060Invalid += 1;
-            }
-        }
-
-        if (record.getItem245() != null) {
-            this.item245Present += 1;
-            if (!record.getItem245().isValid()) {
-                this.item245Invalid += 1;
-            }
-        }
-
-        addCountersForItem380(record);
-
-        if (record.getItem040() != null) {
-            this.item040Present += 1;
-            if (!record.getItem040().isValid()) {
-                this.item040Invalid += 1;
-            }
-        }
-
-        if (record.getItem080() != null) {
-            this.item080Present += 1;
-            if (!record.getItem080().isValid()) {
-                this.item080Invalid += 1;
-            }
-        }
-
-        if (record.getItem290() != null) {
-            this.item290Present += 1;
-            if (!record.getItem290().isValid()) {
-                this.item290Invalid += 1;
-            }
-        }
-
-        if (record.getItem200() != null) {
-            this.item200Present += 1;
-            if (!record.getItem200().isValid()) {
-                this.item200Invalid += 1;
-            }
-        }
-
-        if (record.getItem295() != null) {
-            this.item295Present += 1;
-            if (!record.getItem295().isValid()) {
-                this.item295Invalid += 1;
-            }
-        }
-
-        if (record.getItem136() != null) {
-            this.item136Present += 1;
-            if (!record.getItem136().isValid()) {
-                this.item136Invalid += 1;
-            }
-        }
-
-        if (record.getItem130() != null) {
-            this.item130Present += 1;
-            if (!record.getItem130().isValid()) {
-                this.item130Invalid += 1;
-            }
-        }
-
-        if (record.getItem135() != null) {
-            this.item135Present += 1;
-            if (!record.getItem135().isValid()) {
-                this.item135Invalid += 1;
-            }
-        }
-
-        if (record.getItem220() != null) {
-            this.item220Present += 1;
-            if (!record.getItem220().isValid()) {
-                this.item220Invalid += 1;
-            }
-
-            if (record.getItem220().getRocd() < 0) {
-                this.item220Negative += 1;
-            }
-            else if (record.getItem220().getRocd() > 0) {
-                this.item220Positive += 1;
-            }
-            else {
-                this.item220Zero += 1;
-            }
-        }
-
-        addCountersForItem390(record);
-
-        if (record.getItem270() != null) {
-            this.item270Present += 1;
-            if (!record.getItem270().isValid()) {
-                this.item270Invalid += 1;
-            }
-        }
-
-        if (record.getItem300() != null) {
-            this.item300Present += 1;
-            if (!record.getItem300().isValid()) {
-                this.item300Invalid += 1;
-            }
-        }
-
-        if (record.getItem110() != null) {
-            this.item110Present += 1;
-            if (!record.getItem110().isValid()) {
-                this.item110Invalid += 1;
-            }
-        }
-
-        if (record.getItem120() != null) {
-            this.item120Present += 1;
-            if (!record.getItem120().isValid()) {
-                this.item120Invalid += 1;
-            }
-        }
-
-        if (record.getItem510() != null) {
-            this.item510Present += 1;
-            if (!record.getItem510().isValid()) {
-                this.item510Invalid += 1;
-            }
-        }
-
-        if (record.getItem500() != null) {
-            this.item500Present += 1;
-            if (!record.getItem500().isValid()) {
-                this.item500Invalid += 1;
-            }
-        }
-
-        if (record.getItem340() != null) {
-            this.item340Present += 1;
-            if (!record.getItem340().isValid()) {
-                this.item340Invalid += 1;
-            }
-        }
-
-        if (record.getReservedExpansionField() != null) {
-            this.itemRePresent += 1;
-            if (!record.getReservedExpansionField().isValid()) {
-                this.itemReInvalid += 1;
-            }
-        }
-
-        if (record.getSpecialPurposeField() != null) {
-            this.itemSpPresent += 1;
-            if (!record.getSpecialPurposeField().isValid()) {
-                this.itemSpInvalid += 1;
-            }
-        }
-
-        createPrintMsg();
+public class Cat062ItemCounter extends ArrayItemCounter<Cat062Record> {
+    private static final CounterDefinition<Cat062Record> DEFINITION =
+            new CounterDefinition<>("Asterix Category 062 Counters");
+    private static final Function<Cat062Record, Cat062Item380> ITEM_380_ACCESSOR =
+            lazyItem(Cat062Record::getItem380, Cat062Record::isItem380Deferred);
+    private static final Function<Cat062Record, Cat062Item390> ITEM_390_ACCESSOR =
+            lazyItem(Cat062Record::getItem390, Cat062Record::isItem390Deferred);
+    private static final Function<Cat062Record, Cat062Item110> ITEM_110_ACCESSOR =
+            lazyItem(Cat062Record::getItem110, Cat062Record::isItem110Deferred);
+    private static final Function<Cat062Record, Cat062Item500> ITEM_500_ACCESSOR =
+            lazyItem(Cat062Record::getItem500, Cat062Record::isItem500Deferred);
+    private static final Function<Cat062Record, Cat062Item340> ITEM_340_ACCESSOR =
+            lazyItem(Cat062Record::getItem340, Cat062Record::isItem340Deferred);
+
+    private static final int ITEM_010 = DEFINITION.item(
+            "Item 010 - Data source identifier [M]", Cat062Record::getItem010);
+    private static final int ITEM_015 = DEFINITION.item(
+            "Item 015 - Data Service identification", Cat062Record::getItem015);
+    private static final int ITEM_070 = DEFINITION.item(
+            "Item 070 - Time Of Track", Cat062Record::getItem070);
+    private static final int ITEM_105 = DEFINITION.item(
+            "Item 105 - Track position (WSG 84)", Cat062Record::getItem105);
+    private static final int ITEM_100 = DEFINITION.item(
+            "Item 100 - Track position (cartesian)", Cat062Record::getItem100);
+    private static final int ITEM_185 = DEFINITION.item(
+            "Item 185 - Track velocity (vx, vy)", Cat062Record::getItem185);
+    private static final int ITEM_210 = DEFINITION.item(
+            "Item 210 - Acceleration (cartesian)", Cat062Record::getItem210);
+    private static final int ITEM_060 = DEFINITION.item(
+            "Item 060 - Mode 3/A", Cat062Record::getItem060);
+    private static final int ITEM_245 = DEFINITION.item(
+            "Item 245 - Target identification", Cat062Record::getItem245);
+    private static final int ITEM_380 = DEFINITION.item(
+            "Item 380 - Aircraft derived data", ITEM_380_ACCESSOR);
+    private static final int ITEM_380_SUBFIELD_1 = DEFINITION.item(
+            "  Subfield 1 - Target identification", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield1));
+    private static final int ITEM_380_SUBFIELD_3 = DEFINITION.item(
+            "  Subfield 3 - Magnetic heading", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield3));
+    private static final int ITEM_380_SUBFIELD_4 = DEFINITION.item(
+            "  Subfield 4 - Indicated airspeed / Mach no [Compatibility only]", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield4));
+    private static final int ITEM_380_SUBFIELD_5 = DEFINITION.item(
+            "  Subfield 5 - True airspeed", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield5));
+    private static final int ITEM_380_SUBFIELD_6 = DEFINITION.item(
+            "  Subfield 6 - Selected altitude", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield6));
+    private static final int ITEM_380_SUBFIELD_7 = DEFINITION.item(
+            "  Subfield 7 - Final state selected altitude", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield7));
+    private static final int ITEM_380_SUBFIELD_12 = DEFINITION.item(
+            "  Subfield 12 - ACAS Report", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield12));
+    private static final int ITEM_380_SUBFIELD_15 = DEFINITION.item(
+            "  Subfield 15 - Roll angle", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield15));
+    private static final int ITEM_380_SUBFIELD_17 = DEFINITION.item(
+            "  Subfield 17 - Track angle", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield17));
+    private static final int ITEM_380_SUBFIELD_18 = DEFINITION.item(
+            "  Subfield 18 - Ground speed", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield18));
+    private static final int ITEM_380_SUBFIELD_20 = DEFINITION.item(
+            "  Subfield 20 - Meteo data", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield20));
+    private static final int ITEM_380_SUBFIELD_21 = DEFINITION.item(
+            "  Subfield 21 - Emitter category", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield21));
+    private static final int ITEM_380_SUBFIELD_26 = DEFINITION.item(
+            "  Subfield 26 - Indicated airspeed", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield26));
+    private static final int ITEM_380_SUBFIELD_27 = DEFINITION.item(
+            "  Subfield 27 - Mach nb", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield27));
+    private static final int ITEM_380_SUBFIELD_28 = DEFINITION.item(
+            "  Subfield 28 - Barometric pressure setting", subfield(ITEM_380_ACCESSOR, Cat062Item380::getSubfield28));
+    private static final int ITEM_040 = DEFINITION.item(
+            "Item 040 - Track number [M]", Cat062Record::getItem040);
+    private static final int ITEM_080 = DEFINITION.item(
+            "Item 080 - Track status [M]", Cat062Record::getItem080);
+    private static final int ITEM_290 = DEFINITION.item(
+            "Item 290 - Track update ages", Cat062Record::getItem290);
+    private static final int ITEM_200 = DEFINITION.item(
+            "Item 200 - Mode of movement", Cat062Record::getItem200);
+    private static final int ITEM_295 = DEFINITION.item(
+            "Item 295 - Track data ages", Cat062Record::getItem295);
+    private static final int ITEM_136 = DEFINITION.item(
+            "Item 136 - Measured Flight Level", Cat062Record::getItem136);
+    private static final int ITEM_130 = DEFINITION.item(
+            "Item 130 - Geometric altitude", Cat062Record::getItem130);
+    private static final int ITEM_135 = DEFINITION.item(
+            "Item 135 - Barometric altitude", Cat062Record::getItem135);
+    private static final int ITEM_220 = DEFINITION.item(
+            "Item 220 - ROCD", Cat062Record::getItem220);
+    private static final int ITEM_220_NEGATIVE = DEFINITION.value(
+            "  Negative", Cat062Record::getItem220,
+            item -> item.getRocd() < 0);
+    private static final int ITEM_220_ZERO = DEFINITION.value(
+            "  Zero", Cat062Record::getItem220,
+            item -> item.getRocd() == 0);
+    private static final int ITEM_220_POSITIVE = DEFINITION.value(
+            "  Positive", Cat062Record::getItem220,
+            item -> item.getRocd() > 0);
+    private static final int ITEM_390 = DEFINITION.item(
+            "Item 390 - Flight plan data", ITEM_390_ACCESSOR);
+    private static final int ITEM_390_SUBFIELD_2 = DEFINITION.item(
+            "  Subfield 2 - Callsign", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield2));
+    private static final int ITEM_390_SUBFIELD_4 = DEFINITION.item(
+            "  Subfield 4 - Flight category", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4));
+    private static final int ITEM_390_SUBFIELD_4_TRAFFIC_UNK = DEFINITION.value(
+            "    Traffic type Unknown", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getTrafficType() == 0);
+    private static final int ITEM_390_SUBFIELD_4_TRAFFIC_GAT = DEFINITION.value(
+            "    Traffic type GAT", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getTrafficType() == 1);
+    private static final int ITEM_390_SUBFIELD_4_TRAFFIC_OAT = DEFINITION.value(
+            "    Traffic type OAT", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getTrafficType() == 2);
+    private static final int ITEM_390_SUBFIELD_4_TRAFFIC_NA = DEFINITION.value(
+            "    Traffic type NA", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getTrafficType() > 2);
+    private static final int ITEM_390_SUBFIELD_4_RULES_IFR = DEFINITION.value(
+            "    Rules IFR", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getFlightRules() == 0);
+    private static final int ITEM_390_SUBFIELD_4_RULES_VFR = DEFINITION.value(
+            "    Rules VFR", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getFlightRules() == 1);
+    private static final int ITEM_390_SUBFIELD_4_RULES_CTRL_VFR = DEFINITION.value(
+            "    Rules CtrlVFR", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getFlightRules() > 2);
+    private static final int ITEM_390_SUBFIELD_4_RULES_NA = DEFINITION.value(
+            "    Rules NA", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getFlightRules() == 2);
+    private static final int ITEM_390_SUBFIELD_4_RVSM_UNK = DEFINITION.value(
+            "    RVSM Unknown", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getRvsm() == 0);
+    private static final int ITEM_390_SUBFIELD_4_RVSM_APPROVED = DEFINITION.value(
+            "    RVSM Approved", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getRvsm() == 1);
+    private static final int ITEM_390_SUBFIELD_4_RVSM_EXEMPT = DEFINITION.value(
+            "    RVSM Exempt", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getRvsm() == 2);
+    private static final int ITEM_390_SUBFIELD_4_RVSM_NOT_APPROVED = DEFINITION.value(
+            "    RVSM Not Approved", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield4),
+            item -> item.getRvsm() > 2);
+    private static final int ITEM_390_SUBFIELD_5 = DEFINITION.item(
+            "  Subfield 5 - Type of aircraft", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield5));
+    private static final int ITEM_390_SUBFIELD_6 = DEFINITION.item(
+            "  Subfield 6 - Wake Turbulence Category", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield6));
+    private static final int ITEM_390_SUBFIELD_6_L = DEFINITION.value(
+            "    Light", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield6),
+            item -> "L".equals(item.getWakeTurbulenceCategory()));
+    private static final int ITEM_390_SUBFIELD_6_M = DEFINITION.value(
+            "    Medium", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield6),
+            item -> "M".equals(item.getWakeTurbulenceCategory()));
+    private static final int ITEM_390_SUBFIELD_6_H = DEFINITION.value(
+            "    Heavy", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield6),
+            item -> "H".equals(item.getWakeTurbulenceCategory()));
+    private static final int ITEM_390_SUBFIELD_6_J = DEFINITION.value(
+            "    Super", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield6),
+            item -> isSuperWakeTurbulenceCategory(item.getWakeTurbulenceCategory()));
+    private static final int ITEM_390_SUBFIELD_7 = DEFINITION.item(
+            "  Subfield 7 - Departure", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield7));
+    private static final int ITEM_390_SUBFIELD_8 = DEFINITION.item(
+            "  Subfield 8 - Destination", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield8));
+    private static final int ITEM_390_SUBFIELD_9 = DEFINITION.item(
+            "  Subfield 9 - Runway Designation", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield9));
+    private static final int ITEM_390_SUBFIELD_10 = DEFINITION.item(
+            "  Subfield 10 - Current CFL", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield10));
+    private static final int ITEM_390_SUBFIELD_11 = DEFINITION.item(
+            "  Subfield 11 - Current Control Position", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield11));
+    private static final int ITEM_390_SUBFIELD_12 = DEFINITION.item(
+            "  Subfield 12 - Time of departure / arrival", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield12));
+    private static final int ITEM_390_SUBFIELD_13 = DEFINITION.item(
+            "  Subfield 13 - Aircraft stand", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield13));
+    private static final int ITEM_390_SUBFIELD_14 = DEFINITION.item(
+            "  Subfield 14 - Stand Status", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield14));
+    private static final int ITEM_390_SUBFIELD_15 = DEFINITION.item(
+            "  Subfield 15 - SID", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield15));
+    private static final int ITEM_390_SUBFIELD_16 = DEFINITION.item(
+            "  Subfield 16 - STAR", subfield(ITEM_390_ACCESSOR, Cat062Item390::getSubfield16));
+    private static final int ITEM_270 = DEFINITION.item(
+            "Item 270 - Target size and orientation", Cat062Record::getItem270);
+    private static final int ITEM_300 = DEFINITION.item(
+            "Item 300 - Vehicle fleet identification", Cat062Record::getItem300);
+    private static final int ITEM_110 = DEFINITION.item(
+            "Item 110 - Mode 5", ITEM_110_ACCESSOR);
+    private static final int ITEM_120 = DEFINITION.item(
+            "Item 120 - Mode 2", Cat062Record::getItem120);
+    private static final int ITEM_510 = DEFINITION.item(
+            "Item 510 - Composed track nb", Cat062Record::getItem510);
+    private static final int ITEM_500 = DEFINITION.item(
+            "Item 500 - Estimated accuracies", ITEM_500_ACCESSOR);
+    private static final int ITEM_340 = DEFINITION.item(
+            "Item 340 - Measured information", ITEM_340_ACCESSOR);
+    private static final int ITEM_RE = DEFINITION.item(
+            "RE", Cat062Record::getReservedExpansionField);
+    private static final int ITEM_SP = DEFINITION.item(
+            "SP", Cat062Record::getSpecialPurposeField);
+
+    public Cat062ItemCounter() {
+        super(DEFINITION, AsterixRecord::getCat062Record);
     }
 
     public int getItem010Present() {
-        return item010Present;
+        return getPresent(ITEM_010);
     }
 
     public int getItem010Invalid() {
-        return item010Invalid;
+        return getInvalid(ITEM_010);
     }
 
     public int getItem015Present() {
-        return item015Present;
+        return getPresent(ITEM_015);
     }
 
     public int getItem015Invalid() {
-        return item015Invalid;
+        return getInvalid(ITEM_015);
     }
 
     public int getItem070Present() {
-        return item070Present;
+        return getPresent(ITEM_070);
     }
 
     public int getItem070Invalid() {
-        return item070Invalid;
+        return getInvalid(ITEM_070);
     }
 
     public int getItem105Present() {
-        return item105Present;
+        return getPresent(ITEM_105);
     }
 
     public int getItem105Invalid() {
-        return item105Invalid;
+        return getInvalid(ITEM_105);
     }
 
     public int getItem100Present() {
-        return item100Present;
+        return getPresent(ITEM_100);
     }
 
     public int getItem100Invalid() {
-        return item100Invalid;
+        return getInvalid(ITEM_100);
     }
 
     public int getItem185Present() {
-        return item185Present;
+        return getPresent(ITEM_185);
     }
 
     public int getItem185Invalid() {
-        return item185Invalid;
+        return getInvalid(ITEM_185);
     }
 
     public int getItem210Present() {
-        return item210Present;
+        return getPresent(ITEM_210);
     }
 
     public int getItem210Invalid() {
-        return item210Invalid;
+        return getInvalid(ITEM_210);
     }
 
     public int getItem060Present() {
-        return item060Present;
+        return getPresent(ITEM_060);
     }
 
     public int getItem060Invalid() {
-        return item060Invalid;
+        return getInvalid(ITEM_060);
     }
 
     public int getItem245Present() {
-        return item245Present;
+        return getPresent(ITEM_245);
     }
 
     public int getItem245Invalid() {
-        return item245Invalid;
+        return getInvalid(ITEM_245);
     }
 
     public int getItem380Present() {
-        return item380Present;
+        return getPresent(ITEM_380);
     }
 
     public int getItem380Invalid() {
-        return item380Invalid;
+        return getInvalid(ITEM_380);
     }
 
     public int getItem380Subfield1Present() {
-        return item380Subfield1Present;
+        return getPresent(ITEM_380_SUBFIELD_1);
     }
 
     public int getItem380Subfield1Invalid() {
-        return item380Subfield1Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_1);
     }
 
     public int getItem380Subfield3Present() {
-        return item380Subfield3Present;
+        return getPresent(ITEM_380_SUBFIELD_3);
     }
 
     public int getItem380Subfield3Invalid() {
-        return item380Subfield3Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_3);
     }
 
     public int getItem380Subfield4Present() {
-        return item380Subfield4Present;
+        return getPresent(ITEM_380_SUBFIELD_4);
     }
 
     public int getItem380Subfield4Invalid() {
-        return item380Subfield4Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_4);
     }
 
     public int getItem380Subfield5Present() {
-        return item380Subfield5Present;
+        return getPresent(ITEM_380_SUBFIELD_5);
     }
 
     public int getItem380Subfield5Invalid() {
-        return item380Subfield5Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_5);
     }
 
     public int getItem380Subfield6Present() {
-        return item380Subfield6Present;
+        return getPresent(ITEM_380_SUBFIELD_6);
     }
 
     public int getItem380Subfield6Invalid() {
-        return item380Subfield6Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_6);
     }
 
     public int getItem380Subfield7Present() {
-        return item380Subfield7Present;
+        return getPresent(ITEM_380_SUBFIELD_7);
     }
 
     public int getItem380Subfield7Invalid() {
-        return item380Subfield7Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_7);
     }
 
     public int getItem380Subfield12Present() {
-        return item380Subfield12Present;
+        return getPresent(ITEM_380_SUBFIELD_12);
     }
 
     public int getItem380Subfield12Invalid() {
-        return item380Subfield12Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_12);
     }
 
     public int getItem380Subfield15Present() {
-        return item380Subfield15Present;
+        return getPresent(ITEM_380_SUBFIELD_15);
     }
 
     public int getItem380Subfield15Invalid() {
-        return item380Subfield15Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_15);
     }
 
     public int getItem380Subfield17Present() {
-        return item380Subfield17Present;
+        return getPresent(ITEM_380_SUBFIELD_17);
     }
 
     public int getItem380Subfield17Invalid() {
-        return item380Subfield17Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_17);
     }
 
     public int getItem380Subfield18Present() {
-        return item380Subfield18Present;
+        return getPresent(ITEM_380_SUBFIELD_18);
     }
 
     public int getItem380Subfield18Invalid() {
-        return item380Subfield18Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_18);
     }
 
     public int getItem380Subfield20Present() {
-        return item380Subfield20Present;
+        return getPresent(ITEM_380_SUBFIELD_20);
     }
 
     public int getItem380Subfield20Invalid() {
-        return item380Subfield20Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_20);
     }
 
     public int getItem380Subfield21Present() {
-        return item380Subfield21Present;
+        return getPresent(ITEM_380_SUBFIELD_21);
     }
 
     public int getItem380Subfield21Invalid() {
-        return item380Subfield21Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_21);
     }
 
     public int getItem380Subfield26Present() {
-        return item380Subfield26Present;
+        return getPresent(ITEM_380_SUBFIELD_26);
     }
 
     public int getItem380Subfield26Invalid() {
-        return item380Subfield26Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_26);
     }
 
     public int getItem380Subfield27Present() {
-        return item380Subfield27Present;
+        return getPresent(ITEM_380_SUBFIELD_27);
     }
 
     public int getItem380Subfield27Invalid() {
-        return item380Subfield27Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_27);
     }
 
     public int getItem380Subfield28Present() {
-        return item380Subfield28Present;
+        return getPresent(ITEM_380_SUBFIELD_28);
     }
 
     public int getItem380Subfield28Invalid() {
-        return item380Subfield28Invalid;
+        return getInvalid(ITEM_380_SUBFIELD_28);
     }
 
     public int getItem040Present() {
-        return item040Present;
+        return getPresent(ITEM_040);
     }
 
     public int getItem040Invalid() {
-        return item040Invalid;
+        return getInvalid(ITEM_040);
     }
 
     public int getItem080Present() {
-        return item080Present;
+        return getPresent(ITEM_080);
     }
 
     public int getItem080Invalid() {
-        return item080Invalid;
+        return getInvalid(ITEM_080);
     }
 
     public int getItem290Present() {
-        return item290Present;
+        return getPresent(ITEM_290);
     }
 
     public int getItem290Invalid() {
-        return item290Invalid;
+        return getInvalid(ITEM_290);
     }
 
     public int getItem200Present() {
-        return item200Present;
+        return getPresent(ITEM_200);
     }
 
     public int getItem200Invalid() {
-        return item200Invalid;
+        return getInvalid(ITEM_200);
     }
 
     public int getItem295Present() {
-        return item295Present;
+        return getPresent(ITEM_295);
     }
 
     public int getItem295Invalid() {
-        return item295Invalid;
+        return getInvalid(ITEM_295);
     }
 
     public int getItem136Present() {
-        return item136Present;
+        return getPresent(ITEM_136);
     }
 
     public int getItem136Invalid() {
-        return item136Invalid;
+        return getInvalid(ITEM_136);
     }
 
     public int getItem130Present() {
-        return item130Present;
+        return getPresent(ITEM_130);
     }
 
     public int getItem130Invalid() {
-        return item130Invalid;
+        return getInvalid(ITEM_130);
     }
 
     public int getItem135Present() {
-        return item135Present;
+        return getPresent(ITEM_135);
     }
 
     public int getItem135Invalid() {
-        return item135Invalid;
+        return getInvalid(ITEM_135);
     }
 
     public int getItem220Present() {
-        return item220Present;
+        return getPresent(ITEM_220);
     }
 
     public int getItem220Invalid() {
-        return item220Invalid;
+        return getInvalid(ITEM_220);
     }
 
     public int getItem220Negative() {
-        return item220Negative;
+        return getPresent(ITEM_220_NEGATIVE);
     }
 
     public int getItem220Positive() {
-        return item220Positive;
+        return getPresent(ITEM_220_POSITIVE);
     }
 
     public int getItem220Zero() {
-        return item220Zero;
+        return getPresent(ITEM_220_ZERO);
     }
 
     public int getItem390Present() {
-        return item390Present;
+        return getPresent(ITEM_390);
     }
 
     public int getItem390Invalid() {
-        return item390Invalid;
+        return getInvalid(ITEM_390);
     }
 
     public int getItem390Subfield2Present() {
-        return item390Subfield2Present;
+        return getPresent(ITEM_390_SUBFIELD_2);
     }
 
     public int getItem390Subfield2Invalid() {
-        return item390Subfield2Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_2);
     }
 
     public int getItem390Subfield4Present() {
-        return item390Subfield4Present;
+        return getPresent(ITEM_390_SUBFIELD_4);
     }
 
     public int getItem390Subfield4Invalid() {
-        return item390Subfield4Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_4);
     }
 
     public int getGetItem390Subfield4TrafficGat() {
-        return item390Subfield4TrafficGat;
+        return getPresent(ITEM_390_SUBFIELD_4_TRAFFIC_GAT);
     }
 
     public int getGetItem390Subfield4TrafficOat() {
-        return item390Subfield4TrafficOat;
+        return getPresent(ITEM_390_SUBFIELD_4_TRAFFIC_OAT);
     }
 
     public int getGetItem390Subfield4TrafficUnk() {
-        return item390Subfield4TrafficUnk;
+        return getPresent(ITEM_390_SUBFIELD_4_TRAFFIC_UNK);
     }
 
     public int getGetItem390Subfield4TrafficNa() {
-        return item390Subfield4TrafficNa;
+        return getPresent(ITEM_390_SUBFIELD_4_TRAFFIC_NA);
     }
 
     public int getGetItem390Subfield4RulesIfr() {
-        return item390Subfield4RulesIfr;
+        return getPresent(ITEM_390_SUBFIELD_4_RULES_IFR);
     }
 
     public int getGetItem390Subfield4RulesVfr() {
-        return item390Subfield4RulesVfr;
+        return getPresent(ITEM_390_SUBFIELD_4_RULES_VFR);
     }
 
     public int getGetItem390Subfield4RulesNa() {
-        return item390Subfield4RulesNa;
+        return getPresent(ITEM_390_SUBFIELD_4_RULES_NA);
     }
 
     public int getGetItem390Subfield4RulesCtrlVfr() {
-        return item390Subfield4RulesCtrlVfr;
+        return getPresent(ITEM_390_SUBFIELD_4_RULES_CTRL_VFR);
     }
 
     public int getGetItem390Subfield4RvsmUnk() {
-        return item390Subfield4RvsmUnk;
+        return getPresent(ITEM_390_SUBFIELD_4_RVSM_UNK);
     }
 
     public int getGetItem390Subfield4RvsmApproved() {
-        return item390Subfield4RvsmApproved;
+        return getPresent(ITEM_390_SUBFIELD_4_RVSM_APPROVED);
     }
 
     public int getGetItem390Subfield4RvsmExempt() {
-        return item390Subfield4RvsmExempt;
+        return getPresent(ITEM_390_SUBFIELD_4_RVSM_EXEMPT);
     }
 
     public int getGetItem390Subfield4RvsmNotApproved() {
-        return item390Subfield4RvsmNotApproved;
+        return getPresent(ITEM_390_SUBFIELD_4_RVSM_NOT_APPROVED);
     }
 
     public int getItem390Subfield5Present() {
-        return item390Subfield5Present;
+        return getPresent(ITEM_390_SUBFIELD_5);
     }
 
     public int getItem390Subfield5Invalid() {
-        return item390Subfield5Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_5);
     }
 
     public int getItem390Subfield6Present() {
-        return item390Subfield6Present;
+        return getPresent(ITEM_390_SUBFIELD_6);
     }
 
     public int getItem390Subfield6Invalid() {
-        return item390Subfield6Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_6);
     }
 
     public int getItem390Subfield6L() {
-        return item390Subfield6L;
+        return getPresent(ITEM_390_SUBFIELD_6_L);
     }
 
     public int getItem390Subfield6M() {
-        return item390Subfield6M;
+        return getPresent(ITEM_390_SUBFIELD_6_M);
     }
 
     public int getItem390Subfield6H() {
-        return item390Subfield6H;
+        return getPresent(ITEM_390_SUBFIELD_6_H);
     }
 
     public int getItem390Subfield6J() {
-        return item390Subfield6J;
+        return getPresent(ITEM_390_SUBFIELD_6_J);
     }
 
     public int getItem390Subfield7Present() {
-        return item390Subfield7Present;
+        return getPresent(ITEM_390_SUBFIELD_7);
     }
 
     public int getItem390Subfield7Invalid() {
-        return item390Subfield7Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_7);
     }
 
     public int getItem390Subfield8Present() {
-        return item390Subfield8Present;
+        return getPresent(ITEM_390_SUBFIELD_8);
     }
 
     public int getItem390Subfield8Invalid() {
-        return item390Subfield8Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_8);
     }
 
     public int getItem390Subfield9Present() {
-        return item390Subfield9Present;
+        return getPresent(ITEM_390_SUBFIELD_9);
     }
 
     public int getItem390Subfield9Invalid() {
-        return item390Subfield9Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_9);
     }
 
     public int getItem390Subfield10Present() {
-        return item390Subfield10Present;
+        return getPresent(ITEM_390_SUBFIELD_10);
     }
 
     public int getItem390Subfield10Invalid() {
-        return item390Subfield10Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_10);
     }
 
     public int getItem390Subfield11Present() {
-        return item390Subfield11Present;
+        return getPresent(ITEM_390_SUBFIELD_11);
     }
 
     public int getItem390Subfield11Invalid() {
-        return item390Subfield11Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_11);
     }
 
     public int getItem390Subfield12Present() {
-        return item390Subfield12Present;
+        return getPresent(ITEM_390_SUBFIELD_12);
     }
 
     public int getItem390Subfield12Invalid() {
-        return item390Subfield12Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_12);
     }
 
     public int getItem390Subfield13Present() {
-        return item390Subfield13Present;
+        return getPresent(ITEM_390_SUBFIELD_13);
     }
 
     public int getItem390Subfield13Invalid() {
-        return item390Subfield13Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_13);
     }
 
     public int getItem390Subfield14Present() {
-        return item390Subfield14Present;
+        return getPresent(ITEM_390_SUBFIELD_14);
     }
 
     public int getItem390Subfield14Invalid() {
-        return item390Subfield14Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_14);
     }
 
     public int getItem390Subfield15Present() {
-        return item390Subfield15Present;
+        return getPresent(ITEM_390_SUBFIELD_15);
     }
 
     public int getItem390Subfield15Invalid() {
-        return item390Subfield15Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_15);
     }
 
     public int getItem390Subfield16Present() {
-        return item390Subfield16Present;
+        return getPresent(ITEM_390_SUBFIELD_16);
     }
 
     public int getItem390Subfield16Invalid() {
-        return item390Subfield16Invalid;
+        return getInvalid(ITEM_390_SUBFIELD_16);
     }
 
     public int getItem270Present() {
-        return item270Present;
+        return getPresent(ITEM_270);
     }
 
     public int getItem270Invalid() {
-        return item270Invalid;
+        return getInvalid(ITEM_270);
     }
 
     public int getItem300Present() {
-        return item300Present;
+        return getPresent(ITEM_300);
     }
 
     public int getItem300Invalid() {
-        return item300Invalid;
+        return getInvalid(ITEM_300);
     }
 
     public int getItem110Present() {
-        return item110Present;
+        return getPresent(ITEM_110);
     }
 
     public int getItem110Invalid() {
-        return item110Invalid;
+        return getInvalid(ITEM_110);
     }
 
     public int getItem120Present() {
-        return item120Present;
+        return getPresent(ITEM_120);
     }
 
     public int getItem120Invalid() {
-        return item120Invalid;
+        return getInvalid(ITEM_120);
     }
 
     public int getItem510Present() {
-        return item510Present;
+        return getPresent(ITEM_510);
     }
 
     public int getItem510Invalid() {
-        return item510Invalid;
+        return getInvalid(ITEM_510);
     }
 
     public int getItem500Present() {
-        return item500Present;
+        return getPresent(ITEM_500);
     }
 
     public int getItem500Invalid() {
-        return item500Invalid;
+        return getInvalid(ITEM_500);
     }
 
     public int getItem340Present() {
-        return item340Present;
+        return getPresent(ITEM_340);
     }
 
     public int getItem340Invalid() {
-        return item340Invalid;
+        return getInvalid(ITEM_340);
     }
 
     public int getItemRePresent() {
-        return itemRePresent;
+        return getPresent(ITEM_RE);
     }
 
     public int getItemReInvalid() {
-        return itemReInvalid;
+        return getInvalid(ITEM_RE);
     }
 
     public int getItemSpPresent() {
-        return itemSpPresent;
+        return getPresent(ITEM_SP);
     }
 
     public int getItemSpInvalid() {
-        return itemSpInvalid;
-    }
-
-    private void addCountersForItem390(Cat062Record record) {
-        if (record.getItem390() != null) {
-            this.item390Present += 1;
-            if (!record.getItem390().isValid()) {
-                this.item390Invalid += 1;
-            }
-
-            //subfields
-            if (record.getItem390().getSubfield2() != null) {
-                this.item390Subfield2Present += 1;
-                if (!record.getItem390().getSubfield2().isValid()) {
-                    this.item390Subfield2Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield4() != null) {
-                this.item390Subfield4Present += 1;
-                if (!record.getItem390().getSubfield4().isValid()) {
-                    this.item390Subfield4Invalid += 1;
-                }
-
-                //traffic
-                if (record.getItem390().getSubfield4().getTrafficType() == 0) {
-                    item390Subfield4TrafficUnk += 1;
-                }
-                else if (record.getItem390().getSubfield4().getTrafficType() == 1) {
-                    item390Subfield4TrafficGat += 1;
-                }
-                else if (record.getItem390().getSubfield4().getTrafficType() == 2) {
-                    item390Subfield4TrafficOat += 1;
-                }
-                else {
-                    item390Subfield4TrafficNa += 1;
-                }
-
-                //rules
-                if (record.getItem390().getSubfield4().getFlightRules() == 0) {
-                    item390Subfield4RulesIfr += 1;
-                }
-                else if (record.getItem390().getSubfield4().getFlightRules() == 1) {
-                    item390Subfield4RulesVfr += 1;
-                }
-                else if (record.getItem390().getSubfield4().getFlightRules() == 2) {
-                    item390Subfield4RulesNa += 1;
-                }
-                else {
-                    item390Subfield4RulesCtrlVfr += 1;
-                }
-
-                //rvsm
-                if (record.getItem390().getSubfield4().getRvsm() == 0) {
-                    item390Subfield4RvsmUnk += 1;
-                }
-                else if (record.getItem390().getSubfield4().getRvsm() == 1) {
-                    item390Subfield4RvsmApproved += 1;
-                }
-                else if (record.getItem390().getSubfield4().getRvsm() == 2) {
-                    item390Subfield4RvsmExempt += 1;
-                }
-                else {
-                    item390Subfield4RvsmNotApproved += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield5() != null) {
-                this.item390Subfield5Present += 1;
-                if (!record.getItem390().getSubfield5().isValid()) {
-                    this.item390Subfield5Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield6() != null) {
-                this.item390Subfield6Present += 1;
-                if (!record.getItem390().getSubfield6().isValid()) {
-                    this.item390Subfield6Invalid += 1;
-                }
-
-                switch (record.getItem390().getSubfield6().getWakeTurbulenceCategory()) {
-                    case "L":
-                        this.item390Subfield6L += 1;
-                        break;
-                    case "M":
-                        this.item390Subfield6M += 1;
-                        break;
-                    case "H":
-                        this.item390Subfield6H += 1;
-                        break;
-                    default:
-                        this.item390Subfield6J += 1;
-                        break;
-                }
-            }
-
-            if (record.getItem390().getSubfield7() != null) {
-                this.item390Subfield7Present += 1;
-                if (!record.getItem390().getSubfield7().isValid()) {
-                    this.item390Subfield7Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield8() != null) {
-                this.item390Subfield8Present += 1;
-                if (!record.getItem390().getSubfield8().isValid()) {
-                    this.item390Subfield8Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield9() != null) {
-                this.item390Subfield9Present += 1;
-                if (!record.getItem390().getSubfield9().isValid()) {
-                    this.item390Subfield9Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield10() != null) {
-                this.item390Subfield10Present += 1;
-                if (!record.getItem390().getSubfield10().isValid()) {
-                    this.item390Subfield10Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield11() != null) {
-                this.item390Subfield11Present += 1;
-                if (!record.getItem390().getSubfield11().isValid()) {
-                    this.item390Subfield11Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield12() != null) {
-                this.item390Subfield12Present += 1;
-                if (!record.getItem390().getSubfield12().isValid()) {
-                    this.item390Subfield12Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield13() != null) {
-                this.item390Subfield13Present += 1;
-                if (!record.getItem390().getSubfield13().isValid()) {
-                    this.item390Subfield13Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield14() != null) {
-                this.item390Subfield14Present += 1;
-                if (!record.getItem390().getSubfield14().isValid()) {
-                    this.item390Subfield14Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield15() != null) {
-                this.item390Subfield15Present += 1;
-                if (!record.getItem390().getSubfield15().isValid()) {
-                    this.item390Subfield15Invalid += 1;
-                }
-            }
-
-            if (record.getItem390().getSubfield16() != null) {
-                this.item390Subfield16Present += 1;
-                if (!record.getItem390().getSubfield16().isValid()) {
-                    this.item390Subfield16Invalid += 1;
-                }
-            }
-        }
-    }
-
-    private void addCountersForItem380(Cat062Record record) {
-        if (record.getItem380() != null) {
-            this.item380Present += 1;
-            if (!record.getItem380().isValid()) {
-                this.item380Invalid += 1;
-            }
-
-            //subfield info
-            if (record.getItem380().getSubfield1() != null) {
-                this.item380Subfield1Present += 1;
-                if (!record.getItem380().getSubfield1().isValid()) {
-                    this.item380Subfield1Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield3() != null) {
-                this.item380Subfield3Present += 1;
-                if (!record.getItem380().getSubfield3().isValid()) {
-                    this.item380Subfield3Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield4() != null) {
-                this.item380Subfield4Present += 1;
-                if (!record.getItem380().getSubfield4().isValid()) {
-                    this.item380Subfield4Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield5() != null) {
-                this.item380Subfield5Present += 1;
-                if (!record.getItem380().getSubfield5().isValid()) {
-                    this.item380Subfield5Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield6() != null) {
-                this.item380Subfield6Present += 1;
-                if (!record.getItem380().getSubfield6().isValid()) {
-                    this.item380Subfield6Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield7() != null) {
-                this.item380Subfield7Present += 1;
-                if (!record.getItem380().getSubfield7().isValid()) {
-                    this.item380Subfield7Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield12() != null) {
-                this.item380Subfield12Present += 1;
-                if (!record.getItem380().getSubfield12().isValid()) {
-                    this.item380Subfield12Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield15() != null) {
-                this.item380Subfield15Present += 1;
-                if (!record.getItem380().getSubfield15().isValid()) {
-                    this.item380Subfield15Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield17() != null) {
-                this.item380Subfield17Present += 1;
-                if (!record.getItem380().getSubfield17().isValid()) {
-                    this.item380Subfield17Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield18() != null) {
-                this.item380Subfield18Present += 1;
-                if (!record.getItem380().getSubfield18().isValid()) {
-                    this.item380Subfield18Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield20() != null) {
-                this.item380Subfield20Present += 1;
-                if (!record.getItem380().getSubfield20().isValid()) {
-                    this.item380Subfield20Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield21() != null) {
-                this.item380Subfield21Present += 1;
-                if (!record.getItem380().getSubfield21().isValid()) {
-                    this.item380Subfield21Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield26() != null) {
-                this.item380Subfield26Present += 1;
-                if (!record.getItem380().getSubfield26().isValid()) {
-                    this.item380Subfield26Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield27() != null) {
-                this.item380Subfield27Present += 1;
-                if (!record.getItem380().getSubfield27().isValid()) {
-                    this.item380Subfield27Invalid += 1;
-                }
-            }
-
-            if (record.getItem380().getSubfield28() != null) {
-                this.item380Subfield28Present += 1;
-                if (!record.getItem380().getSubfield28().isValid()) {
-                    this.item380Subfield28Invalid += 1;
-                }
-            }
-        }
-    }
-
-    private void createPrintMsg() {
-        clearDebugMsg();
-        appendNewLine();
-        appendItemCounterMsg("Asterix Category 062 Counters", "Nb. decoded", "Nb. invalid");
-
-        appendItemCounterMsg("Number of records", nbRecords, nbOfInvalidRecords);
-        appendItemCounterMsg("Item 010 - Data source identifier [M]", item010Present, item010Invalid);
-        appendItemCounterMsg("Item 015 - Data Service identification", item015Present, item015Invalid);
-        appendItemCounterMsg("Item 070 - Time Of Track", item070Present, item070Invalid);
-        appendItemCounterMsg("Item 105 - Track position (WSG 84)", item105Present, item105Invalid);
-        appendItemCounterMsg("Item 100 - Track position (cartesian)", item100Present, item100Invalid);
-        appendItemCounterMsg("Item 185 - Track velocity (vx, vy)", item185Present, item185Invalid);
-        appendItemCounterMsg("Item 210 - Acceleration (cartesian)", item210Present, item210Invalid);
-        appendItemCounterMsg("Item 060 - Mode 3/A", item060Present, item060Invalid);
-        appendItemCounterMsg("Item 245 - Target identification", item245Present, item245Invalid);
-
-        //380
-        appendItemCounterMsg("Item 380 - Aircraft derived data", item380Present, item380Invalid);
-        appendItemCounterMsg("  Subfield 1 - Target identification", item380Subfield1Present,
-                             item380Subfield1Invalid);
-        appendItemCounterMsg("  Subfield 3 - Magnetic heading", item380Subfield3Present,
-                             item380Subfield3Invalid);
-        appendItemCounterMsg("  Subfield 4 - Indicated airspeed / Mach no [Compatibility only]",
-                             item380Subfield4Present,
-                             item380Subfield4Invalid);
-        appendItemCounterMsg("  Subfield 5 - True airspeed", item380Subfield5Present,
-                             item380Subfield5Invalid);
-        appendItemCounterMsg("  Subfield 6 - Selected altitude", item380Subfield6Present,
-                             item380Subfield6Invalid);
-        appendItemCounterMsg("  Subfield 7 - Final state selected altitude", item380Subfield7Present,
-                             item380Subfield7Invalid);
-        appendItemCounterMsg("  Subfield 12 - ACAS Report", item380Subfield12Present,
-                             item380Subfield12Invalid);
-        appendItemCounterMsg("  Subfield 15 - Roll angle", item380Subfield15Present,
-                             item380Subfield15Invalid);
-        appendItemCounterMsg("  Subfield 17 - Track angle", item380Subfield17Present,
-                             item380Subfield17Invalid);
-        appendItemCounterMsg("  Subfield 18 - Ground speed", item380Subfield18Present,
-                             item380Subfield18Invalid);
-        appendItemCounterMsg("  Subfield 20 - Meteo data", item380Subfield20Present,
-                             item380Subfield20Invalid);
-        appendItemCounterMsg("  Subfield 21 - Emitter category", item380Subfield21Present,
-                             item380Subfield21Invalid);
-        appendItemCounterMsg("  Subfield 26 - Indicated airspeed", item380Subfield26Present,
-                             item380Subfield26Invalid);
-        appendItemCounterMsg("  Subfield 27 - Mach nb", item380Subfield27Present,
-                             item380Subfield27Invalid);
-        appendItemCounterMsg("  Subfield 28 - Barometric pressure setting", item380Subfield28Present,
-                             item380Subfield28Invalid);
-
-        appendItemCounterMsg("Item 040 - Track number [M]", item040Present, item040Invalid);
-        appendItemCounterMsg("Item 080 - Track status [M]", item080Present, item080Invalid);
-        appendItemCounterMsg("Item 290 - Track update ages", item290Present, item290Invalid);
-        appendItemCounterMsg("Item 200 - Mode of movement", item200Present, item200Invalid);
-        appendItemCounterMsg("Item 295 - Track data ages", item295Present, item295Invalid);
-        appendItemCounterMsg("Item 136 - Measured Flight Level", item136Present, item136Invalid);
-        appendItemCounterMsg("Item 130 - Geometric altitude", item130Present, item130Invalid);
-        appendItemCounterMsg("Item 135 - Barometric altitude", item135Present, item135Invalid);
-        appendItemCounterMsg("Item 220 - ROCD", item220Present, item220Invalid);
-        appendItemCounterMsg("  Negative", item220Negative, item220Invalid);
-        appendItemCounterMsg("  Zero", item220Zero, item220Invalid);
-        appendItemCounterMsg("  Positive", item220Positive, item220Invalid);
-
-        //390
-        appendItemCounterMsg("Item 390 - Flight plan data", item390Present, item390Invalid);
-        appendItemCounterMsg("  Subfield 2 - Callsign", item390Subfield2Present,
-                             item390Subfield2Invalid);
-        appendItemCounterMsg("  Subfield 4 - Flight category", item390Subfield4Present,
-                             item390Subfield4Invalid);
-        appendItemCounterMsg("    Traffic type Unknown", item390Subfield4TrafficUnk, "");
-        appendItemCounterMsg("    Traffic type GAT", item390Subfield4TrafficGat, "");
-        appendItemCounterMsg("    Traffic type OAT", item390Subfield4TrafficOat, "");
-        appendItemCounterMsg("    Traffic type NA", item390Subfield4TrafficNa, "");
-        appendItemCounterMsg("    Rules IFR", item390Subfield4RulesIfr, "");
-        appendItemCounterMsg("    Rules VFR", item390Subfield4RulesVfr, "");
-        appendItemCounterMsg("    Rules CtrlVFR", item390Subfield4RulesCtrlVfr, "");
-        appendItemCounterMsg("    Rules NA", item390Subfield4RulesNa, "");
-        appendItemCounterMsg("    RVSM Unknown", item390Subfield4RvsmUnk, "");
-        appendItemCounterMsg("    RVSM Approved", item390Subfield4RvsmApproved, "");
-        appendItemCounterMsg("    RVSM Exempt", item390Subfield4RvsmExempt, "");
-        appendItemCounterMsg("    RVSM Not Approved", item390Subfield4RvsmNotApproved, "");
-        appendItemCounterMsg("  Subfield 5 - Type of aircraft", item390Subfield5Present,
-                             item390Subfield5Invalid);
-        appendItemCounterMsg("  Subfield 6 - Wake Turbulence Category", item390Subfield6Present,
-                             item390Subfield6Invalid);
-        appendItemCounterMsg("    Light", item390Subfield6L, "");
-        appendItemCounterMsg("    Medium", item390Subfield6M, "");
-        appendItemCounterMsg("    Heavy", item390Subfield6H, "");
-        appendItemCounterMsg("    Super", item390Subfield6J, "");
-        appendItemCounterMsg("  Subfield 7 - Departure", item390Subfield7Present,
-                             item390Subfield7Invalid);
-        appendItemCounterMsg("  Subfield 8 - Destination", item390Subfield8Present,
-                             item390Subfield8Invalid);
-        appendItemCounterMsg("  Subfield 9 - Runway Designation", item390Subfield9Present,
-                             item390Subfield9Invalid);
-        appendItemCounterMsg("  Subfield 10 - Current CFL", item390Subfield10Present,
-                             item390Subfield10Invalid);
-        appendItemCounterMsg("  Subfield 11 - Current Control Position", item390Subfield11Present,
-                             item390Subfield11Invalid);
-        appendItemCounterMsg("  Subfield 12 - Time of departure / arrival", item390Subfield12Present,
-                             item390Subfield12Invalid);
-        appendItemCounterMsg("  Subfield 13 - Aircraft stand", item390Subfield13Present,
-                             item390Subfield13Invalid);
-        appendItemCounterMsg("  Subfield 14 - Stand Status", item390Subfield14Present,
-                             item390Subfield14Invalid);
-        appendItemCounterMsg("  Subfield 15 - SID", item390Subfield15Present,
-                             item390Subfield15Invalid);
-        appendItemCounterMsg("  Subfield 16 - STAR", item390Subfield16Present,
-                             item390Subfield16Invalid);
-
-        appendItemCounterMsg("Item 270 - Target size and orientation", item270Present, item270Invalid);
-        appendItemCounterMsg("Item 300 - Vehicle fleet identification", item300Present, item300Invalid);
-        appendItemCounterMsg("Item 110 - Mode 5", item110Present, item110Invalid);
-        appendItemCounterMsg("Item 120 - Mode 2", item120Present, item120Invalid);
-        appendItemCounterMsg("Item 510 - Composed track nb", item510Present, item510Invalid);
-        appendItemCounterMsg("Item 500 - Estimated accuracies", item500Present, item500Invalid);
-        appendItemCounterMsg("Item 340 - Measured information", item340Present, item340Invalid);
-        appendItemCounterMsg("RE", itemRePresent, itemReInvalid);
-        appendItemCounterMsg("SP", itemSpPresent, itemSpInvalid);
+        return getInvalid(ITEM_SP);
+    }
+
+    private static boolean isSuperWakeTurbulenceCategory(String wakeTurbulenceCategory) {
+        return !"L".equals(wakeTurbulenceCategory) &&
+                !"M".equals(wakeTurbulenceCategory) &&
+                !"H".equals(wakeTurbulenceCategory);
     }
 }
@@ -6,223 +6,108 @@
 */
 package jlg.jade.asterix.counters;
 
-import jlg.jade.asterix.AsterixDataBlock;
 import jlg.jade.asterix.AsterixRecord;
 import jlg.jade.asterix.cat065.Cat065Record;
-import jlg.jade.common.DebugMessageSource;
 
 /**
- * Counter class for Cat065
+ * Counter class for Cat065 items.
  */
-public class Cat065ItemCounter extends DebugMessageSource implements AsterixItemCounter {
-    private int nbRecords = 0;
-    private int nbOfInvalidRecords = 0;
-    private int item010Present = 0;
-    private int item010Invalid = 0;
-    private int item000Present = 0;
-    private int item000Invalid = 0;
-    private int item015Present = 0;
-    private int item015Invalid = 0;
-    private int item030Present = 0;
-    private int item030Invalid = 0;
-    private int item020Present = 0;
-    private int item020Invalid = 0;
-    private int item040Present = 0;
-    private int item040Invalid = 0;
-    private int item050Present = 0;
-    private int item050Invalid = 0;
-    private int itemRePresent = 0;
-    private int itemReInvalid = 0;
-    private int itemSpPresent = 0;
-    private int itemSpInvalid = 0;
-
-
-    /**
-     * Increments counter values with the the ones received from a new data block
-     *
-     * @param asterixDataBlock An Asterix data block that has Cat 065 data
-     */
-    @Override
-    public void increment(AsterixDataBlock asterixDataBlock) {
-        for (AsterixRecord record : asterixDataBlock.getRecords()) {
-            if (record.getCat065Record() != null) {
-                increment(record.getCat065Record());
-            }
-        }
-    }
-
-    /**
-     * Adds the current counter values with the new counter values
-     *
-     * @param record a new Asterix record
-     */
-    private void increment(Cat065Record record) {
-        this.nbRecords++;
-        if (!record.isValid()) {
-            this.nbOfInvalidRecords++;
-        }
-
-        if (record.getItem010() != null) {
-            this.item010Present = this.getItem010Present() + 1;
-            if (!record.getItem010().isValid()) {
-                this.item010Invalid = this.getItem010Invalid() + 1;
-            }
-        }
-
-        if (record.getItem000() != null) {
-            this.item000Present = this.getItem000Present() + 1;
-            if (!record.getItem000().isValid()) {
-                this.item000Invalid = this.getItem000Invalid() + 1;
-            }
-        }
-
-        if (record.getItem015() != null) {
-            this.item015Present = this.getItem015Present() + 1;
-            if (!record.getItem015().isValid()) {
-                this.item015Invalid = this.getItem015Invalid() + 1;
-            }
-        }
-
-        if (record.getItem030() != null) {
-            this.item030Present = this.getItem030Present() + 1;
-            if (!record.getItem030().isValid()) {
-                this.item030Invalid = this.getItem030Invalid() + 1;
-            }
-        }
-
-        if (record.getItem020() != null) {
-            this.item020Present = this.getItem020Present() + 1;
-            if (!record.getItem020().isValid()) {
-                this.item020Invalid = this.getItem020Invalid() + 1;
-            }
-        }
-
-        if (record.getItem040() != null) {
-            this.item040Present = this.getItem040Present() + 1;
-            if (!record.getItem040().isValid()) {
-                this.item040Invalid = this.getItem040Invalid() + 1;
-            }
-        }
-
-        if (record.getItem050() != null) {
-            this.item050Present = this.getItem050Present() + 1;
-            if (!record.getItem050().isValid()) {
-                this.item050Invalid = this.getItem050Invalid() + 1;
-            }
-        }
-
-        if (record.getReservedExpansionField() != null) {
-            this.itemRePresent = this.getItemRePresent() + 1;
-            if (!record.getReservedExpansionField().isValid()) {
-                this.itemReInvalid = this.getItemReInvalid() + 1;
-            }
-        }
-
-        if (record.getSpecialPurposeField() != null) {
-            this.itemSpPresent = this.getItemSpPresent() + 1;
-            if (!record.getSpecialPurposeField().isValid()) {
-                this.itemSpInvalid = this.getItemSpInvalid() + 1;
-            }
-        }
-
-        createPrintMsg();
+public class Cat065ItemCounter extends ArrayItemCounter<Cat065Record> {
+    private static final CounterDefinition<Cat065Record> DEFINITION =
+            new CounterDefinition<>("Asterix Category 065 Counters");
+
+    private static final int ITEM_010 = DEFINITION.item(
+            "Item 010 - Data source identifier", Cat065Record::getItem010);
+    private static final int ITEM_000 = DEFINITION.item(
+            "Item 000 - Message Type", Cat065Record::getItem000);
+    private static final int ITEM_015 = DEFINITION.item(
+            "Item 015 - Service Identification", Cat065Record::getItem015);
+    private static final int ITEM_030 = DEFINITION.item(
+            "Item 030 - Time of Message", Cat065Record::getItem030);
+    private static final int ITEM_020 = DEFINITION.item(
+            "Item 020 - Batch Number", Cat065Record::getItem020);
+    private static final int ITEM_040 = DEFINITION.item(
+            "Item 040 - SDPS Config and Status", Cat065Record::getItem040);
+    private static final int ITEM_050 = DEFINITION.item(
+            "Item 050 - Service Status", Cat065Record::getItem050);
+    private static final int ITEM_RE = DEFINITION.item(
+            "RE", Cat065Record::getReservedExpansionField);
+    private static final int ITEM_SP = DEFINITION.item(
+            "SP", Cat065Record::getSpecialPurposeField);
+
+    public Cat065ItemCounter() {
+        super(DEFINITION, AsterixRecord::getCat065Record);
     }
 
     public int getItem010Present() {
-        return item010Present;
+        return getPresent(ITEM_010);
     }
 
     public int getItem010Invalid() {
-        return item010Invalid;
+        return getInvalid(ITEM_010);
     }
 
     public int getItem000Present() {
-        return item000Present;
+        return getPresent(ITEM_000);
     }
 
     public int getItem000Invalid() {
-        return item000Invalid;
+        return getInvalid(ITEM_000);
     }
 
     public int getItem015Present() {
-        return item015Present;
+        return getPresent(ITEM_015);
     }
 
     public int getItem015Invalid() {
-        return item015Invalid;
+        return getInvalid(ITEM_015);
     }
 
     public int getItem030Present() {
-        return item030Present;
+        return getPresent(ITEM_030);
     }
 
     public int getItem030Invalid() {
-        return item030Invalid;
+        return getInvalid(ITEM_030);
     }
 
     public int getItem020Present() {
-        return item020Present;
+        return getPresent(ITEM_020);
     }
 
     public int getItem020Invalid() {
-        return item020Invalid;
+        return getInvalid(ITEM_020);
     }
 
     public int getItem040Present() {
-        return item040Present;
+        return getPresent(ITEM_040);
     }
 
     public int getItem040Invalid() {
-        return item040Invalid;
+        return getInvalid(ITEM_040);
     }
 
     public int getItem050Present() {
-        return item050Present;
+        return getPresent(ITEM_050);
     }
 
     public int getItem050Invalid() {
-        return item050Invalid;
+        return getInvalid(ITEM_050);
     }
 
     public int getItemRePresent() {
-        return itemRePresent;
+        return getPresent(ITEM_RE);
     }
 
     public int getItemReInvalid() {
-        return itemReInvalid;
+        return getInvalid(ITEM_RE);
     }
 
     public int getItemSpPresent() {
-        return itemSpPresent;
+        return getPresent(ITEM_SP);
     }
 
     public int getItemSpInvalid() {
-        return itemSpInvalid;
-    }
-
-    private void createPrintMsg() {
-        clearDebugMsg();
-        appendNewLine();
-        appendNewLine();
-        appendItemCounterMsg("Asterix Category 065 Counters", "Nb. decoded", "Nb. invalid");
-        appendItemCounterMsg("Number of records", nbRecords, nbOfInvalidRecords);
-        appendItemCounterMsg("Item 010 - Data source identifier", getItem010Present(),
-                             getItem010Invalid());
-        appendItemCounterMsg("Item 000 - Message Type", getItem000Present(),
-                             getItem000Invalid());
-        appendItemCounterMsg("Item 015 - Service Identification", getItem015Present(),
-                             getItem015Invalid());
-        appendItemCounterMsg("Item 030 - Time of Message", getItem030Present(),
-                             getItem030Invalid());
-        appendItemCounterMsg("Item 030 - Time of Message", getItem030Present(),
-                             getItem030Invalid());
-        appendItemCounterMsg("Item 020 - Batch Number", getItem020Present(),
-                             getItem020Invalid());
-        appendItemCounterMsg("Item 040 - SDPS Config and Status", getItem040Present(),
-                             getItem040Invalid());
-        appendItemCounterMsg("Item 050 - Service Status", getItem050Present(),
-                             getItem050Invalid());
-        appendItemCounterMsg("RE", getItemRePresent(), getItemReInvalid());
-        appendItemCounterMsg("SP", getItemSpPresent(), getItemSpInvalid());
+        return getInvalid(ITEM_SP);
     }
 }
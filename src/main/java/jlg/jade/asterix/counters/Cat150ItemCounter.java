@@ -4,851 +4,420 @@
 
 package jlg.jade.asterix.counters;
 
-import jlg.jade.asterix.AsterixDataBlock;
 import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat150.Cat150Item030MessageType;
+import jlg.jade.asterix.cat150.Cat150Item100;
+import jlg.jade.asterix.cat150.Cat150Item110RvsmStatus;
 import jlg.jade.asterix.cat150.Cat150Record;
-import jlg.jade.common.DebugMessageSource;
 
 /**
- * Counter class for Cat150
+ * Counter class for Cat150 items.
  */
-public class Cat150ItemCounter extends DebugMessageSource implements AsterixItemCounter {
-    private int nbRecords = 0;
-    private int nbOfInvalidRecords = 0;
-
-    private int item010Present = 0;
-    private int item010Invalid = 0;
-
-    private int item020Present = 0;
-    private int item020Invalid = 0;
-
-    private int item030Present = 0;
-    private int item030Invalid = 0;
-
-    private int item040Present = 0;
-    private int item040Invalid = 0;
-
-    private int item050Present = 0;
-    private int item050Invalid = 0;
-
-    private int item060Present = 0;
-    private int item060Invalid = 0;
-
-    private int item070Present = 0;
-    private int item070Invalid = 0;
-
-    private int item080Present = 0;
-    private int item080Invalid = 0;
-
-    private int item090Present = 0;
-    private int item090Invalid = 0;
-
-    private int item100Present = 0;
-    private int item100Invalid = 0;
-    private int nbGatMsg = 0;
-    private int nbOatMsg = 0;
-    private int nbUnknownTrafficMsg = 0;
-
-    private int item110Present = 0;
-    private int item110Invalid = 0;
-    private int nbRvsmEquippedMsg = 0;
-    private int nbRvsmCapableMsg = 0;
-    private int nbRvsmExemptedMsg = 0;
-    private int nbRvsmUnknownMsg = 0;
-
-    private int item120Present = 0;
-    private int item120Invalid = 0;
-
-    private int item130Present = 0;
-    private int item130Invalid = 0;
-    private int nbPlanCreationMsg = 0;
-    private int nbPlanModificationMsg = 0;
-    private int nbPlanRepetitionMsg = 0;
-    private int nbManualPlanDeletionMsg = 0;
-    private int nbAutoPlanDeletionMsg = 0;
-    private int nbCorrelationMsg = 0;
-    private int nbDecorrelationMsg = 0;
-    private int nbStartLoopMsg = 0;
-    private int nbEndLoopMsg = 0;
-    private int nbUnknownPlanMsg = 0;
-
-    private int item140Present = 0;
-    private int item140Invalid = 0;
-
-    private int item150Present = 0;
-    private int item150Invalid = 0;
-
-    private int item160Present = 0;
-    private int item160Invalid = 0;
-
-    private int item170Present = 0;
-    private int item170Invalid = 0;
-
-    private int item180Present = 0;
-    private int item180Invalid = 0;
-
-    private int item190Present = 0;
-    private int item190Invalid = 0;
-
-    private int item200Present = 0;
-    private int item200Invalid = 0;
-
-    private int item210Present = 0;
-    private int item210Invalid = 0;
-
-    private int item220Present = 0;
-    private int item220Invalid = 0;
-
-    private int item230Present = 0;
-    private int item230Invalid = 0;
-
-    private int item240Present = 0;
-    private int item240Invalid = 0;
-
-    private int item250Present = 0;
-    private int item250Invalid = 0;
-
-    private int item251Present = 0;
-    private int item251Invalid = 0;
-
-    private int item171Present = 0;
-    private int item171Invalid = 0;
-
-    private int item151Present = 0;
-    private int item151Invalid = 0;
-
-    /**
-     * Increments counter values with the the ones received from a new data block
-     *
-     * @param asterixDataBlock An Asterix data block that has Cat 150 data
-     */
-    @Override
-    public void increment(AsterixDataBlock asterixDataBlock) {
-        for (AsterixRecord record : asterixDataBlock.getRecords()) {
-            if (record.getCategory() == 150) {
-                increment(record.getCat150Record());
-            }
-        }
-    }
-
-    /**
-     * Adds the current counter values with the new counter values
-     *
-     * @param record a new Asterix record
-     */
-    private void increment(Cat150Record record) {
-        this.nbRecords = this.getNbRecords() + 1;
-        if (!record.isValid()) {
-            this.nbOfInvalidRecords = this.getNbOfInvalidRecords() + 1;
-        }
-
-        if (record.getItem010() != null) {
-            this.item010Present = this.item010Present + 1;
-            if (!record.getItem010().isValid()) {
-                this.item010Invalid = this.item010Invalid + 1;
-            }
-        }
-
-        //counters for item 020
-        if (record.getItem020() != null) {
-            this.item020Present = this.item020Present + 1;
-            if (!record.getItem020().isValid()) {
-                this.item020Invalid = this.item020Invalid + 1;
-            }
-        }
-
-        //counters for item 030
-        if (record.getItem030() != null) {
-            this.item030Present = this.item030Present + 1;
-            if (!record.getItem030().isValid()) {
-                this.item030Invalid = this.item030Invalid + 1;
-            }
-
-            switch (record.getItem030().getMessageType()) {
-                case FLIGHT_PLAN_CREATION:
-                    this.nbPlanCreationMsg++;
-                    break;
-                case FLIGHT_PLAN_MODIFICATION:
-                    this.nbPlanModificationMsg++;
-                    break;
-                case FLIGHT_PLAN_REPETITION:
-                    this.nbPlanRepetitionMsg++;
-                    break;
-                case MANUAL_FLIGHT_PLAN_DELETION:
-                    this.nbManualPlanDeletionMsg++;
-                    break;
-                case AUTOMATIC_FLIGHT_PLAN_DELETION:
-                    this.nbAutoPlanDeletionMsg++;
-                    break;
-                case CORRELATIONS:
-                    this.nbCorrelationMsg++;
-                    break;
-                case DECORRELATIONS:
-                    this.nbDecorrelationMsg++;
-                    break;
-                case START_BACKGROUND_LOOP:
-                    this.nbStartLoopMsg++;
-                    break;
-                case END_BACKGROUND_LOOG:
-                    this.nbEndLoopMsg++;
-                    break;
-                default: {
-                    break;
-                }
-            }
-        }
-
-
-        //counters for item 040
-        if (record.getItem040() != null) {
-            this.item040Present = this.item040Present + 1;
-            if (!record.getItem040().isValid()) {
-                this.item040Invalid = this.item040Invalid + 1;
-            }
-
-        }
-
-        //counters for item 050
-        if (record.getItem050() != null) {
-            this.item050Present = this.item050Present + 1;
-            if (!record.getItem050().isValid()) {
-                this.item050Invalid = this.item050Invalid + 1;
-            }
-        }
-
-        //counters for item 060
-        if (record.getItem060() != null) {
-            this.item060Present = this.item060Present + 1;
-            if (!record.getItem060().isValid()) {
-                this.item060Invalid = this.item060Invalid + 1;
-            }
-        }
-
-        //counters for item 070
-        if (record.getItem070() != null) {
-            this.item070Present = this.item070Present + 1;
-            if (!record.getItem070().isValid()) {
-                this.item070Invalid = this.item070Invalid + 1;
-            }
-        }
-
-        //counters for item 080
-        if (record.getItem080() != null) {
-            this.item080Present = this.item080Present + 1;
-            if (!record.getItem080().isValid()) {
-                this.item080Invalid = this.item080Invalid + 1;
-            }
-        }
-
-        //counters for item 090
-        if (record.getItem090() != null) {
-            this.item090Present = this.item090Present + 1;
-            if (!record.getItem090().isValid()) {
-                this.item090Invalid = this.item090Invalid + 1;
-            }
-        }
-
-        //counters for item 100
-        if (record.getItem100() != null) {
-            this.item100Present = this.item100Present + 1;
-            if (!record.getItem100().isValid()) {
-                this.item100Invalid = this.item100Invalid + 1;
-            }
-
-            if (record.getItem100().getGatFlag()) {
-                nbGatMsg++;
-            }
-            if (record.getItem100().getOatFlag()) {
-                nbOatMsg++;
-            }
-            if (!record.getItem100().getGatFlag() && !record.getItem100().getOatFlag()) {
-                nbUnknownTrafficMsg++;
-            }
-        }
-
-        //counters for item 110
-        if (record.getItem110() != null) {
-            this.item110Present = this.item110Present + 1;
-            if (!record.getItem110().isValid()) {
-                this.item110Invalid = this.item110Invalid + 1;
-            }
-            switch (record.getItem110().getRvsmStatus()) {
-                case UNKNOWN:
-                    this.nbRvsmUnknownMsg++;
-                    break;
-                case EQUIPPED:
-                    this.nbRvsmEquippedMsg++;
-                    break;
-                case CAPABLE:
-                    this.nbRvsmCapableMsg++;
-                    break;
-                case EXEMPTED:
-                    this.nbRvsmExemptedMsg++;
-                    break;
-            }
-        }
-
-        //counters for item 120
-        if (record.getItem120() != null) {
-            this.item120Present = this.item120Present + 1;
-            if (!record.getItem120().isValid()) {
-                this.item120Invalid = this.item120Invalid + 1;
-            }
-        }
-
-        //counters for item 130
-        if (record.getItem130() != null) {
-            this.item130Present = this.item130Present + 1;
-            if (!record.getItem130().isValid()) {
-                this.item130Invalid = this.item130Invalid + 1;
-            }
-        }
-
-        //counters for item 140
-        if (record.getItem140() != null) {
-            this.item140Present = this.item140Present + 1;
-            if (!record.getItem140().isValid()) {
-                this.item140Invalid = this.item140Invalid + 1;
-            }
-        }
-
-        //counters for item 150
-        if (record.getItem150() != null) {
-            this.item150Present = this.item150Present + 1;
-            if (!record.getItem150().isValid()) {
-                this.item150Invalid = this.item150Invalid + 1;
-            }
-        }
-
-        //counters for item 160
-        if (record.getItem160() != null) {
-            this.item160Present = this.item160Present + 1;
-            if (!record.getItem160().isValid()) {
-                this.item160Invalid = this.item160Invalid + 1;
-            }
-        }
-
-        //counters for item 170
-        if (record.getItem170() != null) {
-            this.item170Present = this.item170Present + 1;
-            if (!record.getItem170().isValid()) {
-                this.item170Invalid = this.item170Invalid + 1;
-            }
-        }
-
-        //counters for item 180
-        if (record.getItem180() != null) {
-            this.item180Present = this.item180Present + 1;
-            if (!record.getItem180().isValid()) {
-                this.item180Invalid = this.item180Invalid + 1;
-            }
-        }
-
-        //counters for item 190
-        if (record.getItem190() != null) {
-            this.item190Present = this.item190Present + 1;
-            if (!record.getItem190().isValid()) {
-                this.item190Invalid = this.item190Invalid + 1;
-            }
-        }
-
-        //counters for item 200
-        if (record.getItem200() != null) {
-            this.item200Present = this.item200Present + 1;
-            if (!record.getItem200().isValid()) {
-                this.item200Invalid = this.item200Invalid + 1;
-            }
-        }
-
-        //counters for item 210
-        if (record.getItem210() != null) {
-            this.item210Present = this.item210Present + 1;
-            if (!record.getItem210().isValid()) {
-                this.item210Invalid = this.item210Invalid + 1;
-            }
-        }
-
-        //counters for item 171
-        if (record.getItem171() != null) {
-            this.item171Present = this.item171Present + 1;
-            if (!record.getItem171().isValid()) {
-                this.item171Invalid = this.item171Invalid + 1;
-            }
-        }
-
-        //counters for item 151
-        if (record.getItem151() != null) {
-            this.item151Present = this.item151Present + 1;
-            if (!record.getItem151().isValid()) {
-                this.item151Invalid = this.item151Invalid + 1;
-            }
-        }
-
-        //counters for item 220
-        if (record.getItem220() != null) {
-            this.item220Present = this.item220Present + 1;
-            if (!record.getItem220().isValid()) {
-                this.item220Invalid = this.item220Invalid + 1;
-            }
-        }
-
-        //counters for item 230
-        if (record.getItem230() != null) {
-            this.item230Present = this.item230Present + 1;
-            if (!record.getItem230().isValid()) {
-                this.item230Invalid = this.item230Invalid + 1;
-            }
-        }
-
-        //counters for item 240
-        if (record.getItem240() != null) {
-            this.item240Present = this.item240Present + 1;
-            if (!record.getItem240().isValid()) {
-                this.item240Invalid = this.item240Invalid + 1;
-            }
-        }
-
-        //counters for item 250
-        if (record.getItem250() != null) {
-            this.item250Present = this.item250Present + 1;
-            if (!record.getItem250().isValid()) {
-                this.item250Invalid = this.item250Invalid + 1;
-            }
-        }
-
-        createPrintMsg();
-    }
-
-    public int getNbRecords() {
-        return nbRecords;
-    }
-
-    public int getNbOfInvalidRecords() {
-        return nbOfInvalidRecords;
+public class Cat150ItemCounter extends ArrayItemCounter<Cat150Record> {
+    private static final CounterDefinition<Cat150Record> DEFINITION =
+            new CounterDefinition<>("Asterix Category 150 Counters");
+
+    private static final int ITEM_010 = DEFINITION.item(
+            "Item 010 - Destination ID", Cat150Record::getItem010);
+    private static final int ITEM_020 = DEFINITION.item(
+            "Item 020 - Source ID", Cat150Record::getItem020);
+    private static final int ITEM_030 = DEFINITION.item(
+            "Item 030 - MessageType", Cat150Record::getItem030);
+    private static final int PLAN_CREATION_MESSAGES = DEFINITION.value(
+            "  CREATION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.FLIGHT_PLAN_CREATION);
+    private static final int PLAN_MODIFICATION_MESSAGES = DEFINITION.value(
+            "  MODIFICATION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.FLIGHT_PLAN_MODIFICATION);
+    private static final int PLAN_REPETITION_MESSAGES = DEFINITION.value(
+            "  REPETITION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.FLIGHT_PLAN_REPETITION);
+    private static final int MANUAL_PLAN_DELETION_MESSAGES = DEFINITION.value(
+            "  MANUAL DELETION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.MANUAL_FLIGHT_PLAN_DELETION);
+    private static final int AUTO_PLAN_DELETION_MESSAGES = DEFINITION.value(
+            "  AUTO DELETION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.AUTOMATIC_FLIGHT_PLAN_DELETION);
+    private static final int CORRELATION_MESSAGES = DEFINITION.value(
+            "  CORRELATION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.CORRELATIONS);
+    private static final int DECORRELATION_MESSAGES = DEFINITION.value(
+            "  DE-CORRELATION", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.DECORRELATIONS);
+    private static final int START_LOOP_MESSAGES = DEFINITION.value(
+            "  START LOOP", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.START_BACKGROUND_LOOP);
+    private static final int END_LOOP_MESSAGES = DEFINITION.value(
+            "  END LOOP", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.END_BACKGROUND_LOOG);
+    private static final int UNKNOWN_PLAN_MESSAGES = DEFINITION.value(
+            "  UNKNOWN", Cat150Record::getItem030,
+            item -> item.getMessageType() == Cat150Item030MessageType.UNKNOWN);
+    private static final int ITEM_040 = DEFINITION.item(
+            "Item 040 - Plan Number", Cat150Record::getItem040);
+    private static final int ITEM_050 = DEFINITION.item(
+            "Item 050 - Callsign", Cat150Record::getItem050);
+    private static final int ITEM_060 = DEFINITION.item(
+            "Item 060 - Present Mode-A", Cat150Record::getItem060);
+    private static final int ITEM_070 = DEFINITION.item(
+            "Item 070 - Next Mode-A", Cat150Record::getItem070);
+    private static final int ITEM_080 = DEFINITION.item(
+            "Item 080 - Departure", Cat150Record::getItem080);
+    private static final int ITEM_090 = DEFINITION.item(
+            "Item 090 - Destination", Cat150Record::getItem090);
+    private static final int ITEM_100 = DEFINITION.item(
+            "Item 100 - Flight Type Flags", Cat150Record::getItem100);
+    private static final int GAT_MESSAGES = DEFINITION.value(
+            "  GAT", Cat150Record::getItem100,
+            Cat150Item100::getGatFlag);
+    private static final int OAT_MESSAGES = DEFINITION.value(
+            "  OAT", Cat150Record::getItem100,
+            Cat150Item100::getOatFlag);
+    private static final int UNKNOWN_TRAFFIC_MESSAGES = DEFINITION.value(
+            "  UNKNOWN", Cat150Record::getItem100,
+            item -> !item.getGatFlag() && !item.getOatFlag());
+    private static final int ITEM_110 = DEFINITION.item(
+            "Item 110 - Flight Status Flags", Cat150Record::getItem110);
+    private static final int RVSM_EQUIPPED_MESSAGES = DEFINITION.value(
+            "  EQUIPPED", Cat150Record::getItem110,
+            item -> item.getRvsmStatus() == Cat150Item110RvsmStatus.EQUIPPED);
+    private static final int RVSM_CAPABLE_MESSAGES = DEFINITION.value(
+            "  CAPABLE", Cat150Record::getItem110,
+            item -> item.getRvsmStatus() == Cat150Item110RvsmStatus.CAPABLE);
+    private static final int RVSM_EXEMPTED_MESSAGES = DEFINITION.value(
+            "  EXEMPTED", Cat150Record::getItem110,
+            item -> item.getRvsmStatus() == Cat150Item110RvsmStatus.EXEMPTED);
+    private static final int RVSM_UNKNOWN_MESSAGES = DEFINITION.value(
+            "  UNKNOWN", Cat150Record::getItem110,
+            item -> item.getRvsmStatus() == Cat150Item110RvsmStatus.UNKNOWN);
+    private static final int ITEM_120 = DEFINITION.item(
+            "Item 120 - Aircraft Type & Wake Turbulence", Cat150Record::getItem120);
+    private static final int ITEM_130 = DEFINITION.item(
+            "Item 130 - Cleared Flight Level (CFL)", Cat150Record::getItem130);
+    private static final int ITEM_140 = DEFINITION.item(
+            "Item 140 - Route Points, Description", Cat150Record::getItem140);
+    private static final int ITEM_150 = DEFINITION.item(
+            "Item 150 - Route Points, Coordinates", Cat150Record::getItem150);
+    private static final int ITEM_160 = DEFINITION.item(
+            "Item 160 - Route Points, Time", Cat150Record::getItem160);
+    private static final int ITEM_170 = DEFINITION.item(
+            "Item 170 - Route Points, Flight Level", Cat150Record::getItem170);
+    private static final int ITEM_180 = DEFINITION.item(
+            "Item 180 - Route Points, Speed", Cat150Record::getItem180);
+    private static final int ITEM_190 = DEFINITION.item(
+            "Item 190 - Controller ID", Cat150Record::getItem190);
+    private static final int ITEM_200 = DEFINITION.item(
+            "Item 200 - Field 18", Cat150Record::getItem200);
+    private static final int ITEM_210 = DEFINITION.item(
+            "Item 210 - Correlated Track Number", Cat150Record::getItem210);
+    private static final int ITEM_171 = DEFINITION.item(
+            "Item 171 - Route Points, RFL", Cat150Record::getItem171);
+    private static final int ITEM_151 = DEFINITION.item(
+            "Item 151 - Route Points, Geographic Pos", Cat150Record::getItem151);
+    private static final int ITEM_220 = DEFINITION.item(
+            "Item 220 - Maximum Plan Count", Cat150Record::getItem220);
+    private static final int ITEM_230 = DEFINITION.item(
+            "Item 230 - Number of Plans", Cat150Record::getItem230);
+    private static final int ITEM_240 = DEFINITION.item(
+            "Item 240 - Newly Correlated Plans", Cat150Record::getItem240);
+    private static final int ITEM_250 = DEFINITION.item(
+            "Item 250 - Newly De-correlated Plans", Cat150Record::getItem250);
+    private static final int ITEM_251 = DEFINITION.item(
+            "Item 251 - Tracks in conflict", Cat150Record::getItem251);
+
+    public Cat150ItemCounter() {
+        super(DEFINITION, AsterixRecord::getCat150Record);
     }
 
     public int getItem010Present() {
-        return item010Present;
+        return getPresent(ITEM_010);
     }
 
     public int getItem010Invalid() {
-        return item010Invalid;
+        return getInvalid(ITEM_010);
     }
 
     public int getItem020Present() {
-        return item020Present;
+        return getPresent(ITEM_020);
     }
 
     public int getItem020Invalid() {
-        return item020Invalid;
+        return getInvalid(ITEM_020);
     }
 
     public int getItem030Present() {
-        return item030Present;
+        return getPresent(ITEM_030);
     }
 
     public int getItem030Invalid() {
-        return item030Invalid;
+        return getInvalid(ITEM_030);
     }
 
     public int getItem040Present() {
-        return item040Present;
+        return getPresent(ITEM_040);
     }
 
     public int getItem040Invalid() {
-        return item040Invalid;
+        return getInvalid(ITEM_040);
     }
 
     public int getItem050Present() {
-        return item050Present;
+        return getPresent(ITEM_050);
     }
 
     public int getItem050Invalid() {
-        return item050Invalid;
+        return getInvalid(ITEM_050);
     }
 
     public int getItem060Present() {
-        return item060Present;
+        return getPresent(ITEM_060);
     }
 
     public int getItem060Invalid() {
-        return item060Invalid;
+        return getInvalid(ITEM_060);
     }
 
     public int getItem070Present() {
-        return item070Present;
+        return getPresent(ITEM_070);
     }
 
     public int getItem070Invalid() {
-        return item070Invalid;
+        return getInvalid(ITEM_070);
     }
 
     public int getItem080Present() {
-        return item080Present;
+        return getPresent(ITEM_080);
     }
 
     public int getItem080Invalid() {
-        return item080Invalid;
+        return getInvalid(ITEM_080);
     }
 
     public int getItem090Present() {
-        return item090Present;
+        return getPresent(ITEM_090);
     }
 
     public int getItem090Invalid() {
-        return item090Invalid;
+        return getInvalid(ITEM_090);
     }
 
     public int getItem100Present() {
-        return item100Present;
+        return getPresent(ITEM_100);
     }
 
     public int getItem100Invalid() {
-        return item100Invalid;
+        return getInvalid(ITEM_100);
     }
 
     public int getNbGatMsg() {
-        return nbGatMsg;
+        return getPresent(GAT_MESSAGES);
     }
 
     public int getNbOatMsg() {
-        return nbOatMsg;
+        return getPresent(OAT_MESSAGES);
     }
 
     public int getNbUnknownTrafficMsg() {
-        return nbUnknownTrafficMsg;
+        return getPresent(UNKNOWN_TRAFFIC_MESSAGES);
     }
 
     public int getItem110Present() {
-        return item110Present;
+        return getPresent(ITEM_110);
     }
 
     public int getItem110Invalid() {
-        return item110Invalid;
+        return getInvalid(ITEM_110);
     }
 
     public int getNbRvsmEquippedMsg() {
-        return nbRvsmEquippedMsg;
+        return getPresent(RVSM_EQUIPPED_MESSAGES);
     }
 
     public int getNbRvsmCapableMsg() {
-        return nbRvsmCapableMsg;
+        return getPresent(RVSM_CAPABLE_MESSAGES);
     }
 
     public int getNbRvsmExemptedMsg() {
-        return nbRvsmExemptedMsg;
+        return getPresent(RVSM_EXEMPTED_MESSAGES);
     }
 
     public int getNbRvsmUnknownMsg() {
-        return nbRvsmUnknownMsg;
+        return getPresent(RVSM_UNKNOWN_MESSAGES);
     }
 
     public int getItem120Present() {
-        return item120Present;
+        return getPresent(ITEM_120);
     }
 
     public int getItem120Invalid() {
-        return item120Invalid;
+        return getInvalid(ITEM_120);
     }
 
     public int getItem130Present() {
-        return item130Present;
+        return getPresent(ITEM_130);
     }
 
     public int getItem130Invalid() {
-        return item130Invalid;
+        return getInvalid(ITEM_130);
     }
 
     public int getNbPlanCreationMsg() {
-        return nbPlanCreationMsg;
+        return getPresent(PLAN_CREATION_MESSAGES);
     }
 
     public int getNbPlanModificationMsg() {
-        return nbPlanModificationMsg;
+        return getPresent(PLAN_MODIFICATION_MESSAGES);
     }
 
     public int getNbPlanRepetitionMsg() {
-        return nbPlanRepetitionMsg;
+        return getPresent(PLAN_REPETITION_MESSAGES);
     }
 
     public int getNbManualPlanDeletionMsg() {
-        return nbManualPlanDeletionMsg;
+        return getPresent(MANUAL_PLAN_DELETION_MESSAGES);
     }
 
     public int getNbAutoPlanDeletionMsg() {
-        return nbAutoPlanDeletionMsg;
+        return getPresent(AUTO_PLAN_DELETION_MESSAGES);
     }
 
     public int getNbCorrelationMsg() {
-        return nbCorrelationMsg;
+        return getPresent(CORRELATION_MESSAGES);
     }
 
     public int getNbDecorrelationMsg() {
-        return nbDecorrelationMsg;
+        return getPresent(DECORRELATION_MESSAGES);
     }
 
     public int getNbStartLoopMsg() {
-        return nbStartLoopMsg;
+        return getPresent(START_LOOP_MESSAGES);
     }
 
     public int getNbEndLoopMsg() {
-        return nbEndLoopMsg;
+        return getPresent(END_LOOP_MESSAGES);
     }
 
     public int getItem140Present() {
-        return item140Present;
+        return getPresent(ITEM_140);
     }
 
     public int getItem140Invalid() {
-        return item140Invalid;
+        return getInvalid(ITEM_140);
     }
 
     public int getItem150Present() {
-        return item150Present;
+        return getPresent(ITEM_150);
     }
 
     public int getItem150Invalid() {
-        return item150Invalid;
+        return getInvalid(ITEM_150);
     }
 
     public int getItem160Present() {
-        return item160Present;
+        return getPresent(ITEM_160);
     }
 
     public int getItem160Invalid() {
-        return item160Invalid;
+        return getInvalid(ITEM_160);
     }
 
     public int getItem170Present() {
-        return item170Present;
+        return getPresent(ITEM_170);
     }
 
     public int getItem170Invalid() {
-        return item170Invalid;
+        return getInvalid(ITEM_170);
     }
 
     public int getItem180Present() {
-        return item180Present;
+        return getPresent(ITEM_180);
     }
 
     public int getItem180Invalid() {
-        return item180Invalid;
+        return getInvalid(ITEM_180);
     }
 
     public int getItem190Present() {
-        return item190Present;
+        return getPresent(ITEM_190);
     }
 
     public int getItem190Invalid() {
-        return item190Invalid;
+        return getInvalid(ITEM_190);
     }
 
     public int getItem200Present() {
-        return item200Present;
+        return getPresent(ITEM_200);
     }
 
     public int getItem200Invalid() {
-        return item200Invalid;
+        return getInvalid(ITEM_200);
     }
 
     public int getItem210Present() {
-        return item210Present;
+        return getPresent(ITEM_210);
     }
 
     public int getItem210Invalid() {
-        return item210Invalid;
+        return getInvalid(ITEM_210);
     }
 
     public int getItem220Present() {
-        return item220Present;
+        return getPresent(ITEM_220);
     }
 
     public int getItem220Invalid() {
-        return item220Invalid;
+        return getInvalid(ITEM_220);
     }
 
     public int getItem230Present() {
-        return item230Present;
+        return getPresent(ITEM_230);
     }
 
     public int getItem230Invalid() {
-        return item230Invalid;
+        return getInvalid(ITEM_230);
     }
 
     public int getItem240Present() {
-        return item240Present;
+        return getPresent(ITEM_240);
     }
 
     public int getItem240Invalid() {
-        return item240Invalid;
+        return getInvalid(ITEM_240);
     }
 
     public int getItem250Present() {
-        return item250Present;
+        return getPresent(ITEM_250);
     }
 
     public int getItem250Invalid() {
-        return item250Invalid;
+        return getInvalid(ITEM_250);
     }
 
     public int getItem251Present() {
-        return item251Present;
+        return getPresent(ITEM_251);
     }
 
     public int getItem251Invalid() {
-        return item251Invalid;
+        return getInvalid(ITEM_251);
     }
 
     public int getItem171Present() {
-        return item171Present;
+        return getPresent(ITEM_171);
     }
 
     public int getItem171Invalid() {
-        return item171Invalid;
+        return getInvalid(ITEM_171);
     }
 
     public int getItem151Present() {
-        return item151Present;
+        return getPresent(ITEM_151);
     }
 
     public int getItem151Invalid() {
-        return item151Invalid;
+        return getInvalid(ITEM_151);
     }
 
     public int getNbUnknownPlanMsg() {
-        return nbUnknownPlanMsg;
-    }
-
-    private void createPrintMsg() {
-        clearDebugMsg();
-        appendNewLine();
-        appendNewLine();
-        appendItemCounterMsg("Asterix Category 150 Counters", "Nb. decoded", "Nb. invalid");
-        appendItemCounterMsg("Number of records", getNbRecords(), getNbOfInvalidRecords());
-        appendItemCounterMsg(
-                "Item 010 - Destination ID",
-                item010Present,
-                item010Invalid);
-        appendItemCounterMsg(
-                "Item 020 - Source ID",
-                item020Present,
-                item020Invalid);
-        appendItemCounterMsg(
-                "Item 030 - MessageType",
-                item030Present,
-                item030Invalid);
-        appendItemCounterMsg("  CREATION", this.nbPlanCreationMsg, 0);
-        appendItemCounterMsg("  MODIFICATION", this.nbPlanModificationMsg, 0);
-        appendItemCounterMsg("  REPETITION", this.nbPlanRepetitionMsg, 0);
-        appendItemCounterMsg("  MANUAL DELETION", this.nbAutoPlanDeletionMsg, 0);
-        appendItemCounterMsg("  AUTO DELETION", this.nbAutoPlanDeletionMsg, 0);
-        appendItemCounterMsg("  CORRELATION", this.nbCorrelationMsg, 0);
-        appendItemCounterMsg("  DE-CORRELATION", this.nbDecorrelationMsg, 0);
-        appendItemCounterMsg("  START LOOP", this.nbStartLoopMsg, 0);
-        appendItemCounterMsg("  END LOOP", this.nbEndLoopMsg, 0);
-        appendItemCounterMsg(
-                "Item 040 - Plan Number",
-                item040Present,
-                item040Invalid);
-        appendItemCounterMsg(
-                "Item 050 - Callsign",
-                item050Present,
-                item050Invalid);
-        appendItemCounterMsg(
-                "Item 060 - Present Mode-A",
-                item060Present,
-                item060Invalid);
-        appendItemCounterMsg(
-                "Item 070 - Next Mode-A",
-                item070Present,
-                item070Invalid);
-        appendItemCounterMsg(
-                "Item 080 - Departure",
-                item080Present,
-                item080Invalid);
-        appendItemCounterMsg(
-                "Item 090 - Destination",
-                item090Present,
-                item090Invalid);
-        appendItemCounterMsg(
-                "Item 100 - Flight Type Flags",
-                item100Present,
-                item100Invalid);
-        appendItemCounterMsg("  GAT", this.nbGatMsg, 0);
-        appendItemCounterMsg("  OAT", this.nbOatMsg, 0);
-        appendItemCounterMsg("  UNKNOWN", this.nbUnknownTrafficMsg, 0);
-
-        appendItemCounterMsg(
-                "Item 110 - Flight Status Flags",
-                item110Present,
-                item110Invalid);
-        appendItemCounterMsg("  EQUIPPED", this.nbRvsmEquippedMsg, 0);
-        appendItemCounterMsg("  CAPABLE", this.nbRvsmCapableMsg, 0);
-        appendItemCounterMsg("  EXEMPTED", this.nbRvsmExemptedMsg, 0);
-        appendItemCounterMsg("  UNKNOWN", this.nbRvsmUnknownMsg, 0);
-        appendItemCounterMsg(
-                "Item 120 - Aircraft Type & Wake Turbulence",
-                item120Present,
-                item120Invalid);
-        appendItemCounterMsg(
-                "Item 130 - Cleared Flight Level (CFL)",
-                item130Present,
-                item130Invalid);
-        appendItemCounterMsg(
-                "Item 140 - Route Points, Description",
-                item140Present,
-                item140Invalid);
-        appendItemCounterMsg(
-                "Item 150 - Route Points, Coordinates",
-                item150Present,
-                item150Invalid);
-        appendItemCounterMsg(
-                "Item 160 - Route Points, Time",
-                item160Present,
-                item160Invalid);
-        appendItemCounterMsg(
-                "Item 170 - Route Points, Flight Level",
-                item170Present,
-                item170Invalid);
-        appendItemCounterMsg(
-                "Item 180 - Route Points, Speed",
-                item180Present,
-                item180Invalid);
-        appendItemCounterMsg(
-                "Item 190 - Controller ID",
-                item190Present,
-                item190Invalid);
-        appendItemCounterMsg(
-                "Item 200 - Field 18",
-                item200Present,
-                item200Invalid);
-        appendItemCounterMsg(
-                "Item 210 - Correlated Track Number",
-                item210Present,
-                item210Invalid);
-        appendItemCounterMsg(
-                "Item 171 - Route Points, RFL",
-                item171Present,
-                item171Invalid);
-        appendItemCounterMsg(
-                "Item 151 - Route Points, Geographic Pos",
-                item151Present,
-                item151Invalid);
-        appendItemCounterMsg(
-                "Item 220 - Maximum Plan Count",
-                item220Present,
-                item220Invalid);
-        appendItemCounterMsg(
-                "Item 230 - Number of Plans",
-                item230Present,
-                item230Invalid);
-        appendItemCounterMsg(
-                "Item 240 - Newly Correlated Plans",
-                item240Present,
-                item240Invalid);
-        appendItemCounterMsg(
-                "Item 250 - Newly De-correlated Plans",
-                item250Present,
-                item250Invalid);
+        return getPresent(UNKNOWN_PLAN_MESSAGES);
     }
 }
@@ -0,0 +1,216 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.counters;
+
+import jlg.jade.asterix.AsterixItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Describes the counters of an Asterix category: the items (and subfields) that are counted
+ * and the values that are counted inside them (eg. STCA messages in Cat004/000). The entries
+ * are counted and printed in the order in which they are defined.
+ * Every entry is backed by two slots of a primitive array:
+ * - items: number of present items and number of invalid items
+ * - values: number of records matching the condition (second slot unused)
+ * The first two slots hold the number of records and the number of invalid records.
+ * Items decoded lazily (see LazyAsterixItem) are declared with lazyItem, so the counters do not
+ * decode them: while an item waits to be decoded, it is counted as present, but its validity, its
+ * subfields and its values are not counted. They are counted for the records where the item was
+ * decoded (eager decoding, or a consumer called the getter before the data block was counted).
+ *
+ * @param <R> The type of record (eg. Cat062Record)
+ */
+public final class CounterDefinition<R extends AsterixItem> {
+    static final int NB_RECORDS = 0;
+    static final int NB_INVALID_RECORDS = 1;
+    private static final int FIRST_ENTRY_SLOT = 2;
+
+    private final String title;
+    private final List<String> labels;
+    private final List<Function<R, ? extends AsterixItem>> itemAccessors;
+    private final List<Predicate<R>> valueConditions;
+    private final List<Predicate<R>> deferredConditions;
+    private final List<Boolean> presentWhenDeferred;
+
+    public CounterDefinition(String title) {
+        this.title = title;
+        this.labels = new ArrayList<>();
+        this.itemAccessors = new ArrayList<>();
+        this.valueConditions = new ArrayList<>();
+        this.deferredConditions = new ArrayList<>();
+        this.presentWhenDeferred = new ArrayList<>();
+    }
+
+    /**
+     * Count the presence and the validity of an item
+     *
+     * @param label    The label printed in the report
+     * @param accessor Returns the item from the record, or null if it is not present
+     * @return The index of the entry
+     */
+    public int item(String label, Function<R, ? extends AsterixItem> accessor) {
+        if (accessor instanceof LazyItemAccessor) {
+            LazyItemAccessor<R, ?> lazyAccessor = (LazyItemAccessor<R, ?>) accessor;
+            return addEntry(label, accessor, null, lazyAccessor.deferred, !lazyAccessor.subfield);
+        }
+        return addEntry(label, accessor, null, null, false);
+    }
+
+    /**
+     * Count the records that satisfy a condition
+     *
+     * @param label     The label printed in the report
+     * @param condition The condition. It is only evaluated on records for which it is relevant,
+     *                  so it must check for the presence of the items it uses.
+     * @return The index of the entry
+     */
+    public int value(String label, Predicate<R> condition) {
+        return addEntry(label, null, condition, null, false);
+    }
+
+    /**
+     * Count the records where an item is present and satisfies a condition
+     *
+     * @param label     The label printed in the report
+     * @param accessor  Returns the item from the record, or null if it is not present
+     * @param condition The condition, evaluated only on present items
+     * @return The index of the entry
+     */
+    public <S> int value(String label, Function<R, S> accessor, Predicate<S> condition) {
+        Predicate<R> recordCondition = record -> {
+            S item = accessor.apply(record);
+            return item != null && condition.test(item);
+        };
+        if (accessor instanceof LazyItemAccessor) {
+            return addEntry(label, null, recordCondition, ((LazyItemAccessor<R, S>) accessor).deferred, false);
+        }
+        return value(label, recordCondition);
+    }
+
+    /**
+     * @return An accessor for a subfield of a compound item, returning null if the item is not
+     * present
+     */
+    public static <R, P, S> Function<R, S> subfield(Function<R, P> item, Function<P, S> subfield) {
+        Function<R, S> accessor = record -> {
+            P parent = item.apply(record);
+            return parent == null ? null : subfield.apply(parent);
+        };
+        if (item instanceof LazyItemAccessor) {
+            return new LazyItemAccessor<>(accessor, ((LazyItemAccessor<R, P>) item).deferred, true);
+        }
+        return accessor;
+    }
+
+    /**
+     * @param item     Returns the item from the record, decoding it if needed
+     * @param deferred True if the item of the record is present and waits to be decoded
+     * @return An accessor for an item decoded lazily. The counters only call it when the item is
+     * not deferred. The accessors of its subfields are created with subfield.
+     */
+    public static <R, S> Function<R, S> lazyItem(Function<R, S> item, Predicate<R> deferred) {
+        return new LazyItemAccessor<>(item, deferred, false);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getNbEntries() {
+        return labels.size();
+    }
+
+    public String getLabel(int entry) {
+        return labels.get(entry);
+    }
+
+    public boolean isValueEntry(int entry) {
+        return valueConditions.get(entry) != null;
+    }
+
+    /**
+     * @return The number of slots needed to store all the counters
+     */
+    int getNbSlots() {
+        return FIRST_ENTRY_SLOT + 2 * labels.size();
+    }
+
+    static int presentSlot(int entry) {
+        return FIRST_ENTRY_SLOT + 2 * entry;
+    }
+
+    static int invalidSlot(int entry) {
+        return FIRST_ENTRY_SLOT + 2 * entry + 1;
+    }
+
+    /**
+     * Add the counters of a record to the given slots
+     */
+    void count(R record, long[] slots) {
+        slots[NB_RECORDS]++;
+        if (!record.isValid()) {
+            slots[NB_INVALID_RECORDS]++;
+        }
+        int nbEntries = labels.size();
+        for (int entry = 0; entry < nbEntries; entry++) {
+            Predicate<R> deferred = deferredConditions.get(entry);
+            if (deferred != null && deferred.test(record)) {
+                if (presentWhenDeferred.get(entry)) {
+                    slots[presentSlot(entry)]++;
+                }
+                continue;
+            }
+            Predicate<R> condition = valueConditions.get(entry);
+            if (condition != null) {
+                if (condition.test(record)) {
+                    slots[presentSlot(entry)]++;
+                }
+                continue;
+            }
+            AsterixItem item = itemAccessors.get(entry).apply(record);
+            if (item != null) {
+                slots[presentSlot(entry)]++;
+                if (!item.isValid()) {
+                    slots[invalidSlot(entry)]++;
+                }
+            }
+        }
+    }
+
+    private int addEntry(String label, Function<R, ? extends AsterixItem> accessor, Predicate<R> condition,
+                         Predicate<R> deferred, boolean presentWhenDeferred) {
+        labels.add(label);
+        itemAccessors.add(accessor);
+        valueConditions.add(condition);
+        deferredConditions.add(deferred);
+        this.presentWhenDeferred.add(presentWhenDeferred);
+        return labels.size() - 1;
+    }
+
+    /**
+     * Accessor of an item decoded lazily, or of one of its subfields
+     */
+    private static final class LazyItemAccessor<R, S> implements Function<R, S> {
+        private final Function<R, S> accessor;
+        private final Predicate<R> deferred;
+        private final boolean subfield;
+
+        private LazyItemAccessor(Function<R, S> accessor, Predicate<R> deferred, boolean subfield) {
+            this.accessor = accessor;
+            this.deferred = deferred;
+            this.subfield = subfield;
+        }
+
+        @Override
+        public S apply(R record) {
+            return accessor.apply(record);
+        }
+    }
+}
@@ -4,67 +4,79 @@
 
 package jlg.jade.asterix.counters;
 
+import jlg.jade.asterix.AsterixCategories;
+import jlg.jade.asterix.AsterixCategoryPlugin;
 import jlg.jade.asterix.AsterixDataBlock;
 
+/**
+ * Decoding report for the supported categories: the standard ones and the ones added through
+ * AsterixCategories, when their plugin provides an item counter. The report can be updated from
+ * several decoding threads, and reports of different workers can be merged.
+ */
 public class DefaultDecodingReport implements AsterixDecodingReport {
-    private boolean isCat048CounterUpdated;
-    private boolean isCat034CounterUpdated;
-    private boolean isCat004CounterUpdated;
-    private boolean isCat062CounterUpdated;
-    private boolean isCat065CounterUpdated;
-    private boolean isCat150CounterUpdated;
-
-    private Cat004ItemCounter cat004ItemCounter;
-    private Cat034ItemCounter cat034ItemCounter;
-    private Cat048ItemCounter cat048ItemCounter;
-    private Cat062ItemCounter cat062ItemCounter;
-    private Cat065ItemCounter cat065ItemCounter;
-    private Cat150ItemCounter cat150ItemCounter;
+    private static final int NB_OF_CATEGORIES = 256;
+
+    private final ArrayItemCounter<?>[] itemCounters;
+    private final Cat004ItemCounter cat004ItemCounter;
+    private final Cat034ItemCounter cat034ItemCounter;
+    private final Cat048ItemCounter cat048ItemCounter;
+    private final Cat062ItemCounter cat062ItemCounter;
+    private final Cat065ItemCounter cat065ItemCounter;
+    private final Cat150ItemCounter cat150ItemCounter;
 
     public DefaultDecodingReport(){
-        cat004ItemCounter = new Cat004ItemCounter();
-        cat034ItemCounter = new Cat034ItemCounter();
-        cat048ItemCounter = new Cat048ItemCounter();
-        cat062ItemCounter = new Cat062ItemCounter();
-        cat065ItemCounter = new Cat065ItemCounter();
-        cat150ItemCounter = new Cat150ItemCounter();
+        itemCounters = new ArrayItemCounter<?>[NB_OF_CATEGORIES];
+        for (int category : AsterixCategories.getCategoryNumbers()) {
+            AsterixCategoryPlugin<?> plugin = AsterixCategories.get(category);
+            itemCounters[category] = plugin.createItemCounter();
+        }
+        cat004ItemCounter = itemCounter(4, Cat004ItemCounter.class, new Cat004ItemCounter());
+        cat034ItemCounter = itemCounter(34, Cat034ItemCounter.class, new Cat034ItemCounter());
+        cat048ItemCounter = itemCounter(48, Cat048ItemCounter.class, new Cat048ItemCounter());
+        cat062ItemCounter = itemCounter(62, Cat062ItemCounter.class, new Cat062ItemCounter());
+        cat065ItemCounter = itemCounter(65, Cat065ItemCounter.class, new Cat065ItemCounter());
+        cat150ItemCounter = itemCounter(150, Cat150ItemCounter.class, new Cat150ItemCounter());
     }
 
     @Override
     public void update(AsterixDataBlock adb) {
-        switch (adb.getCategory()) {
-            case 4:{
-                cat004ItemCounter.increment(adb);
-                isCat004CounterUpdated = true;
-                break;
-            }
-            case 34:{
-                cat034ItemCounter.increment(adb);
-                isCat034CounterUpdated = true;
-                break;
-            }
-            case 48:{
-                cat048ItemCounter.increment(adb);
-                isCat048CounterUpdated = true;
-            }
-            case 62:{
-                cat062ItemCounter.increment(adb);
-                isCat062CounterUpdated = true;
-                break;
-            }
-            case 65:{
-                cat065ItemCounter.increment(adb);
-                isCat065CounterUpdated = true;
-                break;
+        ArrayItemCounter<?> itemCounter = itemCounters[adb.getCategory() & 0xFF];
+        if (itemCounter != null) {
+            itemCounter.increment(adb);
+        }
+    }
+
+    /**
+     * Add the counters of another report (eg. the report of another decoding worker) to this
+     * report
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void merge(DefaultDecodingReport other) {
+        for (int category = 0; category < NB_OF_CATEGORIES; category++) {
+            if (itemCounters[category] != null && other.itemCounters[category] != null) {
+                ((ArrayItemCounter) itemCounters[category]).merge(other.itemCounters[category]);
             }
-            case 150:{
-                cat150ItemCounter.increment(adb);
-                isCat150CounterUpdated = true;
-                break;
+        }
+    }
+
+    /**
+     * Set all the counters to 0
+     */
+    public void reset() {
+        for (ArrayItemCounter<?> itemCounter : itemCounters) {
+            if (itemCounter != null) {
+                itemCounter.reset();
             }
         }
     }
 
+    /**
+     * @return The item counter of the given category, or null if its items are not counted
+     */
+    public ArrayItemCounter<?> getItemCounter(int category) {
+        return itemCounters[category & 0xFF];
+    }
+
     @Override
     public Cat004ItemCounter getCat004ItemCounter() {
         return cat004ItemCounter;
@@ -99,23 +111,10 @@ public class DefaultDecodingReport implements AsterixDecodingReport {
         sb.append("*** ASTERIX DECODING REPORT ***");
         sb.append(System.lineSeparator());
 
-        if(isCat004CounterUpdated) {
-            sb.append(cat004ItemCounter.getDebugString());
-        }
-        if(isCat034CounterUpdated) {
-            sb.append(cat034ItemCounter.getDebugString());
-        }
-        if(isCat048CounterUpdated) {
-            sb.append(cat048ItemCounter.getDebugString());
-        }
-        if(isCat062CounterUpdated) {
-            sb.append(cat062ItemCounter.getDebugString());
-        }
-        if(isCat065CounterUpdated) {
-            sb.append(cat065ItemCounter.getDebugString());
-        }
-        if(isCat150CounterUpdated) {
-            sb.append(cat150ItemCounter.getDebugString());
+        for (ArrayItemCounter<?> itemCounter : itemCounters) {
+            if (itemCounter != null && itemCounter.getNbRecords() > 0) {
+                sb.append(itemCounter.getDebugString());
+            }
         }
 
         sb.append(System.lineSeparator());
@@ -125,4 +124,14 @@ public class DefaultDecodingReport implements AsterixDecodingReport {
         return sb.toString();
     }
 
+    /**
+     * @return The counter created by the plugin of the category, or the given counter if the
+     * category has been replaced by a plugin that does not count the same items
+     */
+    private <C extends ArrayItemCounter<?>> C itemCounter(int category, Class<C> counterType, C defaultCounter) {
+        if (counterType.isInstance(itemCounters[category])) {
+            return counterType.cast(itemCounters[category]);
+        }
+        return defaultCounter;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.counters;
+
+import jlg.jade.common.DebugMessageSource;
+
+/**
+ * Consistent copy of the values of an item counter at a given moment: every record is either
+ * completely included or not at all.
+ */
+public class ItemCounterSnapshot extends DebugMessageSource {
+    private final CounterDefinition<?> definition;
+    private final long[] slots;
+
+    ItemCounterSnapshot(CounterDefinition<?> definition, long[] slots) {
+        this.definition = definition;
+        this.slots = slots;
+
+        appendNewLine();
+        appendItemCounterMsg(definition.getTitle(), "Nb. decoded", "Nb. invalid");
+        appendItemCounterMsg("Number of records", getNbRecords(), getNbOfInvalidRecords());
+        for (int entry = 0; entry < definition.getNbEntries(); entry++) {
+            if (definition.isValueEntry(entry)) {
+                appendItemCounterMsg(definition.getLabel(entry), getPresent(entry), "");
+            } else {
+                appendItemCounterMsg(definition.getLabel(entry), getPresent(entry), getInvalid(entry));
+            }
+        }
+    }
+
+    public long getNbRecords() {
+        return slots[CounterDefinition.NB_RECORDS];
+    }
+
+    public long getNbOfInvalidRecords() {
+        return slots[CounterDefinition.NB_INVALID_RECORDS];
+    }
+
+    /**
+     * @return The number of times the item was present (or the value was counted)
+     */
+    public long getPresent(int entry) {
+        return slots[CounterDefinition.presentSlot(entry)];
+    }
+
+    /**
+     * @return The number of times the item was invalid
+     */
+    public long getInvalid(int entry) {
+        return slots[CounterDefinition.invalidSlot(entry)];
+    }
+
+    public CounterDefinition<?> getDefinition() {
+        return definition;
+    }
+
+    long[] getSlots() {
+        return slots;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.spec;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.common.AsterixException;
+import jlg.jade.common.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The UAP and the items of an Asterix category, read from a specification file. A specification
+ * describes the length layout of every item, and the bit fields of the fixed length items, so a
+ * category can be decoded by a SpecFieldExtractor without hand written item classes.
+ * The specification file is a text file with one declaration per line ('#' starts a comment):
+ * <pre>
+ * category &lt;number&gt; &lt;max FSPEC octets&gt; &lt;name&gt;
+ * item &lt;FSPEC index&gt; &lt;name&gt; &lt;layout&gt;
+ *   subfield &lt;FSPEC index&gt; &lt;layout&gt;
+ *   field &lt;name&gt; &lt;first bit&gt; &lt;bits&gt; [signed] [lsb &lt;lsb&gt;]
+ * </pre>
+ * Layouts are 'fixed &lt;octets&gt;', 'variable [&lt;octets&gt;]', 'repetitive &lt;octets&gt;',
+ * 'explicit', 'length-prefixed' and 'compound &lt;max FSPEC octets&gt;'. Subfields are added to
+ * the last compound item, and fields to the last fixed length item. FSPEC indexes are the ones
+ * used by FspecAsterixData: the FX bit of the first octet is at index 0 and its MSB at index 7.
+ * The specifications of the supported categories are bundled with the library (see fromResource).
+ */
+public final class AsterixSpec {
+    private static final String RESOURCE_FOLDER = "/jlg/jade/asterix/spec/";
+    private static final int MAX_FSPEC_SIZE_IN_BYTES = 7;
+    private static final int MAX_CATEGORY = 255;
+
+    private final int category;
+    private final String name;
+    private final int maxFspecSizeInBytes;
+    private final ItemSpec[] items;
+
+    private AsterixSpec(int category, String name, int maxFspecSizeInBytes) {
+        this.category = category;
+        this.name = name;
+        this.maxFspecSizeInBytes = maxFspecSizeInBytes;
+        this.items = new ItemSpec[maxFspecSizeInBytes * Constants.BYTE_TO_BITS];
+    }
+
+    /**
+     * Reads a specification bundled with the library
+     *
+     * @param resourceName The name of the specification file (eg. cat062.spec)
+     */
+    public static AsterixSpec fromResource(String resourceName) {
+        InputStream stream = AsterixSpec.class.getResourceAsStream(RESOURCE_FOLDER + resourceName);
+        if (stream == null) {
+            throw new AsterixException.InvalidSpecification("Specification not found: " + resourceName);
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a specification from a string
+     */
+    public static AsterixSpec parse(String specification) {
+        try {
+            return parse(new StringReader(specification));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a specification
+     *
+     * @throws AsterixException.InvalidSpecification if the specification is not valid
+     */
+    public static AsterixSpec parse(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        AsterixSpec spec = null;
+        ItemSpec lastItem = null;
+        String line;
+        int lineNb = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNb++;
+            int commentStart = line.indexOf('#');
+            String[] tokens = (commentStart >= 0 ? line.substring(0, commentStart) : line).trim().split("\\s+");
+            if (tokens[0].isEmpty()) {
+                continue;
+            }
+            try {
+                if (spec == null) {
+                    spec = parseCategory(tokens);
+                    continue;
+                }
+                switch (tokens[0]) {
+                    case "item":
+                        lastItem = spec.parseItem(tokens);
+                        break;
+                    case "subfield":
+                        parseSubfield(tokens, lastItem);
+                        break;
+                    case "field":
+                        parseField(tokens, lastItem);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown declaration " + tokens[0]);
+                }
+            } catch (RuntimeException e) {
+                throw new AsterixException.InvalidSpecification("Line " + lineNb + ": " + e.getMessage());
+            }
+        }
+        if (spec == null) {
+            throw new AsterixException.InvalidSpecification("The category declaration is missing");
+        }
+        return spec;
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxFspecSizeInBytes() {
+        return maxFspecSizeInBytes;
+    }
+
+    /**
+     * @return The item at the given FSPEC index, or null for FX and spare bits
+     */
+    public ItemSpec getItem(int fspecIndex) {
+        return items[fspecIndex];
+    }
+
+    /**
+     * @return The item with the given name (eg. I062/040), or null
+     */
+    public ItemSpec getItem(String itemName) {
+        for (ItemSpec item : items) {
+            if (item != null && item.getName().equals(itemName)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The items, in FRN order
+     */
+    public List<ItemSpec> getItems() {
+        List<ItemSpec> result = new ArrayList<>();
+        for (int octet = 0; octet < maxFspecSizeInBytes; octet++) {
+            for (int bit = 7; bit > 0; bit--) {
+                ItemSpec item = items[octet * Constants.BYTE_TO_BITS + bit];
+                if (item != null) {
+                    result.add(item);
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static AsterixSpec parseCategory(String[] tokens) {
+        if (!tokens[0].equals("category") || tokens.length < 4) {
+            throw new IllegalArgumentException("Expected: category <number> <max FSPEC octets> <name>");
+        }
+        int category = checkRange(Integer.parseInt(tokens[1]), 0, MAX_CATEGORY, "category");
+        int maxFspecSize = checkRange(Integer.parseInt(tokens[2]), 1, MAX_FSPEC_SIZE_IN_BYTES, "FSPEC size");
+        String name = String.join(" ", Arrays.copyOfRange(tokens, 3, tokens.length));
+        return new AsterixSpec(category, name, maxFspecSize);
+    }
+
+    private ItemSpec parseItem(String[] tokens) {
+        if (tokens.length < 4) {
+            throw new IllegalArgumentException("Expected: item <FSPEC index> <name> <layout>");
+        }
+        int fspecIndex = checkFspecIndex(Integer.parseInt(tokens[1]), maxFspecSizeInBytes);
+        if (items[fspecIndex] != null) {
+            throw new IllegalArgumentException("Duplicate FSPEC index " + fspecIndex);
+        }
+        if (getItem(tokens[2]) != null) {
+            throw new IllegalArgumentException("Duplicate item " + tokens[2]);
+        }
+        ItemSpec item = new ItemSpec(fspecIndex, tokens[2], parseLayout(tokens, 3));
+        items[fspecIndex] = item;
+        return item;
+    }
+
+    private static void parseSubfield(String[] tokens, ItemSpec item) {
+        if (item == null || item.getLayout().getKind() != AsterixItemLayout.Kind.COMPOUND) {
+            throw new IllegalArgumentException("Subfields can only be added to compound items");
+        }
+        if (tokens.length < 3) {
+            throw new IllegalArgumentException("Expected: subfield <FSPEC index> <layout>");
+        }
+        AsterixItemLayout layout = item.getLayout();
+        int fspecIndex = checkFspecIndex(Integer.parseInt(tokens[1]), layout.getMaxFspecSizeInBytes());
+        layout.with(fspecIndex, parseLayout(tokens, 2));
+    }
+
+    private static void parseField(String[] tokens, ItemSpec item) {
+        if (item == null || item.getLayout().getKind() != AsterixItemLayout.Kind.FIXED) {
+            throw new IllegalArgumentException("Fields can only be added to fixed length items");
+        }
+        if (tokens.length < 4) {
+            throw new IllegalArgumentException("Expected: field <name> <first bit> <bits> [signed] [lsb <lsb>]");
+        }
+        int itemBits = item.getLayout().getSize() * Constants.BYTE_TO_BITS;
+        int bitOffset = checkRange(Integer.parseInt(tokens[2]), 0, itemBits - 1, "first bit");
+        int width = checkRange(Integer.parseInt(tokens[3]), 1, Math.min(64, itemBits - bitOffset), "bits");
+        boolean signed = false;
+        double lsb = 1;
+        for (int i = 4; i < tokens.length; i++) {
+            if (tokens[i].equals("signed")) {
+                signed = true;
+            } else if (tokens[i].equals("lsb") && i + 1 < tokens.length) {
+                lsb = Double.parseDouble(tokens[++i]);
+            } else {
+                throw new IllegalArgumentException("Unknown field option " + tokens[i]);
+            }
+        }
+        if (item.getField(tokens[1]) != null) {
+            throw new IllegalArgumentException("Duplicate field " + tokens[1]);
+        }
+        item.addField(new FieldSpec(tokens[1], bitOffset, width, signed, lsb));
+    }
+
+    private static AsterixItemLayout parseLayout(String[] tokens, int start) {
+        String kind = tokens[start];
+        boolean hasSize = start + 1 < tokens.length;
+        switch (kind) {
+            case "fixed":
+                return AsterixItemLayout.fixed(parseSize(tokens, start));
+            case "variable":
+                return hasSize ? AsterixItemLayout.variable(parseSize(tokens, start)) : AsterixItemLayout.variable();
+            case "repetitive":
+                return AsterixItemLayout.repetitive(parseSize(tokens, start));
+            case "explicit":
+                return AsterixItemLayout.explicit();
+            case "length-prefixed":
+                return AsterixItemLayout.lengthPrefixed();
+            case "compound":
+                int maxFspecSize = checkRange(parseSize(tokens, start), 1, MAX_FSPEC_SIZE_IN_BYTES, "FSPEC size");
+                return AsterixItemLayout.compound(maxFspecSize);
+            default:
+                throw new IllegalArgumentException("Unknown layout " + kind);
+        }
+    }
+
+    private static int parseSize(String[] tokens, int start) {
+        if (start + 1 >= tokens.length) {
+            throw new IllegalArgumentException("The size of the " + tokens[start] + " layout is missing");
+        }
+        return checkRange(Integer.parseInt(tokens[start + 1]), 1, 255, "size");
+    }
+
+    private static int checkFspecIndex(int fspecIndex, int maxFspecSizeInBytes) {
+        checkRange(fspecIndex, 1, maxFspecSizeInBytes * Constants.BYTE_TO_BITS - 1, "FSPEC index");
+        if (fspecIndex % Constants.BYTE_TO_BITS == 0) {
+            throw new IllegalArgumentException("FSPEC index " + fspecIndex + " is a FX bit");
+        }
+        return fspecIndex;
+    }
+
+    private static int checkRange(int value, int min, int max, String name) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value + ", expected " + min + " to " + max);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.spec;
+
+/**
+ * Definition of a bit field of a fixed length item, read from a specification file
+ */
+public final class FieldSpec {
+    private final String name;
+    private final int bitOffset;
+    private final int width;
+    private final boolean signed;
+    private final double lsb;
+
+    /**
+     * @param name      The name of the field, unique in its item
+     * @param bitOffset The index of the first bit of the field, 0 being the MSB of the item
+     * @param width     The number of bits of the field
+     * @param signed    True if the field is a two's complement number
+     * @param lsb       The value of the least significant bit of the field
+     */
+    public FieldSpec(String name, int bitOffset, int width, boolean signed, double lsb) {
+        this.name = name;
+        this.bitOffset = bitOffset;
+        this.width = width;
+        this.signed = signed;
+        this.lsb = lsb;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBitOffset() {
+        return bitOffset;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isSigned() {
+        return signed;
+    }
+
+    public double getLsb() {
+        return lsb;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.spec;
+
+import jlg.jade.asterix.AsterixItemLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Definition of a data item of a record, read from a specification file: its FSPEC index, its
+ * length layout and, for fixed length items, its bit fields
+ */
+public final class ItemSpec {
+    private final int fspecIndex;
+    private final String name;
+    private final AsterixItemLayout layout;
+    private final List<FieldSpec> fields;
+
+    ItemSpec(int fspecIndex, String name, AsterixItemLayout layout) {
+        this.fspecIndex = fspecIndex;
+        this.name = name;
+        this.layout = layout;
+        this.fields = new ArrayList<>();
+    }
+
+    public int getFspecIndex() {
+        return fspecIndex;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AsterixItemLayout getLayout() {
+        return layout;
+    }
+
+    public List<FieldSpec> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * @return The field with the given name, or null
+     */
+    public FieldSpec getField(String fieldName) {
+        for (FieldSpec field : fields) {
+            if (field.getName().equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    void addField(FieldSpec field) {
+        fields.add(field);
+    }
+}
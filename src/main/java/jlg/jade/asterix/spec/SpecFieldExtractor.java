@@ -0,0 +1,265 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.spec;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.common.BitReader;
+import jlg.jade.common.Constants;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the structure of the records of a category and extracts the fields of their fixed length
+ * items, from the AsterixSpec of the category. This is not a full decoder: the variable,
+ * repetitive, explicit and compound items are only located, by walking their length layout, and
+ * their content is neither decoded nor validated. Their raw bytes can be read from the SpecRecord.
+ * It is meant for tools that need the record boundaries and a few fixed fields of a category
+ * (eg. SAC/SIC, track number, position) without its item classes.
+ * The specification is compiled once, when the extractor is created: each item of the UAP gets a
+ * method handle, built from the BitReader methods with the bit offsets, widths and sizes of the
+ * specification bound as constants. Extracting a record only follows the FSPEC and invokes the
+ * handles of the present items, without interpreting the specification.
+ *
+ * @implNote Java 8 has no hidden classes, so the specification is compiled to method handle trees
+ * and not to bytecode. An extractor can be shared by several threads.
+ */
+public final class SpecFieldExtractor {
+    private static final int FX_BIT = 0x01;
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+    private static final MethodType ITEM_HANDLE_TYPE =
+            MethodType.methodType(int.class, SpecRecord.class, byte[].class, int.class, int.class);
+
+    private static final MethodHandle READ_UNSIGNED;
+    private static final MethodHandle READ_SIGNED;
+    private static final MethodHandle SET_VALUE;
+    private static final MethodHandle CHECK_FIXED_ITEM;
+    private static final MethodHandle END_OF_FIXED_ITEM;
+    private static final MethodHandle LAYOUT_ITEM;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType bitFieldType = MethodType.methodType(long.class, byte[].class, int.class, int.class, int.class);
+        try {
+            READ_UNSIGNED = lookup.findStatic(BitReader.class, "readUnsigned", bitFieldType);
+            READ_SIGNED = lookup.findStatic(BitReader.class, "readSigned", bitFieldType);
+            SET_VALUE = lookup.findVirtual(SpecRecord.class, "setValue",
+                    MethodType.methodType(void.class, int.class, long.class));
+            CHECK_FIXED_ITEM = lookup.findStatic(SpecFieldExtractor.class, "checkFixedItem",
+                    ITEM_HANDLE_TYPE.changeReturnType(void.class).insertParameterTypes(0, String.class, int.class));
+            END_OF_FIXED_ITEM = lookup.findStatic(SpecFieldExtractor.class, "endOfFixedItem",
+                    ITEM_HANDLE_TYPE.insertParameterTypes(0, int.class, int.class));
+            LAYOUT_ITEM = lookup.findStatic(SpecFieldExtractor.class, "layoutItem",
+                    ITEM_HANDLE_TYPE.insertParameterTypes(0, String.class, int.class, AsterixItemLayout.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AsterixSpec spec;
+    private final MethodHandle[] itemHandles;
+    private final Map<String, Integer> fspecIndexes;
+    private final Map<String, Integer> valueIndexes;
+
+    private SpecFieldExtractor(AsterixSpec spec) {
+        this.spec = spec;
+        this.itemHandles = new MethodHandle[spec.getMaxFspecSizeInBytes() * Constants.BYTE_TO_BITS];
+        this.fspecIndexes = new HashMap<>();
+        this.valueIndexes = new HashMap<>();
+        for (ItemSpec item : spec.getItems()) {
+            fspecIndexes.put(item.getName(), item.getFspecIndex());
+            itemHandles[item.getFspecIndex()] = compileItem(item);
+        }
+    }
+
+    /**
+     * Compiles a specification
+     *
+     * @return An extractor for the records of the category of the specification
+     */
+    public static SpecFieldExtractor compile(AsterixSpec spec) {
+        return new SpecFieldExtractor(spec);
+    }
+
+    public AsterixSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Extracts the records of the data blocks of the specification category found in a datagram.
+     * Data blocks of other categories are skipped.
+     *
+     * @param input  The raw data
+     * @param offset The offset of the first data block
+     * @param length The end of the data blocks
+     * @return The extracted records
+     */
+    public List<SpecRecord> extract(byte[] input, int offset, int length) {
+        List<SpecRecord> records = new ArrayList<>();
+        int end = Math.min(length, input.length);
+        while (offset < end) {
+            if (offset + DATA_BLOCK_HEADER_SIZE > end) {
+                throw new AsterixDecodingException.InvalidDataBlockLength("Incomplete data block header at " + offset);
+            }
+            int category = Byte.toUnsignedInt(input[offset]);
+            int blockLength = (Byte.toUnsignedInt(input[offset + 1]) << 8) | Byte.toUnsignedInt(input[offset + 2]);
+            if (blockLength < DATA_BLOCK_HEADER_SIZE || offset + blockLength > end) {
+                throw new AsterixDecodingException.InvalidDataBlockLength("Invalid data block length " +
+                        blockLength + " at " + offset);
+            }
+            if (category == spec.getCategory()) {
+                int recordOffset = offset + DATA_BLOCK_HEADER_SIZE;
+                while (recordOffset < offset + blockLength) {
+                    SpecRecord record = extractRecord(input, recordOffset, offset + blockLength);
+                    recordOffset += record.getSizeInBytes();
+                    records.add(record);
+                }
+            }
+            offset += blockLength;
+        }
+        return records;
+    }
+
+    /**
+     * Extracts one record
+     *
+     * @param input  The raw data
+     * @param offset The offset of the FSPEC of the record
+     * @param length The end of the available data
+     * @return The extracted record
+     */
+    public SpecRecord extractRecord(byte[] input, int offset, int length) {
+        int end = Math.min(length, input.length);
+        SpecRecord record = new SpecRecord(this, input, itemHandles.length, valueIndexes.size());
+        int recordOffset = offset;
+
+        //read the fspec
+        int fspecStart = offset;
+        int fspecSize = 0;
+        do {
+            if (fspecSize == spec.getMaxFspecSizeInBytes()) {
+                throw new AsterixDecodingException.UndeterminedFspecEnd();
+            }
+            if (offset >= end) {
+                throw unexpectedEndOfData("FSPEC", offset, end);
+            }
+            fspecSize++;
+            offset++;
+        } while ((input[offset - 1] & FX_BIT) != 0);
+
+        //locate the present items in FRN order (octet by octet, from MSB to LSB)
+        for (int octet = 0; octet < fspecSize; octet++) {
+            int fspecOctet = input[fspecStart + octet];
+            for (int bit = 7; bit > 0; bit--) {
+                if ((fspecOctet & (1 << bit)) == 0) {
+                    continue;
+                }
+                int fspecIndex = octet * Constants.BYTE_TO_BITS + bit;
+                MethodHandle itemHandle = itemHandles[fspecIndex];
+                if (itemHandle == null) {
+                    throw new AsterixDecodingException.UndefinedItem("FSPEC index " + fspecIndex +
+                            " is not defined by the specification of category " + spec.getCategory());
+                }
+                offset = invoke(itemHandle, record, input, offset, end);
+            }
+        }
+        record.setSizeInBytes(offset - recordOffset);
+        return record;
+    }
+
+    int fspecIndexOf(String itemName) {
+        Integer fspecIndex = fspecIndexes.get(itemName);
+        if (fspecIndex == null) {
+            throw new IllegalArgumentException("Unknown item " + itemName);
+        }
+        return fspecIndex;
+    }
+
+    int valueIndexOf(String itemName, String fieldName) {
+        Integer valueIndex = valueIndexes.get(itemName + "." + fieldName);
+        if (valueIndex == null) {
+            throw new IllegalArgumentException("Unknown field " + fieldName + " of " + itemName);
+        }
+        return valueIndex;
+    }
+
+    /**
+     * Builds the handle extracting an item. Its type is (SpecRecord, byte[], offset, end) -> next offset.
+     * Fixed length items check the available data, read their fields and return the offset
+     * after the item. The other items are only located, by walking their layout.
+     */
+    private MethodHandle compileItem(ItemSpec item) {
+        AsterixItemLayout layout = item.getLayout();
+        if (layout.getKind() != AsterixItemLayout.Kind.FIXED) {
+            return MethodHandles.insertArguments(LAYOUT_ITEM, 0, item.getName(), item.getFspecIndex(), layout);
+        }
+        MethodHandle handle = MethodHandles.insertArguments(END_OF_FIXED_ITEM, 0, item.getFspecIndex(),
+                layout.getSize());
+        List<FieldSpec> fields = item.getFields();
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            handle = MethodHandles.foldArguments(handle, compileField(item, fields.get(i)));
+        }
+        return MethodHandles.foldArguments(handle,
+                MethodHandles.insertArguments(CHECK_FIXED_ITEM, 0, item.getName(), layout.getSize()));
+    }
+
+    /**
+     * Builds the handle reading a field and storing it in the record:
+     * (SpecRecord, byte[], offset, end) -> void
+     */
+    private MethodHandle compileField(ItemSpec item, FieldSpec field) {
+        int valueIndex = valueIndexes.size();
+        valueIndexes.put(item.getName() + "." + field.getName(), valueIndex);
+        MethodHandle reader = MethodHandles.insertArguments(field.isSigned() ? READ_SIGNED : READ_UNSIGNED, 2,
+                field.getBitOffset(), field.getWidth());
+        MethodHandle store = MethodHandles.insertArguments(SET_VALUE, 1, valueIndex);
+        return MethodHandles.dropArguments(MethodHandles.collectArguments(store, 1, reader), 3, int.class);
+    }
+
+    private static int invoke(MethodHandle itemHandle, SpecRecord record, byte[] input, int offset, int end) {
+        try {
+            return (int) itemHandle.invokeExact(record, input, offset, end);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void checkFixedItem(String itemName, int size, SpecRecord record, byte[] input, int offset,
+                                       int end) {
+        if (offset + size > end) {
+            throw unexpectedEndOfData(itemName, offset, end);
+        }
+    }
+
+    private static int endOfFixedItem(int fspecIndex, int size, SpecRecord record, byte[] input, int offset,
+                                      int end) {
+        record.setItem(fspecIndex, offset, offset + size);
+        return offset + size;
+    }
+
+    private static int layoutItem(String itemName, int fspecIndex, AsterixItemLayout layout, SpecRecord record,
+                                  byte[] input, int offset, int end) {
+        int next = layout.skip(input, offset, end);
+        if (next == AsterixItemLayout.INVALID_OFFSET) {
+            throw unexpectedEndOfData(itemName, offset, end);
+        }
+        record.setItem(fspecIndex, offset, next);
+        return next;
+    }
+
+    private static RuntimeException unexpectedEndOfData(String itemName, int offset, int end) {
+        return new AsterixDecodingException.UnexpectedEndOfData("UNEXPECTED_END_OF_DATA while decoding " +
+                itemName + " offset: " + offset + ", available length: " + end);
+    }
+}
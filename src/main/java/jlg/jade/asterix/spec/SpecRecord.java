@@ -0,0 +1,99 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.asterix.spec;
+
+import java.util.Arrays;
+
+/**
+ * A record extracted by a SpecFieldExtractor. Items are found by their name in the specification
+ * (eg. I062/040) and the fields of the fixed length items by their name in the item (eg.
+ * TRACK_NUMBER). The fields are read with the record. The other items are only located: their raw
+ * bytes can be read with getItemBytes, and decoded by the item classes of the category.
+ *
+ * @implNote A record keeps a reference to the raw data, which must not be modified while the
+ * record is in use
+ */
+public final class SpecRecord {
+    private static final int NOT_PRESENT = -1;
+
+    private final SpecFieldExtractor extractor;
+    private final byte[] input;
+    private final int[] itemOffsets;
+    private final int[] itemEnds;
+    private final long[] values;
+    private int sizeInBytes;
+
+    SpecRecord(SpecFieldExtractor extractor, byte[] input, int nbFspecBits, int nbValues) {
+        this.extractor = extractor;
+        this.input = input;
+        this.itemOffsets = new int[nbFspecBits];
+        this.itemEnds = new int[nbFspecBits];
+        this.values = new long[nbValues];
+        Arrays.fill(itemOffsets, NOT_PRESENT);
+    }
+
+    public int getCategory() {
+        return extractor.getSpec().getCategory();
+    }
+
+    public int getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * @return True if the item with the given name is present in the record
+     */
+    public boolean hasItem(String itemName) {
+        return itemOffsets[extractor.fspecIndexOf(itemName)] != NOT_PRESENT;
+    }
+
+    /**
+     * @return The raw value of a field of a fixed length item
+     * @throws IllegalStateException if the item is not present
+     */
+    public long getValue(String itemName, String fieldName) {
+        checkPresent(itemName);
+        return values[extractor.valueIndexOf(itemName, fieldName)];
+    }
+
+    /**
+     * @return The value of a field of a fixed length item, multiplied by the LSB of the field
+     * @throws IllegalStateException if the item is not present
+     */
+    public double getScaledValue(String itemName, String fieldName) {
+        return getValue(itemName, fieldName) * extractor.getSpec().getItem(itemName).getField(fieldName).getLsb();
+    }
+
+    /**
+     * @return A copy of the raw bytes of an item, or null if the item is not present
+     */
+    public byte[] getItemBytes(String itemName) {
+        int fspecIndex = extractor.fspecIndexOf(itemName);
+        if (itemOffsets[fspecIndex] == NOT_PRESENT) {
+            return null;
+        }
+        return Arrays.copyOfRange(input, itemOffsets[fspecIndex], itemEnds[fspecIndex]);
+    }
+
+    void setItem(int fspecIndex, int offset, int end) {
+        itemOffsets[fspecIndex] = offset;
+        itemEnds[fspecIndex] = end;
+    }
+
+    void setValue(int valueIndex, long value) {
+        values[valueIndex] = value;
+    }
+
+    void setSizeInBytes(int sizeInBytes) {
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    private void checkPresent(String itemName) {
+        if (!hasItem(itemName)) {
+            throw new IllegalStateException(itemName + " is not present in the record");
+        }
+    }
+}
@@ -23,9 +23,27 @@ public class AsterixDecodingException {
     public static class UndeterminedFspecEnd extends RuntimeException {
     }
 
+    public static class InvalidDataBlockLength extends RuntimeException {
+        public InvalidDataBlockLength(String msg) {
+            super(msg);
+        }
+    }
+
+    public static class DecodingLimitExceeded extends RuntimeException {
+        public DecodingLimitExceeded(String msg) {
+            super(msg);
+        }
+    }
+
     public static class AvailableLengthExceeded extends RuntimeException {
         public AvailableLengthExceeded(String msg) {
             super(msg);
         }
     }
+
+    public static class UndefinedItem extends RuntimeException {
+        public UndefinedItem(String msg) {
+            super(msg);
+        }
+    }
 }
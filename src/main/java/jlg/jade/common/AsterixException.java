@@ -11,4 +11,10 @@ public class AsterixException {
     public static class InvalidDisplayName extends RuntimeException{
 
     }
+
+    public static class InvalidSpecification extends RuntimeException {
+        public InvalidSpecification(String msg) {
+            super(msg);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.common;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the text fields of Asterix items (callsigns, aircraft types, aerodromes, designators).
+ * The same values are received with every update of a track, so the decoded strings are interned
+ * in bounded caches keyed by the raw bytes: a repeated value returns the same String instance and
+ * allocates nothing.
+ * Free text fields should not be decoded with this class, because they would evict the useful
+ * entries from the caches.
+ */
+public class AsterixStringDecoder {
+    private static final int CACHE_CAPACITY = 4096;
+    private static final byte SPACE = ' ';
+    private static final StringInterner TEXT = new StringInterner(CACHE_CAPACITY);
+    private static final StringInterner TEXT_WITHOUT_SPACES = new StringInterner(CACHE_CAPACITY);
+    private static final String[] SAC_SIC_LABELS = new String[256 * 256];
+
+    /**
+     * @return The ASCII text found in the given bytes, as a canonical instance
+     */
+    public static String decode(byte[] input, int offset, int length) {
+        String text = TEXT.get(input, offset, length);
+        if (text == null) {
+            text = TEXT.put(input, offset, length, build(input, offset, length, false));
+        }
+        return text;
+    }
+
+    /**
+     * @return The ASCII text found in the given bytes with all the space characters removed, as a
+     * canonical instance. This is the representation used for callsigns and ICAO codes, which are
+     * padded with spaces.
+     */
+    public static String decodeWithoutSpaces(byte[] input, int offset, int length) {
+        String text = TEXT_WITHOUT_SPACES.get(input, offset, length);
+        if (text == null) {
+            text = TEXT_WITHOUT_SPACES.put(input, offset, length, build(input, offset, length, true));
+        }
+        return text;
+    }
+
+    /**
+     * @return The SAC/SIC label of a data source (ex: 8/10), as a canonical instance
+     */
+    public static String sacSicLabel(int sac, int sic) {
+        if (sac < 0 || sac > 255 || sic < 0 || sic > 255) {
+            return sac + "/" + sic;
+        }
+        int index = sac << 8 | sic;
+        String label = SAC_SIC_LABELS[index];
+        if (label == null) {
+            // strings can be safely published without synchronisation
+            label = sac + "/" + sic;
+            SAC_SIC_LABELS[index] = label;
+        }
+        return label;
+    }
+
+    private static String build(byte[] input, int offset, int length, boolean removeSpaces) {
+        char[] chars = new char[length];
+        int nbChars = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = input[i];
+            if (b < 0) {
+                //not ASCII
+                String text = new String(input, offset, length, StandardCharsets.UTF_8);
+                return removeSpaces ? text.replace(" ", "") : text;
+            }
+            if (removeSpaces && b == SPACE) {
+                continue;
+            }
+            chars[nbChars++] = (char) b;
+        }
+        return new String(chars, 0, nbChars);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.common;
+
+/**
+ * Reads big-endian bit fields from an array of bytes. The bit offset of a field is counted from
+ * the most significant bit of the byte found at the given byte offset, which is the order used by
+ * the Asterix specifications (left to right).
+ * Fields of 1 to 64 bits can be read at any bit offset. The bytes holding the field are loaded in a
+ * single long value, and the field is extracted with shifts and a mask. Only the bytes holding the
+ * field are read from the input.
+ */
+public class BitReader {
+    private static final int MAX_FIELD_WIDTH = 64;
+
+    /**
+     * @param input     The raw data
+     * @param offset    The byte offset from which the bit offset is counted
+     * @param bitOffset The index of the first bit of the field, 0 being the MSB of input[offset]
+     * @param width     The number of bits of the field, between 1 and 64
+     * @return The unsigned value of the field. For a width of 64 bits, the result is the raw 64 bits
+     */
+    public static long readUnsigned(byte[] input, int offset, int bitOffset, int width) {
+        if (width < 1 || width > MAX_FIELD_WIDTH) {
+            throw new IllegalArgumentException("Invalid bit field width " + width);
+        }
+        int firstByte = offset + (bitOffset >>> 3);
+        int skippedBits = bitOffset & 7;
+        int nbBits = skippedBits + width;
+
+        if (nbBits <= MAX_FIELD_WIDTH) {
+            int nbBytes = (nbBits + 7) >>> 3;
+            long word = loadWord(input, firstByte, nbBytes);
+            return (word >>> (nbBytes * 8 - nbBits)) & mask(width);
+        }
+
+        // the field is spread over 9 bytes: the low bits are taken from the ninth byte
+        int nbBitsInLastByte = nbBits - MAX_FIELD_WIDTH;
+        long word = loadWord(input, firstByte, 8);
+        int lastByte = Byte.toUnsignedInt(input[firstByte + 8]);
+        return ((word & mask(MAX_FIELD_WIDTH - skippedBits)) << nbBitsInLastByte) |
+                (lastByte >>> (8 - nbBitsInLastByte));
+    }
+
+    /**
+     * @return The value of the field, interpreted as a two's complement number of the given width
+     * @see #readUnsigned(byte[], int, int, int)
+     */
+    public static long readSigned(byte[] input, int offset, int bitOffset, int width) {
+        long value = readUnsigned(input, offset, bitOffset, width);
+        int unusedBits = MAX_FIELD_WIDTH - width;
+        return (value << unusedBits) >> unusedBits;
+    }
+
+    /**
+     * Reads an unsigned field of at most 31 bits, or the raw bits of a 32 bit field.
+     *
+     * @see #readUnsigned(byte[], int, int, int)
+     */
+    public static int readUnsignedInt(byte[] input, int offset, int bitOffset, int width) {
+        checkIntWidth(width);
+        return (int) readUnsigned(input, offset, bitOffset, width);
+    }
+
+    /**
+     * Reads a two's complement field of at most 32 bits.
+     *
+     * @see #readSigned(byte[], int, int, int)
+     */
+    public static int readSignedInt(byte[] input, int offset, int bitOffset, int width) {
+        checkIntWidth(width);
+        return (int) readSigned(input, offset, bitOffset, width);
+    }
+
+    /**
+     * @return True if the bit at the given bit offset is 1
+     * @see #readUnsigned(byte[], int, int, int)
+     */
+    public static boolean readBit(byte[] input, int offset, int bitOffset) {
+        return (input[offset + (bitOffset >>> 3)] & (0x80 >>> (bitOffset & 7))) != 0;
+    }
+
+    private static long loadWord(byte[] input, int firstByte, int nbBytes) {
+        long word = 0;
+        for (int i = 0; i < nbBytes; i++) {
+            word = (word << 8) | (input[firstByte + i] & 0xFFL);
+        }
+        return word;
+    }
+
+    private static long mask(int width) {
+        return width == MAX_FIELD_WIDTH ? -1L : (1L << width) - 1;
+    }
+
+    private static void checkIntWidth(int width) {
+        if (width > Integer.SIZE) {
+            throw new IllegalArgumentException("Invalid bit field width " + width + " for an int value");
+        }
+    }
+}
@@ -8,55 +8,105 @@ package jlg.jade.common;
 
 /**
  * A class that provides basic debug information that can be used by the child classes in logging
- * scenarios
+ * scenarios.
+ * The debug message is built only when it is enabled, and its buffer is created by the first
+ * message, so sources without messages do not use memory for it.
  */
 public abstract class DebugMessageSource implements Loggable {
-    private final StringBuilder debugStringBuilder;
+    private final boolean debugMessagesEnabled;
+    private StringBuilder debugStringBuilder;
 
     protected DebugMessageSource() {
-        this.debugStringBuilder = new StringBuilder();
+        this(true);
     }
 
+    /**
+     * @param debugMessagesEnabled False if the messages appended by this source must be ignored
+     */
+    protected DebugMessageSource(boolean debugMessagesEnabled) {
+        this.debugMessagesEnabled = debugMessagesEnabled;
+    }
+
+    /**
+     * @return The debug message, or an empty string if debug messages are disabled
+     */
     @Override
     public String getDebugString() {
-        return debugStringBuilder.toString();
+        return debugStringBuilder == null ? "" : debugStringBuilder.toString();
+    }
+
+    /**
+     * @return True if the messages appended by this source are kept
+     */
+    protected boolean isDebugMessagesEnabled() {
+        return debugMessagesEnabled;
     }
 
     protected void appendDebugMsg(String msg) {
-        debugStringBuilder.append(msg);
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append(msg);
+        }
     }
 
     protected void appendItemDebugMsg(String property, Object value) {
-        debugStringBuilder.append("  -- ").append(property).append(" : ").append(value).append(System.lineSeparator());
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append("  -- ").append(property).append(" : ").append(value).append(System.lineSeparator());
+        }
     }
 
     protected void appendItemCounterMsg(String property, Object nbPresent, Object nbInvalid) {
-        debugStringBuilder.append(String.format("  -- %-60s %-12s %-12s", property, nbPresent, nbInvalid));
-        debugStringBuilder.append(System.lineSeparator());
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append(String.format("  -- %-60s %-12s %-12s", property, nbPresent, nbInvalid));
+            sb.append(System.lineSeparator());
+        }
     }
 
     protected void appendNewLine() {
-        debugStringBuilder.append(System.lineSeparator());
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append(System.lineSeparator());
+        }
     }
 
     protected void appendNotImplementedMsg() {
-        debugStringBuilder.append("  -- This data is not implemented yet and will not be decoded.");
-        debugStringBuilder.append(System.lineSeparator());
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append("  -- This data is not implemented yet and will not be decoded.");
+            sb.append(System.lineSeparator());
+        }
     }
 
     protected void clearDebugMsg() {
-        debugStringBuilder.setLength(0);
+        if (debugStringBuilder != null) {
+            debugStringBuilder.setLength(0);
+        }
     }
 
     protected void appendErrorMessage(String msg) {
-        debugStringBuilder.append("  -- [ERROR] - ");
-        debugStringBuilder.append(msg);
-        debugStringBuilder.append(System.lineSeparator());
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append("  -- [ERROR] - ");
+            sb.append(msg);
+            sb.append(System.lineSeparator());
+        }
     }
 
     protected void appendWarningMessage(String msg) {
-        debugStringBuilder.append("  -- [WARNING] - ");
-        debugStringBuilder.append(msg);
-        debugStringBuilder.append(System.lineSeparator());
+        StringBuilder sb = debugStringBuilder();
+        if (sb != null) {
+            sb.append("  -- [WARNING] - ");
+            sb.append(msg);
+            sb.append(System.lineSeparator());
+        }
+    }
+
+    private StringBuilder debugStringBuilder() {
+        if (debugStringBuilder == null && debugMessagesEnabled) {
+            debugStringBuilder = new StringBuilder();
+        }
+        return debugStringBuilder;
     }
 }
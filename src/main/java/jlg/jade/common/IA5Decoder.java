@@ -4,26 +4,44 @@
 package jlg.jade.common;
 
 public class IA5Decoder {
+    private static final int IA5_CHARACTER_SIZE_IN_BITS = 6;
+    private static final char[] IA5_TO_ASCII = new char[64];
+    private static final StringInterner IDENTIFICATIONS = new StringInterner(4096);
+
+    static {
+        for (int characterCode = 0; characterCode < IA5_TO_ASCII.length; characterCode++) {
+            IA5_TO_ASCII[characterCode] = (char) convertIA5toASCII(characterCode);
+        }
+    }
+
     /**
-     * Converts a 6 byte input into a 8 character ASCII String
+     * Converts a 6 byte input into a 8 character ASCII String. Repeated identifications return the
+     * same String instance.
      */
     public static String decodeFromSixBytes(byte[] input, int offset) {
-        // create string buffer with all the 6 bytes including leading zeros
-        StringBuffer sb = new StringBuffer();
-        for (int i = offset; i < offset + 6; i++) {
-            String temp = Integer.toBinaryString(input[i]);
-            String zeroPadded = ("00000000" + temp).substring(temp.length());
-            sb.append(zeroPadded);
+        String identification = IDENTIFICATIONS.get(input, offset, 6);
+        if (identification == null) {
+            identification = IDENTIFICATIONS.put(input, offset, 6, buildFromSixBytes(input, offset));
         }
+        return identification;
+    }
+
+    /**
+     * @return The ASCII character of a 6 bit IA5 character code
+     */
+    public static char toAscii(int characterCode) {
+        return IA5_TO_ASCII[characterCode & 0x3F];
+    }
 
-        // parse the buffer and retrieve each 6 bits to convert from IA5 to ASCII
-        int[] chars = new int[8];
-        StringBuffer identificationBuffer = new StringBuffer();
+    private static String buildFromSixBytes(byte[] input, int offset) {
+        // retrieve each 6 bits of the 48 bit field to convert from IA5 to ASCII
+        long characters = BitReader.readUnsigned(input, offset, 0, 48);
+        char[] identification = new char[8];
         for (int i = 0; i < 8; i++) {
-            chars[i] = Integer.parseInt(sb.substring(i * 6, i * 6 + 6), 2);
-            identificationBuffer.append((char) convertIA5toASCII(chars[i]));
+            int characterCode = (int) (characters >>> (42 - i * IA5_CHARACTER_SIZE_IN_BITS)) & 0x3F;
+            identification[i] = IA5_TO_ASCII[characterCode];
         }
-        return identificationBuffer.toString().trim();
+        return new String(identification).trim();
     }
 
     /**
@@ -7,19 +7,34 @@
 package jlg.jade.common;
 
 public class ModeACode {
+    private static final int NB_MODE_A_CODES = 4096;
+    private static final String[] OCTAL_CODES = new String[NB_MODE_A_CODES];
+
+    static {
+        for (int code = 0; code < NB_MODE_A_CODES; code++) {
+            OCTAL_CODES[code] = buildOctal(code);
+        }
+    }
 
     /**
      * Converts a Mode A code from decimal to its octal representation, on exactly
      * four digits.
      * @param decimalValue The decimal value to be converted to ocatl (0-7777)
      * @return The octal representaion or null, it the decimal value is outside the allowed range.
+     * The representations of the 4096 valid Mode A codes are shared instances.
      */
     public static String toOctal(int decimalValue) {
         if(decimalValue < 0 || decimalValue > 7777){
             //invalid value => leave null
             return null;
         }
+        if (decimalValue < NB_MODE_A_CODES) {
+            return OCTAL_CODES[decimalValue];
+        }
+        return buildOctal(decimalValue);
+    }
 
+    private static String buildOctal(int decimalValue) {
         String octal = Integer.toOctalString(decimalValue);
 
         /**
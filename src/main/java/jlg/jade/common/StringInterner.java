@@ -0,0 +1,90 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.common;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of canonical String instances, keyed by the raw bytes they were decoded from.
+ * The cache is direct mapped: each key has a single slot, and a new key replaces the previous
+ * occupant of its slot, so the memory used never grows beyond the given capacity.
+ * A lookup for a cached key allocates nothing.
+ *
+ * @implNote The cache can be shared between threads without locking. Entries are immutable and a
+ * slot is replaced with a single reference write, so a reader sees either the old or the new entry.
+ * Two threads decoding the same new key may both build a string, and one of them is kept.
+ */
+public class StringInterner {
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * @param capacity The number of slots, a power of two
+     */
+    public StringInterner(int capacity) {
+        Assert.isTrue(capacity > 0 && Integer.bitCount(capacity) == 1, "The capacity must be a power of two");
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return The string cached for the given bytes, or null if there is none
+     */
+    public String get(byte[] input, int offset, int length) {
+        int hash = hash(input, offset, length);
+        Entry entry = entries[hash & mask];
+        if (entry != null && entry.hash == hash && entry.matches(input, offset, length)) {
+            return entry.value;
+        }
+        return null;
+    }
+
+    /**
+     * Caches the string decoded from the given bytes, replacing the entry found in its slot.
+     *
+     * @return The given value
+     */
+    public String put(byte[] input, int offset, int length, String value) {
+        int hash = hash(input, offset, length);
+        entries[hash & mask] = new Entry(hash, Arrays.copyOfRange(input, offset, offset + length), value);
+        return value;
+    }
+
+    private static int hash(byte[] input, int offset, int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + input[i];
+        }
+        // spread the high bits, the slot is given by the low bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final byte[] key;
+        private final String value;
+
+        private Entry(int hash, byte[] key, String value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        private boolean matches(byte[] input, int offset, int length) {
+            if (key.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (key[i] != input[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -6,25 +6,22 @@
 */
 package jlg.jade.common;
 
+/**
+ * Decodes two's complement numbers from an array of bytes.
+ *
+ * @see BitReader
+ */
 public class TwoComplementDecoder {
 
     public static int decodeFromTwoBytes(byte[] input, int offset) {
-        int result = input[offset] * 256 + Byte.toUnsignedInt(input[offset + 1]);
-
-        return result;
+        return BitReader.readSignedInt(input, offset, 0, 16);
     }
 
     public static int decodeFromThreeBytes(byte[] input, int offset) {
-        int result = input[offset] * 256 * 256 +
-                Byte.toUnsignedInt(input[offset + 1]) * 256 +
-                Byte.toUnsignedInt(input[offset + 2]);
-
-        return result;
+        return BitReader.readSignedInt(input, offset, 0, 24);
     }
 
     public static int decodeFromOneByte(byte[] input, int offset) {
-        int result = input[offset];
-
-        return result;
+        return input[offset];
     }
 }
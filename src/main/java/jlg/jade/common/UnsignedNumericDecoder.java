@@ -8,33 +8,28 @@ package jlg.jade.common;
 
 /**
  * Decodes unsigned numbers from an array of bytes.
+ *
+ * @see BitReader
  */
 public class UnsignedNumericDecoder {
 
     public static int decodeFromOneByte(byte[] input, int offset) {
-        int result = Byte.toUnsignedInt(input[offset]);
-        return result;
+        return Byte.toUnsignedInt(input[offset]);
     }
 
     public static int decodeFromTwoBytes(byte[] input, int offset) {
-        int result = Byte.toUnsignedInt(input[offset]) * 256 +
-                Byte.toUnsignedInt(input[offset + 1]);
-        return result;
+        return BitReader.readUnsignedInt(input, offset, 0, 16);
     }
 
     public static int decodeFromThreeBytes(byte[] input, int offset) {
-        int result = Byte.toUnsignedInt(input[offset]) * 256 * 256 +
-                Byte.toUnsignedInt(input[offset + 1]) * 256 +
-                Byte.toUnsignedInt(input[offset + 2]);
-        return result;
+        return BitReader.readUnsignedInt(input, offset, 0, 24);
     }
 
+    /**
+     * @return The raw 32 bits of the value. Values greater than Integer.MAX_VALUE are negative
+     */
     public static int decodeFromFourBytes(byte[] input, int offset) {
-        int result = Byte.toUnsignedInt(input[offset]) * 256 * 256 * 256 +
-                Byte.toUnsignedInt(input[offset + 1]) * 256 * 256 +
-                Byte.toUnsignedInt(input[offset + 2]) * 256 +
-                Byte.toUnsignedInt(input[offset + 3]);
-        return result;
+        return BitReader.readUnsignedInt(input, offset, 0, 32);
     }
 
 }
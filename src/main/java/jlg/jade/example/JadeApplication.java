@@ -6,50 +6,114 @@
 */
 package jlg.jade.example;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import jlg.jade.asterix.DecodeProfiler;
+import jlg.jade.asterix.DecodingErrorMode;
+import jlg.jade.asterix.DecodingLimits;
+import jlg.jade.asterix.ValidationMode;
+import jlg.jade.pipeline.AsterixPipeline;
+import jlg.jade.pipeline.AsterixPipelineBuilder;
+import jlg.jade.pipeline.FeedLatencyMonitor;
+import jlg.jade.pipeline.FinalFrameFileSource;
+import jlg.jade.pipeline.LoadSheddingPolicy;
+import jlg.jade.pipeline.UdpDatagramSource;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Example application decoding Asterix data from an UDP port or from a Final Frame recording.
+ * Options (all of them in the --name=value format):
+ * --mode=udp|file      The input (mandatory)
+ * --port=3001          The UDP port, in udp mode
+ * --file=path          The recording file, in file mode
+ * --categories=62,65   The categories to decode (default 4,34,48,62,65,150)
+ * --workers=1          The number of decoding threads
+ * --log=false          Update the item counters and print them at the end
+ * --shedding=false     Shed load instead of blocking the UDP reader when decoding is too slow
+ * --errors=report      throw: stop decoding a datagram at the first error, report: record the
+ *                      error in the data block and continue with the next data block
+ * --hardened=false     Enforce the hardened decoding limits (FX chain length, repetition factor)
+ * --validation=inline  inline: validate items while decoding, deferred: validate them when
+ *                      needed, off: do not validate them (trusted feeds)
+ * --profile=0          Profile the decoding cost of the items, for one record out of the given
+ *                      number of records, and print the ranked report at the end (0 = disabled)
+ */
 public class JadeApplication {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         System.out.println("Java Asterix Decoder Encoder");
-        BlockingQueue<byte[]> rawQueue = new ArrayBlockingQueue<>(4000);
-        String mode = args[0];
-        if(!mode.equals("udp") && !mode.equals("file")){
-            throw new RuntimeException("Invalid mode. First parameter must be udp or file.");
+        Map<String, String> options = parseOptions(args);
+        String mode = options.getOrDefault("mode", "");
+        if (!mode.equals("udp") && !mode.equals("file")) {
+            throw new RuntimeException("Invalid mode. The --mode option must be udp or file.");
         }
-        switch (mode){
-            case "udp":{
-                ParseUdpUnicastData(rawQueue,args);
-                break;
-            }
-            case "file":{
-                ParseFileData(rawQueue,args);
-                break;
-            }
-            default:{
-                throw new RuntimeException("Invalid mode. First parameter must be udp or file.");
-            }
+
+        ProgressReportSink reportSink = new ProgressReportSink(
+                Boolean.parseBoolean(options.getOrDefault("log", "false")));
+        FeedLatencyMonitor feedLatencyMonitor = new FeedLatencyMonitor();
+        AsterixPipelineBuilder builder = AsterixPipeline.builder()
+                .categories(Arrays.stream(options.getOrDefault("categories", "4,34,48,62,65,150").split(","))
+                        .mapToInt(category -> Integer.parseInt(category.trim()))
+                        .toArray())
+                .decodeWorkers(Integer.parseInt(options.getOrDefault("workers", "1")))
+                .asyncSink(reportSink, 4000, 100)
+                .sink(feedLatencyMonitor);
+        if (mode.equals("udp")) {
+            builder.source(new UdpDatagramSource(Integer.parseInt(options.getOrDefault("port", "3001"))));
+        } else {
+            builder.source(new FinalFrameFileSource(options.get("file")));
+        }
+        if (Boolean.parseBoolean(options.getOrDefault("shedding", "false"))) {
+            builder.loadShedding(new LoadSheddingPolicy());
         }
-    }
 
-    private static void ParseUdpUnicastData(BlockingQueue<byte[]> rawQueue, String[] args) {
-        UdpReader reader = new UdpReader(rawQueue, args);
-        DatagramConvertor convertor = new DatagramConvertor(rawQueue,args);
+        AsterixPipeline pipeline = builder.build();
+        int profilingInterval = Integer.parseInt(options.getOrDefault("profile", "0"));
+        DecodeProfiler profiler = profilingInterval > 0 ? new DecodeProfiler(profilingInterval) : null;
+        DecodingErrorMode errorMode = DecodingErrorMode.valueOf(
+                options.getOrDefault("errors", "report").toUpperCase());
+        DecodingLimits limits = Boolean.parseBoolean(options.getOrDefault("hardened", "false")) ?
+                DecodingLimits.HARDENED : DecodingLimits.NONE;
+        ValidationMode validationMode = ValidationMode.valueOf(
+                options.getOrDefault("validation", "inline").toUpperCase());
+        pipeline.getDecoderConfiguration().update(cfg -> cfg.withProfiler(profiler).withErrorMode(errorMode)
+                .withLimits(limits).withValidationMode(validationMode));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                pipeline.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
 
-        ExecutorService executorService = Executors.newFixedThreadPool(2);
-        executorService.submit(reader);
-        executorService.submit(convertor);
+        long startTime = System.currentTimeMillis();
+        pipeline.start();
+        pipeline.awaitSources(Long.MAX_VALUE / 2);
+        pipeline.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+        System.out.println("FINISHED in " + ((System.currentTimeMillis() - startTime) / 1000) + " seconds");
+        System.out.println(reportSink.toDebugString());
+        System.out.println("Datagrams not decoded completely: " + pipeline.getNbDecodingFailures());
+        if (pipeline.getSheddingStatistics() != null) {
+            System.out.println(pipeline.getSheddingStatistics().toDebugString());
+        }
+        System.out.println(pipeline.getLatencyMetrics().toDebugString());
+        System.out.println(feedLatencyMonitor.toDebugString());
+        if (profiler != null) {
+            System.out.println(profiler.toDebugString());
+        }
     }
 
-    private static void ParseFileData(BlockingQueue<byte[]> rawQueue, String[] args) {
-        FileReader reader = new FileReader(rawQueue, args);
-        DatagramConvertor convertor = new DatagramConvertor(rawQueue,args);
-
-        ExecutorService executorService = Executors.newFixedThreadPool(2);
-        executorService.submit(reader);
-        executorService.submit(convertor);
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new RuntimeException("Invalid option " + arg + ". Options must use the --name=value format.");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
     }
 }
@@ -0,0 +1,52 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.example;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.counters.DefaultDecodingReport;
+import jlg.jade.pipeline.DataBlockSink;
+import jlg.jade.pipeline.RawDatagram;
+
+import java.util.List;
+
+/**
+ * Prints the decoding progress after each batch and, if enabled, updates the item counters
+ */
+class ProgressReportSink implements DataBlockSink {
+    private final DefaultDecodingReport asterixDecodingReport;
+    private final boolean isLogEnabled;
+    private final long startTime;
+    private int numberOfQueueItems;
+    private long numberOfReceivedBytes;
+
+    ProgressReportSink(boolean isLogEnabled) {
+        this.asterixDecodingReport = new DefaultDecodingReport();
+        this.isLogEnabled = isLogEnabled;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onDataBlocks(RawDatagram datagram, List<AsterixDataBlock> dataBlocks) {
+        numberOfQueueItems++;
+        numberOfReceivedBytes += datagram.getLength();
+        if (isLogEnabled) {
+            for (AsterixDataBlock adb : dataBlocks) {
+                asterixDecodingReport.update(adb);
+            }
+        }
+    }
+
+    @Override
+    public void onEndOfBatch() {
+        System.out.println("Processed " + numberOfQueueItems + " datagrams/packets (" +
+                numberOfReceivedBytes + ") bytes. Elapsed time " +
+                (System.currentTimeMillis() - startTime) / 1000 + " sec");
+    }
+
+    String toDebugString() {
+        return asterixDecodingReport.toDebugString();
+    }
+}
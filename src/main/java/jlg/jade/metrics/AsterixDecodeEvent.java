@@ -0,0 +1,44 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted by AsterixDecoder.decode, for each decoded input (datagram,
+ * file frame). The duration of the event is the decoding time.
+ * Disabled by default, enable it in the JFR settings with: jlg.jade.AsterixDecode#enabled=true
+ */
+@Name("jlg.jade.AsterixDecode")
+@Label("Asterix Decode")
+@Category({"JADE", "Decoding"})
+@Description("Decoding of the Asterix data blocks of a datagram")
+@Enabled(false)
+@StackTrace(false)
+public class AsterixDecodeEvent extends jdk.jfr.Event {
+    @Label("First Category")
+    public int category;
+
+    @Label("Byte Length")
+    @DataAmount(DataAmount.BYTES)
+    public int byteLength;
+
+    @Label("Data Blocks")
+    public int nbDataBlocks;
+
+    @Label("Records")
+    public int nbRecords;
+
+    @Label("Invalid Records")
+    @Description("Number of records that failed validation")
+    public int nbInvalidRecords;
+}
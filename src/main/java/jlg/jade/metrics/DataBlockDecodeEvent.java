@@ -0,0 +1,41 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted by AsterixDataBlock.decode, for each decoded data block. The
+ * duration of the event is the decoding time of the records of the data block.
+ * Disabled by default, enable it in the JFR settings with: jlg.jade.DataBlockDecode#enabled=true
+ */
+@Name("jlg.jade.DataBlockDecode")
+@Label("Asterix Data Block Decode")
+@Category({"JADE", "Decoding"})
+@Description("Decoding of the records of an Asterix data block")
+@Enabled(false)
+@StackTrace(false)
+public class DataBlockDecodeEvent extends jdk.jfr.Event {
+    @Label("Category")
+    public int category;
+
+    @Label("Byte Length")
+    @DataAmount(DataAmount.BYTES)
+    public int byteLength;
+
+    @Label("Records")
+    public int nbRecords;
+
+    @Label("Invalid Records")
+    @Description("Number of records that failed validation")
+    public int nbInvalidRecords;
+}
@@ -0,0 +1,111 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.metrics;
+
+import org.springframework.util.Assert;
+
+/**
+ * Immutable copy of the counts of a LatencyHistogram, used to compute percentiles. Values are
+ * reported with the precision of the histogram buckets (the highest value of the bucket).
+ */
+public class HistogramSnapshot {
+    private final long[] counts;
+    private final long totalCount;
+
+    HistogramSnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100 (eg. 99.9)
+     * @return The value below which the given percentage of the values are found, or 0 if no
+     * value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        Assert.isTrue(percentile >= 0 && percentile <= 100, "The percentile must be between 0 and 100");
+        if (totalCount == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulatedCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulatedCount += counts[i];
+            if (cumulatedCount >= countAtPercentile) {
+                return LatencyHistogram.highestValueInBucket(i);
+            }
+        }
+        return getMax();
+    }
+
+    public long getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.lowestValueInBucket(i);
+            }
+        }
+        return 0;
+    }
+
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.highestValueInBucket(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The mean value, computed with the middle value of each bucket
+     */
+    public double getMean() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                long lowest = LatencyHistogram.lowestValueInBucket(i);
+                long highest = LatencyHistogram.highestValueInBucket(i);
+                sum += counts[i] * (lowest + (highest - lowest) / 2.0);
+            }
+        }
+        return sum / totalCount;
+    }
+
+    /**
+     * Add the counts of another snapshot of a histogram with the same highest trackable value
+     */
+    public HistogramSnapshot add(HistogramSnapshot other) {
+        Assert.isTrue(other.counts.length == counts.length, "Only snapshots of similar histograms can be added");
+        long[] sum = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            sum[i] = counts[i] + other.counts[i];
+        }
+        return new HistogramSnapshot(sum);
+    }
+
+    /**
+     * @return The count and the main percentiles, for values recorded in nanoseconds
+     */
+    public String toDebugString() {
+        return String.format("%d values, p50 %d us, p99 %d us, p99.9 %d us, max %d us",
+                totalCount,
+                getValueAtPercentile(50) / 1000,
+                getValueAtPercentile(99) / 1000,
+                getValueAtPercentile(99.9) / 1000,
+                getMax() / 1000);
+    }
+}
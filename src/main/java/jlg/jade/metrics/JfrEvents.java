@@ -0,0 +1,147 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.metrics;
+
+/**
+ * Creates and commits the Flight Recorder events of the library. The Flight Recorder API
+ * (jdk.jfr) is not present in every Java 8 runtime, so the events are only created when it is
+ * found. The check is done once, when this class is loaded; without jdk.jfr, begin returns null
+ * and the other methods do nothing.
+ * Events are handled as Object by the callers, so the event classes (subclasses of
+ * jdk.jfr.Event) are never loaded when jdk.jfr is missing.
+ *
+ * @implNote The event classes are only referenced by the nested Recorder class, which the JVM
+ * loads on first use, after the availability check.
+ */
+public final class JfrEvents {
+    private static final boolean AVAILABLE = findFlightRecorder();
+
+    private JfrEvents() {
+    }
+
+    /**
+     * @return True if the Flight Recorder API is available in this runtime
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Creates and begins the event of the decoding of an input by the AsterixDecoder
+     *
+     * @return The event, or null if the Flight Recorder is not available
+     */
+    public static Object beginAsterixDecode() {
+        return AVAILABLE ? Recorder.beginAsterixDecode() : null;
+    }
+
+    /**
+     * Creates and begins the event of the decoding of the records of a data block
+     *
+     * @return The event, or null if the Flight Recorder is not available
+     */
+    public static Object beginDataBlockDecode() {
+        return AVAILABLE ? Recorder.beginDataBlockDecode() : null;
+    }
+
+    /**
+     * @return True if the event is enabled and must be committed: the caller can then compute the
+     * values of the event
+     */
+    public static boolean shouldCommit(Object event) {
+        return event != null && Recorder.shouldCommit(event);
+    }
+
+    public static void commitAsterixDecode(Object event, int category, int byteLength, int nbDataBlocks,
+                                           int nbRecords, int nbInvalidRecords) {
+        if (event != null) {
+            Recorder.commitAsterixDecode(event, category, byteLength, nbDataBlocks, nbRecords, nbInvalidRecords);
+        }
+    }
+
+    public static void commitDataBlockDecode(Object event, int category, int byteLength, int nbRecords,
+                                             int nbInvalidRecords) {
+        if (event != null) {
+            Recorder.commitDataBlockDecode(event, category, byteLength, nbRecords, nbInvalidRecords);
+        }
+    }
+
+    /**
+     * Creates and commits, if enabled, a queue wait event
+     *
+     * @param queue      The name of the queue
+     * @param category   The category of the first data block of the datagram
+     * @param byteLength The length of the datagram
+     * @param queueWait  The time spent in the queue, in nanoseconds
+     */
+    public static void commitQueueWait(String queue, int category, int byteLength, long queueWait) {
+        if (AVAILABLE) {
+            Recorder.commitQueueWait(queue, category, byteLength, queueWait);
+        }
+    }
+
+    private static boolean findFlightRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static final class Recorder {
+        private Recorder() {
+        }
+
+        static Object beginAsterixDecode() {
+            AsterixDecodeEvent event = new AsterixDecodeEvent();
+            event.begin();
+            return event;
+        }
+
+        static Object beginDataBlockDecode() {
+            DataBlockDecodeEvent event = new DataBlockDecodeEvent();
+            event.begin();
+            return event;
+        }
+
+        static boolean shouldCommit(Object event) {
+            return ((jdk.jfr.Event) event).shouldCommit();
+        }
+
+        static void commitAsterixDecode(Object event, int category, int byteLength, int nbDataBlocks,
+                                        int nbRecords, int nbInvalidRecords) {
+            AsterixDecodeEvent decodeEvent = (AsterixDecodeEvent) event;
+            decodeEvent.category = category;
+            decodeEvent.byteLength = byteLength;
+            decodeEvent.nbDataBlocks = nbDataBlocks;
+            decodeEvent.nbRecords = nbRecords;
+            decodeEvent.nbInvalidRecords = nbInvalidRecords;
+            decodeEvent.commit();
+        }
+
+        static void commitDataBlockDecode(Object event, int category, int byteLength, int nbRecords,
+                                          int nbInvalidRecords) {
+            DataBlockDecodeEvent dataBlockEvent = (DataBlockDecodeEvent) event;
+            dataBlockEvent.category = category;
+            dataBlockEvent.byteLength = byteLength;
+            dataBlockEvent.nbRecords = nbRecords;
+            dataBlockEvent.nbInvalidRecords = nbInvalidRecords;
+            dataBlockEvent.commit();
+        }
+
+        static void commitQueueWait(String queue, int category, int byteLength, long queueWait) {
+            QueueWaitEvent event = new QueueWaitEvent();
+            if (event.shouldCommit()) {
+                event.queue = queue;
+                event.category = category;
+                event.byteLength = byteLength;
+                event.queueWait = queueWait;
+                event.commit();
+            }
+        }
+    }
+}
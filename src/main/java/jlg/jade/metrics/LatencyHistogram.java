@@ -0,0 +1,119 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.metrics;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed memory histogram of latency values (HDR style). Values are counted in log-linear
+ * buckets: values below 128 have their own bucket, and every power of 2 above is split in 64
+ * buckets, so the value reported for a percentile is within 1.6% of the recorded value.
+ * Recording is lock free and does not allocate memory, so it can be used on the decoding path.
+ * Values above the highest trackable value are counted in the last bucket.
+ *
+ * @implNote Example (values in nanoseconds, up to 10 seconds):
+ * LatencyHistogram histogram = new LatencyHistogram(TimeUnit.SECONDS.toNanos(10));
+ * histogram.record(System.nanoTime() - start);
+ * HistogramSnapshot lastMinute = histogram.intervalSnapshot();
+ */
+public class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private long[] lastIntervalCounts;
+
+    /**
+     * @param highestTrackableValue The highest value that is counted in its own bucket
+     */
+    public LatencyHistogram(long highestTrackableValue) {
+        Assert.isTrue(highestTrackableValue >= SUB_BUCKET_COUNT,
+                "The highest trackable value must be at least " + SUB_BUCKET_COUNT);
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(bucketIndex(highestTrackableValue) + 1);
+        this.lastIntervalCounts = new long[counts.length()];
+    }
+
+    /**
+     * Count a value. Negative values (eg. clock adjustments) are counted as 0.
+     */
+    public void record(long value) {
+        long trackedValue = value < 0 ? 0 : Math.min(value, highestTrackableValue);
+        counts.incrementAndGet(bucketIndex(trackedValue));
+    }
+
+    /**
+     * @return All the values recorded since the histogram was created or reset
+     */
+    public HistogramSnapshot snapshot() {
+        return new HistogramSnapshot(copyCounts());
+    }
+
+    /**
+     * @return The values recorded since the previous call of this method (or since the histogram
+     * was created or reset). Values recorded concurrently are part of this interval or of the
+     * next one, they are never lost.
+     */
+    public synchronized HistogramSnapshot intervalSnapshot() {
+        long[] current = copyCounts();
+        long[] interval = new long[current.length];
+        for (int i = 0; i < current.length; i++) {
+            interval[i] = current[i] - lastIntervalCounts[i];
+        }
+        lastIntervalCounts = current;
+        return new HistogramSnapshot(interval);
+    }
+
+    /**
+     * Set all the counts to 0. Values recorded while the reset is in progress may be lost.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        lastIntervalCounts = new long[counts.length()];
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    /**
+     * @return The number of buckets, which gives the memory used by the histogram (8 bytes per
+     * bucket)
+     */
+    public int getNbBuckets() {
+        return counts.length();
+    }
+
+    static int bucketIndex(long value) {
+        int msb = 63 - Long.numberOfLeadingZeros(value | (SUB_BUCKET_COUNT - 1));
+        int shift = msb - SUB_BUCKET_HALF_BITS;
+        return (shift << SUB_BUCKET_HALF_BITS) + (int) (value >>> shift);
+    }
+
+    static long lowestValueInBucket(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_HALF_BITS) - 1);
+        return (long) (index - (shift << SUB_BUCKET_HALF_BITS)) << shift;
+    }
+
+    static long highestValueInBucket(int index) {
+        int shift = Math.max(0, (index >> SUB_BUCKET_HALF_BITS) - 1);
+        return lowestValueInBucket(index) + (1L << shift) - 1;
+    }
+
+    private long[] copyCounts() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+}
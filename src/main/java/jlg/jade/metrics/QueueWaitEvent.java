@@ -0,0 +1,42 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event emitted by the ingest components (pipeline decoding threads, priority
+ * lanes) when a datagram is taken from a decoding queue.
+ * Disabled by default, enable it in the JFR settings with: jlg.jade.QueueWait#enabled=true
+ */
+@Name("jlg.jade.QueueWait")
+@Label("Asterix Queue Wait")
+@Category({"JADE", "Ingest"})
+@Description("Time spent by a datagram between receive and the start of decoding")
+@Enabled(false)
+@StackTrace(false)
+public class QueueWaitEvent extends jdk.jfr.Event {
+    @Label("Queue")
+    public String queue;
+
+    @Label("First Category")
+    public int category;
+
+    @Label("Byte Length")
+    @DataAmount(DataAmount.BYTES)
+    public int byteLength;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+}
@@ -0,0 +1,289 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Complete ingest chain: sources -> decoding queue -> decoding threads -> stages -> sinks.
+ * Each source and each decoding thread has its own thread, and every asynchronous sink has its
+ * own thread and queue. The pipeline is created with AsterixPipeline.builder().
+ * With a priority lane, the data blocks of the priority categories bypass the decoding queue:
+ * they have their own queue and decoding thread (ALERT lane), and the decoding queue and threads
+ * form the BULK lane.
+ * On shutdown, the sources are closed first, then the data already read is decoded and
+ * delivered to the sinks before the threads end.
+ */
+public class AsterixPipeline {
+    private static final Log logger = LogFactory.getLog(AsterixPipeline.class);
+
+    private final List<DatagramSource> sources;
+    private final List<AsyncDataBlockSink> asyncSinks;
+    private final BlockingQueue<RawDatagram> queue;
+    private final LoadSheddingQueue loadSheddingQueue;
+    private final PriorityLaneDispatcher laneDispatcher;
+    private final DecodeWorker priorityWorker;
+    private final LaneMetrics[] laneMetrics;
+    private final PipelineLatencyMetrics latencyMetrics;
+    private final AsterixDecoderConfigurationHolder decoderConfiguration;
+    private final List<DecodeWorker> decodeWorkers;
+    private final List<Thread> sourceThreads;
+    private final List<Thread> decodeThreads;
+    private final List<Thread> sinkThreads;
+    private final LongAdder nbReceivedDatagrams;
+    private final LongAdder nbDecodedDatagrams;
+    private final LongAdder nbDecodingFailures;
+    private final LongAdder nbSourceFailures;
+    private final LongAdder nbProcessingFailures;
+    private boolean started;
+
+    AsterixPipeline(AsterixPipelineBuilder builder) {
+        this.sources = new ArrayList<>(builder.sources);
+        this.asyncSinks = new ArrayList<>(builder.asyncSinks);
+        this.queue = builder.queue;
+        this.decoderConfiguration = builder.decoderConfiguration;
+        this.loadSheddingQueue = builder.loadSheddingPolicy == null ? null :
+                new LoadSheddingQueue(queue, queue.size() + queue.remainingCapacity(),
+                        builder.loadSheddingPolicy);
+        this.latencyMetrics = !builder.latencyMetrics ? null : new PipelineLatencyMetrics(
+                sources.stream().map(DatagramSource::getName).collect(Collectors.toList()),
+                PipelineLatencyMetrics.DEFAULT_HIGHEST_TRACKABLE_NANOS);
+        this.nbReceivedDatagrams = new LongAdder();
+        this.nbDecodedDatagrams = new LongAdder();
+        this.nbDecodingFailures = new LongAdder();
+        this.nbSourceFailures = new LongAdder();
+        this.nbProcessingFailures = new LongAdder();
+        AtomicBoolean processingFailureLogged = new AtomicBoolean();
+
+        List<PipelineStage> stages = Collections.unmodifiableList(new ArrayList<>(builder.stages));
+        List<DataBlockSink> sinks = Collections.unmodifiableList(new ArrayList<>(builder.sinks));
+        if (builder.priorityQueue != null) {
+            this.laneMetrics = new LaneMetrics[]{new LaneMetrics(Lane.ALERT), new LaneMetrics(Lane.BULK)};
+            this.laneDispatcher = new PriorityLaneDispatcher(builder.priorityQueue::put, this::enqueue,
+                    builder.priorityCategories);
+            this.priorityWorker = new DecodeWorker(builder.priorityQueue, Lane.ALERT.name(),
+                    new AsterixDecoder(decoderConfiguration), stages, sinks, builder.decodeBatchSize,
+                    nbDecodedDatagrams, nbDecodingFailures, nbProcessingFailures, processingFailureLogged,
+                    latencyMetrics, laneMetrics[Lane.ALERT.ordinal()]);
+        } else {
+            this.laneMetrics = null;
+            this.laneDispatcher = null;
+            this.priorityWorker = null;
+        }
+        String queueName = laneMetrics == null ? "pipeline" : Lane.BULK.name();
+        LaneMetrics bulkLaneMetrics = laneMetrics == null ? null : laneMetrics[Lane.BULK.ordinal()];
+        this.decodeWorkers = new ArrayList<>();
+        for (int i = 0; i < builder.nbDecodeWorkers; i++) {
+            //decoders are not thread safe, but they share the same configuration
+            decodeWorkers.add(new DecodeWorker(queue, queueName, new AsterixDecoder(decoderConfiguration), stages,
+                    sinks, builder.decodeBatchSize, nbDecodedDatagrams, nbDecodingFailures, nbProcessingFailures,
+                    processingFailureLogged, latencyMetrics, bulkLaneMetrics));
+        }
+        this.sourceThreads = new ArrayList<>();
+        this.decodeThreads = new ArrayList<>();
+        this.sinkThreads = new ArrayList<>();
+    }
+
+    public static AsterixPipelineBuilder builder() {
+        return new AsterixPipelineBuilder();
+    }
+
+    /**
+     * Start the sink, decoding and source threads
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Pipeline already started");
+        }
+        started = true;
+
+        for (int i = 0; i < asyncSinks.size(); i++) {
+            sinkThreads.add(startThread(asyncSinks.get(i), "jade-sink-" + i, Thread.NORM_PRIORITY));
+        }
+        if (priorityWorker != null) {
+            decodeThreads.add(startThread(priorityWorker, "jade-alert-lane", Thread.MAX_PRIORITY));
+        }
+        for (int i = 0; i < decodeWorkers.size(); i++) {
+            decodeThreads.add(startThread(decodeWorkers.get(i), "jade-decode-" + i, Thread.NORM_PRIORITY));
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            DatagramSource source = sources.get(i);
+            int sourceIndex = i;
+            sourceThreads.add(startThread(() -> readSource(source, sourceIndex), "jade-source-" + source.getName(),
+                    Thread.NORM_PRIORITY));
+        }
+    }
+
+    /**
+     * Wait for all the sources to reach the end of their input (eg. end of a recording file)
+     *
+     * @return True if all the sources finished before the timeout
+     */
+    public boolean awaitSources(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread thread : sourceThreads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            if (thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Graceful shutdown: close the sources, then wait for the queued datagrams to be decoded
+     * and delivered to the sinks.
+     *
+     * @param timeoutMillis The maximum time to wait for the threads of each step to finish
+     * @return True if all the threads finished before the timeout
+     */
+    public synchronized boolean shutdown(long timeoutMillis) throws InterruptedException {
+        for (DatagramSource source : sources) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                logger.warn("Could not close source " + source.getName(), e);
+            }
+        }
+        boolean finished = join(sourceThreads, timeoutMillis);
+
+        if (priorityWorker != null) {
+            priorityWorker.stop();
+        }
+        decodeWorkers.forEach(DecodeWorker::stop);
+        finished &= join(decodeThreads, timeoutMillis);
+
+        asyncSinks.forEach(AsyncDataBlockSink::stop);
+        finished &= join(sinkThreads, timeoutMillis);
+        return finished;
+    }
+
+    /**
+     * @return The configuration used by the decoding threads. Changes are used starting with
+     * the next datagram.
+     */
+    public AsterixDecoderConfigurationHolder getDecoderConfiguration() {
+        return decoderConfiguration;
+    }
+
+    /**
+     * @return The load shedding statistics, or null if load shedding is not enabled
+     */
+    public SheddingStatistics getSheddingStatistics() {
+        return loadSheddingQueue == null ? null : loadSheddingQueue.getStatistics();
+    }
+
+    /**
+     * @return The latency histograms of the pipeline stages, or null if latency metrics are
+     * disabled
+     */
+    public PipelineLatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
+
+    /**
+     * @return The queue wait and latency of the ALERT or BULK lane, or null if there is no
+     * priority lane
+     */
+    public LaneMetrics getLaneMetrics(Lane lane) {
+        return laneMetrics == null ? null : laneMetrics[lane.ordinal()];
+    }
+
+    public long getNbReceivedDatagrams() {
+        return nbReceivedDatagrams.sum();
+    }
+
+    public long getNbDecodedDatagrams() {
+        return nbDecodedDatagrams.sum();
+    }
+
+    /**
+     * @return The number of datagrams that could not be decoded completely: the decoder threw an
+     * exception or, with the REPORT error mode, a data block holds a decoding error
+     */
+    public long getNbDecodingFailures() {
+        return nbDecodingFailures.sum();
+    }
+
+    /**
+     * @return The number of sources that stopped because of an input error
+     */
+    public long getNbSourceFailures() {
+        return nbSourceFailures.sum();
+    }
+
+    /**
+     * @return The number of exceptions thrown by the stages and the sinks called by the decode workers
+     */
+    public long getNbProcessingFailures() {
+        return nbProcessingFailures.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void readSource(DatagramSource source, int sourceIndex) {
+        try {
+            source.read(datagram -> {
+                nbReceivedDatagrams.increment();
+                datagram.setSourceIndex(sourceIndex);
+                if (laneDispatcher != null) {
+                    laneDispatcher.dispatch(datagram);
+                } else {
+                    enqueue(datagram);
+                }
+                if (latencyMetrics != null) {
+                    latencyMetrics.record(LatencyStage.RECEIVE, datagram,
+                            System.nanoTime() - datagram.getReceiveTimeNanos());
+                }
+            });
+        } catch (IOException e) {
+            nbSourceFailures.increment();
+            logger.error("Source " + source.getName() + " stopped", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(RawDatagram datagram) throws InterruptedException {
+        if (loadSheddingQueue != null) {
+            loadSheddingQueue.offer(datagram);
+        } else {
+            queue.put(datagram);
+        }
+    }
+
+    private static Thread startThread(Runnable runnable, String name, int priority) {
+        Thread thread = new Thread(runnable, name);
+        thread.setPriority(priority);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static boolean join(List<Thread> threads, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        boolean finished = true;
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            finished &= !thread.isAlive();
+        }
+        return finished;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Builds an AsterixPipeline. Only the sources, the categories (or decoder configuration) and
+ * the sinks are mandatory. Defaults: one decoding thread, batches of 16 datagrams and a
+ * decoding queue of 4000 datagrams, where the readers block when the queue is full. The latency
+ * of the pipeline stages is measured by default. There is no priority lane by default.
+ *
+ * @implNote Example:
+ * AsterixPipeline pipeline = AsterixPipeline.builder()
+ * .source(new UdpDatagramSource(3001))
+ * .categories(62, 65)
+ * .decodeWorkers(2)
+ * .priorityLane(4)
+ * .stage(PipelineStage.recordFilter(record -> ...))
+ * .asyncSink(mySink, 1000, 64)
+ * .build();
+ */
+public class AsterixPipelineBuilder {
+    private static final int DEFAULT_QUEUE_CAPACITY = 4000;
+    private static final int DEFAULT_BATCH_SIZE = 16;
+    private static final int DEFAULT_PRIORITY_QUEUE_CAPACITY = 1000;
+
+    final List<DatagramSource> sources;
+    final List<PipelineStage> stages;
+    final List<DataBlockSink> sinks;
+    final List<AsyncDataBlockSink> asyncSinks;
+    BlockingQueue<RawDatagram> queue;
+    LoadSheddingPolicy loadSheddingPolicy;
+    AsterixDecoderConfigurationHolder decoderConfiguration;
+    int nbDecodeWorkers;
+    int decodeBatchSize;
+    int[] priorityCategories;
+    BlockingQueue<RawDatagram> priorityQueue;
+    boolean latencyMetrics;
+
+    AsterixPipelineBuilder() {
+        this.sources = new ArrayList<>();
+        this.stages = new ArrayList<>();
+        this.sinks = new ArrayList<>();
+        this.asyncSinks = new ArrayList<>();
+        this.nbDecodeWorkers = 1;
+        this.decodeBatchSize = DEFAULT_BATCH_SIZE;
+        this.latencyMetrics = true;
+    }
+
+    /**
+     * Add an input of the pipeline. Each source is read by its own thread.
+     */
+    public AsterixPipelineBuilder source(DatagramSource source) {
+        Assert.notNull(source);
+        sources.add(source);
+        return this;
+    }
+
+    /**
+     * Decode the given categories, with a configuration owned by the pipeline
+     */
+    public AsterixPipelineBuilder categories(int... categoriesToDecode) {
+        this.decoderConfiguration = new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(categoriesToDecode));
+        return this;
+    }
+
+    /**
+     * Use a decoder configuration that can be changed while the pipeline is running
+     */
+    public AsterixPipelineBuilder decoderConfiguration(AsterixDecoderConfigurationHolder decoderConfiguration) {
+        Assert.notNull(decoderConfiguration);
+        this.decoderConfiguration = decoderConfiguration;
+        return this;
+    }
+
+    /**
+     * Use the given queue between the sources and the decoding threads
+     */
+    public AsterixPipelineBuilder queue(BlockingQueue<RawDatagram> queue) {
+        Assert.notNull(queue);
+        this.queue = queue;
+        return this;
+    }
+
+    /**
+     * Shed load when the decoding queue fills up, instead of blocking the sources
+     */
+    public AsterixPipelineBuilder loadShedding(LoadSheddingPolicy loadSheddingPolicy) {
+        Assert.notNull(loadSheddingPolicy);
+        this.loadSheddingPolicy = loadSheddingPolicy;
+        return this;
+    }
+
+    /**
+     * @param nbDecodeWorkers The number of decoding threads. With more than one thread, the
+     *                        order of the datagrams is not preserved.
+     */
+    public AsterixPipelineBuilder decodeWorkers(int nbDecodeWorkers) {
+        Assert.isTrue(nbDecodeWorkers > 0, "At least one decoding thread is needed");
+        this.nbDecodeWorkers = nbDecodeWorkers;
+        return this;
+    }
+
+    /**
+     * @param decodeBatchSize The maximum number of datagrams taken from the queue at once by a
+     *                        decoding thread
+     */
+    public AsterixPipelineBuilder decodeBatchSize(int decodeBatchSize) {
+        Assert.isTrue(decodeBatchSize > 0, "The batch size must be positive");
+        this.decodeBatchSize = decodeBatchSize;
+        return this;
+    }
+
+    /**
+     * Decode the given categories (eg. Cat004 safety net alerts) on a priority lane, so they never
+     * wait behind bulk track traffic. Their data blocks are routed on the category header byte to
+     * a queue of 1000 datagrams and a decoding thread of their own, running at maximum priority.
+     * The other categories use the decoding queue and the decode workers. The sinks are then
+     * called from more than one thread and must be thread safe.
+     *
+     * @implNote Load shedding only applies to the decoding queue. A datagram mixing priority and
+     * other data blocks is split in two, and counted as two decoded datagrams.
+     */
+    public AsterixPipelineBuilder priorityLane(int... categories) {
+        Assert.isTrue(categories.length > 0, "At least one priority category is needed");
+        this.priorityCategories = categories.clone();
+        return this;
+    }
+
+    /**
+     * @param latencyMetrics True (default) to measure the latency of each pipeline stage in
+     *                       histograms, by source and by category
+     */
+    public AsterixPipelineBuilder latencyMetrics(boolean latencyMetrics) {
+        this.latencyMetrics = latencyMetrics;
+        return this;
+    }
+
+    /**
+     * Add a filter or transformation stage, executed after the stages already added
+     */
+    public AsterixPipelineBuilder stage(PipelineStage stage) {
+        Assert.notNull(stage);
+        stages.add(stage);
+        return this;
+    }
+
+    /**
+     * Add a sink called directly from the decoding threads. It must be thread safe if there is
+     * more than one decoding thread.
+     */
+    public AsterixPipelineBuilder sink(DataBlockSink sink) {
+        Assert.notNull(sink);
+        sinks.add(sink);
+        return this;
+    }
+
+    /**
+     * Add a sink running on its own thread, behind a bounded queue. The sink is always called
+     * from the same thread.
+     *
+     * @param queueCapacity The capacity of the sink queue. Decoding blocks when it is full.
+     * @param batchSize     The maximum number of decoded datagrams delivered between two calls
+     *                      of onEndOfBatch
+     */
+    public AsterixPipelineBuilder asyncSink(DataBlockSink sink, int queueCapacity, int batchSize) {
+        AsyncDataBlockSink asyncSink = new AsyncDataBlockSink(sink, queueCapacity, batchSize);
+        asyncSinks.add(asyncSink);
+        sinks.add(asyncSink);
+        return this;
+    }
+
+    public AsterixPipeline build() {
+        Assert.notEmpty(sources, "At least one source is needed");
+        Assert.notEmpty(sinks, "At least one sink is needed");
+        Assert.notNull(decoderConfiguration, "The categories to decode must be set");
+        if (queue == null) {
+            queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
+        }
+        if (priorityCategories != null) {
+            priorityQueue = new ArrayBlockingQueue<>(DEFAULT_PRIORITY_QUEUE_CAPACITY);
+        }
+        return new AsterixPipeline(this);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a sink on its own thread, behind a bounded queue, so a slow sink (database, network)
+ * does not slow down decoding until its queue is full. Queued results are delivered in
+ * batches: onEndOfBatch is called on the wrapped sink after each batch.
+ */
+class AsyncDataBlockSink implements DataBlockSink, Runnable {
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final DataBlockSink sink;
+    private final BlockingQueue<DecodedDatagram> queue;
+    private final int batchSize;
+    private volatile boolean running;
+
+    AsyncDataBlockSink(DataBlockSink sink, int queueCapacity, int batchSize) {
+        Assert.notNull(sink);
+        Assert.isTrue(batchSize > 0, "The batch size must be positive");
+
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.running = true;
+    }
+
+    /**
+     * Queue the decoded data. Blocks if the queue is full.
+     */
+    @Override
+    public void onDataBlocks(RawDatagram datagram, List<AsterixDataBlock> dataBlocks) {
+        try {
+            queue.put(new DecodedDatagram(datagram, dataBlocks));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        List<DecodedDatagram> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                DecodedDatagram first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (DecodedDatagram decodedDatagram : batch) {
+                    sink.onDataBlocks(decodedDatagram.datagram, decodedDatagram.dataBlocks);
+                }
+                sink.onEndOfBatch();
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ask the sink thread to stop after the queued data is delivered
+     */
+    void stop() {
+        running = false;
+    }
+
+    private static class DecodedDatagram {
+        private final RawDatagram datagram;
+        private final List<AsterixDataBlock> dataBlocks;
+
+        private DecodedDatagram(RawDatagram datagram, List<AsterixDataBlock> dataBlocks) {
+            this.datagram = datagram;
+            this.dataBlocks = dataBlocks;
+        }
+    }
+}
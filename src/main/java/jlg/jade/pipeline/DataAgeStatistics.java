@@ -0,0 +1,139 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.metrics.HistogramSnapshot;
+import jlg.jade.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming statistics of the data age of an Asterix source (category + SAC/SIC), in
+ * milliseconds. The data age of a record is the difference between the moment it was received
+ * and the time of day it contains. The jitter is the smoothed variation of the data age between
+ * consecutive records, computed like the RTP interarrival jitter (RFC 3550).
+ * Negative data ages (records time stamped after they were received, because of clock
+ * differences) are counted, and recorded as 0 in the percentiles.
+ */
+public class DataAgeStatistics {
+    private static final long HIGHEST_TRACKABLE_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final double JITTER_GAIN = 1.0 / 16;
+
+    private final int category;
+    private final int sac;
+    private final int sic;
+    private final LatencyHistogram histogram;
+    private long nbRecords;
+    private long nbNegativeAges;
+    private long minAgeMillis;
+    private long maxAgeMillis;
+    private double meanAgeMillis;
+    private double sumOfSquaredDifferences;
+    private double jitterMillis;
+    private long lastAgeMillis;
+
+    public DataAgeStatistics(int category, int sac, int sic) {
+        this.category = category;
+        this.sac = sac;
+        this.sic = sic;
+        this.histogram = new LatencyHistogram(HIGHEST_TRACKABLE_AGE_MILLIS);
+        reset();
+    }
+
+    /**
+     * Add the data age of a new record
+     */
+    public synchronized void record(long ageMillis) {
+        histogram.record(ageMillis);
+        if (ageMillis < 0) {
+            nbNegativeAges++;
+        }
+        if (nbRecords > 0) {
+            long variation = Math.abs(ageMillis - lastAgeMillis);
+            jitterMillis += (variation - jitterMillis) * JITTER_GAIN;
+        }
+        lastAgeMillis = ageMillis;
+        minAgeMillis = Math.min(minAgeMillis, ageMillis);
+        maxAgeMillis = Math.max(maxAgeMillis, ageMillis);
+
+        //Welford's online mean and variance
+        nbRecords++;
+        double difference = ageMillis - meanAgeMillis;
+        meanAgeMillis += difference / nbRecords;
+        sumOfSquaredDifferences += difference * (ageMillis - meanAgeMillis);
+    }
+
+    public synchronized void reset() {
+        histogram.reset();
+        nbRecords = 0;
+        nbNegativeAges = 0;
+        minAgeMillis = Long.MAX_VALUE;
+        maxAgeMillis = Long.MIN_VALUE;
+        meanAgeMillis = 0;
+        sumOfSquaredDifferences = 0;
+        jitterMillis = 0;
+        lastAgeMillis = 0;
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    public int getSac() {
+        return sac;
+    }
+
+    public int getSic() {
+        return sic;
+    }
+
+    public synchronized long getNbRecords() {
+        return nbRecords;
+    }
+
+    /**
+     * @return The number of records with a time of day after their receive time
+     */
+    public synchronized long getNbNegativeAges() {
+        return nbNegativeAges;
+    }
+
+    public synchronized long getMinAgeMillis() {
+        return nbRecords == 0 ? 0 : minAgeMillis;
+    }
+
+    public synchronized long getMaxAgeMillis() {
+        return nbRecords == 0 ? 0 : maxAgeMillis;
+    }
+
+    public synchronized double getMeanAgeMillis() {
+        return meanAgeMillis;
+    }
+
+    public synchronized double getStandardDeviationMillis() {
+        return nbRecords < 2 ? 0 : Math.sqrt(sumOfSquaredDifferences / (nbRecords - 1));
+    }
+
+    public synchronized double getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /**
+     * @return The distribution of the data ages, used for percentiles
+     */
+    public HistogramSnapshot getAgeDistribution() {
+        return histogram.snapshot();
+    }
+
+    public synchronized String toDebugString() {
+        HistogramSnapshot distribution = histogram.snapshot();
+        return String.format("  -- Cat%03d SAC/SIC %3d/%-3d %8d records, age mean %.1f ms (std dev %.1f), " +
+                        "min/p50/p99/max %d/%d/%d/%d ms, jitter %.1f ms, %d negative",
+                category, sac, sic, nbRecords, meanAgeMillis, getStandardDeviationMillis(),
+                getMinAgeMillis(), distribution.getValueAtPercentile(50), distribution.getValueAtPercentile(99),
+                getMaxAgeMillis(), jitterMillis, nbNegativeAges);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+
+import java.util.List;
+
+/**
+ * Receives the data blocks decoded from a raw datagram. Implementations are called from the
+ * decoding threads and must be thread safe if they are shared between lanes.
+ */
+@FunctionalInterface
+public interface DataBlockSink {
+    void onDataBlocks(RawDatagram datagram, List<AsterixDataBlock> dataBlocks);
+
+    /**
+     * Called after a batch of datagrams has been delivered, so the sink can flush buffered
+     * output. Does nothing by default.
+     */
+    default void onEndOfBatch() {
+    }
+}
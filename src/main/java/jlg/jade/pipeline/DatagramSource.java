@@ -0,0 +1,34 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Input of an AsterixPipeline (UDP socket, TCP connection, recording file, ...). Each source is
+ * read by its own thread.
+ */
+public interface DatagramSource extends Closeable {
+    /**
+     * Read raw data and hand it to the consumer, until the input ends or the source is closed.
+     * Must return normally when the source is closed from another thread.
+     */
+    void read(DatagramConsumer consumer) throws IOException, InterruptedException;
+
+    /**
+     * @return A short description of the source, used to name its reading thread
+     */
+    String getName();
+
+    /**
+     * Receives the datagrams read by a source
+     */
+    @FunctionalInterface
+    interface DatagramConsumer {
+        void accept(RawDatagram datagram) throws InterruptedException;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decoding thread of an AsterixPipeline. Takes batches of raw datagrams from the pipeline
+ * queue (or the queue of its lane), decodes them with its own AsterixDecoder, runs the stages and
+ * delivers the result to the sinks.
+ * An exception thrown by a stage or a sink is counted and does not stop the worker: a failing
+ * stage drops the datagram, a failing sink does not prevent the other sinks from receiving it.
+ * Only the first failure of the pipeline is logged, to avoid flooding the logs with a failure
+ * repeated on every datagram.
+ */
+class DecodeWorker implements Runnable {
+    private static final Log logger = LogFactory.getLog(DecodeWorker.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<RawDatagram> queue;
+    private final String queueName;
+    private final AsterixDecoder decoder;
+    private final List<PipelineStage> stages;
+    private final List<DataBlockSink> sinks;
+    private final int batchSize;
+    private final LongAdder nbDecodedDatagrams;
+    private final LongAdder nbDecodingFailures;
+    private final LongAdder nbProcessingFailures;
+    private final AtomicBoolean processingFailureLogged;
+    private final PipelineLatencyMetrics latencyMetrics;
+    private final LaneMetrics laneMetrics;
+    private volatile boolean running;
+
+    /**
+     * @param queueName   The name of the queue in the queue wait events
+     * @param laneMetrics The metrics of the lane of the worker, or null when the pipeline has a
+     *                    single lane
+     */
+    DecodeWorker(BlockingQueue<RawDatagram> queue, String queueName, AsterixDecoder decoder,
+                 List<PipelineStage> stages, List<DataBlockSink> sinks, int batchSize,
+                 LongAdder nbDecodedDatagrams, LongAdder nbDecodingFailures, LongAdder nbProcessingFailures,
+                 AtomicBoolean processingFailureLogged, PipelineLatencyMetrics latencyMetrics,
+                 LaneMetrics laneMetrics) {
+        this.queue = queue;
+        this.queueName = queueName;
+        this.decoder = decoder;
+        this.stages = stages;
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.nbDecodedDatagrams = nbDecodedDatagrams;
+        this.nbDecodingFailures = nbDecodingFailures;
+        this.nbProcessingFailures = nbProcessingFailures;
+        this.processingFailureLogged = processingFailureLogged;
+        this.latencyMetrics = latencyMetrics;
+        this.laneMetrics = laneMetrics;
+        this.running = true;
+    }
+
+    @Override
+    public void run() {
+        List<RawDatagram> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                RawDatagram first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (RawDatagram datagram : batch) {
+                    process(datagram);
+                }
+                for (DataBlockSink sink : sinks) {
+                    try {
+                        sink.onEndOfBatch();
+                    } catch (RuntimeException e) {
+                        onProcessingFailure("Sink " + sink + " failed at the end of a batch", e);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ask the worker to stop after the datagrams already in the queue are processed
+     */
+    void stop() {
+        running = false;
+    }
+
+    private void process(RawDatagram datagram) {
+        long decodeStartNanos = System.nanoTime();
+        if (latencyMetrics != null) {
+            latencyMetrics.record(LatencyStage.QUEUE, datagram, decodeStartNanos - datagram.getReceiveTimeNanos());
+        }
+        if (laneMetrics != null) {
+            laneMetrics.recordQueueWait(decodeStartNanos - datagram.getReceiveTimeNanos());
+        }
+        QueueWaitEvents.commit(queueName, datagram, decodeStartNanos);
+        decodeAndDeliver(datagram, decodeStartNanos);
+        if (laneMetrics != null) {
+            laneMetrics.recordLatency(System.nanoTime() - datagram.getReceiveTimeNanos());
+        }
+    }
+
+    private void decodeAndDeliver(RawDatagram datagram, long decodeStartNanos) {
+        List<AsterixDataBlock> dataBlocks;
+        try {
+            dataBlocks = decoder.decode(datagram.getData(), 0, datagram.getLength());
+            nbDecodedDatagrams.increment();
+            if (hasDecodingError(dataBlocks)) {
+                //reported errors (REPORT error mode): the datagram is still delivered
+                nbDecodingFailures.increment();
+            }
+        } catch (RuntimeException e) {
+            nbDecodingFailures.increment();
+            if (laneMetrics != null) {
+                laneMetrics.recordDecodingFailure();
+            }
+            return;
+        }
+        boolean filtered = false;
+        for (PipelineStage stage : stages) {
+            try {
+                dataBlocks = stage.process(datagram, dataBlocks);
+            } catch (RuntimeException e) {
+                onProcessingFailure("Stage " + stage + " failed, the datagram is dropped", e);
+                dataBlocks = null;
+            }
+            if (dataBlocks == null || dataBlocks.isEmpty()) {
+                filtered = true;
+                break;
+            }
+        }
+        long deliverStartNanos = System.nanoTime();
+        if (latencyMetrics != null) {
+            latencyMetrics.record(LatencyStage.DECODE, datagram, deliverStartNanos - decodeStartNanos);
+        }
+        if (filtered) {
+            return;
+        }
+
+        for (DataBlockSink sink : sinks) {
+            try {
+                sink.onDataBlocks(datagram, dataBlocks);
+            } catch (RuntimeException e) {
+                onProcessingFailure("Sink " + sink + " failed to process a datagram", e);
+            }
+        }
+        if (latencyMetrics != null) {
+            long deliverEndNanos = System.nanoTime();
+            latencyMetrics.record(LatencyStage.DELIVER, datagram, deliverEndNanos - deliverStartNanos);
+            latencyMetrics.record(LatencyStage.TOTAL, datagram, deliverEndNanos - datagram.getReceiveTimeNanos());
+        }
+    }
+
+    private void onProcessingFailure(String message, RuntimeException e) {
+        nbProcessingFailures.increment();
+        if (processingFailureLogged.compareAndSet(false, true)) {
+            logger.error(message + " (next stage and sink failures are only counted)", e);
+        }
+    }
+
+    private static boolean hasDecodingError(List<AsterixDataBlock> dataBlocks) {
+        for (AsterixDataBlock dataBlock : dataBlocks) {
+            if (dataBlock.hasDecodingError()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDataSourceIdentifierData;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.AsterixTimeData;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the feed latency: compares the time of day of each decoded record (I004/020,
+ * I034/030, I048/140, I062/070, I065/030) with the wall-clock time at which it was received,
+ * and keeps streaming statistics for each Asterix source (category + SAC/SIC). Records without
+ * time of day or data source identifier (eg. Cat150) are ignored.
+ * The monitor is a sink, so it can be added to a pipeline; records decoded outside a pipeline
+ * can be passed to the record method.
+ *
+ * @implNote Example:
+ * FeedLatencyMonitor monitor = new FeedLatencyMonitor();
+ * AsterixPipeline pipeline = AsterixPipeline.builder().source(...).categories(62).sink(monitor).build();
+ * ...
+ * System.out.println(monitor.toDebugString());
+ */
+public class FeedLatencyMonitor implements DataBlockSink {
+    private static final long MILLIS_IN_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long MILLIS_IN_HALF_DAY = MILLIS_IN_DAY / 2;
+    private static final int TIME_UNITS_PER_SECOND = 128;
+
+    private final ConcurrentHashMap<Integer, DataAgeStatistics> statistics;
+    private final LongAdder nbIgnoredRecords;
+
+    public FeedLatencyMonitor() {
+        this.statistics = new ConcurrentHashMap<>();
+        this.nbIgnoredRecords = new LongAdder();
+    }
+
+    @Override
+    public void onDataBlocks(RawDatagram datagram, List<AsterixDataBlock> dataBlocks) {
+        for (AsterixDataBlock dataBlock : dataBlocks) {
+            for (AsterixRecord record : dataBlock.getRecords()) {
+                record(record, datagram.getReceiveTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Add the data age of a record to the statistics of its source
+     *
+     * @param receiveTimeMillis The wall-clock receive time (System.currentTimeMillis)
+     */
+    public void record(AsterixRecord record, long receiveTimeMillis) {
+        AsterixTimeData timeOfDay = getTimeOfDay(record);
+        AsterixDataSourceIdentifierData dataSource = getDataSource(record);
+        if (timeOfDay == null || dataSource == null) {
+            nbIgnoredRecords.increment();
+            return;
+        }
+
+        int category = record.getCategory();
+        int sac = dataSource.getSac();
+        int sic = dataSource.getSic();
+        statistics.computeIfAbsent(sourceKey(category, sac, sic), key -> new DataAgeStatistics(category, sac, sic))
+                .record(dataAgeMillis(receiveTimeMillis, timeOfDay.getTime()));
+    }
+
+    /**
+     * Computes the data age of a record, handling the midnight rollover: a record time stamped
+     * just before midnight and received just after midnight has a small positive age. Ages are
+     * always between -12 and +12 hours.
+     *
+     * @param receiveTimeMillis The wall-clock receive time (System.currentTimeMillis)
+     * @param asterixTime       The Asterix time of day, in 1/128 s since UTC midnight
+     * @return The data age, in milliseconds
+     */
+    public static long dataAgeMillis(long receiveTimeMillis, int asterixTime) {
+        long receiveTimeOfDayMillis = Math.floorMod(receiveTimeMillis, MILLIS_IN_DAY);
+        long recordTimeOfDayMillis = (long) asterixTime * 1000 / TIME_UNITS_PER_SECOND;
+        long ageMillis = receiveTimeOfDayMillis - recordTimeOfDayMillis;
+        if (ageMillis > MILLIS_IN_HALF_DAY) {
+            ageMillis -= MILLIS_IN_DAY;
+        } else if (ageMillis < -MILLIS_IN_HALF_DAY) {
+            ageMillis += MILLIS_IN_DAY;
+        }
+        return ageMillis;
+    }
+
+    /**
+     * @return The statistics of a source, or null if no record was received from it
+     */
+    public DataAgeStatistics getStatistics(int category, int sac, int sic) {
+        return statistics.get(sourceKey(category, sac, sic));
+    }
+
+    /**
+     * @return The statistics of all sources, ordered by category and SAC/SIC
+     */
+    public List<DataAgeStatistics> getAllStatistics() {
+        List<DataAgeStatistics> all = new ArrayList<>(statistics.values());
+        all.sort(Comparator.comparingInt((DataAgeStatistics s) -> sourceKey(s.getCategory(), s.getSac(), s.getSic())));
+        return all;
+    }
+
+    /**
+     * @return The number of records without time of day or data source identifier
+     */
+    public long getNbIgnoredRecords() {
+        return nbIgnoredRecords.sum();
+    }
+
+    /**
+     * Start a new measurement interval, for all sources
+     */
+    public void reset() {
+        statistics.values().forEach(DataAgeStatistics::reset);
+        nbIgnoredRecords.reset();
+    }
+
+    public String toDebugString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("*** FEED LATENCY REPORT ***");
+        sb.append(System.lineSeparator());
+        for (DataAgeStatistics sourceStatistics : getAllStatistics()) {
+            sb.append(sourceStatistics.toDebugString());
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static int sourceKey(int category, int sac, int sic) {
+        return (category << 16) | (sac << 8) | sic;
+    }
+
+    private static AsterixTimeData getTimeOfDay(AsterixRecord record) {
+        switch (record.getCategory()) {
+            case 4: {
+                return record.getCat004Record() == null ? null : record.getCat004Record().getItem020();
+            }
+            case 34: {
+                return record.getCat034Record() == null ? null : record.getCat034Record().getItem030();
+            }
+            case 48: {
+                return record.getCat048Record() == null ? null : record.getCat048Record().getItem140();
+            }
+            case 62: {
+                return record.getCat062Record() == null ? null : record.getCat062Record().getItem070();
+            }
+            case 65: {
+                return record.getCat065Record() == null ? null : record.getCat065Record().getItem030();
+            }
+            default: {
+                return null;
+            }
+        }
+    }
+
+    private static AsterixDataSourceIdentifierData getDataSource(AsterixRecord record) {
+        switch (record.getCategory()) {
+            case 4: {
+                return record.getCat004Record() == null ? null : record.getCat004Record().getItem010();
+            }
+            case 34: {
+                return record.getCat034Record() == null ? null : record.getCat034Record().getItem010();
+            }
+            case 48: {
+                return record.getCat048Record() == null ? null : record.getCat048Record().getItem010();
+            }
+            case 62: {
+                return record.getCat062Record() == null ? null : record.getCat062Record().getItem010();
+            }
+            case 65: {
+                return record.getCat065Record() == null ? null : record.getCat065Record().getItem010();
+            }
+            default: {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.finalframe.FinalFrameReader;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the Asterix payloads of a Final Frame recording file. The source ends when the end of
+ * the file is reached.
+ */
+public class FinalFrameFileSource implements DatagramSource {
+    private final String filePath;
+    private volatile boolean closed;
+
+    public FinalFrameFileSource(String filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public void read(DatagramConsumer consumer) throws IOException, InterruptedException {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(filePath))) {
+            FinalFrameReader ffReader = new FinalFrameReader();
+            while (!closed && is.available() > 0) {
+                byte[] ffPayload = ffReader.read(is);
+                if (ffPayload != null) {
+                    consumer.accept(new RawDatagram(ffPayload));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public String getName() {
+        return "file-" + filePath;
+    }
+}
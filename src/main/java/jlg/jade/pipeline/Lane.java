@@ -0,0 +1,15 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+/**
+ * The processing lanes of the ingest pipeline. Latency critical data (eg. Cat004 safety net
+ * alerts) is processed in the ALERT lane, so it never waits behind bulk track traffic.
+ */
+public enum Lane {
+    ALERT,
+    BULK
+}
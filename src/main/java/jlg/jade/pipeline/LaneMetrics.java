@@ -0,0 +1,108 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency metrics of a processing lane. Two values are measured for each datagram:
+ * - the queue wait: time between receive and the moment the lane started decoding
+ * - the latency: time between receive and the moment the decoded data was delivered to the sink
+ *
+ * @implNote Metrics can be updated and read from different threads
+ */
+public class LaneMetrics {
+    private final Lane lane;
+    private final LongAdder nbDatagrams;
+    private final LongAdder nbDecodingFailures;
+    private final LongAdder totalQueueWaitNanos;
+    private final LongAdder totalLatencyNanos;
+    private final AtomicLong maxQueueWaitNanos;
+    private final AtomicLong maxLatencyNanos;
+
+    public LaneMetrics(Lane lane) {
+        this.lane = lane;
+        this.nbDatagrams = new LongAdder();
+        this.nbDecodingFailures = new LongAdder();
+        this.totalQueueWaitNanos = new LongAdder();
+        this.totalLatencyNanos = new LongAdder();
+        this.maxQueueWaitNanos = new AtomicLong();
+        this.maxLatencyNanos = new AtomicLong();
+    }
+
+    public void recordQueueWait(long nanos) {
+        totalQueueWaitNanos.add(nanos);
+        updateMax(maxQueueWaitNanos, nanos);
+    }
+
+    public void recordLatency(long nanos) {
+        nbDatagrams.increment();
+        totalLatencyNanos.add(nanos);
+        updateMax(maxLatencyNanos, nanos);
+    }
+
+    public void recordDecodingFailure() {
+        nbDecodingFailures.increment();
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+
+    public long getNbDatagrams() {
+        return nbDatagrams.sum();
+    }
+
+    public long getNbDecodingFailures() {
+        return nbDecodingFailures.sum();
+    }
+
+    public long getMeanQueueWaitNanos() {
+        long count = nbDatagrams.sum();
+        return count == 0 ? 0 : totalQueueWaitNanos.sum() / count;
+    }
+
+    public long getMaxQueueWaitNanos() {
+        return maxQueueWaitNanos.get();
+    }
+
+    public long getMeanLatencyNanos() {
+        long count = nbDatagrams.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / count;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    /**
+     * Start a new measurement interval
+     */
+    public void reset() {
+        nbDatagrams.reset();
+        nbDecodingFailures.reset();
+        totalQueueWaitNanos.reset();
+        totalLatencyNanos.reset();
+        maxQueueWaitNanos.set(0);
+        maxLatencyNanos.set(0);
+    }
+
+    public String toDebugString() {
+        return String.format("  -- %-6s lane: %d datagrams, %d failures, queue wait mean/max %d/%d us, " +
+                        "latency mean/max %d/%d us",
+                lane, getNbDatagrams(), getNbDecodingFailures(),
+                getMeanQueueWaitNanos() / 1000, getMaxQueueWaitNanos() / 1000,
+                getMeanLatencyNanos() / 1000, getMaxLatencyNanos() / 1000);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+}
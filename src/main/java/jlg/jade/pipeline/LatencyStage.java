@@ -0,0 +1,35 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+/**
+ * The steps of the ingest pipeline for which the latency is measured. All the values are
+ * measured in nanoseconds, for each datagram.
+ */
+public enum LatencyStage {
+    /**
+     * From the receive time until the datagram is accepted in the decoding queue (time blocked
+     * by a full queue or spent shedding load)
+     */
+    RECEIVE,
+    /**
+     * From the receive time until a decoding thread takes the datagram from the queue
+     */
+    QUEUE,
+    /**
+     * Decoding of the datagram and execution of the pipeline stages
+     */
+    DECODE,
+    /**
+     * Delivery of the decoded data to the sinks (for asynchronous sinks, until the data is in
+     * the sink queue)
+     */
+    DELIVER,
+    /**
+     * From the receive time until the decoded data is delivered to the sinks
+     */
+    TOTAL
+}
@@ -0,0 +1,248 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.cat062.Cat062RecordLayout;
+import jlg.jade.common.LongIntHashMap;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.UnaryOperator;
+
+/**
+ * Applies the LoadSheddingPolicy on raw datagrams, before any decoding. Decisions are taken
+ * from the data block headers and, for Cat048 and Cat062, from the few bytes needed to
+ * identify the source or the track:
+ * - protected categories are always kept
+ * - ELEVATED: Cat048 data blocks from the sources chosen in the policy are dropped
+ * - CRITICAL: all Cat048 data blocks are dropped and only one Cat062 update out of N is kept
+ * for each track
+ * Data blocks that can not be walked (malformed, unknown items) are kept as they are, so the
+ * decoder can report them.
+ *
+ * @implNote The per track counters are not thread safe, so the shed method is synchronized
+ */
+public class LoadShedder {
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+    private static final int CAT048 = 48;
+    private static final int CAT062 = 62;
+    private static final int FX_BIT = 0x01;
+    private static final int I048_010_BIT = 0x80;
+    private static final int MAX_CAT048_FSPEC_SIZE = 4;
+    private static final int MAX_TRACKED_KEYS = 65536;
+
+    private volatile LoadSheddingPolicy policy;
+    private final SheddingStatistics statistics;
+    private final LongIntHashMap cat062UpdatesPerTrack;
+
+    public LoadShedder(LoadSheddingPolicy policy) {
+        this(policy, new SheddingStatistics());
+    }
+
+    public LoadShedder(LoadSheddingPolicy policy, SheddingStatistics statistics) {
+        Assert.notNull(policy);
+        Assert.notNull(statistics);
+
+        this.policy = policy;
+        this.statistics = statistics;
+        this.cat062UpdatesPerTrack = new LongIntHashMap(4096);
+    }
+
+    /**
+     * @param datagram The received datagram
+     * @param level    The current overload level
+     * @return The datagram itself if nothing was shed, a new datagram with the remaining data
+     * blocks, or null if everything was shed
+     */
+    public synchronized RawDatagram shed(RawDatagram datagram, OverloadLevel level) {
+        if (level == OverloadLevel.NONE) {
+            return datagram;
+        }
+
+        //the same policy is applied to all the data blocks of the datagram
+        LoadSheddingPolicy policy = this.policy;
+        byte[] data = datagram.getData();
+        ByteArrayOutputStream kept = null;
+        int index = 0;
+        while (index + DATA_BLOCK_HEADER_SIZE <= data.length) {
+            int category = Byte.toUnsignedInt(data[index]);
+            int size = dataBlockSize(data, index);
+            if (size < DATA_BLOCK_HEADER_SIZE || index + size > data.length) {
+                //malformed header, let the decoder deal with the rest
+                break;
+            }
+
+            byte[] sampled = null;
+            boolean drop = false;
+            if (!policy.isProtectedCategory(category)) {
+                if (category == CAT048) {
+                    drop = level == OverloadLevel.CRITICAL || isCat048SourceToDropFirst(policy, data, index, size);
+                } else if (category == CAT062 && level == OverloadLevel.CRITICAL) {
+                    sampled = sampleCat062(policy, data, index, size);
+                    drop = sampled != null && sampled.length == 0;
+                }
+            }
+
+            if (drop && sampled == null) {
+                //sampled records are already counted one by one
+                statistics.recordShedDataBlock(category, size);
+            }
+            if ((drop || sampled != null) && kept == null) {
+                kept = new ByteArrayOutputStream(data.length);
+                kept.write(data, 0, index);
+            }
+            if (kept != null && !drop) {
+                if (sampled != null) {
+                    kept.write(sampled, 0, sampled.length);
+                } else {
+                    kept.write(data, index, size);
+                }
+            }
+            index += size;
+        }
+
+        if (kept == null) {
+            return datagram;
+        }
+        kept.write(data, index, data.length - index);
+        if (kept.size() == 0) {
+            return null;
+        }
+        RawDatagram shedDatagram = new RawDatagram(kept.toByteArray(), datagram.getReceiveTimeNanos(),
+                datagram.getReceiveTimeMillis());
+        shedDatagram.setSourceIndex(datagram.getSourceIndex());
+        return shedDatagram;
+    }
+
+    public SheddingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return The policy currently applied
+     */
+    public LoadSheddingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Replace the policy. The new policy is applied starting with the next datagram.
+     */
+    public void setPolicy(LoadSheddingPolicy policy) {
+        Assert.notNull(policy);
+        this.policy = policy;
+    }
+
+    /**
+     * Atomically replace the policy with a modified copy (ex: shedder.updatePolicy(p ->
+     * p.withCat062SamplingRate(8)))
+     *
+     * @return The new policy
+     */
+    public synchronized LoadSheddingPolicy updatePolicy(UnaryOperator<LoadSheddingPolicy> updateFunction) {
+        Assert.notNull(updateFunction);
+        LoadSheddingPolicy newPolicy = updateFunction.apply(policy);
+        setPolicy(newPolicy);
+        return newPolicy;
+    }
+
+    /**
+     * Reads the SAC/SIC (I048/010) of the first record. All the records of a Cat048 data
+     * block come from the same radar.
+     */
+    private boolean isCat048SourceToDropFirst(LoadSheddingPolicy policy, byte[] data, int blockStart, int blockSize) {
+        int blockEnd = blockStart + blockSize;
+        int offset = blockStart + DATA_BLOCK_HEADER_SIZE;
+        if (offset >= blockEnd || (data[offset] & I048_010_BIT) == 0) {
+            return false;
+        }
+        int fspecSize = 1;
+        while ((data[offset] & FX_BIT) != 0) {
+            offset++;
+            fspecSize++;
+            if (fspecSize > MAX_CAT048_FSPEC_SIZE || offset >= blockEnd) {
+                return false;
+            }
+        }
+        offset++;
+        if (offset + 2 > blockEnd) {
+            return false;
+        }
+        return policy.isCat048SourceToDropFirst(Byte.toUnsignedInt(data[offset]),
+                Byte.toUnsignedInt(data[offset + 1]));
+    }
+
+    /**
+     * Keeps one update out of N for each track.
+     *
+     * @return null if all records are kept (or the block can not be walked), otherwise the data
+     * block rebuilt with the kept records only (empty if no record is kept)
+     */
+    private byte[] sampleCat062(LoadSheddingPolicy policy, byte[] data, int blockStart, int blockSize) {
+        if (cat062UpdatesPerTrack.size() > MAX_TRACKED_KEYS) {
+            cat062UpdatesPerTrack.clear();
+        }
+
+        int samplingRate = policy.getCat062SamplingRate();
+        int blockEnd = blockStart + blockSize;
+        AsterixItemLayout layout = Cat062RecordLayout.RECORD;
+
+        //first pass: make sure all the records can be walked, so counters are not updated
+        //for a data block that will be kept anyway
+        int offset = blockStart + DATA_BLOCK_HEADER_SIZE;
+        while (offset < blockEnd) {
+            offset = layout.skip(data, offset, blockEnd);
+            if (offset == AsterixItemLayout.INVALID_OFFSET) {
+                return null;
+            }
+        }
+
+        ByteArrayOutputStream kept = null;
+        offset = blockStart + DATA_BLOCK_HEADER_SIZE;
+        while (offset < blockEnd) {
+            int next = layout.skip(data, offset, blockEnd);
+            int sourceOffset = layout.find(data, offset, blockEnd, Cat062RecordLayout.I062_010);
+            int trackNbOffset = layout.find(data, offset, blockEnd, Cat062RecordLayout.I062_040);
+
+            boolean keep = true;
+            if (sourceOffset != AsterixItemLayout.INVALID_OFFSET &&
+                    trackNbOffset != AsterixItemLayout.INVALID_OFFSET) {
+                long key = TrackConflatingQueue.trackKey(CAT062,
+                        Byte.toUnsignedInt(data[sourceOffset]),
+                        Byte.toUnsignedInt(data[sourceOffset + 1]),
+                        ((data[trackNbOffset] & 0xFF) << 8) | (data[trackNbOffset + 1] & 0xFF));
+                keep = (cat062UpdatesPerTrack.increment(key) - 1) % samplingRate == 0;
+            }
+
+            if (!keep) {
+                statistics.recordShedRecord(CAT062, next - offset);
+                if (kept == null) {
+                    kept = new ByteArrayOutputStream(blockSize);
+                    kept.write(data, blockStart, offset - blockStart);
+                }
+            } else if (kept != null) {
+                kept.write(data, offset, next - offset);
+            }
+            offset = next;
+        }
+
+        if (kept == null) {
+            return null;
+        }
+        if (kept.size() == DATA_BLOCK_HEADER_SIZE) {
+            return new byte[0];
+        }
+        byte[] block = kept.toByteArray();
+        block[1] = (byte) (block.length >> 8);
+        block[2] = (byte) block.length;
+        return block;
+    }
+
+    private static int dataBlockSize(byte[] data, int index) {
+        return ((data[index + 1] & 0xFF) << 8) | (data[index + 2] & 0xFF);
+    }
+}
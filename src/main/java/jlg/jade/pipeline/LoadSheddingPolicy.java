@@ -0,0 +1,126 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+/**
+ * Configuration of the load shedding rules applied when the ingest is overloaded. By default:
+ * - Cat004 (safety net alerts) and Cat065 (SDPS status) are never shed
+ * - Cat048 plots from the chosen sources are dropped first (ELEVATED level)
+ * - All Cat048 plots are dropped and Cat062 is sampled per track (CRITICAL level)
+ *
+ * @implNote A policy is immutable: the with methods return a modified copy. A running
+ * LoadShedder is given a new policy with setPolicy or updatePolicy, and the source threads use it
+ * starting with the next datagram.
+ */
+public final class LoadSheddingPolicy {
+    private final boolean[] protectedCategories;
+    private final boolean[] cat048SourcesToDropFirst;
+    private final int cat062SamplingRate;
+    private final double elevatedFillRatio;
+    private final double criticalFillRatio;
+
+    public LoadSheddingPolicy() {
+        this.protectedCategories = new boolean[256];
+        this.protectedCategories[4] = true;
+        this.protectedCategories[65] = true;
+        this.cat048SourcesToDropFirst = new boolean[256 * 256];
+        this.cat062SamplingRate = 4;
+        this.elevatedFillRatio = 0.5;
+        this.criticalFillRatio = 0.8;
+    }
+
+    private LoadSheddingPolicy(boolean[] protectedCategories, boolean[] cat048SourcesToDropFirst,
+                               int cat062SamplingRate, double elevatedFillRatio, double criticalFillRatio) {
+        this.protectedCategories = protectedCategories;
+        this.cat048SourcesToDropFirst = cat048SourcesToDropFirst;
+        this.cat062SamplingRate = cat062SamplingRate;
+        this.elevatedFillRatio = elevatedFillRatio;
+        this.criticalFillRatio = criticalFillRatio;
+    }
+
+    /**
+     * Data blocks of a protected category are never shed. If the queue is full, the ingest
+     * waits for them to be queued.
+     *
+     * @return A copy of this policy where the category is protected (or not)
+     */
+    public LoadSheddingPolicy withProtectedCategory(int category, boolean isProtected) {
+        boolean[] newProtectedCategories = protectedCategories.clone();
+        newProtectedCategories[category & 0xFF] = isProtected;
+        return new LoadSheddingPolicy(newProtectedCategories, cat048SourcesToDropFirst, cat062SamplingRate,
+                elevatedFillRatio, criticalFillRatio);
+    }
+
+    public boolean isProtectedCategory(int category) {
+        return protectedCategories[category & 0xFF];
+    }
+
+    /**
+     * Cat048 plots from this source are the first data to be dropped when the ingest is
+     * overloaded
+     *
+     * @return A copy of this policy where the source is dropped first
+     */
+    public LoadSheddingPolicy withCat048SourceToDropFirst(int sac, int sic) {
+        boolean[] newSources = cat048SourcesToDropFirst.clone();
+        newSources[sourceIndex(sac, sic)] = true;
+        return new LoadSheddingPolicy(protectedCategories, newSources, cat062SamplingRate,
+                elevatedFillRatio, criticalFillRatio);
+    }
+
+    public boolean isCat048SourceToDropFirst(int sac, int sic) {
+        return cat048SourcesToDropFirst[sourceIndex(sac, sic)];
+    }
+
+    /**
+     * @param cat062SamplingRate At CRITICAL level, only one Cat062 update out of this number
+     *                           is kept for each track
+     * @return A copy of this policy with the given sampling rate
+     */
+    public LoadSheddingPolicy withCat062SamplingRate(int cat062SamplingRate) {
+        if (cat062SamplingRate < 1) {
+            throw new IllegalArgumentException("The sampling rate must be at least 1");
+        }
+        return new LoadSheddingPolicy(protectedCategories, cat048SourcesToDropFirst, cat062SamplingRate,
+                elevatedFillRatio, criticalFillRatio);
+    }
+
+    public int getCat062SamplingRate() {
+        return cat062SamplingRate;
+    }
+
+    /**
+     * @param elevatedFillRatio Queue fill ratio (0..1) from which the level is ELEVATED
+     * @param criticalFillRatio Queue fill ratio (0..1) from which the level is CRITICAL
+     * @return A copy of this policy with the given fill ratios
+     */
+    public LoadSheddingPolicy withFillRatios(double elevatedFillRatio, double criticalFillRatio) {
+        if (elevatedFillRatio > criticalFillRatio) {
+            throw new IllegalArgumentException("The elevated fill ratio must be lower than the critical one");
+        }
+        return new LoadSheddingPolicy(protectedCategories, cat048SourcesToDropFirst, cat062SamplingRate,
+                elevatedFillRatio, criticalFillRatio);
+    }
+    /**
+     * @param size     The number of elements in the queue
+     * @param capacity The capacity of the queue
+     * @return The overload level corresponding to the queue fill ratio
+     */
+    public OverloadLevel overloadLevel(int size, int capacity) {
+        double fillRatio = capacity == 0 ? 1 : (double) size / capacity;
+        if (fillRatio >= criticalFillRatio) {
+            return OverloadLevel.CRITICAL;
+        }
+        if (fillRatio >= elevatedFillRatio) {
+            return OverloadLevel.ELEVATED;
+        }
+        return OverloadLevel.NONE;
+    }
+
+    private static int sourceIndex(int sac, int sic) {
+        return ((sac & 0xFF) << 8) | (sic & 0xFF);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Front of a bounded decoding queue that sheds load instead of blocking the reader. The
+ * overload level is computed from the fill ratio of the queue, and the LoadShedder removes
+ * the data that the policy allows to lose before the datagram is queued.
+ * Datagrams that still contain protected categories (Cat004, Cat065) wait for room in the
+ * queue. Other datagrams are dropped (and counted) if the queue is full, so the reader keeps
+ * draining the socket and the kernel does not drop packets at random.
+ *
+ * @implNote Example:
+ * LoadSheddingQueue sheddingQueue = new LoadSheddingQueue(rawQueue, 4000, new LoadSheddingPolicy());
+ * sheddingQueue.offer(new RawDatagram(bytes));
+ */
+public class LoadSheddingQueue {
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+
+    private final BlockingQueue<RawDatagram> queue;
+    private final int capacity;
+    private final LoadShedder shedder;
+    private volatile OverloadLevel currentLevel;
+
+    /**
+     * @param queue    The decoding queue
+     * @param capacity The capacity of the decoding queue, used to compute the fill ratio
+     * @param policy   The shedding policy
+     */
+    public LoadSheddingQueue(BlockingQueue<RawDatagram> queue, int capacity, LoadSheddingPolicy policy) {
+        Assert.notNull(queue);
+        Assert.notNull(policy);
+
+        this.queue = queue;
+        this.capacity = capacity;
+        this.shedder = new LoadShedder(policy);
+        this.currentLevel = OverloadLevel.NONE;
+    }
+
+    /**
+     * Queue the datagram, after removing the data that must be shed at the current overload
+     * level.
+     *
+     * @return True if (part of) the datagram was queued
+     */
+    public boolean offer(RawDatagram datagram) throws InterruptedException {
+        LoadSheddingPolicy policy = shedder.getPolicy();
+        OverloadLevel level = policy.overloadLevel(queue.size(), capacity);
+        currentLevel = level;
+
+        RawDatagram remaining = shedder.shed(datagram, level);
+        if (remaining == null) {
+            return false;
+        }
+        if (containsProtectedCategory(policy, remaining.getData())) {
+            queue.put(remaining);
+            return true;
+        }
+        if (!queue.offer(remaining)) {
+            shedder.getStatistics().recordDroppedDatagram(remaining.getLength());
+            return false;
+        }
+        return true;
+    }
+
+    public OverloadLevel getCurrentLevel() {
+        return currentLevel;
+    }
+
+    public SheddingStatistics getStatistics() {
+        return shedder.getStatistics();
+    }
+
+    /**
+     * @return The shedder, whose policy can be replaced while the ingest is running
+     */
+    public LoadShedder getShedder() {
+        return shedder;
+    }
+
+    public BlockingQueue<RawDatagram> getQueue() {
+        return queue;
+    }
+
+    private static boolean containsProtectedCategory(LoadSheddingPolicy policy, byte[] data) {
+        int index = 0;
+        while (index + DATA_BLOCK_HEADER_SIZE <= data.length) {
+            if (policy.isProtectedCategory(data[index])) {
+                return true;
+            }
+            int size = ((data[index + 1] & 0xFF) << 8) | (data[index + 2] & 0xFF);
+            if (size < DATA_BLOCK_HEADER_SIZE) {
+                break;
+            }
+            index += size;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+/**
+ * How overloaded the ingest is, based on the fill ratio of the decoding queue. The level
+ * decides which shedding rules of the LoadSheddingPolicy are applied.
+ */
+public enum OverloadLevel {
+    /**
+     * Nothing is shed
+     */
+    NONE,
+    /**
+     * Cat048 plots from the sources chosen in the policy are dropped
+     */
+    ELEVATED,
+    /**
+     * All Cat048 plots are dropped and Cat062 is sampled per track
+     */
+    CRITICAL
+}
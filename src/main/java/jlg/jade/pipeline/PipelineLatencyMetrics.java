@@ -0,0 +1,205 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.metrics.HistogramSnapshot;
+import jlg.jade.metrics.LatencyHistogram;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latency histograms of an AsterixPipeline, for each stage, and for each stage split by source
+ * and category. A datagram is counted in the histogram of every category it contains.
+ * Histograms split by source and category are created the first time the category is received
+ * from the source; after that, recording does not allocate memory.
+ *
+ * @implNote Example:
+ * PipelineLatencyMetrics metrics = pipeline.getLatencyMetrics();
+ * long p99 = metrics.getHistogram(LatencyStage.TOTAL).snapshot().getValueAtPercentile(99);
+ */
+public class PipelineLatencyMetrics {
+    public static final long DEFAULT_HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int NB_CATEGORIES = 256;
+    private static final int NB_STAGES = LatencyStage.values().length;
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+
+    private final List<String> sourceNames;
+    private final long highestTrackableNanos;
+    private final LatencyHistogram[] stageHistograms;
+    private final AtomicReferenceArray<LatencyHistogram> categoryHistograms;
+
+    /**
+     * @param sourceNames           The names of the sources, in the order of their index
+     * @param highestTrackableNanos The highest latency that is measured precisely
+     */
+    public PipelineLatencyMetrics(List<String> sourceNames, long highestTrackableNanos) {
+        Assert.notEmpty(sourceNames, "At least one source is needed");
+        this.sourceNames = Collections.unmodifiableList(new ArrayList<>(sourceNames));
+        this.highestTrackableNanos = highestTrackableNanos;
+        this.stageHistograms = new LatencyHistogram[NB_STAGES];
+        for (int i = 0; i < NB_STAGES; i++) {
+            stageHistograms[i] = new LatencyHistogram(highestTrackableNanos);
+        }
+        this.categoryHistograms = new AtomicReferenceArray<>(NB_STAGES * sourceNames.size() * NB_CATEGORIES);
+    }
+
+    /**
+     * Record the latency of a stage for a datagram, in the histogram of the stage and in the
+     * histograms of the source and of every category found in the datagram
+     */
+    public void record(LatencyStage stage, RawDatagram datagram, long nanos) {
+        stageHistograms[stage.ordinal()].record(nanos);
+
+        //categories already recorded, as a 256 bit set
+        long seen0 = 0, seen1 = 0, seen2 = 0, seen3 = 0;
+        byte[] data = datagram.getData();
+        int index = 0;
+        while (index + DATA_BLOCK_HEADER_SIZE <= data.length) {
+            int category = Byte.toUnsignedInt(data[index]);
+            long bit = 1L << (category & 63);
+            boolean seen;
+            switch (category >> 6) {
+                case 0: {
+                    seen = (seen0 & bit) != 0;
+                    seen0 |= bit;
+                    break;
+                }
+                case 1: {
+                    seen = (seen1 & bit) != 0;
+                    seen1 |= bit;
+                    break;
+                }
+                case 2: {
+                    seen = (seen2 & bit) != 0;
+                    seen2 |= bit;
+                    break;
+                }
+                default: {
+                    seen = (seen3 & bit) != 0;
+                    seen3 |= bit;
+                }
+            }
+            if (!seen) {
+                getOrCreateHistogram(stage, datagram.getSourceIndex(), category).record(nanos);
+            }
+
+            int size = Byte.toUnsignedInt(data[index + 1]) * 256 + Byte.toUnsignedInt(data[index + 2]);
+            if (size < DATA_BLOCK_HEADER_SIZE) {
+                break;
+            }
+            index += size;
+        }
+    }
+
+    /**
+     * @return The histogram of all the datagrams processed by a stage
+     */
+    public LatencyHistogram getHistogram(LatencyStage stage) {
+        return stageHistograms[stage.ordinal()];
+    }
+
+    /**
+     * @return The histogram of a stage for the datagrams of a source containing a category, or
+     * null if the category has not been received from the source
+     */
+    public LatencyHistogram getHistogram(LatencyStage stage, int sourceIndex, int category) {
+        return categoryHistograms.get(histogramIndex(stage, sourceIndex, category));
+    }
+
+    /**
+     * @return The histogram of a stage for the datagrams containing a category, all sources
+     * included
+     */
+    public HistogramSnapshot snapshot(LatencyStage stage, int category) {
+        HistogramSnapshot snapshot = new LatencyHistogram(highestTrackableNanos).snapshot();
+        for (int sourceIndex = 0; sourceIndex < sourceNames.size(); sourceIndex++) {
+            LatencyHistogram histogram = getHistogram(stage, sourceIndex, category);
+            if (histogram != null) {
+                snapshot = snapshot.add(histogram.snapshot());
+            }
+        }
+        return snapshot;
+    }
+
+    public List<String> getSourceNames() {
+        return sourceNames;
+    }
+
+    /**
+     * Set all the histograms to 0
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : stageHistograms) {
+            histogram.reset();
+        }
+        for (int i = 0; i < categoryHistograms.length(); i++) {
+            LatencyHistogram histogram = categoryHistograms.get(i);
+            if (histogram != null) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * @return The report of all the values recorded since the start (or the last reset)
+     */
+    public String toDebugString() {
+        return report("*** LATENCY REPORT ***", false);
+    }
+
+    /**
+     * @return The report of the values recorded since the previous interval report, used for
+     * periodic reporting
+     */
+    public String toIntervalDebugString() {
+        return report("*** LATENCY REPORT (INTERVAL) ***", true);
+    }
+
+    private String report(String title, boolean interval) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(title);
+        sb.append(System.lineSeparator());
+        for (LatencyStage stage : LatencyStage.values()) {
+            LatencyHistogram stageHistogram = stageHistograms[stage.ordinal()];
+            HistogramSnapshot stageSnapshot = interval ?
+                    stageHistogram.intervalSnapshot() : stageHistogram.snapshot();
+            sb.append(String.format("  -- %-28s %s", stage, stageSnapshot.toDebugString()));
+            sb.append(System.lineSeparator());
+            for (int sourceIndex = 0; sourceIndex < sourceNames.size(); sourceIndex++) {
+                for (int category = 0; category < NB_CATEGORIES; category++) {
+                    LatencyHistogram histogram = getHistogram(stage, sourceIndex, category);
+                    if (histogram == null) {
+                        continue;
+                    }
+                    HistogramSnapshot snapshot = interval ? histogram.intervalSnapshot() : histogram.snapshot();
+                    sb.append(String.format("     %-10s Cat%03d %-12s %s", stage, category,
+                            sourceNames.get(sourceIndex), snapshot.toDebugString()));
+                    sb.append(System.lineSeparator());
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private LatencyHistogram getOrCreateHistogram(LatencyStage stage, int sourceIndex, int category) {
+        int index = histogramIndex(stage, sourceIndex, category);
+        LatencyHistogram histogram = categoryHistograms.get(index);
+        if (histogram == null) {
+            categoryHistograms.compareAndSet(index, null, new LatencyHistogram(highestTrackableNanos));
+            histogram = categoryHistograms.get(index);
+        }
+        return histogram;
+    }
+
+    private int histogramIndex(LatencyStage stage, int sourceIndex, int category) {
+        return (stage.ordinal() * sourceNames.size() + sourceIndex) * NB_CATEGORIES + category;
+    }
+}
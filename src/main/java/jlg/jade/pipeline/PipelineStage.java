@@ -0,0 +1,57 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixRecordFilter;
+import org.springframework.util.Assert;
+
+import java.util.List;
+
+/**
+ * Filter or transformation applied by an AsterixPipeline on the decoded data, before it is
+ * delivered to the sinks. Stages run on the decoding threads, in the order in which they were
+ * added to the pipeline.
+ */
+@FunctionalInterface
+public interface PipelineStage {
+    /**
+     * @param datagram   The raw datagram
+     * @param dataBlocks The data blocks decoded from the datagram (or returned by the previous
+     *                   stage)
+     * @return The data blocks passed to the next stage. An empty list (or null) stops the
+     * processing of the datagram.
+     */
+    List<AsterixDataBlock> process(RawDatagram datagram, List<AsterixDataBlock> dataBlocks);
+
+    /**
+     * @return A stage removing the records that are not accepted by the filter. Data blocks left
+     * without records are removed as well.
+     */
+    static PipelineStage recordFilter(AsterixRecordFilter filter) {
+        Assert.notNull(filter);
+        return (datagram, dataBlocks) -> {
+            dataBlocks.removeIf(dataBlock -> {
+                dataBlock.getRecords().removeIf(record -> !filter.accept(record));
+                return dataBlock.getRecords().isEmpty();
+            });
+            return dataBlocks;
+        };
+    }
+
+    /**
+     * @return A stage running the validation deferred while decoding (DEFERRED validation mode),
+     * so the sinks receive validated records
+     */
+    static PipelineStage deferredValidation() {
+        return (datagram, dataBlocks) -> {
+            for (AsterixDataBlock dataBlock : dataBlocks) {
+                dataBlock.validate();
+            }
+            return dataBlocks;
+        };
+    }
+}
@@ -0,0 +1,166 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.pipeline.DatagramSource.DatagramConsumer;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes raw data blocks to the ALERT or BULK lane, based only on the category byte found in
+ * the header of each data block. No decoding is done here.
+ * Datagrams that contain a single lane (the usual case) are forwarded as they are. Datagrams
+ * that mix alert and bulk data blocks are split in two.
+ * Used by AsterixPipeline when a priority lane is configured (AsterixPipelineBuilder.priorityLane).
+ */
+public class PriorityLaneDispatcher {
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+
+    private final boolean[] alertCategories;
+    private final DatagramConsumer alertLane;
+    private final DatagramConsumer bulkLane;
+    private final LongAdder nbAlertDatagrams;
+    private final LongAdder nbBulkDatagrams;
+    private final LongAdder nbSplitDatagrams;
+
+    /**
+     * @param alertQueue      The queue of the alert lane
+     * @param bulkQueue       The queue of the bulk lane
+     * @param alertCategories The categories that are routed to the alert lane (eg. 4)
+     */
+    public PriorityLaneDispatcher(BlockingQueue<RawDatagram> alertQueue,
+                                  BlockingQueue<RawDatagram> bulkQueue,
+                                  int... alertCategories) {
+        this(queueConsumer(alertQueue), queueConsumer(bulkQueue), alertCategories);
+    }
+
+    /**
+     * @param alertLane       Receives the datagrams of the alert lane
+     * @param bulkLane        Receives the datagrams of the bulk lane (eg. a load shedding queue)
+     * @param alertCategories The categories that are routed to the alert lane (eg. 4)
+     */
+    public PriorityLaneDispatcher(DatagramConsumer alertLane, DatagramConsumer bulkLane,
+                                  int... alertCategories) {
+        Assert.notNull(alertLane);
+        Assert.notNull(bulkLane);
+
+        this.alertLane = alertLane;
+        this.bulkLane = bulkLane;
+        this.alertCategories = new boolean[256];
+        for (int category : alertCategories) {
+            this.alertCategories[category & 0xFF] = true;
+        }
+        this.nbAlertDatagrams = new LongAdder();
+        this.nbBulkDatagrams = new LongAdder();
+        this.nbSplitDatagrams = new LongAdder();
+    }
+
+    /**
+     * Forward the datagram to the appropriate lane(s). Blocks if the lane queue is full.
+     */
+    public void dispatch(RawDatagram datagram) throws InterruptedException {
+        byte[] data = datagram.getData();
+
+        //fast path: single data block, decided by the first header byte
+        if (data.length >= DATA_BLOCK_HEADER_SIZE &&
+                dataBlockSize(data, 0) == data.length) {
+            forward(datagram, isAlertCategory(data[0]));
+            return;
+        }
+
+        int alertBytes = 0;
+        int index = 0;
+        while (index + DATA_BLOCK_HEADER_SIZE <= data.length) {
+            int size = dataBlockSize(data, index);
+            if (size < DATA_BLOCK_HEADER_SIZE || index + size > data.length) {
+                //malformed header, let the bulk decoder deal with the rest
+                break;
+            }
+            if (isAlertCategory(data[index])) {
+                alertBytes += size;
+            }
+            index += size;
+        }
+
+        if (alertBytes == 0) {
+            forward(datagram, false);
+            return;
+        }
+        if (alertBytes == data.length) {
+            forward(datagram, true);
+            return;
+        }
+
+        nbSplitDatagrams.increment();
+        byte[] alertData = new byte[alertBytes];
+        byte[] bulkData = new byte[data.length - alertBytes];
+        int alertIndex = 0;
+        int bulkIndex = 0;
+        index = 0;
+        while (index < data.length) {
+            int size = index + DATA_BLOCK_HEADER_SIZE <= data.length ? dataBlockSize(data, index) : 0;
+            if (size < DATA_BLOCK_HEADER_SIZE || index + size > data.length) {
+                size = data.length - index;
+                System.arraycopy(data, index, bulkData, bulkIndex, size);
+                break;
+            }
+            if (isAlertCategory(data[index])) {
+                System.arraycopy(data, index, alertData, alertIndex, size);
+                alertIndex += size;
+            } else {
+                System.arraycopy(data, index, bulkData, bulkIndex, size);
+                bulkIndex += size;
+            }
+            index += size;
+        }
+
+        //alert data goes first, so it is not delayed by the bulk queue
+        forward(new RawDatagram(alertData, datagram.getReceiveTimeNanos(),
+                datagram.getReceiveTimeMillis()), true);
+        forward(new RawDatagram(bulkData, datagram.getReceiveTimeNanos(),
+                datagram.getReceiveTimeMillis()), false);
+    }
+
+    public boolean isAlertCategory(int category) {
+        return alertCategories[category & 0xFF];
+    }
+
+    public long getNbAlertDatagrams() {
+        return nbAlertDatagrams.sum();
+    }
+
+    public long getNbBulkDatagrams() {
+        return nbBulkDatagrams.sum();
+    }
+
+    /**
+     * @return The number of datagrams that contained both alert and bulk data blocks
+     */
+    public long getNbSplitDatagrams() {
+        return nbSplitDatagrams.sum();
+    }
+
+    private void forward(RawDatagram datagram, boolean isAlert) throws InterruptedException {
+        if (isAlert) {
+            nbAlertDatagrams.increment();
+            alertLane.accept(datagram);
+        } else {
+            nbBulkDatagrams.increment();
+            bulkLane.accept(datagram);
+        }
+    }
+
+    private static DatagramConsumer queueConsumer(BlockingQueue<RawDatagram> queue) {
+        Assert.notNull(queue);
+        return queue::put;
+    }
+
+    private static int dataBlockSize(byte[] data, int index) {
+        return ((data[index + 1] & 0xFF) << 8) | (data[index + 2] & 0xFF);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.metrics.JfrEvents;
+
+/**
+ * Emits the Flight Recorder queue wait events of the ingest components
+ */
+final class QueueWaitEvents {
+    private QueueWaitEvents() {
+    }
+
+    /**
+     * @param queue            The name of the queue (pipeline, lane)
+     * @param datagram         The datagram taken from the queue
+     * @param decodeStartNanos The moment the datagram was taken from the queue (System.nanoTime)
+     */
+    static void commit(String queue, RawDatagram datagram, long decodeStartNanos) {
+        JfrEvents.commitQueueWait(queue, datagram.getLength() > 0 ? datagram.getFirstCategory() : 0,
+                datagram.getLength(), decodeStartNanos - datagram.getReceiveTimeNanos());
+    }
+}
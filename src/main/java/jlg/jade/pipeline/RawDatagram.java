@@ -0,0 +1,74 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+/**
+ * Raw Asterix data, as received from the input medium (datagram, file frame), together with
+ * the moment it was received. The receive time is used to measure the latency of the
+ * processing stages.
+ */
+public class RawDatagram {
+    private final byte[] data;
+    private final long receiveTimeNanos;
+    private final long receiveTimeMillis;
+    private int sourceIndex;
+
+    /**
+     * Create a raw datagram received now
+     *
+     * @param data The raw data. It must contain only the received bytes (no trailing buffer
+     *             space)
+     */
+    public RawDatagram(byte[] data) {
+        this(data, System.nanoTime(), System.currentTimeMillis());
+    }
+
+    /**
+     * @param data              The raw data
+     * @param receiveTimeNanos  The monotonic receive time (System.nanoTime)
+     * @param receiveTimeMillis The wall-clock receive time (System.currentTimeMillis)
+     */
+    public RawDatagram(byte[] data, long receiveTimeNanos, long receiveTimeMillis) {
+        this.data = data;
+        this.receiveTimeNanos = receiveTimeNanos;
+        this.receiveTimeMillis = receiveTimeMillis;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getLength() {
+        return data.length;
+    }
+
+    /**
+     * @return The category of the first data block, read from the first header byte
+     */
+    public int getFirstCategory() {
+        return Byte.toUnsignedInt(data[0]);
+    }
+
+    public long getReceiveTimeNanos() {
+        return receiveTimeNanos;
+    }
+
+    public long getReceiveTimeMillis() {
+        return receiveTimeMillis;
+    }
+
+    /**
+     * @return The index of the pipeline source that read the datagram, in the order in which
+     * the sources were added to the pipeline (0 when the datagram was not read by a pipeline)
+     */
+    public int getSourceIndex() {
+        return sourceIndex;
+    }
+
+    void setSourceIndex(int sourceIndex) {
+        this.sourceIndex = sourceIndex;
+    }
+}
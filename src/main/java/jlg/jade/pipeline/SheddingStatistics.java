@@ -0,0 +1,89 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the data shed by the LoadShedder, per category.
+ *
+ * @implNote Counters can be updated and read from different threads
+ */
+public class SheddingStatistics {
+    private final AtomicLongArray shedDataBlocks;
+    private final AtomicLongArray shedRecords;
+    private final LongAdder shedBytes;
+    private final LongAdder droppedDatagrams;
+
+    public SheddingStatistics() {
+        this.shedDataBlocks = new AtomicLongArray(256);
+        this.shedRecords = new AtomicLongArray(256);
+        this.shedBytes = new LongAdder();
+        this.droppedDatagrams = new LongAdder();
+    }
+
+    void recordShedDataBlock(int category, int sizeInBytes) {
+        shedDataBlocks.incrementAndGet(category);
+        shedBytes.add(sizeInBytes);
+    }
+
+    void recordShedRecord(int category, int sizeInBytes) {
+        shedRecords.incrementAndGet(category);
+        shedBytes.add(sizeInBytes);
+    }
+
+    void recordDroppedDatagram(int sizeInBytes) {
+        droppedDatagrams.increment();
+        shedBytes.add(sizeInBytes);
+    }
+
+    /**
+     * @return The number of complete data blocks of the category that were shed
+     */
+    public long getShedDataBlocks(int category) {
+        return shedDataBlocks.get(category);
+    }
+
+    /**
+     * @return The number of individual records of the category that were removed from data
+     * blocks (per track sampling)
+     */
+    public long getShedRecords(int category) {
+        return shedRecords.get(category);
+    }
+
+    /**
+     * @return The number of datagrams dropped because the queue was full
+     */
+    public long getDroppedDatagrams() {
+        return droppedDatagrams.sum();
+    }
+
+    public long getShedBytes() {
+        return shedBytes.sum();
+    }
+
+    public String toDebugString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("*** LOAD SHEDDING REPORT ***");
+        sb.append(System.lineSeparator());
+        for (int category = 0; category < 256; category++) {
+            long blocks = shedDataBlocks.get(category);
+            long records = shedRecords.get(category);
+            if (blocks > 0 || records > 0) {
+                sb.append(String.format("  -- Cat%03d %-20s %-12s %-12s", category, "shed blocks / records",
+                        blocks, records));
+                sb.append(System.lineSeparator());
+            }
+        }
+        sb.append(String.format("  -- %-27s %-12s", "Dropped datagrams (queue full)", getDroppedDatagrams()));
+        sb.append(System.lineSeparator());
+        sb.append(String.format("  -- %-27s %-12s", "Shed bytes", getShedBytes()));
+        sb.append(System.lineSeparator());
+        return sb.toString();
+    }
+}
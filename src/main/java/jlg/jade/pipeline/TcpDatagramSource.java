@@ -0,0 +1,75 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Reads Asterix data from a TCP connection. The stream is split on data block boundaries,
+ * using the length found in each data block header, and every data block is handed to the
+ * pipeline as a separate datagram.
+ */
+public class TcpDatagramSource implements DatagramSource {
+    private static final int DATA_BLOCK_HEADER_SIZE = 3;
+
+    private final String host;
+    private final int port;
+    private volatile Socket socket;
+    private volatile boolean closed;
+
+    public TcpDatagramSource(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void read(DatagramConsumer consumer) throws IOException, InterruptedException {
+        try (Socket client = new Socket(host, port)) {
+            this.socket = client;
+            DataInputStream is = new DataInputStream(client.getInputStream());
+            while (!closed) {
+                int category = is.read();
+                if (category < 0) {
+                    //connection closed by the sender
+                    return;
+                }
+                int size = is.readUnsignedShort();
+                if (size < DATA_BLOCK_HEADER_SIZE) {
+                    throw new IOException("Invalid data block length " + size + " received from " + getName());
+                }
+                byte[] dataBlock = new byte[size];
+                dataBlock[0] = (byte) category;
+                dataBlock[1] = (byte) (size >> 8);
+                dataBlock[2] = (byte) size;
+                is.readFully(dataBlock, DATA_BLOCK_HEADER_SIZE, size - DATA_BLOCK_HEADER_SIZE);
+                consumer.accept(new RawDatagram(dataBlock));
+            }
+        } catch (EOFException e) {
+            //connection closed in the middle of a data block, the partial data block is dropped
+        } catch (IOException e) {
+            if (!closed) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        Socket client = socket;
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "tcp-" + host + ":" + port;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat062.Cat062Record;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Queue that keeps only the newest update of each track between two drains. It is meant for
+ * consumers (displays, web clients) that are interested in the latest state of a track and not
+ * in every single update.
+ * Tracks are identified by category, SAC/SIC and track number (I062/040), packed in a primitive
+ * long key, so a slow consumer costs O(number of tracks) instead of O(update rate).
+ *
+ * @implNote The queue is thread safe. Producers call offer, the consumer calls drainTo
+ */
+public class TrackConflatingQueue {
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    /**
+     * Open addressing hash table. Each slot holds the index of the entry + 1, 0 meaning empty.
+     */
+    private int[] table;
+    private long[] entryKeys;
+    private AsterixRecord[] entryRecords;
+    private int nbEntries;
+
+    private long nbOfferedUpdates;
+    private long nbConflatedUpdates;
+    private long nbDrainedUpdates;
+    private long nbRejectedUpdates;
+
+    public TrackConflatingQueue() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedNbOfTracks The expected number of distinct tracks between two drains. The
+     *                           queue grows if this number is exceeded.
+     */
+    public TrackConflatingQueue(int expectedNbOfTracks) {
+        if (expectedNbOfTracks <= 0) {
+            throw new IllegalArgumentException("The expected number of tracks must be positive");
+        }
+        this.entryKeys = new long[expectedNbOfTracks];
+        this.entryRecords = new AsterixRecord[expectedNbOfTracks];
+        this.table = new int[tableSizeFor(expectedNbOfTracks)];
+    }
+
+    /**
+     * Builds the conflation key of a track.
+     *
+     * @param category The Asterix category
+     * @param sac      The system area code
+     * @param sic      The system identification code
+     * @param trackNb  The track number (16 bits)
+     * @return A positive primitive key, unique for each track
+     */
+    public static long trackKey(int category, int sac, int sic, int trackNb) {
+        return ((long) (category & 0xFF) << 40) |
+                ((long) (sac & 0xFF) << 32) |
+                ((long) (sic & 0xFF) << 24) |
+                (trackNb & 0xFFFF);
+    }
+
+    /**
+     * Adds a new track update to the queue. If an update for the same track is already waiting
+     * to be drained, it is replaced by the new one and counted as conflated.
+     *
+     * @param record A decoded Asterix record
+     * @return True if the record was queued, false if it does not carry a track identity
+     * (not a Cat062 record or I062/010, I062/040 missing)
+     */
+    public synchronized boolean offer(AsterixRecord record) {
+        Cat062Record cat062Record = record.getCat062Record();
+        if (cat062Record == null || cat062Record.getItem010() == null ||
+                cat062Record.getItem040() == null) {
+            nbRejectedUpdates++;
+            return false;
+        }
+
+        long key = trackKey(
+                record.getCategory(),
+                cat062Record.getItem010().getSac(),
+                cat062Record.getItem010().getSic(),
+                cat062Record.getItem040().getTrackNb()
+        );
+        offer(key, record);
+        return true;
+    }
+
+    /**
+     * Adds a new track update to the queue, using a key that was already computed by the caller
+     * (see trackKey).
+     */
+    public synchronized void offer(long key, AsterixRecord record) {
+        nbOfferedUpdates++;
+
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != 0) {
+            int entryIndex = table[slot] - 1;
+            if (entryKeys[entryIndex] == key) {
+                entryRecords[entryIndex] = record;
+                nbConflatedUpdates++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (nbEntries == entryKeys.length) {
+            grow();
+            mask = table.length - 1;
+            slot = hash(key) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        entryKeys[nbEntries] = key;
+        entryRecords[nbEntries] = record;
+        nbEntries++;
+        table[slot] = nbEntries;
+    }
+
+    /**
+     * Moves the latest update of every track to the given sink, in the order in which the
+     * tracks were first updated since the last drain. The queue is empty afterwards.
+     *
+     * @param sink The collection that receives the records
+     * @return The number of records added to the sink
+     */
+    public synchronized int drainTo(Collection<? super AsterixRecord> sink) {
+        int drained = nbEntries;
+        for (int i = 0; i < nbEntries; i++) {
+            sink.add(entryRecords[i]);
+            entryRecords[i] = null;
+        }
+        if (drained > 0) {
+            Arrays.fill(table, 0);
+        }
+        nbEntries = 0;
+        nbDrainedUpdates += drained;
+        return drained;
+    }
+
+    /**
+     * @return The number of tracks waiting to be drained
+     */
+    public synchronized int size() {
+        return nbEntries;
+    }
+
+    /**
+     * @return The total number of updates accepted by the queue
+     */
+    public synchronized long getNbOfferedUpdates() {
+        return nbOfferedUpdates;
+    }
+
+    /**
+     * @return The number of updates that were replaced by a newer update of the same track
+     * before being drained
+     */
+    public synchronized long getNbConflatedUpdates() {
+        return nbConflatedUpdates;
+    }
+
+    /**
+     * @return The total number of updates handed to the consumer
+     */
+    public synchronized long getNbDrainedUpdates() {
+        return nbDrainedUpdates;
+    }
+
+    /**
+     * @return The number of records that were not queued because they have no track identity
+     */
+    public synchronized long getNbRejectedUpdates() {
+        return nbRejectedUpdates;
+    }
+
+    private void grow() {
+        int newCapacity = entryKeys.length * 2;
+        entryKeys = Arrays.copyOf(entryKeys, newCapacity);
+        entryRecords = Arrays.copyOf(entryRecords, newCapacity);
+        table = new int[tableSizeFor(newCapacity)];
+
+        int mask = table.length - 1;
+        for (int i = 0; i < nbEntries; i++) {
+            int slot = hash(entryKeys[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * The hash table is kept at most half full, so probe sequences stay short.
+     */
+    private static int tableSizeFor(int nbEntries) {
+        int size = Integer.highestOneBit(nbEntries) << 2;
+        return Math.max(size, 16);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.pipeline;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Reads Asterix datagrams from an UDP port. Each datagram is copied from the receive buffer, so
+ * the buffer can be reused for the next datagram.
+ */
+public class UdpDatagramSource implements DatagramSource {
+    private static final int MAX_PACKET_SIZE = 65507;
+    private static final int RECEIVE_TIMEOUT_MILLIS = 500;
+
+    private final int port;
+    private volatile DatagramSocket socket;
+    private volatile boolean closed;
+
+    public UdpDatagramSource(int port) {
+        this.port = port;
+    }
+
+    @Override
+    public void read(DatagramConsumer consumer) throws IOException, InterruptedException {
+        try (DatagramSocket client = new DatagramSocket(port)) {
+            this.socket = client;
+            client.setSoTimeout(RECEIVE_TIMEOUT_MILLIS);
+            byte[] buffer = new byte[MAX_PACKET_SIZE];
+            DatagramPacket packet = new DatagramPacket(buffer, MAX_PACKET_SIZE);
+            while (!closed) {
+                try {
+                    client.receive(packet);
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                byte[] rawBytes = new byte[packet.getLength()];
+                System.arraycopy(buffer, 0, rawBytes, 0, packet.getLength());
+                consumer.accept(new RawDatagram(rawBytes));
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        DatagramSocket client = socket;
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "udp-" + port;
+    }
+}
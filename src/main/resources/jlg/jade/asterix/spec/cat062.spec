@@ -0,0 +1,185 @@
+# Category 062 - SDPS Track Messages (Eurocontrol Cat062 ICD, edition 1.16)
+#
+# category <number> <max FSPEC octets> <name>
+# item <FSPEC index> <name> <layout>
+#   subfield <FSPEC index> <layout>                       (compound items)
+#   field <name> <first bit> <bits> [signed] [lsb <lsb>]  (fixed items, bit 0 is the MSB of the item)
+# layouts: fixed <octets> | variable [<octets>] | repetitive <octets> | explicit | length-prefixed
+#          | compound <max FSPEC octets>
+# Only the fields of the fixed items are extracted (see SpecFieldExtractor). The other items, and the
+# subfields of the compound items, are only located.
+category 62 5 SDPS Track Messages
+
+#first octet
+item 7 I062/010 fixed 2
+  field SAC 0 8
+  field SIC 8 8
+item 5 I062/015 fixed 1
+  field SERVICE_ID 0 8
+item 4 I062/070 fixed 3
+  field TIME_OF_TRACK 0 24 lsb 0.0078125
+item 3 I062/105 fixed 8
+  field LATITUDE 0 32 signed lsb 0.000005364418029785156
+  field LONGITUDE 32 32 signed lsb 0.000005364418029785156
+item 2 I062/100 fixed 6
+  field X 0 24 signed lsb 0.5
+  field Y 24 24 signed lsb 0.5
+item 1 I062/185 fixed 4
+  field VX 0 16 signed lsb 0.25
+  field VY 16 16 signed lsb 0.25
+
+#second octet
+item 15 I062/210 fixed 2
+  field AX 0 8 signed lsb 0.25
+  field AY 8 8 signed lsb 0.25
+item 14 I062/060 fixed 2
+  field CH 2 1
+  field MODE_3A 4 12
+item 13 I062/245 fixed 7
+  field STI 0 2
+item 12 I062/380 compound 4
+  subfield 7 fixed 3
+  subfield 6 fixed 6
+  subfield 5 fixed 2
+  subfield 4 fixed 2
+  subfield 3 fixed 2
+  subfield 2 fixed 2
+  subfield 1 fixed 2
+  subfield 15 variable
+  subfield 14 repetitive 15
+  subfield 13 fixed 2
+  subfield 12 fixed 2
+  subfield 11 fixed 7
+  subfield 10 fixed 2
+  subfield 9 fixed 2
+  subfield 23 fixed 2
+  subfield 22 fixed 2
+  subfield 21 fixed 2
+  subfield 20 fixed 2
+  subfield 19 fixed 1
+  subfield 18 fixed 8
+  subfield 17 fixed 1
+  subfield 31 fixed 6
+  subfield 30 fixed 2
+  subfield 29 fixed 1
+  subfield 28 repetitive 8
+  subfield 27 fixed 2
+  subfield 26 fixed 2
+  subfield 25 fixed 2
+item 11 I062/040 fixed 2
+  field TRACK_NUMBER 0 16
+item 10 I062/080 variable
+item 9 I062/290 compound 2
+  subfield 7 fixed 1
+  subfield 6 fixed 1
+  subfield 5 fixed 1
+  subfield 4 fixed 1
+  subfield 3 fixed 2
+  subfield 2 fixed 1
+  subfield 1 fixed 1
+  subfield 15 fixed 1
+  subfield 14 fixed 1
+  subfield 13 fixed 1
+
+#third octet
+item 23 I062/200 fixed 1
+  field TRANS 0 2
+  field LONG 2 2
+  field VERT 4 2
+  field ADF 6 1
+item 22 I062/295 compound 5
+  subfield 7 fixed 1
+  subfield 6 fixed 1
+  subfield 5 fixed 1
+  subfield 4 fixed 1
+  subfield 3 fixed 1
+  subfield 2 fixed 1
+  subfield 1 fixed 1
+  subfield 15 fixed 1
+  subfield 14 fixed 1
+  subfield 13 fixed 1
+  subfield 12 fixed 1
+  subfield 11 fixed 1
+  subfield 10 fixed 1
+  subfield 9 fixed 1
+  subfield 23 fixed 1
+  subfield 22 fixed 1
+  subfield 21 fixed 1
+  subfield 20 fixed 1
+  subfield 19 fixed 1
+  subfield 18 fixed 1
+  subfield 17 fixed 1
+  subfield 31 fixed 1
+  subfield 30 fixed 1
+  subfield 29 fixed 1
+  subfield 28 fixed 1
+  subfield 27 fixed 1
+  subfield 26 fixed 1
+  subfield 25 fixed 1
+  subfield 39 fixed 1
+  subfield 38 fixed 1
+  subfield 37 fixed 1
+item 21 I062/136 fixed 2
+  field MEASURED_FLIGHT_LEVEL 0 16 signed lsb 0.25
+item 20 I062/130 fixed 2
+  field GEOMETRIC_ALTITUDE 0 16 signed lsb 6.25
+item 19 I062/135 fixed 2
+  field QNH 0 1
+  field BAROMETRIC_ALTITUDE 1 15 signed lsb 0.25
+item 18 I062/220 fixed 2
+  field RATE_OF_CLIMB_DESCENT 0 16 signed lsb 6.25
+item 17 I062/390 compound 3
+  subfield 7 fixed 2
+  subfield 6 fixed 7
+  subfield 5 fixed 4
+  subfield 4 fixed 1
+  subfield 3 fixed 4
+  subfield 2 fixed 1
+  subfield 1 fixed 4
+  subfield 15 fixed 4
+  subfield 14 fixed 3
+  subfield 13 fixed 2
+  subfield 12 fixed 2
+  subfield 11 repetitive 4
+  subfield 10 fixed 6
+  subfield 9 fixed 1
+  subfield 23 fixed 7
+  subfield 22 fixed 7
+  subfield 21 fixed 2
+  subfield 20 fixed 7
+
+#fourth octet
+item 31 I062/270 variable
+item 30 I062/300 fixed 1
+  field VEHICLE_FLEET_ID 0 8
+item 29 I062/110 compound 1
+  subfield 7 fixed 1
+  subfield 6 fixed 4
+  subfield 5 fixed 6
+  subfield 4 fixed 2
+  subfield 3 fixed 2
+  subfield 2 fixed 1
+  subfield 1 fixed 1
+item 28 I062/120 fixed 2
+  field MODE_2 4 12
+item 27 I062/510 variable 3
+item 26 I062/500 compound 2
+  subfield 7 fixed 4
+  subfield 6 fixed 2
+  subfield 5 fixed 4
+  subfield 4 fixed 1
+  subfield 3 fixed 1
+  subfield 2 fixed 2
+  subfield 1 fixed 2
+  subfield 15 fixed 1
+item 25 I062/340 compound 1
+  subfield 7 fixed 2
+  subfield 6 fixed 4
+  subfield 5 fixed 2
+  subfield 4 fixed 2
+  subfield 3 fixed 2
+  subfield 2 fixed 1
+
+#fifth octet
+item 34 I062/RE explicit
+item 33 I062/SP explicit
@@ -0,0 +1,134 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixCategories;
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat048.Cat048Category;
+import jlg.jade.asterix.cat062.Cat062Category;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.asterix.counters.Cat062ItemCounter;
+import jlg.jade.asterix.counters.DefaultDecodingReport;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AsterixCategoriesTest {
+    //data block with 2 in-house records: SAC=1, SIC=2 and SAC=3, SIC=4
+    private static final byte[] IN_HOUSE_DATA_BLOCK = {(byte) 249, 0, 9, (byte) 0x80, 1, 2, (byte) 0x80, 3, 4};
+
+    @Test
+    public void library_categories_should_be_supported() {
+        //act
+        int[] categories = AsterixCategories.getCategoryNumbers();
+
+        //assert
+        for (int category : new int[]{4, 34, 48, 62, 65, 150}) {
+            assertTrue(IntStream.of(categories).anyMatch(c -> c == category));
+            assertEquals(category, AsterixCategories.get(category).getCategory());
+        }
+        assertTrue(AsterixCategories.get(48) instanceof Cat048Category);
+        assertTrue(AsterixCategories.get(62) instanceof Cat062Category);
+        assertFalse(AsterixCategories.isSupported(1));
+        assertNull(AsterixCategories.get(1));
+    }
+
+    @Test
+    public void category_numbers_should_be_in_ascending_order() {
+        //act
+        int[] categories = AsterixCategories.getCategoryNumbers();
+
+        //assert
+        for (int i = 1; i < categories.length; i++) {
+            assertTrue(categories[i - 1] < categories[i]);
+        }
+    }
+
+    @Test
+    public void category_listed_in_service_file_should_be_supported() {
+        //act & assert
+        assertTrue(AsterixCategories.isSupported(InHouseCategory.CATEGORY));
+        assertTrue(AsterixCategories.get(InHouseCategory.CATEGORY) instanceof InHouseCategory);
+    }
+
+    @Test
+    public void records_of_category_provided_by_plugin_should_be_decoded() {
+        //arrange
+        AsterixDecoder decoder = new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(InHouseCategory.CATEGORY)));
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(IN_HOUSE_DATA_BLOCK, 0, IN_HOUSE_DATA_BLOCK.length);
+
+        //assert
+        assertEquals(1, dataBlocks.size());
+        List<AsterixRecord> records = dataBlocks.get(0).getRecords();
+        assertEquals(2, records.size());
+        InHouseCategory.InHouseRecord record = records.get(1).getRecord(InHouseCategory.InHouseRecord.class);
+        assertEquals(3, record.getItem010().getSac());
+        assertEquals(4, record.getItem010().getSic());
+        assertSame(record, records.get(1).getCategoryRecord());
+        assertNull(records.get(1).getRecord(Cat062Record.class));
+        assertNull(records.get(1).getCat062Record());
+        assertEquals("1/2", records.get(0).getSacSicCode());
+        assertEquals(1, (int) decoder.getNbOfDataBlocks().get(InHouseCategory.CATEGORY));
+    }
+
+    @Test
+    public void registered_category_should_be_supported() {
+        //arrange
+        InHouseCategory category = new InHouseCategory() {
+            @Override
+            public int getCategory() {
+                return 248;
+            }
+        };
+
+        //act
+        AsterixCategories.register(category);
+
+        //assert
+        assertSame(category, AsterixCategories.get(248));
+        assertTrue(IntStream.of(AsterixCategories.getCategoryNumbers()).anyMatch(c -> c == 248));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void category_with_invalid_number_should_not_be_registered() {
+        AsterixCategories.register(new InHouseCategory() {
+            @Override
+            public int getCategory() {
+                return 256;
+            }
+        });
+    }
+
+    @Test
+    public void decoding_report_should_count_items_of_categories_with_item_counter() {
+        //arrange
+        DefaultDecodingReport report = new DefaultDecodingReport();
+        AsterixDataBlock dataBlock = new AsterixDataBlock(InHouseCategory.CATEGORY);
+        dataBlock.decode(IN_HOUSE_DATA_BLOCK, 3, IN_HOUSE_DATA_BLOCK.length);
+
+        //act
+        report.update(dataBlock);
+
+        //assert
+        assertNull(report.getItemCounter(InHouseCategory.CATEGORY));
+        assertSame(report.getCat062ItemCounter(), report.getItemCounter(62));
+        assertTrue(report.getItemCounter(62) instanceof Cat062ItemCounter);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.DefaultReservedFieldFactory;
+import jlg.jade.asterix.ReservedFieldFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AsterixDecoderConfigurationTest {
+    @Test
+    public void when_configuration_is_modified_original_should_not_change() {
+        //arrange
+        AsterixDecoderConfiguration original = AsterixDecoderConfiguration.of(62);
+        ReservedFieldFactory factory = new DefaultReservedFieldFactory();
+
+        //act
+        AsterixDecoderConfiguration modified = original
+                .withCategory(48, true)
+                .withReservedFieldFactory(62, factory)
+                .withRecordFilter(62, record -> false);
+
+        //assert
+        assertFalse(original.isCategoryAllowed(48));
+        assertNull(original.getReservedFieldFactory(62));
+        assertNull(original.getRecordFilter(62));
+        assertTrue(modified.isCategoryAllowed(48));
+        assertTrue(modified.isCategoryAllowed(62));
+        assertSame(factory, modified.getReservedFieldFactory(62));
+    }
+
+    @Test
+    public void when_categories_are_replaced_should_decode_only_new_categories() {
+        //arrange
+        AsterixDecoderConfiguration original = AsterixDecoderConfiguration.of(62, 65);
+
+        //act
+        AsterixDecoderConfiguration modified = original.withCategories(4);
+
+        //assert
+        assertTrue(modified.isCategoryAllowed(4));
+        assertFalse(modified.isCategoryAllowed(62));
+        assertFalse(modified.isCategoryAllowed(65));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_category_is_out_of_range_should_throw() {
+        //arrange
+        AsterixDecoderConfiguration.of(256);
+    }
+
+    @Test
+    public void when_holder_is_updated_should_publish_new_configuration_and_version() {
+        //arrange
+        AsterixDecoderConfiguration initial = AsterixDecoderConfiguration.of(62);
+        AsterixDecoderConfigurationHolder holder = new AsterixDecoderConfigurationHolder(initial);
+
+        //act
+        AsterixDecoderConfiguration updated = holder.update(cfg -> cfg.withCategory(65, true));
+
+        //assert
+        assertNotSame(initial, updated);
+        assertSame(updated, holder.get());
+        assertTrue(holder.get().isCategoryAllowed(65));
+        assertEquals(1, holder.getVersion());
+    }
+
+    @Test
+    public void when_holder_is_updated_concurrently_should_not_lose_updates() throws InterruptedException {
+        //arrange
+        AsterixDecoderConfigurationHolder holder = new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of());
+        Thread[] threads = new Thread[4];
+
+        //act
+        for (int t = 0; t < threads.length; t++) {
+            int firstCategory = t * 50;
+            threads[t] = new Thread(() -> {
+                for (int category = firstCategory; category < firstCategory + 50; category++) {
+                    int categoryToAdd = category;
+                    holder.update(cfg -> cfg.withCategory(categoryToAdd, true));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //assert
+        for (int category = 0; category < 200; category++) {
+            assertTrue(holder.get().isCategoryAllowed(category));
+        }
+        assertEquals(200, holder.getVersion());
+    }
+}
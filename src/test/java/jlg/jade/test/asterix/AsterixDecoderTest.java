@@ -6,6 +6,8 @@ package jlg.jade.test.asterix;
 import jlg.finalframe.FinalFrameReader;
 import jlg.jade.asterix.AsterixDataBlock;
 import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
 import jlg.jade.asterix.AsterixRecord;
 import jlg.jade.test.utils.TestHelper;
 import org.junit.Test;
@@ -15,6 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class AsterixDecoderTest {
 
@@ -61,4 +64,72 @@ public class AsterixDecoderTest {
         decoder.attachCustomReservedFieldFactory(62, null);
 
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void allowed_categories_should_be_read_only() {
+        // arrange
+        AsterixDecoder decoder = new AsterixDecoder(62);
+
+        // act
+        decoder.getAllowedCategories().put(65, true);
+    }
+
+    @Test
+    public void when_configuration_is_changed_while_decoding_should_use_it_from_next_datagram() {
+        // arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff");
+        AsterixDecoderConfigurationHolder configuration = new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(62));
+        AsterixDecoder decoder = new AsterixDecoder(configuration);
+        int nbCat065Records = 0;
+        int nbCat062Records = 0;
+
+        // act
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i == payloads.size() / 2) {
+                configuration.update(cfg -> cfg.withCategories(65));
+            }
+            byte[] payload = payloads.get(i);
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                if (dataBlock.getCategory() == 65) {
+                    nbCat065Records += dataBlock.getRecords().size();
+                } else {
+                    nbCat062Records += dataBlock.getRecords().size();
+                }
+            }
+        }
+
+        // assert
+        assertTrue(nbCat062Records > 0 && nbCat062Records < 22396);
+        assertTrue(nbCat065Records > 0 && nbCat065Records < 6057);
+        assertEquals(false, decoder.getAllowedCategories().get(62));
+        assertEquals(true, decoder.getAllowedCategories().get(65));
+    }
+
+    @Test
+    public void when_record_filter_is_configured_should_return_only_accepted_records() {
+        // arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff");
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        decoder.getConfiguration().update(cfg -> cfg.withRecordFilter(62,
+                record -> record.getCat062Record().getItem040().getTrackNb() % 2 == 0));
+        int nbRecords = 0;
+        int nbOddTracks = 0;
+
+        // act
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                for (AsterixRecord record : dataBlock.getRecords()) {
+                    nbRecords++;
+                    if (record.getCat062Record().getItem040().getTrackNb() % 2 != 0) {
+                        nbOddTracks++;
+                    }
+                }
+            }
+        }
+
+        // assert
+        assertTrue(nbRecords > 0 && nbRecords < 22396);
+        assertEquals(0, nbOddTracks);
+    }
 }
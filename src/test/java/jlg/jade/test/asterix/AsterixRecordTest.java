@@ -2,8 +2,12 @@ package jlg.jade.test.asterix;
 
 import jlg.jade.asterix.AsterixRecord;
 import jlg.jade.asterix.StandardAsterixRecord;
+import jlg.jade.asterix.cat048.Cat048Record;
+import jlg.jade.asterix.cat062.Cat062Record;
 import org.junit.Test;
 
+import static org.junit.Assert.assertSame;
+
 /**
  * Created by Dan Geabunea on 1/6/2017.
  */
@@ -13,4 +17,20 @@ public class AsterixRecordTest {
     public void should_throw_if_we_pass_null_custom_reserved_filed_factory_in_ctor(){
         AsterixRecord asterixRecord = new StandardAsterixRecord(62, null);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_throw_if_we_set_a_record_of_another_category() {
+        AsterixRecord asterixRecord = new StandardAsterixRecord(62);
+        asterixRecord.setCat048Record(new Cat048Record());
+    }
+
+    @Test
+    public void should_replace_the_record_of_the_same_category() {
+        AsterixRecord asterixRecord = new StandardAsterixRecord(62);
+        Cat062Record cat062Record = new Cat062Record();
+
+        asterixRecord.setCat062Record(cat062Record);
+
+        assertSame(cat062Record, asterixRecord.getCat062Record());
+    }
 }
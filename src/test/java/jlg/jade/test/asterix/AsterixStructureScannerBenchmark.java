@@ -0,0 +1,102 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.AsterixStructureScanner;
+import jlg.jade.asterix.cat048.Cat048RecordLayout;
+import jlg.jade.asterix.cat062.Cat062RecordLayout;
+import jlg.jade.test.utils.TestHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the record boundary scans of the data blocks of a recording: the walk of
+ * AsterixItemLayout and the AsterixStructureScanner. Each benchmark scans all the data blocks of the category of the recording.
+ * Run it with the test classpath, for example from the IDE, using the main method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsterixStructureScannerBenchmark {
+    @Param({"final_frame_062_065_large_packet_30min.ff:62", "NATS_CAT048_119bytes_TCAS.ff:48"})
+    public String recording;
+
+    private AsterixItemLayout recordLayout;
+    private byte[][] blocks;
+
+    @Setup
+    public void setup() {
+        String[] fileAndCategory = recording.split(":");
+        int category = Integer.parseInt(fileAndCategory[1]);
+        recordLayout = category == 62 ? Cat062RecordLayout.RECORD : Cat048RecordLayout.RECORD;
+        List<byte[]> categoryBlocks = new ArrayList<>();
+        for (byte[] payload : TestHelper.readFinalFramePayloads(fileAndCategory[0])) {
+            int index = 0;
+            while (index + 3 <= payload.length) {
+                int blockEnd = index + (((payload[index + 1] & 0xFF) << 8) | (payload[index + 2] & 0xFF));
+                if (Byte.toUnsignedInt(payload[index]) == category) {
+                    categoryBlocks.add(Arrays.copyOfRange(payload, index, blockEnd));
+                }
+                index = blockEnd;
+            }
+        }
+        blocks = categoryBlocks.toArray(new byte[0][]);
+    }
+
+    @Benchmark
+    public int layoutWalk() {
+        int nbRecords = 0;
+        for (byte[] block : blocks) {
+            int offset = 3;
+            int end = blockEnd(block);
+            while (offset < end && offset != AsterixItemLayout.INVALID_OFFSET) {
+                offset = recordLayout.skip(block, offset, end);
+                nbRecords++;
+            }
+        }
+        return nbRecords;
+    }
+
+    @Benchmark
+    public int scannerScan() {
+        AsterixStructureScanner scanner = AsterixStructureScanner.getInstance();
+        int nbRecords = 0;
+        for (byte[] block : blocks) {
+            nbRecords += scanner.scanRecords(recordLayout, block, 3, blockEnd(block)).length - 1;
+        }
+        return nbRecords;
+    }
+
+    private static int blockEnd(byte[] block) {
+        return ((block[1] & 0xFF) << 8) | (block[2] & 0xFF);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AsterixStructureScannerBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.AsterixStructureScanner;
+import jlg.jade.asterix.StandardAsterixRecord;
+import jlg.jade.asterix.cat048.Cat048RecordLayout;
+import jlg.jade.asterix.cat062.Cat062RecordLayout;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsterixStructureScannerTest {
+    private static final AsterixStructureScanner SCANNER = AsterixStructureScanner.getInstance();
+
+    @Test
+    public void cat062_record_boundaries_should_match_the_decoder() {
+        int nbRecords = assertBoundariesMatchDecoder("final_frame_062_065_large_packet_30min.ff", 62,
+                Cat062RecordLayout.RECORD);
+        assertTrue(nbRecords > 0);
+    }
+
+    @Test
+    public void cat048_record_boundaries_should_match_the_decoder() {
+        int nbRecords = assertBoundariesMatchDecoder("NATS_CAT048_119bytes_TCAS.ff", 48,
+                Cat048RecordLayout.RECORD);
+        assertTrue(nbRecords > 0);
+    }
+
+    @Test
+    public void fx_chain_length_should_find_the_end_of_the_chain_in_any_octet() {
+        for (int length = 1; length <= 20; length++) {
+            //arrange
+            byte[] input = new byte[24];
+            for (int i = 0; i < length - 1; i++) {
+                input[i] = (byte) 0x81;
+            }
+            input[length - 1] = (byte) 0xFE;
+
+            //act & assert
+            assertEquals(length, SCANNER.fxChainLength(input, 0, input.length));
+        }
+    }
+
+    @Test
+    public void unterminated_fx_chain_should_return_invalid_offset() {
+        //arrange
+        byte[] input = {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0};
+
+        //act & assert
+        assertEquals(AsterixStructureScanner.INVALID_OFFSET, SCANNER.fxChainLength(input, 0, 10));
+        assertEquals(11, SCANNER.fxChainLength(input, 0, 11));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fx_chain_length_should_throw_for_a_negative_offset() {
+        //arrange
+        byte[] input = new byte[16];
+
+        //act
+        SCANNER.fxChainLength(input, -4, input.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scan_items_should_throw_for_a_negative_offset() {
+        //arrange
+        byte[] input = new byte[16];
+
+        //act
+        SCANNER.scanItems(Cat048RecordLayout.RECORD, input, -1, input.length, new int[32]);
+    }
+
+    @Test
+    public void scan_items_should_find_the_offsets_of_the_present_items() {
+        //arrange
+        //fspec with I048/010, I048/020 and I048/040
+        byte[] input = {(byte) 0xB0, 1, 2, (byte) 0x81, 0x02, 1, 2, 3, 4};
+        int[] itemOffsets = new int[32];
+
+        //act
+        int end = SCANNER.scanItems(Cat048RecordLayout.RECORD, input, 0, input.length, itemOffsets);
+
+        //assert
+        assertEquals(input.length, end);
+        assertEquals(1, itemOffsets[7]);
+        assertEquals(3, itemOffsets[5]);
+        assertEquals(5, itemOffsets[4]);
+        assertEquals(AsterixStructureScanner.INVALID_OFFSET, itemOffsets[6]);
+    }
+
+    @Test
+    public void record_with_undefined_item_or_too_long_fspec_should_not_be_scanned() {
+        //arrange
+        //fspec with a spare bit of the fifth octet
+        byte[] input = {1, 1, 1, 1, (byte) 0x80, 1, 2};
+
+        //act & assert
+        assertNull(SCANNER.scanRecords(Cat062RecordLayout.RECORD, input, 0, input.length));
+        assertNull(SCANNER.scanRecords(Cat048RecordLayout.RECORD, input, 0, input.length));
+    }
+
+    @Test
+    public void truncated_record_should_not_be_scanned() {
+        //arrange
+        byte[] input = {(byte) 0x80, 1, 2, (byte) 0x80, 1};
+
+        //act & assert
+        assertNull(SCANNER.scanRecords(Cat048RecordLayout.RECORD, input, 0, input.length));
+        assertArrayEquals(new int[]{0, 3}, SCANNER.scanRecords(Cat048RecordLayout.RECORD, input, 0, 3));
+    }
+
+    private static int assertBoundariesMatchDecoder(String fileName, int category, AsterixItemLayout recordLayout) {
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(fileName);
+        int nbRecords = 0;
+        for (byte[] payload : payloads) {
+            int index = 0;
+            while (index + 3 <= payload.length) {
+                int blockEnd = index + (((payload[index + 1] & 0xFF) << 8) | (payload[index + 2] & 0xFF));
+                if (Byte.toUnsignedInt(payload[index]) == category) {
+                    //act
+                    int[] recordOffsets = SCANNER.scanRecords(recordLayout, payload, index + 3, blockEnd);
+
+                    //assert
+                    int offset = index + 3;
+                    for (int i = 0; offset < blockEnd; i++) {
+                        assertEquals(offset, recordOffsets[i]);
+                        offset = new StandardAsterixRecord(category).decode(payload, offset, blockEnd);
+                        nbRecords++;
+                    }
+                    assertEquals(blockEnd, recordOffsets[recordOffsets.length - 1]);
+                }
+                index = blockEnd;
+            }
+        }
+        return nbRecords;
+    }
+}
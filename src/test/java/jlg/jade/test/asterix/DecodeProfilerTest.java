@@ -0,0 +1,136 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.DecodeProfiler;
+import jlg.jade.asterix.ItemDecodeCost;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.asterix.cat062.item390.Cat062Item390;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DecodeProfilerTest {
+    private static List<byte[]> payloads;
+
+    @BeforeClass
+    public static void readRecording() {
+        payloads = TestHelper.readFinalFramePayloads("final_frame_062_30min.ff");
+    }
+
+    @Test
+    public void profiler_should_attribute_cost_to_each_item_class() {
+        //arrange
+        DecodeProfiler profiler = new DecodeProfiler(1);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        decoder.getConfiguration().update(cfg -> cfg.withProfiler(profiler));
+
+        //act
+        int nbRecords = decodeAll(decoder);
+
+        //assert
+        assertEquals(nbRecords, profiler.getNbRecords());
+        assertEquals(nbRecords, profiler.getNbSampledRecords());
+        ItemDecodeCost recordCost = find(profiler, Cat062Record.class);
+        ItemDecodeCost item390Cost = find(profiler, Cat062Item390.class);
+        assertEquals(nbRecords, recordCost.getNbDecodes());
+        assertEquals(62, item390Cost.getCategory());
+        assertTrue(item390Cost.getTotalNanos() >= item390Cost.getSelfNanos());
+        assertTrue(recordCost.getTotalNanos() > item390Cost.getTotalNanos());
+        if (profiler.isAllocationMeasured()) {
+            assertTrue(recordCost.getTotalAllocatedBytes() > 0);
+        }
+    }
+
+    @Test
+    public void ranked_costs_should_start_with_the_highest_self_time() {
+        //arrange
+        DecodeProfiler profiler = new DecodeProfiler(1);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        decoder.getConfiguration().update(cfg -> cfg.withProfiler(profiler));
+
+        //act
+        decodeAll(decoder);
+        List<ItemDecodeCost> ranked = profiler.getRankedCosts();
+
+        //assert
+        for (int i = 1; i < ranked.size(); i++) {
+            assertTrue(ranked.get(i - 1).getSelfNanos() >= ranked.get(i).getSelfNanos());
+        }
+        assertTrue(profiler.toDebugString().contains("Cat062Item390"));
+    }
+
+    @Test
+    public void profiler_should_sample_one_record_out_of_the_sampling_interval() {
+        //arrange
+        DecodeProfiler profiler = new DecodeProfiler(10);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        decoder.getConfiguration().update(cfg -> cfg.withProfiler(profiler));
+
+        //act
+        int nbRecords = decodeAll(decoder);
+
+        //assert
+        assertEquals(nbRecords, profiler.getNbRecords());
+        assertTrue(Math.abs(nbRecords / 10 - profiler.getNbSampledRecords()) <= 1);
+        assertEquals(profiler.getNbSampledRecords(), find(profiler, Cat062Record.class).getNbDecodes());
+    }
+
+    @Test
+    public void when_profiler_is_removed_from_configuration_nothing_should_be_measured() {
+        //arrange
+        DecodeProfiler profiler = new DecodeProfiler(1);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        decoder.getConfiguration().update(cfg -> cfg.withProfiler(profiler));
+        decoder.getConfiguration().update(cfg -> cfg.withProfiler(null));
+
+        //act
+        decodeAll(decoder);
+
+        //assert
+        assertEquals(0, profiler.getNbRecords());
+        assertTrue(profiler.getRankedCosts().isEmpty());
+    }
+
+    @Test
+    public void reset_should_remove_all_measurements() {
+        //arrange
+        DecodeProfiler profiler = new DecodeProfiler(1);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        decoder.getConfiguration().update(cfg -> cfg.withProfiler(profiler));
+        decodeAll(decoder);
+
+        //act
+        profiler.reset();
+
+        //assert
+        assertEquals(0, profiler.getNbRecords());
+        assertTrue(profiler.getRankedCosts().isEmpty());
+    }
+
+    private static int decodeAll(AsterixDecoder decoder) {
+        int nbRecords = 0;
+        for (byte[] payload : payloads) {
+            nbRecords += decoder.decode(payload, 0, payload.length).stream()
+                    .mapToInt(dataBlock -> dataBlock.getRecords().size())
+                    .sum();
+        }
+        return nbRecords;
+    }
+
+    private static ItemDecodeCost find(DecodeProfiler profiler, Class<?> itemClass) {
+        return profiler.getRankedCosts().stream()
+                .filter(cost -> cost.getItemClass() == itemClass)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No cost for " + itemClass.getSimpleName()));
+    }
+}
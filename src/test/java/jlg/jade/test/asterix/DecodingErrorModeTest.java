@@ -0,0 +1,197 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixDecodingError;
+import jlg.jade.asterix.DecodingErrorCode;
+import jlg.jade.asterix.DecodingErrorMode;
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DecodingErrorModeTest {
+    private static final byte[] CAT004_BLOCK = {4, 0, 19, (byte) 221, (byte) 129, 64, 48, (byte) 255, 7, 32,
+            (byte) 254, (byte) 128, 0, 84, 0, 20, 55, 29, 65};
+
+    @Test(expected = AsterixDecodingException.AvailableLengthExceeded.class)
+    public void when_throw_mode_is_used_corrupt_data_block_should_throw() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.THROW, 4);
+        byte[] input = concat(shortenedCat004Block(12), CAT004_BLOCK);
+
+        //act
+        decoder.decode(input, 0, input.length);
+    }
+
+    @Test
+    public void when_report_mode_is_used_should_record_error_and_continue_with_next_data_block() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, 4);
+        byte[] input = concat(CAT004_BLOCK, shortenedCat004Block(12), CAT004_BLOCK);
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(input, 0, input.length);
+
+        //assert
+        assertEquals(3, dataBlocks.size());
+        assertFalse(dataBlocks.get(0).hasDecodingError());
+        assertEquals(1, dataBlocks.get(0).getRecords().size());
+
+        AsterixDecodingError error = dataBlocks.get(1).getDecodingError();
+        assertEquals(DecodingErrorCode.AVAILABLE_LENGTH_EXCEEDED, error.getCode());
+        assertEquals(4, error.getCategory());
+        assertTrue(error.getOffset() >= CAT004_BLOCK.length + 6);
+        assertTrue(error.getOffset() <= CAT004_BLOCK.length + 12);
+        assertTrue(error.getItemName() != null);
+        assertEquals("the record where the error was found should be dropped",
+                0, dataBlocks.get(1).getRecords().size());
+
+        assertFalse(dataBlocks.get(2).hasDecodingError());
+        assertEquals(1, dataBlocks.get(2).getRecords().size());
+    }
+
+    @Test
+    public void when_report_mode_is_used_invalid_data_block_length_should_stop_decoding() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, 4);
+        byte[] input = concat(CAT004_BLOCK, new byte[]{4, 0, 0, 1, 2}, CAT004_BLOCK);
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(input, 0, input.length);
+
+        //assert
+        assertEquals(2, dataBlocks.size());
+        assertEquals(1, dataBlocks.get(0).getRecords().size());
+        assertEquals(DecodingErrorCode.INVALID_DATA_BLOCK_LENGTH, dataBlocks.get(1).getDecodingError().getCode());
+        assertEquals(CAT004_BLOCK.length, dataBlocks.get(1).getDecodingError().getOffset());
+        assertEquals(0, dataBlocks.get(1).getRecords().size());
+    }
+
+    @Test
+    public void when_report_mode_is_used_truncated_data_block_should_be_reported() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, 4);
+        byte[] input = concat(CAT004_BLOCK, Arrays.copyOf(CAT004_BLOCK, 10));
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(input, 0, input.length);
+
+        //assert
+        assertEquals(2, dataBlocks.size());
+        assertNull(dataBlocks.get(0).getDecodingError());
+        assertEquals(DecodingErrorCode.TRUNCATED_DATA_BLOCK, dataBlocks.get(1).getDecodingError().getCode());
+    }
+
+    @Test
+    public void when_report_mode_is_used_errors_in_not_decoded_categories_should_be_ignored() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, 62);
+        byte[] input = concat(shortenedCat004Block(12), new byte[]{4, 0, 0});
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(input, 0, input.length);
+
+        //assert
+        assertEquals(0, dataBlocks.size());
+    }
+
+    @Test(expected = AsterixDecodingException.InvalidDataBlockLength.class)
+    public void when_throw_mode_is_used_invalid_data_block_length_should_throw() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.THROW, 62);
+        byte[] input = {4, 0, 0, 1, 2};
+
+        //act
+        decoder.decode(input, 0, input.length);
+    }
+
+    @Test
+    public void when_report_mode_is_used_valid_data_should_be_decoded_as_in_throw_mode() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff");
+        AsterixDecoder throwingDecoder = decoder(DecodingErrorMode.THROW, 62, 65);
+        AsterixDecoder reportingDecoder = decoder(DecodingErrorMode.REPORT, 62, 65);
+        int nbRecords = 0;
+        int nbReportedRecords = 0;
+        int nbErrors = 0;
+
+        //act
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : throwingDecoder.decode(payload, 0, payload.length)) {
+                nbRecords += dataBlock.getRecords().size();
+            }
+            for (AsterixDataBlock dataBlock : reportingDecoder.decode(payload, 0, payload.length)) {
+                nbReportedRecords += dataBlock.getRecords().size();
+                nbErrors += dataBlock.hasDecodingError() ? 1 : 0;
+            }
+        }
+
+        //assert
+        assertEquals(22396 + 6057, nbRecords);
+        assertEquals(nbRecords, nbReportedRecords);
+        assertEquals(0, nbErrors);
+    }
+
+    @Test
+    public void after_report_mode_was_used_throw_mode_should_still_throw_on_the_same_thread() {
+        //arrange
+        AsterixDecoder reportingDecoder = decoder(DecodingErrorMode.REPORT, 4);
+        AsterixDecoder throwingDecoder = decoder(DecodingErrorMode.THROW, 4);
+        byte[] input = shortenedCat004Block(12);
+        reportingDecoder.decode(input, 0, input.length);
+        boolean thrown = false;
+
+        //act
+        try {
+            throwingDecoder.decode(input, 0, input.length);
+        } catch (AsterixDecodingException.AvailableLengthExceeded e) {
+            thrown = true;
+        }
+
+        //assert
+        assertTrue(thrown);
+    }
+
+    private static AsterixDecoder decoder(DecodingErrorMode errorMode, int... categories) {
+        return new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(categories).withErrorMode(errorMode)));
+    }
+
+    /**
+     * @return The Cat004 data block, cut in the middle of its record and with a matching length
+     */
+    private static byte[] shortenedCat004Block(int length) {
+        byte[] block = Arrays.copyOf(CAT004_BLOCK, length);
+        block[2] = (byte) length;
+        return block;
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        int length = 0;
+        for (byte[] array : arrays) {
+            length += array.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] array : arrays) {
+            System.arraycopy(array, 0, result, offset, array.length);
+            offset += array.length;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.DecodingErrorCode;
+import jlg.jade.asterix.DecodingErrorMode;
+import jlg.jade.asterix.DecodingLimits;
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Fuzzing harness of the hardened decoding mode: valid datagrams from the recordings are mutated
+ * (bit flips, FX chains, truncation, corrupt LEN fields, random or shifted bytes) and decoded.
+ */
+public class HardenedDecodingFuzzTest {
+    private static final int[] CATEGORIES = {4, 34, 48, 62, 65, 150};
+    private static final long SEED = 20261019L;
+    private static final int NB_OF_MUTATIONS = 20000;
+
+    @Test
+    public void fuzzed_datagrams_should_never_throw_in_report_mode() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, DecodingLimits.HARDENED);
+        List<byte[]> fuzzed = fuzz(validDatagrams(), NB_OF_MUTATIONS, new Random(SEED));
+        int nbErrors = 0;
+
+        //act
+        for (byte[] datagram : fuzzed) {
+            try {
+                for (AsterixDataBlock dataBlock : decoder.decode(datagram, 0, datagram.length)) {
+                    nbErrors += dataBlock.hasDecodingError() ? 1 : 0;
+                }
+            } catch (RuntimeException e) {
+                fail("Decoding a fuzzed datagram threw " + e + " for " + Arrays.toString(datagram));
+            }
+        }
+
+        //assert
+        assertTrue(nbErrors > NB_OF_MUTATIONS / 10);
+    }
+
+    @Test
+    public void fuzzed_datagrams_should_only_throw_decoding_exceptions_in_throw_mode() {
+        //arrange
+        AsterixDecoder decoder = decoder(DecodingErrorMode.THROW, DecodingLimits.HARDENED);
+        List<byte[]> fuzzed = fuzz(validDatagrams(), NB_OF_MUTATIONS, new Random(SEED + 1));
+        int nbExceptions = 0;
+
+        //act
+        for (byte[] datagram : fuzzed) {
+            try {
+                decoder.decode(datagram, 0, datagram.length);
+            } catch (AsterixDecodingException.AvailableLengthExceeded |
+                    AsterixDecodingException.UnexpectedEndOfData |
+                    AsterixDecodingException.InvalidDataBlockLength |
+                    AsterixDecodingException.DecodingLimitExceeded e) {
+                nbExceptions++;
+            } catch (RuntimeException e) {
+                fail("Decoding a fuzzed datagram threw " + e + " for " + Arrays.toString(datagram));
+            }
+        }
+
+        //assert
+        assertTrue(nbExceptions > NB_OF_MUTATIONS / 10);
+    }
+
+    @Test
+    public void fuzzed_datagrams_should_be_decoded_at_a_throughput_close_to_valid_datagrams() {
+        //arrange
+        List<byte[]> valid = validDatagrams();
+        List<byte[]> fuzzed = fuzz(valid, valid.size(), new Random(SEED + 2));
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, DecodingLimits.HARDENED);
+
+        //act
+        double validNanosPerByte = Double.MAX_VALUE;
+        double fuzzedNanosPerByte = Double.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            validNanosPerByte = Math.min(validNanosPerByte, nanosPerByte(decoder, valid));
+            fuzzedNanosPerByte = Math.min(fuzzedNanosPerByte, nanosPerByte(decoder, fuzzed));
+        }
+
+        //assert
+        assertTrue("corrupt traffic costs " + fuzzedNanosPerByte + " ns/byte, valid traffic " +
+                validNanosPerByte + " ns/byte", fuzzedNanosPerByte < 3 * validNanosPerByte);
+    }
+
+    @Test
+    public void decoding_cost_of_adversarial_fx_chains_should_stay_linear_in_input_size() {
+        //arrange
+        //without debug messages, so that the time spent collecting the text of the large blocks is not measured
+        AsterixDecoder decoder = new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(CATEGORIES).withErrorMode(DecodingErrorMode.REPORT)
+                        .withLimits(DecodingLimits.HARDENED).withDebugMessages(false)));
+        List<byte[]> small = new ArrayList<>();
+        List<byte[]> large = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            small.add(cat062BlockWithFxChains(4000));
+        }
+        for (int i = 0; i < 2; i++) {
+            large.add(cat062BlockWithFxChains(32000));
+        }
+
+        //act
+        double smallNanosPerByte = Double.MAX_VALUE;
+        double largeNanosPerByte = Double.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            smallNanosPerByte = Math.min(smallNanosPerByte, nanosPerByte(decoder, small));
+            largeNanosPerByte = Math.min(largeNanosPerByte, nanosPerByte(decoder, large));
+        }
+
+        //assert
+        assertTrue("large input costs " + largeNanosPerByte + " ns/byte, small input " +
+                smallNanosPerByte + " ns/byte", largeNanosPerByte < 3 * smallNanosPerByte);
+    }
+
+    @Test
+    public void when_fx_chain_is_longer_than_the_limit_should_report_error() {
+        //arrange
+        byte[] block = cat062BlockWithFxChain(20);
+        AsterixDecoder hardenedDecoder = decoder(DecodingErrorMode.REPORT, DecodingLimits.HARDENED);
+        AsterixDecoder defaultDecoder = decoder(DecodingErrorMode.REPORT, DecodingLimits.NONE);
+
+        //act
+        List<AsterixDataBlock> hardenedResult = hardenedDecoder.decode(block, 0, block.length);
+        List<AsterixDataBlock> defaultResult = defaultDecoder.decode(block, 0, block.length);
+
+        //assert
+        assertEquals(DecodingErrorCode.FX_CHAIN_TOO_LONG, hardenedResult.get(0).getDecodingError().getCode());
+        assertEquals(7, hardenedResult.get(0).getDecodingError().getOffset());
+        assertFalse(defaultResult.get(0).hasDecodingError());
+        assertEquals(20, defaultResult.get(0).getRecords().get(0).getCat062Record().getItem080().getSizeInBytes());
+    }
+
+    @Test
+    public void when_hardened_limits_are_published_by_update_should_apply_from_next_datagram() {
+        //arrange
+        byte[] block = cat062BlockWithFxChain(20);
+        AsterixDecoderConfigurationHolder configuration = new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(CATEGORIES).withErrorMode(DecodingErrorMode.REPORT));
+        AsterixDecoder decoder = new AsterixDecoder(configuration);
+        List<AsterixDataBlock> defaultResult = decoder.decode(block, 0, block.length);
+
+        //act
+        configuration.update(cfg -> cfg.withLimits(DecodingLimits.HARDENED));
+        List<AsterixDataBlock> hardenedResult = decoder.decode(block, 0, block.length);
+
+        //assert
+        assertFalse(defaultResult.get(0).hasDecodingError());
+        assertEquals(DecodingErrorCode.FX_CHAIN_TOO_LONG, hardenedResult.get(0).getDecodingError().getCode());
+    }
+
+    @Test(expected = AsterixDecodingException.DecodingLimitExceeded.class)
+    public void when_repetition_factor_is_larger_than_the_limit_should_throw_in_throw_mode() {
+        //arrange
+        byte[] block = cat048BlockWithRepetitionFactor(200);
+        AsterixDecoder decoder = decoder(DecodingErrorMode.THROW, DecodingLimits.HARDENED);
+
+        //act
+        decoder.decode(block, 0, block.length);
+    }
+
+    @Test
+    public void when_repetition_factor_is_larger_than_the_limit_should_report_error() {
+        //arrange
+        byte[] block = cat048BlockWithRepetitionFactor(200);
+        AsterixDecoder decoder = decoder(DecodingErrorMode.REPORT, new DecodingLimits(16, 100));
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(block, 0, block.length);
+
+        //assert
+        assertEquals(DecodingErrorCode.REPETITION_FACTOR_TOO_LARGE, dataBlocks.get(0).getDecodingError().getCode());
+    }
+
+    @Test(expected = AsterixDecodingException.UnexpectedEndOfData.class)
+    public void when_len_field_goes_beyond_input_hardened_throw_mode_should_throw_before_decoding() {
+        //arrange
+        byte[] block = Arrays.copyOf(cat048BlockWithRepetitionFactor(10), 20);
+        AsterixDecoder decoder = decoder(DecodingErrorMode.THROW, DecodingLimits.HARDENED);
+
+        //act
+        decoder.decode(block, 0, block.length);
+    }
+
+    @Test
+    public void when_fx_chain_reaches_end_of_input_should_throw_decoding_exception_without_limits() {
+        //arrange
+        byte[] block = Arrays.copyOf(cat062BlockWithFxChain(20), 17);
+        AsterixDecoder decoder = decoder(DecodingErrorMode.THROW, DecodingLimits.NONE);
+        RuntimeException thrown = null;
+
+        //act
+        try {
+            decoder.decode(block, 0, block.length);
+        } catch (RuntimeException e) {
+            thrown = e;
+        }
+
+        //assert
+        assertTrue(String.valueOf(thrown), thrown instanceof AsterixDecodingException.UnexpectedEndOfData);
+    }
+
+    private static AsterixDecoder decoder(DecodingErrorMode errorMode, DecodingLimits limits) {
+        return new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(CATEGORIES).withErrorMode(errorMode).withLimits(limits)));
+    }
+
+    private static List<byte[]> validDatagrams() {
+        List<byte[]> datagrams = new ArrayList<>();
+        List<byte[]> large = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff");
+        datagrams.addAll(large.subList(0, Math.min(2000, large.size())));
+        datagrams.addAll(TestHelper.readFinalFramePayloads("NATS_CAT048_119bytes_TCAS.ff"));
+        datagrams.addAll(TestHelper.readFinalFramePayloads("final_frame_cat062_one_packet.ff"));
+        return datagrams;
+    }
+
+    private static List<byte[]> fuzz(List<byte[]> valid, int nbOfMutations, Random random) {
+        List<byte[]> fuzzed = new ArrayList<>(nbOfMutations);
+        for (int i = 0; i < nbOfMutations; i++) {
+            fuzzed.add(mutate(valid.get(random.nextInt(valid.size())), random));
+        }
+        return fuzzed;
+    }
+
+    private static byte[] mutate(byte[] datagram, Random random) {
+        byte[] mutated = datagram.clone();
+        int position = random.nextInt(mutated.length);
+        switch (random.nextInt(6)) {
+            case 0: {
+                //flip a few bits
+                for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                    mutated[random.nextInt(mutated.length)] ^= 1 << random.nextInt(8);
+                }
+                return mutated;
+            }
+            case 1: {
+                //FX chain
+                int end = Math.min(mutated.length, position + 1 + random.nextInt(32));
+                Arrays.fill(mutated, position, end, (byte) 0xFF);
+                return mutated;
+            }
+            case 2: {
+                //truncation
+                return Arrays.copyOf(mutated, position);
+            }
+            case 3: {
+                //LEN field
+                if (mutated.length > 2) {
+                    mutated[1] = (byte) random.nextInt(256);
+                    mutated[2] = (byte) random.nextInt(256);
+                }
+                return mutated;
+            }
+            case 4: {
+                //random bytes
+                int end = Math.min(mutated.length, position + 1 + random.nextInt(16));
+                for (int i = position; i < end; i++) {
+                    mutated[i] = (byte) random.nextInt(256);
+                }
+                return mutated;
+            }
+            default: {
+                //shift the rest of the datagram by one byte
+                byte[] shifted = new byte[mutated.length + 1];
+                System.arraycopy(mutated, 0, shifted, 0, position);
+                shifted[position] = (byte) random.nextInt(256);
+                System.arraycopy(mutated, position, shifted, position + 1, mutated.length - position);
+                return shifted;
+            }
+        }
+    }
+
+    private static double nanosPerByte(AsterixDecoder decoder, List<byte[]> datagrams) {
+        long nbBytes = 0;
+        long start = System.nanoTime();
+        for (byte[] datagram : datagrams) {
+            decoder.decode(datagram, 0, datagram.length);
+            nbBytes += datagram.length;
+        }
+        return (double) (System.nanoTime() - start) / nbBytes;
+    }
+
+    /**
+     * @return A Cat062 data block with one record containing I062/010 and I062/080, made of the
+     * given number of octets
+     */
+    private static byte[] cat062BlockWithFxChain(int nbOctets) {
+        byte[] block = new byte[7 + nbOctets];
+        block[0] = 62;
+        block[1] = (byte) (block.length >> 8);
+        block[2] = (byte) block.length;
+        block[3] = (byte) 0x81;
+        block[4] = 0x04;
+        Arrays.fill(block, 7, block.length - 1, (byte) 0xFF);
+        return block;
+    }
+
+    /**
+     * @return A Cat062 data block of records containing I062/010 and I062/080, each I062/080 as
+     * long as allowed by the hardened limits
+     */
+    private static byte[] cat062BlockWithFxChains(int size) {
+        int recordSize = 4 + DecodingLimits.HARDENED.getMaxFxChainLength();
+        int nbRecords = (size - 3) / recordSize;
+        byte[] block = new byte[3 + nbRecords * recordSize];
+        block[0] = 62;
+        block[1] = (byte) (block.length >> 8);
+        block[2] = (byte) block.length;
+        for (int offset = 3; offset < block.length; offset += recordSize) {
+            block[offset] = (byte) 0x81;
+            block[offset + 1] = 0x04;
+            Arrays.fill(block, offset + 4, offset + recordSize - 1, (byte) 0xFF);
+        }
+        return block;
+    }
+
+    /**
+     * @return A Cat048 data block with one record containing only I048/250, with the given
+     * repetition factor
+     */
+    private static byte[] cat048BlockWithRepetitionFactor(int repetitionFactor) {
+        byte[] block = new byte[6 + repetitionFactor * 8];
+        block[0] = 48;
+        block[1] = (byte) (block.length >> 8);
+        block[2] = (byte) block.length;
+        block[3] = 0x01;
+        block[4] = 0x20;
+        block[5] = (byte) repetitionFactor;
+        return block;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixCategoryPlugin;
+import jlg.jade.asterix.AsterixItemLength;
+import jlg.jade.asterix.FspecAsterixData;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.cat065.Cat065Item010;
+import jlg.jade.common.AsterixStringDecoder;
+
+/**
+ * In-house category used to test the categories provided through ServiceLoader. Its records
+ * only have a SAC/SIC item.
+ */
+public class InHouseCategory implements AsterixCategoryPlugin<InHouseCategory.InHouseRecord> {
+    public static final int CATEGORY = 249;
+
+    @Override
+    public int getCategory() {
+        return CATEGORY;
+    }
+
+    @Override
+    public Class<InHouseRecord> getRecordType() {
+        return InHouseRecord.class;
+    }
+
+    @Override
+    public InHouseRecord createRecord(ReservedFieldFactory reservedFieldFactory) {
+        return new InHouseRecord();
+    }
+
+    @Override
+    public String getSacSicCode(InHouseRecord record) {
+        return record.getItem010() == null ? "NA" :
+                AsterixStringDecoder.sacSicLabel(record.getItem010().getSac(), record.getItem010().getSic());
+    }
+
+    public static class InHouseRecord extends FspecAsterixData {
+        private static final int ITEM_010 = 7;
+
+        private Cat065Item010 item010;
+
+        public Cat065Item010 getItem010() {
+            return item010;
+        }
+
+        @Override
+        protected int setMaxFspecSizeInBytes() {
+            return AsterixItemLength.ONE_BYTE.getValue();
+        }
+
+        @Override
+        protected int decodeFromByteArray(byte[] input, int offset, int length) {
+            if (fspecDataAtIndex(ITEM_010)) {
+                this.item010 = new Cat065Item010();
+                offset = this.item010.decode(input, offset, length);
+            }
+            return offset;
+        }
+
+        @Override
+        protected String setDisplayName() {
+            return "*** In-house Category Record ***";
+        }
+    }
+}
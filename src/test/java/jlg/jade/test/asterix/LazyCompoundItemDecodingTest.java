@@ -0,0 +1,242 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixItem;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.DecodingErrorMode;
+import jlg.jade.asterix.ValidationMode;
+import jlg.jade.asterix.cat004.Cat004Item170;
+import jlg.jade.asterix.cat004.Cat004Record;
+import jlg.jade.asterix.cat048.Cat048Record;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.asterix.cat062.item390.Cat062Item390;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LazyCompoundItemDecodingTest {
+    /**
+     * Cat004 data block with one record containing I004/010 and an I004/170 with subfield 2
+     */
+    private static final byte[] CAT004_BLOCK_WITH_ITEM_170 = {4, 0, 10, (byte) 0x81, 0x40, 8, 10,
+            0x40, 0x0F, (byte) 0xFF};
+
+    @Test
+    public void lazy_cat062_compound_items_should_be_decoded_like_eager_ones() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff")
+                .subList(0, 500);
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62, 65);
+
+        //act
+        List<AsterixRecord> eagerRecords = decode(payloads, configuration);
+        List<AsterixRecord> lazyRecords = decode(payloads, configuration.withLazyCompoundItems(true));
+
+        //assert
+        assertEquals(eagerRecords.size(), lazyRecords.size());
+        int nbItems390 = 0;
+        for (int i = 0; i < eagerRecords.size(); i++) {
+            Cat062Record expected = eagerRecords.get(i).getCat062Record();
+            Cat062Record actual = lazyRecords.get(i).getCat062Record();
+            if (expected == null) {
+                continue;
+            }
+            assertEquals(expected.getSizeInBytes(), actual.getSizeInBytes());
+            assertSameItem(expected.getItem380(), actual.getItem380());
+            assertSameItem(expected.getItem390(), actual.getItem390());
+            assertSameItem(expected.getItem110(), actual.getItem110());
+            assertSameItem(expected.getItem500(), actual.getItem500());
+            assertSameItem(expected.getItem340(), actual.getItem340());
+            assertEquals(expected.getItem040().getTrackNb(), actual.getItem040().getTrackNb());
+            if (expected.getItem390() != null) {
+                nbItems390++;
+                assertEquals(expected.getItem390().getSubfield2().getCallsign(),
+                        actual.getItem390().getSubfield2().getCallsign());
+            }
+        }
+        assertTrue(nbItems390 > 0);
+    }
+
+    @Test
+    public void lazy_cat048_compound_items_should_be_decoded_like_eager_ones() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("NATS_CAT048_119bytes_TCAS.ff");
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(48);
+
+        //act
+        List<AsterixRecord> eagerRecords = decode(payloads, configuration);
+        List<AsterixRecord> lazyRecords = decode(payloads, configuration.withLazyCompoundItems(true));
+
+        //assert
+        assertEquals(eagerRecords.size(), lazyRecords.size());
+        for (int i = 0; i < eagerRecords.size(); i++) {
+            Cat048Record expected = eagerRecords.get(i).getCat048Record();
+            Cat048Record actual = lazyRecords.get(i).getCat048Record();
+            assertEquals(expected.getSizeInBytes(), actual.getSizeInBytes());
+            assertSameItem(expected.getItem130(), actual.getItem130());
+            assertEquals(expected.getItem220().getAircraftAddress(), actual.getItem220().getAircraftAddress());
+        }
+    }
+
+    @Test
+    public void lazy_cat004_compound_items_should_be_decoded_on_first_access() {
+        //arrange
+        AsterixDecoder decoder = decoder(AsterixDecoderConfiguration.of(4).withLazyCompoundItems(true));
+
+        //act
+        List<AsterixDataBlock> dataBlocks = decoder.decode(CAT004_BLOCK_WITH_ITEM_170, 0,
+                CAT004_BLOCK_WITH_ITEM_170.length);
+
+        //assert
+        Cat004Record record = dataBlocks.get(0).getRecords().get(0).getCat004Record();
+        assertEquals(7, record.getSizeInBytes());
+        assertFalse(record.getDebugString().contains("Aircraft Characteristics"));
+        Cat004Item170 item170 = record.getItem170();
+        assertEquals(3, item170.getSizeInBytes());
+        assertNotNull(item170.getSubfield2());
+        assertNull(item170.getSubfield1());
+        assertNull(record.getItem171());
+        assertNull(record.getItem100());
+    }
+
+    @Test
+    public void lazy_item_should_be_decoded_once() {
+        //arrange
+        Cat062Record record = firstRecordWithItem390(AsterixDecoderConfiguration.of(62, 65)
+                .withLazyCompoundItems(true));
+
+        //act
+        Cat062Item390 first = record.getItem390();
+        Cat062Item390 second = record.getItem390();
+
+        //assert
+        assertSame(first, second);
+    }
+
+    @Test
+    public void lazy_item_should_not_be_part_of_the_record_debug_message() {
+        //arrange
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62, 65);
+
+        //act
+        Cat062Record eagerRecord = firstRecordWithItem390(configuration);
+        Cat062Record lazyRecord = firstRecordWithItem390(configuration.withLazyCompoundItems(true));
+
+        //assert
+        String displayName = eagerRecord.getItem390().getDisplayName();
+        assertTrue(eagerRecord.getDebugString().contains(displayName));
+        assertFalse(lazyRecord.getDebugString().contains(displayName));
+        assertTrue(lazyRecord.getItem390().getDebugString().contains(displayName));
+    }
+
+    @Test
+    public void lazy_item_should_keep_the_debug_messages_setting_of_its_data_block() {
+        //arrange
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62, 65)
+                .withDebugMessages(false).withLazyCompoundItems(true);
+
+        //act
+        Cat062Record record = firstRecordWithItem390(configuration);
+
+        //assert
+        assertEquals("", record.getItem390().getDebugString());
+        assertNotNull(record.getItem390().getSubfield2());
+    }
+
+    @Test
+    public void lazy_items_should_be_decoded_with_any_error_and_validation_mode() {
+        //arrange
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62, 65)
+                .withErrorMode(DecodingErrorMode.REPORT)
+                .withValidationMode(ValidationMode.DEFERRED)
+                .withLazyCompoundItems(true);
+
+        //act
+        Cat062Record record = firstRecordWithItem390(configuration);
+
+        //assert
+        assertTrue(record.getItem390().isValid());
+        assertNotNull(record.getItem390().getSubfield2().getCallsign());
+    }
+
+    @Test
+    public void setting_an_item_should_replace_the_lazy_item() {
+        //arrange
+        Cat062Record record = firstRecordWithItem390(AsterixDecoderConfiguration.of(62, 65)
+                .withLazyCompoundItems(true));
+        Cat062Item390 item390 = new Cat062Item390();
+
+        //act
+        record.setItem390(item390);
+
+        //assert
+        assertSame(item390, record.getItem390());
+    }
+
+    @Test
+    public void lazy_decoding_should_be_disabled_by_default() {
+        //arrange
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62);
+
+        //act
+        Cat062Record record = firstRecordWithItem390(configuration);
+
+        //assert
+        assertFalse(configuration.hasLazyCompoundItems());
+        assertTrue(record.getDebugString().contains(record.getItem390().getDisplayName()));
+    }
+
+    private static void assertSameItem(AsterixItem expected, AsterixItem actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.getSizeInBytes(), actual.getSizeInBytes());
+        assertEquals(expected.isValid(), actual.isValid());
+        assertEquals(expected.getDebugString(), actual.getDebugString());
+    }
+
+    private static Cat062Record firstRecordWithItem390(AsterixDecoderConfiguration configuration) {
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff")
+                .subList(0, 50);
+        for (AsterixRecord record : decode(payloads, configuration)) {
+            Cat062Record cat062Record = record.getCat062Record();
+            if (cat062Record != null && cat062Record.fspecDataAtIndex(17)) {
+                return cat062Record;
+            }
+        }
+        throw new AssertionError("No I062/390 in the sample");
+    }
+
+    private static List<AsterixRecord> decode(List<byte[]> payloads, AsterixDecoderConfiguration configuration) {
+        AsterixDecoder decoder = decoder(configuration);
+        List<AsterixRecord> records = new ArrayList<>();
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                records.addAll(dataBlock.getRecords());
+            }
+        }
+        return records;
+    }
+
+    private static AsterixDecoder decoder(AsterixDecoderConfiguration configuration) {
+        return new AsterixDecoder(new AsterixDecoderConfigurationHolder(configuration));
+    }
+}
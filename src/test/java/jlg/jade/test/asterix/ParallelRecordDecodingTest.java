@@ -0,0 +1,260 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.ParallelRecordDecoding;
+import jlg.jade.asterix.ReservedAsterixField;
+import jlg.jade.asterix.ReservedFieldFactory;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelRecordDecodingTest {
+    private static final String SAMPLE_FILE = "final_frame_062_065_large_packet_30min.ff";
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final ParallelRecordDecoding PARALLEL_DECODING = new ParallelRecordDecoding(POOL, 2, 3);
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void records_decoded_in_parallel_should_be_the_same_as_records_decoded_sequentially() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE).subList(0, 500);
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62, 65);
+
+        //act
+        List<AsterixDataBlock> expected = decode(payloads, configuration);
+        List<AsterixDataBlock> actual = decode(payloads, configuration.withParallelDecoding(PARALLEL_DECODING));
+
+        //assert
+        assertSameDataBlocks(expected, actual);
+    }
+
+    @Test
+    public void records_decoded_in_parallel_should_use_the_decoding_context_of_their_data_block() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE).subList(0, 500);
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62)
+                .withDebugMessages(false)
+                .withLazyCompoundItems(true);
+
+        //act
+        List<AsterixDataBlock> expected = decode(payloads, configuration);
+        List<AsterixDataBlock> actual = decode(payloads, configuration.withParallelDecoding(PARALLEL_DECODING));
+
+        //assert
+        assertSameDataBlocks(expected, actual);
+        assertEquals("", actual.get(0).getRecords().get(0).getCat062Record().getDebugString());
+    }
+
+    @Test
+    public void data_blocks_decoded_concurrently_by_workers_of_the_pool_should_keep_their_own_context()
+            throws Exception {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE).subList(0, 300);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ParallelRecordDecoding parallelDecoding = new ParallelRecordDecoding(pool, 2, 1);
+        AsterixDecoderConfiguration withoutDebug = AsterixDecoderConfiguration.of(62).withDebugMessages(false)
+                .withParallelDecoding(parallelDecoding);
+        AsterixDecoderConfiguration withDebug = AsterixDecoderConfiguration.of(62)
+                .withParallelDecoding(parallelDecoding);
+
+        try {
+            //act
+            //the callers are workers of the pool, so they run tasks of the other callers while they wait
+            List<ForkJoinTask<List<AsterixDataBlock>>> decodings = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                AsterixDecoderConfiguration configuration = i % 2 == 0 ? withoutDebug : withDebug;
+                decodings.add(pool.submit(() -> decode(payloads, configuration)));
+            }
+
+            //assert
+            for (int i = 0; i < decodings.size(); i++) {
+                boolean debugMessages = i % 2 != 0;
+                for (AsterixDataBlock dataBlock : decodings.get(i).get()) {
+                    for (AsterixRecord record : dataBlock.getRecords()) {
+                        assertEquals(debugMessages, !record.getCat062Record().getDebugString().isEmpty());
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void data_block_decoded_by_the_task_of_another_data_block_should_not_use_its_context()
+            throws Exception {
+        //arrange
+        //the SP field of each record decodes a Cat062 data block of the sample, with the default settings
+        byte[] nestedPayload = TestHelper.readFinalFramePayloads(SAMPLE_FILE).get(0);
+        Queue<AsterixDataBlock> nestedDataBlocks = new ConcurrentLinkedQueue<>();
+        AsterixDecoderConfiguration nestedConfiguration = AsterixDecoderConfiguration.of(62);
+        ReservedFieldFactory nestedDecodingFactory = new ReservedFieldFactory() {
+            @Override
+            public ReservedAsterixField createSpField() {
+                return new ReservedAsterixField() {
+                    @Override
+                    public int decode(byte[] input, int offset, int inputLength) {
+                        AsterixDecoder decoder = new AsterixDecoder(
+                                new AsterixDecoderConfigurationHolder(nestedConfiguration));
+                        nestedDataBlocks.addAll(decoder.decode(nestedPayload, 0, nestedPayload.length));
+                        return offset + 1;
+                    }
+                };
+            }
+
+            @Override
+            public ReservedAsterixField createReField() {
+                return new ReservedAsterixField();
+            }
+        };
+        //data block of 40 records holding only the SP field
+        int nbRecords = 40;
+        byte[] record = {1, 1, 1, 1, 2, 1};
+        byte[] payload = new byte[3 + nbRecords * record.length];
+        payload[0] = 62;
+        payload[1] = (byte) (payload.length >> 8);
+        payload[2] = (byte) payload.length;
+        for (int i = 0; i < nbRecords; i++) {
+            System.arraycopy(record, 0, payload, 3 + i * record.length, record.length);
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62)
+                .withDebugMessages(false)
+                .withReservedFieldFactory(62, nestedDecodingFactory)
+                .withParallelDecoding(new ParallelRecordDecoding(pool, 2, 4));
+
+        try {
+            //act
+            List<AsterixDataBlock> dataBlocks = pool.submit(() -> decode(Arrays.asList(payload), configuration))
+                    .get();
+
+            //assert
+            assertEquals(nbRecords, dataBlocks.get(0).getRecords().size());
+            for (AsterixRecord asterixRecord : dataBlocks.get(0).getRecords()) {
+                assertEquals("", asterixRecord.getCat062Record().getDebugString());
+            }
+            assertEquals(nbRecords, nestedDataBlocks.size());
+            for (AsterixDataBlock nestedDataBlock : nestedDataBlocks) {
+                for (AsterixRecord nestedRecord : nestedDataBlock.getRecords()) {
+                    assertTrue(nestedRecord.getCat062Record().getDebugString().length() > 0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void record_boundaries_should_be_found_without_decoding_the_records() {
+        //arrange
+        byte[] payload = TestHelper.readFinalFramePayloads(SAMPLE_FILE).get(0);
+        int blockEnd = ((payload[1] & 0xFF) << 8) | (payload[2] & 0xFF);
+        AsterixDataBlock dataBlock = decode(Arrays.asList(payload), AsterixDecoderConfiguration.of(62)).get(0);
+
+        //act
+        int[] recordOffsets = ParallelRecordDecoding.findRecordBoundaries(62, payload, 3, blockEnd);
+
+        //assert
+        assertEquals(dataBlock.getRecords().size() + 1, recordOffsets.length);
+        int offset = 3;
+        for (int i = 0; i < dataBlock.getRecords().size(); i++) {
+            assertEquals(offset, recordOffsets[i]);
+            offset += dataBlock.getRecords().get(i).getCat062Record().getSizeInBytes();
+        }
+        assertEquals(blockEnd, recordOffsets[recordOffsets.length - 1]);
+    }
+
+    @Test
+    public void categories_without_record_layout_should_not_be_pre_scanned() {
+        //arrange
+        byte[] input = {(byte) 0x80, 1, 2};
+
+        //act & assert
+        assertNull(ParallelRecordDecoding.findRecordBoundaries(65, input, 0, input.length));
+        assertArrayEquals(new int[]{0, 3}, ParallelRecordDecoding.findRecordBoundaries(62, input, 0, input.length));
+    }
+
+    @Test
+    public void data_block_that_can_not_be_pre_scanned_should_be_decoded_sequentially() {
+        //arrange
+        //data block with 3 Cat062 records, the second one only has a spare bit of the fifth FSPEC octet
+        byte[] input = {62, 0, 14, (byte) 0x80, 1, 2, 1, 1, 1, 1, (byte) 0x80, (byte) 0x80, 5, 6};
+        AsterixDecoderConfiguration configuration = AsterixDecoderConfiguration.of(62);
+
+        //act
+        List<AsterixDataBlock> expected = decode(Arrays.asList(input), configuration);
+        List<AsterixDataBlock> actual = decode(Arrays.asList(input),
+                configuration.withParallelDecoding(PARALLEL_DECODING));
+
+        //assert
+        assertNull(ParallelRecordDecoding.findRecordBoundaries(62, input, 3, input.length));
+        assertEquals(3, actual.get(0).getRecords().size());
+        assertEquals(expected.get(0).getDebugString(), actual.get(0).getDebugString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallel_decoding_should_need_at_least_two_records_per_block() {
+        new ParallelRecordDecoding(POOL, 1, 1);
+    }
+
+    private static void assertSameDataBlocks(List<AsterixDataBlock> expected, List<AsterixDataBlock> actual) {
+        assertEquals(expected.size(), actual.size());
+        int nbRecords = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            List<AsterixRecord> expectedRecords = expected.get(i).getRecords();
+            List<AsterixRecord> actualRecords = actual.get(i).getRecords();
+            assertEquals(expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(expected.get(i).getDebugString(), actual.get(i).getDebugString());
+            assertEquals(expectedRecords.size(), actualRecords.size());
+            for (int j = 0; j < expectedRecords.size(); j++) {
+                Cat062Record expectedRecord = expectedRecords.get(j).getCat062Record();
+                Cat062Record actualRecord = actualRecords.get(j).getCat062Record();
+                if (expectedRecord == null) {
+                    continue;
+                }
+                assertEquals(expectedRecord.getSizeInBytes(), actualRecord.getSizeInBytes());
+                assertEquals(expectedRecord.isValid(), actualRecord.isValid());
+                assertEquals(expectedRecord.getItem040().getTrackNb(), actualRecord.getItem040().getTrackNb());
+                assertEquals(expectedRecord.getItem390() == null, actualRecord.getItem390() == null);
+                nbRecords++;
+            }
+        }
+        assertTrue(nbRecords > 0);
+    }
+
+    private static List<AsterixDataBlock> decode(List<byte[]> payloads, AsterixDecoderConfiguration configuration) {
+        AsterixDecoder decoder = new AsterixDecoder(new AsterixDecoderConfigurationHolder(configuration));
+        List<AsterixDataBlock> dataBlocks = new ArrayList<>();
+        for (byte[] payload : payloads) {
+            dataBlocks.addAll(decoder.decode(payload, 0, payload.length));
+        }
+        return dataBlocks;
+    }
+}
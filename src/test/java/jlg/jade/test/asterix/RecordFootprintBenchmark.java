@@ -0,0 +1,90 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.test.utils.TestHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of the memory used by decoded records, with and without debug messages. Each
+ * benchmark call decodes the datagrams holding the first 5000 records of a recording and keeps the
+ * records. The GC profiler added by the main method reports the bytes allocated per call
+ * (gc.alloc.rate.norm), which does not depend on when the garbage collector runs: divided by the
+ * number of records, it is an upper bound of the footprint of a record.
+ * Run it with the test classpath, for example from the IDE, using the main method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordFootprintBenchmark {
+    private static final String SAMPLE_FILE = "final_frame_062_065_large_packet_30min.ff";
+    private static final int MAX_RECORDS = 5000;
+
+    @Param({"true", "false"})
+    public boolean debugMessages;
+
+    private AsterixDecoder decoder;
+    private List<byte[]> payloads;
+
+    @Setup
+    public void setup() {
+        decoder = new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(62, 65).withDebugMessages(debugMessages)));
+        payloads = new ArrayList<>();
+        int nbRecords = 0;
+        for (byte[] payload : TestHelper.readFinalFramePayloads(SAMPLE_FILE)) {
+            if (nbRecords >= MAX_RECORDS) {
+                break;
+            }
+            payloads.add(payload);
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                nbRecords += dataBlock.getRecords().size();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<AsterixRecord> decodeRecords() {
+        List<AsterixRecord> records = new ArrayList<>(MAX_RECORDS * 2);
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                records.addAll(dataBlock.getRecords());
+            }
+        }
+        return records;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecordFootprintBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat062.Cat062Item295;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class RecordFootprintTest {
+    private static final String SAMPLE_FILE = "final_frame_062_065_large_packet_30min.ff";
+
+    @Test
+    public void records_decoded_without_debug_messages_should_have_the_same_values() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE).subList(0, 20);
+        AsterixDecoder defaultDecoder = decoder(AsterixDecoderConfiguration.of(62, 65));
+        AsterixDecoder compactDecoder = decoder(AsterixDecoderConfiguration.of(62, 65).withDebugMessages(false));
+
+        //act
+        List<AsterixRecord> defaultRecords = decodeRecords(defaultDecoder, payloads);
+        List<AsterixRecord> compactRecords = decodeRecords(compactDecoder, payloads);
+
+        //assert
+        assertEquals(defaultRecords.size(), compactRecords.size());
+        for (int i = 0; i < defaultRecords.size(); i++) {
+            AsterixRecord expected = defaultRecords.get(i);
+            AsterixRecord actual = compactRecords.get(i);
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getSacSicCode(), actual.getSacSicCode());
+            if (expected.getCategory() == 62) {
+                assertSameCat062Values(expected.getCat062Record(), actual.getCat062Record());
+            }
+        }
+    }
+
+    @Test
+    public void item_295_should_keep_subfield_ages_as_primitives() {
+        //arrange
+        byte[] input = {(byte) 0x91, 0x00, 7, 9};
+        Cat062Item295 item295 = new Cat062Item295();
+
+        //act
+        item295.decode(input, 0, input.length);
+
+        //assert
+        assertEquals(7, item295.getSubfieldAge(1));
+        assertEquals(9, item295.getSubfieldAge(4));
+        assertEquals(-1, item295.getSubfieldAge(2));
+        assertEquals(9, item295.getSubfield4().getAge());
+        assertNull(item295.getSubfield2());
+    }
+
+    private static void assertSameCat062Values(Cat062Record expected, Cat062Record actual) {
+        assertFalse(expected.getDebugString().isEmpty());
+        assertEquals("", actual.getDebugString());
+        assertEquals(expected.getItem040().getTrackNb(), actual.getItem040().getTrackNb());
+        assertEquals(expected.getItem010().getDisplayName(), actual.getItem010().getDisplayName());
+        if (expected.getItem105() != null) {
+            assertEquals(expected.getItem105().getLatitudeWsg84(), actual.getItem105().getLatitudeWsg84(), 0);
+            assertEquals(expected.getItem105().getLongitudeWsg84(), actual.getItem105().getLongitudeWsg84());
+        }
+        assertEquals(expected.getItem295() == null, actual.getItem295() == null);
+        if (expected.getItem295() != null) {
+            for (int subfield = 1; subfield <= 31; subfield++) {
+                assertEquals(expected.getItem295().getSubfieldAge(subfield),
+                        actual.getItem295().getSubfieldAge(subfield));
+            }
+        }
+    }
+
+    private static List<AsterixRecord> decodeRecords(AsterixDecoder decoder, List<byte[]> payloads) {
+        List<AsterixRecord> records = new ArrayList<>();
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                records.addAll(dataBlock.getRecords());
+            }
+        }
+        return records;
+    }
+
+    private static AsterixDecoder decoder(AsterixDecoderConfiguration configuration) {
+        return new AsterixDecoder(new AsterixDecoderConfigurationHolder(configuration));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.ValidationMode;
+import jlg.jade.asterix.cat062.Cat062Item105;
+import jlg.jade.asterix.counters.DefaultDecodingReport;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationModeTest {
+    /**
+     * Cat062 data block with one record containing I062/010 and an I062/105 with a latitude out
+     * of the -90,90 range
+     */
+    private static final byte[] CAT062_BLOCK_WITH_INVALID_POSITION = {62, 0, 14, (byte) 0x88, 8, 10,
+            0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0, 0, 0, 0};
+
+    @Test
+    public void when_validation_is_inline_invalid_item_should_be_detected_while_decoding() {
+        //arrange
+        AsterixDecoder decoder = decoder(ValidationMode.INLINE);
+
+        //act
+        AsterixDataBlock dataBlock = decode(decoder);
+
+        //assert
+        Cat062Item105 item105 = dataBlock.getRecords().get(0).getCat062Record().getItem105();
+        assertFalse(item105.isValid());
+        assertTrue(item105.getDebugString().contains("Item is not valid"));
+        assertEquals(0, dataBlock.validate());
+    }
+
+    @Test
+    public void when_validation_is_off_items_should_not_be_validated() {
+        //arrange
+        AsterixDecoder decoder = decoder(ValidationMode.OFF);
+
+        //act
+        AsterixDataBlock dataBlock = decode(decoder);
+
+        //assert
+        Cat062Item105 item105 = dataBlock.getRecords().get(0).getCat062Record().getItem105();
+        assertTrue(item105.isValid());
+        assertFalse(item105.getDebugString().contains("Item is not valid"));
+        assertEquals(0, dataBlock.validate());
+    }
+
+    @Test
+    public void when_validation_is_deferred_item_should_be_validated_when_validity_is_needed() {
+        //arrange
+        AsterixDecoder decoder = decoder(ValidationMode.DEFERRED);
+
+        //act
+        AsterixDataBlock dataBlock = decode(decoder);
+        Cat062Item105 item105 = dataBlock.getRecords().get(0).getCat062Record().getItem105();
+        boolean validatedWhileDecoding = item105.getDebugString().contains("Item is not valid");
+        boolean valid = item105.isValid();
+
+        //assert
+        assertFalse(validatedWhileDecoding);
+        assertFalse(valid);
+        assertTrue(item105.getDebugString().contains("Item is not valid"));
+    }
+
+    @Test
+    public void when_validation_is_deferred_data_block_validation_should_validate_all_pending_items() {
+        //arrange
+        AsterixDecoder decoder = decoder(ValidationMode.DEFERRED);
+        AsterixDataBlock dataBlock = decode(decoder);
+
+        //act
+        int nbInvalidItems = dataBlock.validate();
+        int nbInvalidItemsSecondCall = dataBlock.validate();
+
+        //assert
+        assertEquals(1, nbInvalidItems);
+        assertEquals(0, nbInvalidItemsSecondCall);
+        assertFalse(dataBlock.getRecords().get(0).getCat062Record().getItem105().isValid());
+        assertTrue(dataBlock.getRecords().get(0).getCat062Record().getItem010().isValid());
+    }
+
+    @Test
+    public void deferred_validation_should_give_the_same_counters_as_inline_validation() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff");
+        AsterixDecoder inlineDecoder = decoder(ValidationMode.INLINE);
+        AsterixDecoder deferredDecoder = decoder(ValidationMode.DEFERRED);
+        DefaultDecodingReport inlineReport = new DefaultDecodingReport();
+        DefaultDecodingReport deferredReport = new DefaultDecodingReport();
+
+        //act
+        for (byte[] payload : payloads) {
+            inlineDecoder.decode(payload, 0, payload.length).forEach(inlineReport::update);
+            deferredDecoder.decode(payload, 0, payload.length).forEach(deferredReport::update);
+        }
+
+        //assert
+        assertTrue(inlineReport.getCat062ItemCounter().getNbRecords() > 0);
+        assertEquals(inlineReport.toDebugString(), deferredReport.toDebugString());
+    }
+
+    @Test
+    public void items_decoded_outside_a_data_block_should_be_validated_inline() {
+        //arrange
+        decoder(ValidationMode.OFF);
+        Cat062Item105 item105 = new Cat062Item105();
+
+        //act
+        item105.decode(CAT062_BLOCK_WITH_INVALID_POSITION, 6, CAT062_BLOCK_WITH_INVALID_POSITION.length);
+
+        //assert
+        assertFalse(item105.isValid());
+    }
+
+    private static AsterixDecoder decoder(ValidationMode validationMode) {
+        return new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(62, 65).withValidationMode(validationMode)));
+    }
+
+    private static AsterixDataBlock decode(AsterixDecoder decoder) {
+        List<AsterixDataBlock> dataBlocks = decoder.decode(CAT062_BLOCK_WITH_INVALID_POSITION, 0,
+                CAT062_BLOCK_WITH_INVALID_POSITION.length);
+        return dataBlocks.get(0);
+    }
+}
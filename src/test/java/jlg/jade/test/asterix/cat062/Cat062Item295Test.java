@@ -6,10 +6,15 @@
 */
 package jlg.jade.test.asterix.cat062;
 
+import jlg.jade.asterix.Cat062AsterixAgingDataField;
 import jlg.jade.asterix.cat062.Cat062Item295;
+import jlg.jade.common.AsterixDecodingException;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class Cat062Item295Test {
     @Test
@@ -111,4 +116,43 @@ public class Cat062Item295Test {
         //assert
         assertEquals("Offset not incremented after decoding of data", offset + sampleInput.length, result);
     }
+
+    @Test
+    public void the_subfield_getters_should_return_the_same_field_for_each_call() {
+        //arrange
+        Cat062Item295 item295 = new Cat062Item295();
+        item295.decode(sampleInput, 0, sampleInput.length);
+
+        //act
+        Cat062AsterixAgingDataField first = item295.getSubfield1();
+        Cat062AsterixAgingDataField second = item295.getSubfield1();
+
+        //assert
+        assertSame(first, second);
+        assertEquals(7, item295.getSubfieldAge(1));
+        assertNull(item295.getSubfield2());
+        assertEquals(-1, item295.getSubfieldAge(2));
+    }
+
+    @Test(expected = AsterixDecodingException.AvailableLengthExceeded.class)
+    public void when_ages_exceed_the_available_length_decode_should_throw() {
+        //arrange
+        Cat062Item295 item295 = new Cat062Item295();
+
+        //act
+        item295.decode(sampleInput, 0, sampleInput.length - 1);
+    }
+
+    @Test
+    public void the_debug_message_should_hold_the_age_of_each_present_subfield() {
+        //arrange
+        Cat062Item295 item295 = new Cat062Item295();
+
+        //act
+        item295.decode(sampleInput, 0, sampleInput.length);
+
+        //assert
+        assertTrue(item295.getDebugString().contains("Item295Subfield31 - Barometric pressure setting data age"));
+        assertTrue(item295.getDebugString().contains("  -- Age : 7"));
+    }
 }
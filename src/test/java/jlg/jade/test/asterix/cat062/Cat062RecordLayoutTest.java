@@ -0,0 +1,92 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.cat062;
+
+import jlg.jade.asterix.AsterixItemLayout;
+import jlg.jade.asterix.StandardAsterixRecord;
+import jlg.jade.asterix.cat062.Cat062RecordLayout;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Cat062RecordLayoutTest {
+    @Test
+    public void when_walking_large_sample_should_find_same_record_boundaries_as_decoder() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_30min.ff");
+        int nbOfRecords = 0;
+
+        //act
+        for (byte[] payload : payloads) {
+            int index = 0;
+            while (index + 3 <= payload.length) {
+                int blockEnd = index + (((payload[index + 1] & 0xFF) << 8) | (payload[index + 2] & 0xFF));
+                if (Byte.toUnsignedInt(payload[index]) == 62) {
+                    int offset = index + 3;
+                    while (offset < blockEnd) {
+                        StandardAsterixRecord record = new StandardAsterixRecord(62);
+                        int expectedOffset = record.decode(payload, offset, blockEnd);
+                        int trackNbOffset = Cat062RecordLayout.RECORD.find(payload, offset, blockEnd,
+                                Cat062RecordLayout.I062_040);
+
+                        //assert
+                        assertEquals(expectedOffset, Cat062RecordLayout.RECORD.skip(payload, offset, blockEnd));
+                        assertEquals(record.getCat062Record().getItem040().getTrackNb(),
+                                ((payload[trackNbOffset] & 0xFF) << 8) | (payload[trackNbOffset + 1] & 0xFF));
+                        offset = expectedOffset;
+                        nbOfRecords++;
+                    }
+                }
+                index = blockEnd;
+            }
+        }
+        assertTrue(nbOfRecords > 0);
+    }
+
+    @Test
+    public void when_item_is_not_present_find_should_return_invalid_offset() {
+        //arrange
+        //fspec with I062/010 only, followed by SAC/SIC
+        byte[] input = {(byte) 128, 1, 2};
+
+        //act
+        int sourceOffset = Cat062RecordLayout.RECORD.find(input, 0, input.length, Cat062RecordLayout.I062_010);
+        int trackNbOffset = Cat062RecordLayout.RECORD.find(input, 0, input.length, Cat062RecordLayout.I062_040);
+
+        //assert
+        assertEquals(1, sourceOffset);
+        assertEquals(AsterixItemLayout.INVALID_OFFSET, trackNbOffset);
+        assertEquals(3, Cat062RecordLayout.RECORD.skip(input, 0, input.length));
+    }
+
+    @Test
+    public void when_record_is_truncated_skip_should_return_invalid_offset() {
+        //arrange
+        byte[] input = {(byte) 128, 1};
+
+        //act
+        int offset = Cat062RecordLayout.RECORD.skip(input, 0, input.length);
+
+        //assert
+        assertEquals(AsterixItemLayout.INVALID_OFFSET, offset);
+    }
+
+    @Test
+    public void when_fspec_extends_beyond_max_size_skip_should_return_invalid_offset() {
+        //arrange
+        byte[] input = {1, 1, 1, 1, 1, 1, 0};
+
+        //act
+        int offset = Cat062RecordLayout.RECORD.skip(input, 0, input.length);
+
+        //assert
+        assertEquals(AsterixItemLayout.INVALID_OFFSET, offset);
+    }
+}
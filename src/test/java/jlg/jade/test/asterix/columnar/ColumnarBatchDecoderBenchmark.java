@@ -0,0 +1,114 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.columnar;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.asterix.columnar.ColumnarBatchDecoder;
+import jlg.jade.asterix.columnar.TrackColumn;
+import jlg.jade.asterix.columnar.TrackColumnBatch;
+import jlg.jade.test.utils.TestHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of two ways of computing the mean flight level of the tracks of a recording: decoding
+ * the Cat062 records and reading their items, and decoding the selected fields in a TrackColumnBatch.
+ * Run it with the test classpath, for example from the IDE, using the main method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarBatchDecoderBenchmark {
+    private static final String SAMPLE_FILE = "final_frame_062_065_large_packet_30min.ff";
+
+    private List<byte[]> payloads;
+    private AsterixDecoder recordDecoder;
+    private ColumnarBatchDecoder columnarDecoder;
+    private TrackColumnBatch batch;
+
+    @Setup
+    public void setup() {
+        payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE);
+        recordDecoder = new AsterixDecoder(62);
+        columnarDecoder = new ColumnarBatchDecoder();
+        batch = new TrackColumnBatch(4096, TrackColumn.TRACK_NUMBER, TrackColumn.POSITION_WGS84,
+                TrackColumn.FLIGHT_LEVEL);
+    }
+
+    @Benchmark
+    public double recordDecoding() {
+        long sum = 0;
+        int count = 0;
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : recordDecoder.decode(payload, 0, payload.length)) {
+                for (AsterixRecord record : dataBlock.getRecords()) {
+                    Cat062Record cat062Record = record.getCat062Record();
+                    if (cat062Record.getItem136() != null) {
+                        sum += cat062Record.getItem136().getMeasuredFlightLevel();
+                        count++;
+                    }
+                }
+            }
+        }
+        return (double) sum / count;
+    }
+
+    @Benchmark
+    public double columnarDecoding() {
+        long sum = 0;
+        int count = 0;
+        for (byte[] payload : payloads) {
+            int offset = 0;
+            while (offset < payload.length) {
+                offset = columnarDecoder.decode(payload, offset, payload.length, batch);
+                if (offset < payload.length || batch.getSize() > batch.getCapacity() / 2) {
+                    sum += sumFlightLevels(batch);
+                    count += batch.countPresent(TrackColumn.FLIGHT_LEVEL);
+                    batch.clear();
+                }
+            }
+        }
+        sum += sumFlightLevels(batch);
+        count += batch.countPresent(TrackColumn.FLIGHT_LEVEL);
+        batch.clear();
+        return (double) sum / count;
+    }
+
+    private static long sumFlightLevels(TrackColumnBatch batch) {
+        short[] flightLevels = batch.getFlightLevel();
+        long sum = 0;
+        for (int row = 0; row < batch.getSize(); row++) {
+            if (batch.isPresent(TrackColumn.FLIGHT_LEVEL, row)) {
+                sum += flightLevels[row];
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ColumnarBatchDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.columnar;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat048.Cat048Record;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.asterix.columnar.ColumnarBatchDecoder;
+import jlg.jade.asterix.columnar.TrackColumn;
+import jlg.jade.asterix.columnar.TrackColumnBatch;
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarBatchDecoderTest {
+    private static final TrackColumn[] ALL_COLUMNS = TrackColumn.values();
+
+    @Test
+    public void cat062_columns_should_hold_the_values_of_the_decoded_items() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff")
+                .subList(0, 2000);
+        List<AsterixRecord> expected = decodeRecords(payloads, 62);
+        TrackColumnBatch batch = new TrackColumnBatch(256, ALL_COLUMNS);
+
+        //act & assert
+        int nbRows = decodeInBatches(payloads, batch, (b, row, index) -> {
+            Cat062Record record = expected.get(index).getCat062Record();
+            assertEquals(62, b.getCategory(row));
+            assertEquals(record.getItem010().getSac() << 8 | record.getItem010().getSic(), b.getSacSic()[row]);
+            assertEquals(record.getItem070().getTime(), b.getTimeOfTrack()[row]);
+            assertEquals(record.getItem040().getTrackNb(), b.getTrackNumber()[row]);
+            assertEquals(record.getItem105() != null, b.isPresent(TrackColumn.POSITION_WGS84, row));
+            if (record.getItem105() != null) {
+                assertEquals(record.getItem105().getLatitudeWsg84(), b.getLatitude()[row]);
+                assertEquals(record.getItem105().getLongitudeWsg84(), b.getLongitude()[row]);
+            }
+            assertEquals(record.getItem060() != null, b.isPresent(TrackColumn.MODE_A, row));
+            if (record.getItem060() != null) {
+                assertEquals(record.getItem060().getModeADecimal(), b.getModeA()[row]);
+            }
+            assertEquals(record.getItem136() != null, b.isPresent(TrackColumn.FLIGHT_LEVEL, row));
+            if (record.getItem136() != null) {
+                assertEquals(record.getItem136().getMeasuredFlightLevel(), b.getFlightLevel()[row]);
+            }
+            boolean hasCallsign = record.getItem390() != null && record.getItem390().getSubfield2() != null;
+            assertEquals(hasCallsign, b.isPresent(TrackColumn.CALLSIGN, row));
+            if (hasCallsign) {
+                assertEquals(record.getItem390().getSubfield2().getCallsign(),
+                        TrackColumnBatch.callsignToString(b.getCallsign()[row]));
+            }
+        });
+        assertEquals(expected.size(), nbRows);
+    }
+
+    @Test
+    public void cat048_columns_should_hold_the_values_of_the_decoded_items() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("NATS_CAT048_119bytes_TCAS.ff");
+        List<AsterixRecord> expected = decodeRecords(payloads, 48);
+        TrackColumnBatch batch = new TrackColumnBatch(100, ALL_COLUMNS);
+
+        //act & assert
+        int nbRows = decodeInBatches(payloads, batch, (b, row, index) -> {
+            Cat048Record record = expected.get(index).getCat048Record();
+            assertEquals(48, b.getCategory(row));
+            assertEquals(record.getItem010().getSac() << 8 | record.getItem010().getSic(), b.getSacSic()[row]);
+            assertEquals(record.getItem140().getTime(), b.getTimeOfTrack()[row]);
+            assertEquals(record.getItem161() != null, b.isPresent(TrackColumn.TRACK_NUMBER, row));
+            if (record.getItem161() != null) {
+                assertEquals(record.getItem161().getTrackNumber(), b.getTrackNumber()[row]);
+            }
+            assertFalse(b.isPresent(TrackColumn.POSITION_WGS84, row));
+            assertEquals(record.getItem070() != null, b.isPresent(TrackColumn.MODE_A, row));
+            if (record.getItem070() != null) {
+                assertEquals(record.getItem070().getMode3AReply(), b.getModeA()[row]);
+            }
+            assertEquals(record.getItem090() != null, b.isPresent(TrackColumn.FLIGHT_LEVEL, row));
+            if (record.getItem090() != null) {
+                assertEquals(record.getItem090().getFlightLevelFeet(), b.getFlightLevel()[row] * 25);
+            }
+            assertEquals(record.getItem240() != null, b.isPresent(TrackColumn.CALLSIGN, row));
+            if (record.getItem240() != null) {
+                assertEquals(record.getItem240().getAircraftIdentification(),
+                        TrackColumnBatch.callsignToString(b.getCallsign()[row]));
+            }
+        });
+        assertEquals(expected.size(), nbRows);
+    }
+
+    @Test
+    public void only_selected_columns_should_be_allocated() {
+        //arrange
+        byte[] payload = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff").get(0);
+        TrackColumnBatch batch = new TrackColumnBatch(64, TrackColumn.TRACK_NUMBER);
+
+        //act
+        new ColumnarBatchDecoder().decode(payload, 0, payload.length, batch);
+
+        //assert
+        assertTrue(batch.getSize() > 0);
+        assertEquals(batch.getSize(), batch.countPresent(TrackColumn.TRACK_NUMBER));
+        assertNull(batch.getLatitude());
+        assertNull(batch.getPresence(TrackColumn.SAC_SIC));
+        assertFalse(batch.isPresent(TrackColumn.SAC_SIC, 0));
+        assertEquals(0, batch.countPresent(TrackColumn.SAC_SIC));
+    }
+
+    @Test
+    public void data_block_that_does_not_fit_should_be_left_for_the_next_batch() {
+        //arrange
+        //two Cat062 data blocks of 2 records, with a track number (I040) only
+        byte[] input = {62, 0, 11, 1, 8, 0, 1, 1, 8, 0, 2, 62, 0, 11, 1, 8, 0, 3, 1, 8, 0, 4};
+        TrackColumnBatch batch = new TrackColumnBatch(3, TrackColumn.TRACK_NUMBER);
+        ColumnarBatchDecoder decoder = new ColumnarBatchDecoder();
+
+        //act
+        int firstOffset = decoder.decode(input, 0, input.length, batch);
+        int firstSize = batch.getSize();
+        batch.clear();
+        int secondOffset = decoder.decode(input, firstOffset, input.length, batch);
+
+        //assert
+        assertEquals(11, firstOffset);
+        assertEquals(2, firstSize);
+        assertEquals(input.length, secondOffset);
+        assertEquals(2, batch.getSize());
+        assertEquals(3, batch.getTrackNumber()[0]);
+        assertEquals(4, batch.getTrackNumber()[1]);
+        assertFalse(batch.isPresent(TrackColumn.TRACK_NUMBER, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void data_block_larger_than_an_empty_batch_should_not_be_decoded() {
+        //arrange
+        byte[] input = {62, 0, 11, 1, 8, 0, 1, 1, 8, 0, 2};
+        TrackColumnBatch batch = new TrackColumnBatch(1, TrackColumn.TRACK_NUMBER);
+
+        //act
+        new ColumnarBatchDecoder().decode(input, 0, input.length, batch);
+    }
+
+    @Test(expected = AsterixDecodingException.UnexpectedEndOfData.class)
+    public void record_exceeding_its_data_block_should_not_be_decoded() {
+        //arrange
+        //the track number of the second record is truncated
+        byte[] input = {62, 0, 10, 1, 8, 0, 1, 1, 8, 0};
+        TrackColumnBatch batch = new TrackColumnBatch(8, TrackColumn.TRACK_NUMBER);
+
+        //act
+        new ColumnarBatchDecoder().decode(input, 0, input.length, batch);
+    }
+
+    private interface RowAssertion {
+        void check(TrackColumnBatch batch, int row, int recordIndex);
+    }
+
+    private static int decodeInBatches(List<byte[]> payloads, TrackColumnBatch batch, RowAssertion assertion) {
+        ColumnarBatchDecoder decoder = new ColumnarBatchDecoder();
+        int nbRows = 0;
+        for (byte[] payload : payloads) {
+            int offset = 0;
+            while (offset < payload.length) {
+                offset = decoder.decode(payload, offset, payload.length, batch);
+                if (offset < payload.length) {
+                    nbRows = checkBatch(batch, nbRows, assertion);
+                }
+            }
+        }
+        return checkBatch(batch, nbRows, assertion);
+    }
+
+    private static int checkBatch(TrackColumnBatch batch, int nbRows, RowAssertion assertion) {
+        for (int row = 0; row < batch.getSize(); row++) {
+            assertion.check(batch, row, nbRows + row);
+        }
+        int total = nbRows + batch.getSize();
+        batch.clear();
+        return total;
+    }
+
+    private static List<AsterixRecord> decodeRecords(List<byte[]> payloads, int category) {
+        AsterixDecoder decoder = new AsterixDecoder(category);
+        List<AsterixRecord> records = new ArrayList<>();
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                records.addAll(dataBlock.getRecords());
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.columnar;
+
+import jlg.jade.asterix.columnar.ChunkStatistics;
+import jlg.jade.asterix.columnar.ColumnarBatchDecoder;
+import jlg.jade.asterix.columnar.ColumnarRecordingReader;
+import jlg.jade.asterix.columnar.ColumnarRecordingWriter;
+import jlg.jade.asterix.columnar.RecordingColumn;
+import jlg.jade.asterix.columnar.TrackColumn;
+import jlg.jade.asterix.columnar.TrackColumnBatch;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarRecordingTest {
+    private static final String SAMPLE_FILE = "final_frame_062_065_large_packet_30min.ff";
+    private static final TrackColumn[] ALL_COLUMNS = TrackColumn.values();
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("jade", ".columnar");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void rows_read_from_the_file_should_be_the_same_as_the_decoded_rows() throws IOException {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE);
+        TrackColumnBatch expected = decodeAll(payloads);
+
+        //act
+        try (ColumnarRecordingWriter writer = new ColumnarRecordingWriter(file, 1000, ALL_COLUMNS)) {
+            for (byte[] payload : payloads) {
+                writer.write(payload, 0, payload.length);
+            }
+        }
+
+        //assert
+        try (ColumnarRecordingReader reader = new ColumnarRecordingReader(file)) {
+            assertEquals(expected.getSize(), reader.getNbRows());
+            assertTrue(reader.getNbRowGroups() > 1);
+            TrackColumnBatch batch = new TrackColumnBatch(1000, ALL_COLUMNS);
+            int expectedRow = 0;
+            for (int rowGroup = 0; rowGroup < reader.getNbRowGroups(); rowGroup++) {
+                reader.read(rowGroup, batch);
+                assertEquals(reader.getNbRows(rowGroup), batch.getSize());
+                for (int row = 0; row < batch.getSize(); row++, expectedRow++) {
+                    assertSameRow(expected, expectedRow, batch, row);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void chunk_statistics_should_be_the_min_and_max_of_the_present_values() throws IOException {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE).subList(0, 1000);
+
+        //act
+        try (ColumnarRecordingWriter writer = new ColumnarRecordingWriter(file, 500, TrackColumn.FLIGHT_LEVEL)) {
+            for (byte[] payload : payloads) {
+                writer.write(payload, 0, payload.length);
+            }
+        }
+
+        //assert
+        try (ColumnarRecordingReader reader = new ColumnarRecordingReader(file)) {
+            assertFalse(reader.hasColumn(RecordingColumn.CALLSIGN));
+            TrackColumnBatch batch = new TrackColumnBatch(500, TrackColumn.FLIGHT_LEVEL);
+            for (int rowGroup = 0; rowGroup < reader.getNbRowGroups(); rowGroup++) {
+                reader.read(rowGroup, batch);
+                int nbValues = 0;
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (int row = 0; row < batch.getSize(); row++) {
+                    if (batch.isPresent(TrackColumn.FLIGHT_LEVEL, row)) {
+                        nbValues++;
+                        min = Math.min(min, batch.getFlightLevel()[row]);
+                        max = Math.max(max, batch.getFlightLevel()[row]);
+                    }
+                }
+                ChunkStatistics statistics = reader.getStatistics(rowGroup, RecordingColumn.FLIGHT_LEVEL);
+                assertEquals(nbValues, statistics.getNbValues());
+                assertEquals(min, statistics.getMin());
+                assertEquals(max, statistics.getMax());
+            }
+        }
+    }
+
+    @Test
+    public void row_groups_should_be_skipped_using_the_chunk_statistics() throws IOException {
+        //arrange
+        //two Cat062 data blocks with a time of track (I070), in two row groups: 1, 2 and 100, 101
+        byte[] input = {62, 0, 11, 0x10, 0, 0, 1, 0x10, 0, 0, 2, 62, 0, 11, 0x10, 0, 0, 100, 0x10, 0, 0, 101};
+        try (ColumnarRecordingWriter writer = new ColumnarRecordingWriter(file, 2, TrackColumn.TIME_OF_TRACK)) {
+            writer.write(input, 0, input.length);
+        }
+
+        //act
+        try (ColumnarRecordingReader reader = new ColumnarRecordingReader(file)) {
+            int[] rowGroups = reader.findRowGroups(RecordingColumn.TIME_OF_TRACK, 50, 150);
+
+            //assert
+            assertEquals(2, reader.getNbRowGroups());
+            assertArrayEquals(new int[]{1}, rowGroups);
+            TrackColumnBatch batch = new TrackColumnBatch(2, TrackColumn.TIME_OF_TRACK, TrackColumn.TRACK_NUMBER);
+            reader.read(rowGroups[0], batch);
+            assertEquals(100, batch.getTimeOfTrack()[0]);
+            assertEquals(101, batch.getTimeOfTrack()[1]);
+            assertEquals(62, batch.getCategory(1));
+            assertFalse(batch.isPresent(TrackColumn.TRACK_NUMBER, 0));
+        }
+    }
+
+    @Test
+    public void final_frame_recording_should_be_exported_in_less_space_than_the_raw_data() throws IOException {
+        //arrange
+        Path recording = TestHelper.getFileFromResource(SAMPLE_FILE).toPath();
+
+        //act
+        long nbRows = ColumnarRecordingWriter.exportFinalFrame(recording, file,
+                ColumnarRecordingWriter.DEFAULT_ROW_GROUP_SIZE, ALL_COLUMNS);
+
+        //assert
+        try (ColumnarRecordingReader reader = new ColumnarRecordingReader(file)) {
+            assertEquals(nbRows, reader.getNbRows());
+            assertTrue(reader.getStatistics(0, RecordingColumn.CALLSIGN).getNbValues() > 0);
+        }
+        assertEquals(decodeAll(TestHelper.readFinalFramePayloads(SAMPLE_FILE)).getSize(), nbRows);
+        assertTrue(Files.size(file) < Files.size(recording) / 4);
+    }
+
+    @Test(expected = IOException.class)
+    public void incomplete_file_should_not_be_read() throws IOException {
+        //arrange
+        Files.write(file, new byte[]{0x4A, 0x41, 0x44, 0x43, 0, 1, 0});
+
+        //act
+        new ColumnarRecordingReader(file);
+    }
+
+    private static TrackColumnBatch decodeAll(List<byte[]> payloads) {
+        TrackColumnBatch batch = new TrackColumnBatch(100000, ALL_COLUMNS);
+        ColumnarBatchDecoder decoder = new ColumnarBatchDecoder();
+        for (byte[] payload : payloads) {
+            assertEquals(payload.length, decoder.decode(payload, 0, payload.length, batch));
+        }
+        return batch;
+    }
+
+    private static void assertSameRow(TrackColumnBatch expected, int expectedRow, TrackColumnBatch actual, int row) {
+        assertEquals(expected.getCategory(expectedRow), actual.getCategory(row));
+        for (TrackColumn column : ALL_COLUMNS) {
+            assertEquals(expected.isPresent(column, expectedRow), actual.isPresent(column, row));
+        }
+        if (actual.isPresent(TrackColumn.SAC_SIC, row)) {
+            assertEquals(expected.getSacSic()[expectedRow], actual.getSacSic()[row]);
+        }
+        if (actual.isPresent(TrackColumn.TIME_OF_TRACK, row)) {
+            assertEquals(expected.getTimeOfTrack()[expectedRow], actual.getTimeOfTrack()[row]);
+        }
+        if (actual.isPresent(TrackColumn.TRACK_NUMBER, row)) {
+            assertEquals(expected.getTrackNumber()[expectedRow], actual.getTrackNumber()[row]);
+        }
+        if (actual.isPresent(TrackColumn.POSITION_WGS84, row)) {
+            assertEquals(expected.getLatitude()[expectedRow], actual.getLatitude()[row]);
+            assertEquals(expected.getLongitude()[expectedRow], actual.getLongitude()[row]);
+        }
+        if (actual.isPresent(TrackColumn.MODE_A, row)) {
+            assertEquals(expected.getModeA()[expectedRow], actual.getModeA()[row]);
+        }
+        if (actual.isPresent(TrackColumn.FLIGHT_LEVEL, row)) {
+            assertEquals(expected.getFlightLevel()[expectedRow], actual.getFlightLevel()[row]);
+        }
+        if (actual.isPresent(TrackColumn.CALLSIGN, row)) {
+            assertEquals(expected.getCallsign()[expectedRow], actual.getCallsign()[row]);
+        }
+    }
+}
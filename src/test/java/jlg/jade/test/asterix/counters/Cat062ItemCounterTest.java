@@ -0,0 +1,204 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.counters;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.counters.Cat062ItemCounter;
+import jlg.jade.asterix.counters.ItemCounterSnapshot;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Cat062ItemCounterTest {
+    private static List<AsterixDataBlock> dataBlocks;
+
+    @BeforeClass
+    public static void decodeRecording() {
+        dataBlocks = new ArrayList<>();
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        for (byte[] payload : TestHelper.readFinalFramePayloads("final_frame_062_30min.ff")) {
+            dataBlocks.addAll(decoder.decode(payload, 0, payload.length));
+        }
+    }
+
+    @Test
+    public void the_item_counter_should_count_the_items_of_the_decoded_records() {
+        //arrange
+        Cat062ItemCounter counter = new Cat062ItemCounter();
+        int nbRecords = dataBlocks.stream().mapToInt(db -> db.getRecords().size()).sum();
+        long nbItem390 = dataBlocks.stream()
+                .flatMap(db -> db.getRecords().stream())
+                .filter(r -> r.getCat062Record().getItem390() != null)
+                .count();
+
+        //act
+        dataBlocks.forEach(counter::increment);
+
+        //assert
+        assertEquals(nbRecords, counter.getNbRecords());
+        assertEquals(nbRecords, counter.getItem010Present());
+        assertEquals(nbItem390, counter.getItem390Present());
+        assertEquals(counter.getItem220Present(),
+                counter.getItem220Negative() + counter.getItem220Zero() + counter.getItem220Positive());
+        assertEquals(counter.getItem390Subfield6Present(),
+                counter.getItem390Subfield6L() + counter.getItem390Subfield6M() +
+                        counter.getItem390Subfield6H() + counter.getItem390Subfield6J());
+    }
+
+    @Test
+    public void lazy_items_should_be_counted_as_present_without_being_decoded() {
+        //arrange
+        Cat062ItemCounter eagerCounter = new Cat062ItemCounter();
+        dataBlocks.forEach(eagerCounter::increment);
+        List<AsterixDataBlock> lazyDataBlocks = decodeLazily();
+        Cat062ItemCounter lazyCounter = new Cat062ItemCounter();
+
+        //act
+        lazyDataBlocks.forEach(lazyCounter::increment);
+
+        //assert
+        assertEquals(eagerCounter.getNbRecords(), lazyCounter.getNbRecords());
+        assertEquals(eagerCounter.getItem380Present(), lazyCounter.getItem380Present());
+        assertEquals(eagerCounter.getItem390Present(), lazyCounter.getItem390Present());
+        assertEquals(eagerCounter.getItem040Present(), lazyCounter.getItem040Present());
+        assertEquals(0, lazyCounter.getItem390Subfield2Present());
+        assertEquals(eagerCounter.getItem390Present(), lazyDataBlocks.stream()
+                .flatMap(db -> db.getRecords().stream())
+                .filter(r -> r.getCat062Record().isItem390Deferred())
+                .count());
+    }
+
+    @Test
+    public void lazy_items_decoded_before_counting_should_be_counted_with_their_subfields() {
+        //arrange
+        Cat062ItemCounter eagerCounter = new Cat062ItemCounter();
+        dataBlocks.forEach(eagerCounter::increment);
+        List<AsterixDataBlock> lazyDataBlocks = decodeLazily();
+        lazyDataBlocks.forEach(db -> db.getRecords().forEach(r -> r.getCat062Record().getItem390()));
+        Cat062ItemCounter lazyCounter = new Cat062ItemCounter();
+
+        //act
+        lazyDataBlocks.forEach(lazyCounter::increment);
+
+        //assert
+        assertEquals(eagerCounter.getItem390Present(), lazyCounter.getItem390Present());
+        assertEquals(eagerCounter.getItem390Subfield2Present(), lazyCounter.getItem390Subfield2Present());
+        assertEquals(eagerCounter.getItem390Subfield6L(), lazyCounter.getItem390Subfield6L());
+        assertEquals(eagerCounter.getItem380Present(), lazyCounter.getItem380Present());
+        assertEquals(0, lazyCounter.getItem380Subfield1Present());
+    }
+
+    @Test
+    public void increments_from_several_threads_should_not_lose_counts() throws InterruptedException {
+        //arrange
+        Cat062ItemCounter expected = new Cat062ItemCounter();
+        dataBlocks.forEach(expected::increment);
+        Cat062ItemCounter counter = new Cat062ItemCounter();
+        int nbThreads = 4;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < nbThreads; i++) {
+            threads.add(new Thread(() -> dataBlocks.forEach(counter::increment)));
+        }
+
+        //act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //assert
+        assertEquals(nbThreads * expected.getNbRecords(), counter.getNbRecords());
+        assertEquals(nbThreads * expected.getItem380Present(), counter.getItem380Present());
+        assertEquals(nbThreads * expected.getItem390Subfield2Present(), counter.getItem390Subfield2Present());
+        assertEquals(nbThreads * expected.getItem220Negative(), counter.getItem220Negative());
+    }
+
+    @Test
+    public void merge_should_add_the_counters_of_another_counter() {
+        //arrange
+        Cat062ItemCounter expected = new Cat062ItemCounter();
+        dataBlocks.forEach(expected::increment);
+        Cat062ItemCounter first = new Cat062ItemCounter();
+        Cat062ItemCounter second = new Cat062ItemCounter();
+        int half = dataBlocks.size() / 2;
+        dataBlocks.subList(0, half).forEach(first::increment);
+        dataBlocks.subList(half, dataBlocks.size()).forEach(second::increment);
+
+        //act
+        first.merge(second);
+
+        //assert
+        assertEquals(expected.getDebugString(), first.getDebugString());
+        assertEquals(expected.getNbRecords(), first.getNbRecords());
+    }
+
+    @Test
+    public void snapshot_should_not_change_when_the_counter_is_updated() {
+        //arrange
+        Cat062ItemCounter counter = new Cat062ItemCounter();
+        counter.increment(dataBlocks.get(0));
+
+        //act
+        ItemCounterSnapshot snapshot = counter.snapshot();
+        counter.increment(dataBlocks.get(1));
+
+        //assert
+        assertEquals(dataBlocks.get(0).getRecords().size(), snapshot.getNbRecords());
+        assertTrue(counter.getNbRecords() > snapshot.getNbRecords());
+        for (int entry = 0; entry < snapshot.getDefinition().getNbEntries(); entry++) {
+            assertTrue(snapshot.getPresent(entry) <= snapshot.getNbRecords());
+        }
+    }
+
+    @Test
+    public void reset_should_set_all_counters_to_zero() {
+        //arrange
+        Cat062ItemCounter counter = new Cat062ItemCounter();
+        dataBlocks.forEach(counter::increment);
+
+        //act
+        counter.reset();
+
+        //assert
+        assertEquals(0, counter.getNbRecords());
+        assertEquals(0, counter.getItem010Present());
+        assertEquals(0, counter.getGetItem390Subfield4TrafficGat());
+    }
+
+    @Test
+    public void debug_string_should_contain_all_the_entries() {
+        //arrange
+        Cat062ItemCounter counter = new Cat062ItemCounter();
+        dataBlocks.forEach(counter::increment);
+
+        //act
+        String report = counter.getDebugString();
+
+        //assert
+        assertTrue(report.contains("Asterix Category 062 Counters"));
+        assertTrue(report.contains("Item 390 - Flight plan data"));
+        assertTrue(report.contains("Subfield 28 - Barometric pressure setting"));
+    }
+
+    private static List<AsterixDataBlock> decodeLazily() {
+        List<AsterixDataBlock> lazyDataBlocks = new ArrayList<>();
+        AsterixDecoder decoder = new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(62).withDebugMessages(false).withLazyCompoundItems(true)));
+        for (byte[] payload : TestHelper.readFinalFramePayloads("final_frame_062_30min.ff")) {
+            lazyDataBlocks.addAll(decoder.decode(payload, 0, payload.length));
+        }
+        return lazyDataBlocks;
+    }
+}
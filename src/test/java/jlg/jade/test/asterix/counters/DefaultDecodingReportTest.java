@@ -0,0 +1,90 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.counters;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.StandardAsterixRecord;
+import jlg.jade.asterix.cat048.Cat048Record;
+import jlg.jade.asterix.counters.DefaultDecodingReport;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class DefaultDecodingReportTest {
+
+    @Test
+    public void cat048_data_blocks_should_only_update_the_cat048_counter() {
+        //arrange
+        DefaultDecodingReport report = new DefaultDecodingReport();
+        AsterixDataBlock adbMock = Mockito.mock(AsterixDataBlock.class);
+        AsterixRecord record = Mockito.mock(StandardAsterixRecord.class);
+        List<AsterixRecord> records = new ArrayList<>();
+        records.add(record);
+        when(record.getCat048Record()).thenReturn(Mockito.mock(Cat048Record.class));
+        when(adbMock.getRecords()).thenReturn(records);
+        when(adbMock.getCategory()).thenReturn(48);
+
+        //act
+        report.update(adbMock);
+
+        //assert
+        assertEquals(1, report.getCat048ItemCounter().getNbRecords());
+        assertTrue(report.toDebugString().contains("Asterix Category 048 Counters"));
+        assertFalse(report.toDebugString().contains("Asterix Category 062 Counters"));
+    }
+
+    @Test
+    public void merged_reports_should_contain_the_counters_of_all_workers() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff");
+        AsterixDecoder decoder = new AsterixDecoder(62, 65);
+        DefaultDecodingReport expected = new DefaultDecodingReport();
+        DefaultDecodingReport first = new DefaultDecodingReport();
+        DefaultDecodingReport second = new DefaultDecodingReport();
+        for (int i = 0; i < payloads.size(); i++) {
+            byte[] payload = payloads.get(i);
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                expected.update(dataBlock);
+                (i % 2 == 0 ? first : second).update(dataBlock);
+            }
+        }
+
+        //act
+        first.merge(second);
+
+        //assert
+        assertEquals(expected.toDebugString(), first.toDebugString());
+        assertTrue(first.getCat065ItemCounter().getNbRecords() > 0);
+    }
+
+    @Test
+    public void reset_should_remove_all_categories_from_the_report() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads("final_frame_cat062_one_packet.ff");
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        DefaultDecodingReport report = new DefaultDecodingReport();
+        for (byte[] payload : payloads) {
+            decoder.decode(payload, 0, payload.length).forEach(report::update);
+        }
+
+        //act
+        report.reset();
+
+        //assert
+        assertEquals(0, report.getCat062ItemCounter().getNbRecords());
+        assertFalse(report.toDebugString().contains("Asterix Category 062 Counters"));
+    }
+}
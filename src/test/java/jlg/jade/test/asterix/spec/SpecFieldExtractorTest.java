@@ -0,0 +1,222 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.asterix.spec;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixDecoderConfiguration;
+import jlg.jade.asterix.AsterixDecoderConfigurationHolder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.cat062.Cat062Record;
+import jlg.jade.asterix.spec.AsterixSpec;
+import jlg.jade.asterix.spec.SpecFieldExtractor;
+import jlg.jade.asterix.spec.SpecRecord;
+import jlg.jade.common.AsterixDecodingException;
+import jlg.jade.common.AsterixException;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SpecFieldExtractorTest {
+    private static final String SAMPLE_FILE = "final_frame_062_065_large_packet_30min.ff";
+
+    /**
+     * Category 001 subset, with I001/010 (SAC/SIC), I001/040 (polar position) and a variable item
+     */
+    private static final String SMALL_SPEC = "category 1 2 Test\n" +
+            "item 7 I001/010 fixed 2\n" +
+            "  field SAC 0 8\n" +
+            "  field SIC 8 8\n" +
+            "item 6 I001/020 variable   # target report descriptor\n" +
+            "item 5 I001/040 fixed 4\n" +
+            "  field RHO 0 16 lsb 0.0078125\n" +
+            "  field THETA 16 16 signed\n";
+
+    @Test
+    public void cat062_spec_should_extract_the_fields_of_the_cat062_records() {
+        //arrange
+        List<byte[]> payloads = TestHelper.readFinalFramePayloads(SAMPLE_FILE).subList(0, 300);
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.fromResource("cat062.spec"));
+        AsterixDecoder decoder = new AsterixDecoder(new AsterixDecoderConfigurationHolder(
+                AsterixDecoderConfiguration.of(62)));
+
+        //act
+        List<Cat062Record> expectedRecords = new ArrayList<>();
+        List<SpecRecord> actualRecords = new ArrayList<>();
+        for (byte[] payload : payloads) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                for (AsterixRecord record : dataBlock.getRecords()) {
+                    expectedRecords.add(record.getCat062Record());
+                }
+            }
+            actualRecords.addAll(extractor.extract(payload, 0, payload.length));
+        }
+
+        //assert
+        assertEquals(expectedRecords.size(), actualRecords.size());
+        for (int i = 0; i < expectedRecords.size(); i++) {
+            Cat062Record expected = expectedRecords.get(i);
+            SpecRecord actual = actualRecords.get(i);
+            assertEquals(expected.getSizeInBytes(), actual.getSizeInBytes());
+            assertEquals(expected.getItem010().getSac(), actual.getValue("I062/010", "SAC"));
+            assertEquals(expected.getItem010().getSic(), actual.getValue("I062/010", "SIC"));
+            assertEquals(expected.getItem040().getTrackNb(), actual.getValue("I062/040", "TRACK_NUMBER"));
+            assertEquals(expected.getItem070().getTime(), actual.getValue("I062/070", "TIME_OF_TRACK"));
+            assertEquals(expected.getItem105() != null, actual.hasItem("I062/105"));
+            if (expected.getItem105() != null) {
+                assertEquals(expected.getItem105().getLatitudeWsg84(), actual.getValue("I062/105", "LATITUDE"));
+                assertEquals(expected.getItem105().getLongitudeWsg84() * 180 / Math.pow(2, 25),
+                        actual.getScaledValue("I062/105", "LONGITUDE"), 1e-9);
+            }
+            if (expected.getItem100() != null) {
+                assertEquals(expected.getItem100().getX(), actual.getValue("I062/100", "X"));
+                assertEquals(expected.getItem100().getY(), actual.getValue("I062/100", "Y"));
+            }
+            if (expected.getItem185() != null) {
+                assertEquals(expected.getItem185().getVx(), actual.getValue("I062/185", "VX"));
+                assertEquals(expected.getItem185().getVy(), actual.getValue("I062/185", "VY"));
+            }
+            if (expected.getItem060() != null) {
+                assertEquals(expected.getItem060().getModeADecimal(), actual.getValue("I062/060", "MODE_3A"));
+            }
+            if (expected.getItem136() != null) {
+                assertEquals(expected.getItem136().getMeasuredFlightLevel(),
+                        actual.getValue("I062/136", "MEASURED_FLIGHT_LEVEL"));
+            }
+            if (expected.getItem135() != null) {
+                assertEquals(expected.getItem135().getBarometricAltitude(),
+                        actual.getValue("I062/135", "BAROMETRIC_ALTITUDE"));
+            }
+            if (expected.getItem220() != null) {
+                assertEquals(expected.getItem220().getRocd(), actual.getValue("I062/220", "RATE_OF_CLIMB_DESCENT"));
+            }
+            assertEquals(expected.getItem390() != null, actual.hasItem("I062/390"));
+            if (expected.getItem390() != null) {
+                assertEquals(expected.getItem390().getSizeInBytes(), actual.getItemBytes("I062/390").length);
+            }
+        }
+    }
+
+    @Test
+    public void spec_should_extract_the_fields_of_a_new_category_without_item_classes() {
+        //arrange
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.parse(SMALL_SPEC));
+        byte[] dataBlock = {1, 0, 12, (byte) 0xE0, 8, 10, (byte) 0xA1, 0x02, 0x01, 0x00, (byte) 0xFF, (byte) 0xFE};
+
+        //act
+        List<SpecRecord> records = extractor.extract(dataBlock, 0, dataBlock.length);
+
+        //assert
+        assertEquals(1, records.size());
+        SpecRecord record = records.get(0);
+        assertEquals(9, record.getSizeInBytes());
+        assertEquals(8, record.getValue("I001/010", "SAC"));
+        assertEquals(10, record.getValue("I001/010", "SIC"));
+        assertArrayEquals(new byte[]{(byte) 0xA1, 0x02}, record.getItemBytes("I001/020"));
+        assertEquals(2.0, record.getScaledValue("I001/040", "RHO"), 0);
+        assertEquals(-2, record.getValue("I001/040", "THETA"));
+    }
+
+    @Test
+    public void absent_items_should_not_be_extracted() {
+        //arrange
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.parse(SMALL_SPEC));
+        byte[] record = {(byte) 0x80, 8, 10};
+
+        //act
+        SpecRecord extracted = extractor.extractRecord(record, 0, record.length);
+
+        //assert
+        assertTrue(extracted.hasItem("I001/010"));
+        assertFalse(extracted.hasItem("I001/040"));
+        assertNull(extracted.getItemBytes("I001/040"));
+    }
+
+    @Test
+    public void data_blocks_of_other_categories_should_be_skipped() {
+        //arrange
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.parse(SMALL_SPEC));
+        byte[] datagram = {2, 0, 4, 0, 1, 0, 6, (byte) 0x80, 8, 10};
+
+        //act
+        List<SpecRecord> records = extractor.extract(datagram, 0, datagram.length);
+
+        //assert
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).getCategory());
+    }
+
+    @Test(expected = AsterixDecodingException.UnexpectedEndOfData.class)
+    public void truncated_item_should_throw() {
+        //arrange
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.parse(SMALL_SPEC));
+        byte[] record = {(byte) 0x20, 1, 2};
+
+        //act
+        extractor.extractRecord(record, 0, record.length);
+    }
+
+    @Test(expected = AsterixDecodingException.UndefinedItem.class)
+    public void item_missing_from_the_spec_should_throw() {
+        //arrange
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.parse(SMALL_SPEC));
+        byte[] record = {(byte) 0x10, 1, 2};
+
+        //act
+        extractor.extractRecord(record, 0, record.length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void reading_a_field_of_an_absent_item_should_throw() {
+        //arrange
+        SpecFieldExtractor extractor = SpecFieldExtractor.compile(AsterixSpec.parse(SMALL_SPEC));
+        byte[] record = {(byte) 0x80, 8, 10};
+
+        //act
+        extractor.extractRecord(record, 0, record.length).getValue("I001/040", "RHO");
+    }
+
+    @Test
+    public void cat062_spec_should_define_the_uap() {
+        //act
+        AsterixSpec spec = AsterixSpec.fromResource("cat062.spec");
+
+        //assert
+        assertEquals(62, spec.getCategory());
+        assertEquals(5, spec.getMaxFspecSizeInBytes());
+        assertEquals(29, spec.getItems().size());
+        assertEquals("I062/010", spec.getItems().get(0).getName());
+        assertEquals(11, spec.getItem("I062/040").getFspecIndex());
+    }
+
+    @Test(expected = AsterixException.InvalidSpecification.class)
+    public void field_outside_its_item_should_be_rejected() {
+        AsterixSpec.parse("category 1 1 Test\nitem 7 I001/010 fixed 2\nfield SAC 8 16\n");
+    }
+
+    @Test(expected = AsterixException.InvalidSpecification.class)
+    public void item_at_a_fx_bit_should_be_rejected() {
+        AsterixSpec.parse("category 1 2 Test\nitem 8 I001/010 fixed 2\n");
+    }
+
+    @Test(expected = AsterixException.InvalidSpecification.class)
+    public void subfield_of_a_fixed_item_should_be_rejected() {
+        AsterixSpec.parse("category 1 1 Test\nitem 7 I001/010 fixed 2\nsubfield 7 fixed 1\n");
+    }
+
+    @Test(expected = AsterixException.InvalidSpecification.class)
+    public void unknown_spec_should_be_rejected() {
+        AsterixSpec.fromResource("cat999.spec");
+    }
+}
@@ -0,0 +1,131 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.common;
+
+import jlg.jade.asterix.cat062.item390.Cat062Item390Subfield2;
+import jlg.jade.common.AsterixStringDecoder;
+import jlg.jade.common.IA5Decoder;
+import jlg.jade.common.ModeACode;
+import jlg.jade.common.StringInterner;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AsterixStringDecoderTest {
+    @Test
+    public void decode_without_spaces_should_remove_the_padding() {
+        //arrange
+        byte[] input = "xxROT 123".getBytes(StandardCharsets.US_ASCII);
+
+        //act
+        String callsign = AsterixStringDecoder.decodeWithoutSpaces(input, 2, 7);
+        String text = AsterixStringDecoder.decode(input, 2, 7);
+
+        //assert
+        assertEquals("ROT123", callsign);
+        assertEquals("ROT 123", text);
+    }
+
+    @Test
+    public void repeated_values_should_return_the_same_instance() {
+        //arrange
+        byte[] firstUpdate = "TAROM1 ".getBytes(StandardCharsets.US_ASCII);
+        byte[] secondUpdate = "TAROM1 ".getBytes(StandardCharsets.US_ASCII);
+
+        //act
+        String first = AsterixStringDecoder.decodeWithoutSpaces(firstUpdate, 0, 7);
+        String second = AsterixStringDecoder.decodeWithoutSpaces(secondUpdate, 0, 7);
+
+        //assert
+        assertEquals("TAROM1", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void callsign_item_should_return_the_same_instance_for_each_update() {
+        //arrange
+        byte[] input = "BLUE42 ".getBytes(StandardCharsets.US_ASCII);
+        Cat062Item390Subfield2 firstUpdate = new Cat062Item390Subfield2();
+        Cat062Item390Subfield2 secondUpdate = new Cat062Item390Subfield2();
+
+        //act
+        firstUpdate.decode(input, 0, input.length);
+        secondUpdate.decode(input, 0, input.length);
+
+        //assert
+        assertEquals("BLUE42", firstUpdate.getCallsign());
+        assertSame(firstUpdate.getCallsign(), secondUpdate.getCallsign());
+    }
+
+    @Test
+    public void non_ascii_text_should_be_decoded_as_utf8() {
+        //arrange
+        byte[] input = "CAFÉ 1".getBytes(StandardCharsets.UTF_8);
+
+        //act
+        String text = AsterixStringDecoder.decodeWithoutSpaces(input, 0, input.length);
+
+        //assert
+        assertEquals("CAFÉ1", text);
+    }
+
+    @Test
+    public void sac_sic_labels_should_be_shared() {
+        //act
+        String first = AsterixStringDecoder.sacSicLabel(8, 10);
+        String second = AsterixStringDecoder.sacSicLabel(8, 10);
+
+        //assert
+        assertEquals("8/10", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void mode_a_codes_should_be_shared() {
+        //act
+        String code = ModeACode.toOctal(7);
+        String sameCode = ModeACode.toOctal(7);
+
+        //assert
+        assertEquals("0007", code);
+        assertSame(code, sameCode);
+        assertEquals("7777", ModeACode.toOctal(4095));
+        assertNull(ModeACode.toOctal(-1));
+    }
+
+    @Test
+    public void ia5_identifications_should_be_shared() {
+        //arrange
+        byte[] input = {0x10, 0x52, (byte) 0xC3, 0x30, (byte) 0xC8, 0x20};
+
+        //act
+        String identification = IA5Decoder.decodeFromSixBytes(input, 0);
+        String sameIdentification = IA5Decoder.decodeFromSixBytes(input.clone(), 0);
+
+        //assert
+        assertSame(identification, sameIdentification);
+    }
+
+    @Test
+    public void interner_should_replace_the_entry_of_a_slot_with_the_newest_key() {
+        //arrange
+        StringInterner interner = new StringInterner(1);
+        byte[] first = {1, 2};
+        byte[] second = {3, 4};
+
+        //act
+        interner.put(first, 0, 2, "first");
+        interner.put(second, 0, 2, "second");
+
+        //assert
+        assertNull(interner.get(first, 0, 2));
+        assertEquals("second", interner.get(second, 0, 2));
+    }
+}
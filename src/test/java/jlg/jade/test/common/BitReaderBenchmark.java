@@ -0,0 +1,117 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.common;
+
+import jlg.jade.common.BitReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison between the BitReader and the field extraction helpers it replaced: BitSet
+ * lookups, binary strings parsed with Integer.parseInt and the multiply based numeric decoders.
+ * Each benchmark reads the same fields from a buffer of 7 byte items.
+ * Run it with the test classpath, for example from the IDE, using the main method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitReaderBenchmark {
+    private static final int ITEM_SIZE = 7;
+    private static final int NB_ITEMS = 1024;
+
+    private byte[] input;
+
+    @Setup
+    public void setup() {
+        input = new byte[ITEM_SIZE * NB_ITEMS];
+        new Random(39).nextBytes(input);
+    }
+
+    @Benchmark
+    public long bitReader() {
+        long sum = 0;
+        for (int offset = 0; offset < input.length; offset += ITEM_SIZE) {
+            sum += BitReader.readUnsignedInt(input, offset, 0, 16);
+            sum += BitReader.readSignedInt(input, offset, 0, 24);
+            sum += BitReader.readSignedInt(input, offset, 1, 15);
+            sum += BitReader.readUnsignedInt(input, offset, 30, 24);
+            sum += BitReader.readUnsignedInt(input, offset, 43, 7);
+            sum += BitReader.readBit(input, offset, 0) ? 1 : 0;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long legacyHelpers() {
+        long sum = 0;
+        for (int offset = 0; offset < input.length; offset += ITEM_SIZE) {
+            sum += Byte.toUnsignedInt(input[offset]) * 256 + Byte.toUnsignedInt(input[offset + 1]);
+            sum += input[offset] * 256 * 256 + Byte.toUnsignedInt(input[offset + 1]) * 256 +
+                    Byte.toUnsignedInt(input[offset + 2]);
+            sum += legacyBarometricAltitude(input, offset);
+            sum += legacyBinaryStringField(input, offset, 30, 24);
+            sum += legacyBitSetField(input, offset, 43, 7);
+            sum += BitSet.valueOf(new byte[]{input[offset]}).get(7) ? 1 : 0;
+        }
+        return sum;
+    }
+
+    private static int legacyBarometricAltitude(byte[] input, int offset) {
+        BitSet firstOctetBits = BitSet.valueOf(new byte[]{input[offset]});
+        int firstOctetValue = Byte.toUnsignedInt(input[offset]);
+        if (firstOctetBits.get(7)) {
+            firstOctetValue = (byte) (input[offset] - 128);
+        }
+        if (firstOctetBits.get(6)) {
+            firstOctetValue = (byte) (firstOctetValue - 128);
+        }
+        return firstOctetValue * 256 + Byte.toUnsignedInt(input[offset + 1]);
+    }
+
+    private static int legacyBinaryStringField(byte[] input, int offset, int bitOffset, int width) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ITEM_SIZE; i++) {
+            String byteBinaryRepresentation = Integer.toBinaryString(input[offset + i]);
+            sb.append(("00000000" + byteBinaryRepresentation).substring(byteBinaryRepresentation.length()));
+        }
+        return Integer.parseInt(sb.substring(bitOffset, bitOffset + width), 2);
+    }
+
+    private static int legacyBitSetField(byte[] input, int offset, int bitOffset, int width) {
+        byte[] item = new byte[ITEM_SIZE];
+        System.arraycopy(input, offset, item, 0, ITEM_SIZE);
+        BitSet bs = BitSet.valueOf(item);
+        int value = 0;
+        for (int i = bitOffset; i < bitOffset + width; i++) {
+            // the bit set is little endian inside each byte
+            int index = (i / 8) * 8 + 7 - (i % 8);
+            value = value * 2 + (bs.get(index) ? 1 : 0);
+        }
+        return value;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BitReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
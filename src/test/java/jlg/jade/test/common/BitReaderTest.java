@@ -0,0 +1,150 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.common;
+
+import jlg.jade.common.BitReader;
+import jlg.jade.common.TwoComplementDecoder;
+import jlg.jade.common.UnsignedNumericDecoder;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnitParamsRunner.class)
+public class BitReaderTest {
+    @Test
+    @Parameters({"0, 1, 1", "1, 1, 0", "0, 4, 10", "4, 4, 5", "2, 6, 37", "4, 12, 1383", "0, 16, 42343"})
+    public void read_unsigned_should_extract_the_field_at_the_given_bit_offset(int bitOffset, int width,
+                                                                               long expected) {
+        //arrange
+        byte[] input = {(byte) 0xA5, 0x67};
+
+        //act
+        long value = BitReader.readUnsigned(input, 0, bitOffset, width);
+
+        //assert
+        assertEquals(expected, value);
+    }
+
+    @Test
+    @Parameters({"1, 15, -1", "0, 16, -1", "8, 8, -1", "9, 7, -1", "0, 1, -1"})
+    public void read_signed_should_extend_the_sign_bit(int bitOffset, int width, long expected) {
+        //arrange
+        byte[] input = {(byte) 0xFF, (byte) 0xFF};
+
+        //act
+        long value = BitReader.readSigned(input, 0, bitOffset, width);
+
+        //assert
+        assertEquals(expected, value);
+    }
+
+    @Test
+    public void read_signed_should_return_positive_value_when_sign_bit_is_zero() {
+        //arrange
+        byte[] input = {(byte) 0xBF, (byte) 0xFF};
+
+        //act
+        int value = BitReader.readSignedInt(input, 0, 1, 15);
+
+        //assert
+        assertEquals(0x3FFF, value);
+    }
+
+    @Test
+    public void read_should_only_access_the_bytes_holding_the_field() {
+        //arrange
+        byte[] input = {0, 0, 0x12, 0x34};
+
+        //act
+        int value = BitReader.readUnsignedInt(input, 2, 4, 12);
+
+        //assert
+        assertEquals(0x234, value);
+    }
+
+    @Test
+    public void read_should_give_the_same_result_as_big_integer_for_all_widths_and_bit_offsets() {
+        //arrange
+        Random random = new Random(39);
+        byte[] input = new byte[16];
+        random.nextBytes(input);
+        BigInteger all = new BigInteger(1, input);
+        int nbBits = input.length * 8;
+
+        for (int width = 1; width <= 64; width++) {
+            for (int bitOffset = 0; bitOffset + width <= nbBits && bitOffset < 64; bitOffset++) {
+                //act
+                long unsigned = BitReader.readUnsigned(input, 0, bitOffset, width);
+                long signed = BitReader.readSigned(input, 0, bitOffset, width);
+
+                //assert
+                BigInteger field = all.shiftRight(nbBits - bitOffset - width)
+                        .and(BigInteger.ONE.shiftLeft(width).subtract(BigInteger.ONE));
+                BigInteger signedField = field.testBit(width - 1) ? field.subtract(BigInteger.ONE.shiftLeft(width))
+                        : field;
+                assertEquals("unsigned " + width + "@" + bitOffset, field.longValue(), unsigned);
+                assertEquals("signed " + width + "@" + bitOffset, signedField.longValue(), signed);
+            }
+        }
+    }
+
+    @Test
+    public void read_bit_should_count_bits_from_the_most_significant_bit() {
+        //arrange
+        byte[] input = {0x00, (byte) 0x81};
+
+        //act
+        boolean first = BitReader.readBit(input, 1, 0);
+        boolean second = BitReader.readBit(input, 1, 1);
+        boolean last = BitReader.readBit(input, 0, 15);
+
+        //assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(last);
+    }
+
+    @Test
+    public void numeric_decoders_should_give_the_same_values_as_before() {
+        //arrange
+        Random random = new Random(7);
+        byte[] input = new byte[4];
+
+        for (int i = 0; i < 10000; i++) {
+            random.nextBytes(input);
+
+            //act & assert
+            assertEquals(Byte.toUnsignedInt(input[0]) * 256 + Byte.toUnsignedInt(input[1]),
+                    UnsignedNumericDecoder.decodeFromTwoBytes(input, 0));
+            assertEquals(Byte.toUnsignedInt(input[0]) * 256 * 256 + Byte.toUnsignedInt(input[1]) * 256 +
+                    Byte.toUnsignedInt(input[2]), UnsignedNumericDecoder.decodeFromThreeBytes(input, 0));
+            assertEquals(Byte.toUnsignedInt(input[0]) * 256 * 256 * 256 + Byte.toUnsignedInt(input[1]) * 256 * 256 +
+                    Byte.toUnsignedInt(input[2]) * 256 + Byte.toUnsignedInt(input[3]),
+                    UnsignedNumericDecoder.decodeFromFourBytes(input, 0));
+            assertEquals(input[0] * 256 + Byte.toUnsignedInt(input[1]),
+                    TwoComplementDecoder.decodeFromTwoBytes(input, 0));
+            assertEquals(input[0] * 256 * 256 + Byte.toUnsignedInt(input[1]) * 256 + Byte.toUnsignedInt(input[2]),
+                    TwoComplementDecoder.decodeFromThreeBytes(input, 0));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_width_is_greater_than_64_bits_should_throw() {
+        //arrange
+        byte[] input = new byte[16];
+
+        //act
+        BitReader.readUnsigned(input, 0, 0, 65);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.common;
+
+import jlg.jade.common.LongIntHashMap;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongIntHashMapTest {
+    @Test
+    public void when_key_is_not_present_should_return_zero() {
+        //arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        //act
+        int value = map.get(42);
+
+        //assert
+        assertEquals(0, value);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void when_many_keys_are_added_should_grow_and_keep_values() {
+        //arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        //act
+        for (long key = 0; key < 10000; key++) {
+            map.put(key << 24, (int) key);
+            map.increment(key << 24);
+        }
+
+        //assert
+        assertEquals(10000, map.size());
+        for (long key = 0; key < 10000; key++) {
+            assertEquals((int) key + 1, map.get(key << 24));
+        }
+    }
+
+    @Test
+    public void when_map_is_cleared_should_forget_all_keys() {
+        //arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+        map.increment(1);
+        map.increment(1);
+
+        //act
+        map.clear();
+
+        //assert
+        assertEquals(0, map.size());
+        assertEquals(1, map.increment(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_key_is_negative_should_throw() {
+        //arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        //act
+        map.put(-5, 1);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.metrics.JfrEvents;
+import jlg.jade.pipeline.AsterixPipeline;
+import jlg.jade.pipeline.FinalFrameFileSource;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FlightRecorderEventsTest {
+    private static final String DECODE_EVENT = "jlg.jade.AsterixDecode";
+    private static final String DATA_BLOCK_EVENT = "jlg.jade.DataBlockDecode";
+    private static final String QUEUE_WAIT_EVENT = "jlg.jade.QueueWait";
+
+    @Test
+    public void when_events_are_enabled_decoding_should_emit_decode_and_data_block_events() throws IOException {
+        //arrange
+        byte[] payload = TestHelper.readFinalFramePayloads("final_frame_cat062_one_packet.ff").get(0);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+        int nbRecords;
+
+        //act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(DECODE_EVENT);
+            recording.enable(DATA_BLOCK_EVENT);
+            recording.start();
+            nbRecords = decoder.decode(payload, 0, payload.length).get(0).getRecords().size();
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        //assert
+        List<RecordedEvent> decodeEvents = ofType(events, DECODE_EVENT);
+        List<RecordedEvent> dataBlockEvents = ofType(events, DATA_BLOCK_EVENT);
+        assertEquals(1, decodeEvents.size());
+        assertEquals(62, decodeEvents.get(0).getInt("category"));
+        assertEquals(payload.length, decodeEvents.get(0).getInt("byteLength"));
+        assertEquals(nbRecords, decodeEvents.get(0).getInt("nbRecords"));
+        assertEquals(0, decodeEvents.get(0).getInt("nbInvalidRecords"));
+        assertEquals(1, dataBlockEvents.size());
+        assertEquals(62, dataBlockEvents.get(0).getInt("category"));
+        assertEquals(nbRecords, dataBlockEvents.get(0).getInt("nbRecords"));
+    }
+
+    @Test
+    public void when_events_are_enabled_pipeline_lanes_should_emit_queue_wait_events()
+            throws IOException, InterruptedException {
+        //arrange
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_cat062_one_packet.ff").getPath()))
+                .categories(4, 62)
+                .priorityLane(4)
+                .sink((datagram, dataBlocks) -> {
+                })
+                .build();
+
+        //act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(QUEUE_WAIT_EVENT);
+            recording.start();
+            pipeline.start();
+            pipeline.awaitSources(10000);
+            pipeline.shutdown(10000);
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        //assert
+        List<RecordedEvent> queueWaitEvents = ofType(events, QUEUE_WAIT_EVENT);
+        assertEquals(1, queueWaitEvents.size());
+        assertEquals("BULK", queueWaitEvents.get(0).getString("queue"));
+        assertEquals(62, queueWaitEvents.get(0).getInt("category"));
+    }
+
+    @Test
+    public void events_should_be_disabled_by_default() throws IOException {
+        //arrange
+        byte[] payload = TestHelper.readFinalFramePayloads("final_frame_cat062_one_packet.ff").get(0);
+        AsterixDecoder decoder = new AsterixDecoder(62);
+
+        //act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            decoder.decode(payload, 0, payload.length);
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        //assert
+        assertTrue(events.stream().noneMatch(e -> e.getEventType().getName().startsWith("jlg.jade")));
+    }
+
+    @Test
+    public void when_flight_recorder_is_missing_null_events_should_be_ignored() {
+        //arrange
+        Object event = null;
+
+        //act
+        boolean shouldCommit = JfrEvents.shouldCommit(event);
+        JfrEvents.commitAsterixDecode(event, 62, 100, 1, 10, 0);
+        JfrEvents.commitDataBlockDecode(event, 62, 100, 10, 0);
+
+        //assert
+        assertTrue(JfrEvents.isAvailable());
+        assertFalse(shouldCommit);
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("jade", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.metrics;
+
+import jlg.jade.metrics.HistogramSnapshot;
+import jlg.jade.metrics.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+    private static final long TEN_SECONDS = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void percentiles_should_be_within_the_precision_of_the_histogram() {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+
+        //act
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 1000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        //assert
+        assertEquals(100000, snapshot.getTotalCount());
+        assertWithinPrecision(50000000, snapshot.getValueAtPercentile(50));
+        assertWithinPrecision(99000000, snapshot.getValueAtPercentile(99));
+        assertWithinPrecision(99900000, snapshot.getValueAtPercentile(99.9));
+        assertWithinPrecision(100000000, snapshot.getMax());
+        assertWithinPrecision(1000, snapshot.getMin());
+        assertWithinPrecision(50000500, (long) snapshot.getMean());
+    }
+
+    @Test
+    public void small_values_should_be_recorded_exactly() {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+
+        //act
+        histogram.record(0);
+        histogram.record(7);
+        histogram.record(127);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        //assert
+        assertEquals(0, snapshot.getMin());
+        assertEquals(7, snapshot.getValueAtPercentile(50));
+        assertEquals(127, snapshot.getMax());
+    }
+
+    @Test
+    public void values_out_of_range_should_be_counted_at_the_limits() {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+
+        //act
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        //assert
+        assertEquals(2, snapshot.getTotalCount());
+        assertEquals(0, snapshot.getMin());
+        assertWithinPrecision(TEN_SECONDS, snapshot.getMax());
+    }
+
+    @Test
+    public void interval_snapshot_should_contain_only_values_recorded_since_the_previous_interval() {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+        histogram.record(1000);
+        histogram.record(2000);
+
+        //act
+        HistogramSnapshot first = histogram.intervalSnapshot();
+        histogram.record(500000);
+        HistogramSnapshot second = histogram.intervalSnapshot();
+        HistogramSnapshot third = histogram.intervalSnapshot();
+
+        //assert
+        assertEquals(2, first.getTotalCount());
+        assertEquals(1, second.getTotalCount());
+        assertWithinPrecision(500000, second.getMin());
+        assertEquals(0, third.getTotalCount());
+        assertEquals(3, histogram.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void reset_should_remove_all_values() {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+        histogram.record(1000);
+        histogram.intervalSnapshot();
+
+        //act
+        histogram.reset();
+        histogram.record(3000);
+
+        //assert
+        assertEquals(1, histogram.snapshot().getTotalCount());
+        assertEquals(1, histogram.intervalSnapshot().getTotalCount());
+    }
+
+    @Test
+    public void recording_from_several_threads_should_not_lose_values() throws InterruptedException {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (int value = 0; value < 100000; value++) {
+                    histogram.record(value);
+                }
+            }));
+        }
+
+        //act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //assert
+        assertEquals(400000, histogram.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void histogram_memory_should_be_fixed_by_the_highest_trackable_value() {
+        //arrange
+        LatencyHistogram histogram = new LatencyHistogram(TEN_SECONDS);
+
+        //act
+        int nbBuckets = histogram.getNbBuckets();
+
+        //assert
+        assertTrue(nbBuckets < 2000);
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue("Expected " + expected + " but was " + actual,
+                Math.abs(expected - actual) <= expected / 64 + 1);
+    }
+}
@@ -0,0 +1,435 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.pipeline.AsterixPipeline;
+import jlg.jade.pipeline.DataBlockSink;
+import jlg.jade.pipeline.DatagramSource;
+import jlg.jade.pipeline.FinalFrameFileSource;
+import jlg.jade.pipeline.Lane;
+import jlg.jade.pipeline.LaneMetrics;
+import jlg.jade.pipeline.LatencyStage;
+import jlg.jade.pipeline.PipelineLatencyMetrics;
+import jlg.jade.pipeline.PipelineStage;
+import jlg.jade.pipeline.RawDatagram;
+import jlg.jade.pipeline.TcpDatagramSource;
+import jlg.jade.pipeline.UdpDatagramSource;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsterixPipelineTest {
+    private static final byte[] CAT004_BLOCK = {4, 0, 19, (byte) 221, (byte) 129, 64, 48, (byte) 255, 7, 32,
+            (byte) 254, (byte) 128, 0, 84, 0, 20, 55, 29, 65};
+
+    @Test
+    public void when_file_source_is_used_should_decode_all_data_blocks_with_several_workers()
+            throws InterruptedException {
+        //arrange
+        CountingSink sink = new CountingSink();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_062_30min.ff").getPath()))
+                .categories(62)
+                .decodeWorkers(3)
+                .decodeBatchSize(8)
+                .sink(sink)
+                .build();
+
+        //act
+        pipeline.start();
+        boolean sourcesFinished = pipeline.awaitSources(60000);
+        boolean threadsFinished = pipeline.shutdown(60000);
+
+        //assert
+        assertTrue(sourcesFinished);
+        assertTrue(threadsFinished);
+        assertEquals(34957, sink.nbDataBlocks.get());
+        assertEquals(pipeline.getNbReceivedDatagrams(), pipeline.getNbDecodedDatagrams());
+        assertEquals(0, pipeline.getNbDecodingFailures());
+    }
+
+    @Test
+    public void when_stage_filters_records_sinks_should_receive_only_accepted_records()
+            throws InterruptedException {
+        //arrange
+        CountingSink sink = new CountingSink();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_062_30min.ff").getPath()))
+                .categories(62)
+                .stage(PipelineStage.recordFilter(record ->
+                        record.getCat062Record().getItem040().getTrackNb() % 2 == 0))
+                .stage((datagram, dataBlocks) -> {
+                    dataBlocks.forEach(dataBlock -> dataBlock.getRecords().removeIf(record ->
+                            record.getCat062Record().getItem040().getTrackNb() % 4 == 0));
+                    return dataBlocks;
+                })
+                .sink(sink)
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(60000);
+        pipeline.shutdown(60000);
+
+        //assert
+        assertTrue(sink.nbRecords.get() > 0);
+        assertEquals(0, sink.nbRecordsWithOddTrackNb.get() + sink.nbRecordsWithTrackNbMultipleOfFour.get());
+    }
+
+    @Test
+    public void when_stage_or_sink_throws_workers_should_count_the_failure_and_keep_running()
+            throws InterruptedException {
+        //arrange
+        CountingSink sink = new CountingSink();
+        AtomicInteger nbStageCalls = new AtomicInteger();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_062_30min.ff").getPath()))
+                .categories(62)
+                .decodeWorkers(2)
+                .stage((datagram, dataBlocks) -> {
+                    if (nbStageCalls.incrementAndGet() % 10 == 0) {
+                        throw new IllegalStateException("stage failure");
+                    }
+                    return dataBlocks;
+                })
+                .sink((datagram, dataBlocks) -> {
+                    throw new IllegalStateException("sink failure");
+                })
+                .sink(sink)
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(60000);
+        boolean threadsFinished = pipeline.shutdown(60000);
+
+        //assert
+        int nbStageFailures = nbStageCalls.get() / 10;
+        assertTrue(threadsFinished);
+        assertEquals(pipeline.getNbReceivedDatagrams(), nbStageCalls.get());
+        assertEquals(nbStageCalls.get() - nbStageFailures, sink.nbDatagrams.get());
+        assertEquals(nbStageCalls.get(), pipeline.getNbProcessingFailures());
+    }
+
+    @Test
+    public void when_async_sink_is_used_should_deliver_all_data_before_shutdown_returns()
+            throws InterruptedException {
+        //arrange
+        CountingSink sink = new CountingSink();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_062_30min.ff").getPath()))
+                .categories(62)
+                .asyncSink(sink, 100, 50)
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(60000);
+        pipeline.shutdown(60000);
+
+        //assert
+        assertEquals(34957, sink.nbDataBlocks.get());
+        assertTrue(sink.nbBatches.get() > 0);
+        assertTrue(sink.nbBatches.get() <= sink.nbDatagrams.get());
+    }
+
+    @Test
+    public void when_tcp_source_is_used_should_split_stream_on_data_blocks() throws Exception {
+        //arrange
+        CountingSink sink = new CountingSink();
+        try (ServerSocket server = new ServerSocket(0)) {
+            AsterixPipeline pipeline = AsterixPipeline.builder()
+                    .source(new TcpDatagramSource("localhost", server.getLocalPort()))
+                    .categories(4)
+                    .sink(sink)
+                    .build();
+
+            //act
+            pipeline.start();
+            try (Socket client = server.accept()) {
+                OutputStream os = client.getOutputStream();
+                for (int i = 0; i < 10; i++) {
+                    //send each data block in two parts
+                    os.write(CAT004_BLOCK, 0, 5);
+                    os.flush();
+                    os.write(CAT004_BLOCK, 5, CAT004_BLOCK.length - 5);
+                }
+                os.flush();
+            }
+            pipeline.awaitSources(10000);
+            pipeline.shutdown(10000);
+        }
+
+        //assert
+        assertEquals(10, sink.nbDatagrams.get());
+        assertEquals(10, sink.nbDataBlocks.get());
+    }
+
+    @Test
+    public void when_udp_source_is_used_should_decode_received_datagrams() throws Exception {
+        //arrange
+        int port;
+        try (DatagramSocket freePort = new DatagramSocket(0)) {
+            port = freePort.getLocalPort();
+        }
+        CountDownLatch received = new CountDownLatch(5);
+        DataBlockSink sink = (datagram, dataBlocks) -> received.countDown();
+        DatagramSource source = new UdpDatagramSource(port);
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(source)
+                .categories(4)
+                .sink(sink)
+                .build();
+        pipeline.start();
+
+        //act
+        try (DatagramSocket sender = new DatagramSocket()) {
+            for (int i = 0; i < 50 && received.getCount() > 0; i++) {
+                sender.send(new DatagramPacket(CAT004_BLOCK, CAT004_BLOCK.length,
+                        InetAddress.getLoopbackAddress(), port));
+                Thread.sleep(20);
+            }
+        }
+        boolean allReceived = received.await(5, TimeUnit.SECONDS);
+        boolean threadsFinished = pipeline.shutdown(5000);
+
+        //assert
+        assertTrue(allReceived);
+        assertTrue(threadsFinished);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_no_sink_is_configured_build_should_throw() {
+        //arrange
+        AsterixPipeline.builder()
+                .source(new FinalFrameFileSource("unused.ff"))
+                .categories(62)
+                .build();
+    }
+
+    @Test
+    public void latency_of_each_stage_should_be_measured_by_source_and_category() throws InterruptedException {
+        //arrange
+        CountingSink sink = new CountingSink();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_062_065_large_packet_30min.ff").getPath()))
+                .categories(62, 65)
+                .sink(sink)
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(60000);
+        pipeline.shutdown(60000);
+
+        //assert
+        PipelineLatencyMetrics metrics = pipeline.getLatencyMetrics();
+        long nbDatagrams = pipeline.getNbReceivedDatagrams();
+        assertEquals(nbDatagrams, metrics.getHistogram(LatencyStage.RECEIVE).snapshot().getTotalCount());
+        assertEquals(nbDatagrams, metrics.getHistogram(LatencyStage.DECODE).snapshot().getTotalCount());
+        assertEquals(sink.nbDatagrams.get(), metrics.getHistogram(LatencyStage.TOTAL).snapshot().getTotalCount());
+        assertTrue(metrics.getHistogram(LatencyStage.DECODE, 0, 62).snapshot().getTotalCount() > 0);
+        assertTrue(metrics.getHistogram(LatencyStage.DECODE, 0, 65).snapshot().getTotalCount() > 0);
+        assertNull(metrics.getHistogram(LatencyStage.DECODE, 0, 48));
+        assertTrue(metrics.toDebugString().contains("Cat065"));
+    }
+
+    @Test
+    public void when_latency_metrics_are_disabled_pipeline_should_not_measure_latency() {
+        //arrange
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource("any.ff"))
+                .categories(62)
+                .latencyMetrics(false)
+                .sink(new CountingSink())
+                .build();
+
+        //act
+        PipelineLatencyMetrics metrics = pipeline.getLatencyMetrics();
+
+        //assert
+        assertNull(metrics);
+    }
+
+    @Test
+    public void when_priority_lane_is_used_alerts_and_tracks_should_be_decoded_on_their_own_lanes()
+            throws InterruptedException {
+        //arrange
+        List<byte[]> cat062Payloads = TestHelper.readFinalFramePayloads("final_frame_062_one_packet_sample2.FF");
+        List<byte[]> payloads = new ArrayList<>(cat062Payloads);
+        payloads.add(CAT004_BLOCK);
+        Map<Integer, AtomicInteger> decodedBlocks = new ConcurrentHashMap<>();
+        Map<Integer, String> decodingThreads = new ConcurrentHashMap<>();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new PayloadListSource(payloads))
+                .categories(4, 62)
+                .priorityLane(4)
+                .sink((datagram, dataBlocks) -> {
+                    for (AsterixDataBlock dataBlock : dataBlocks) {
+                        decodedBlocks.computeIfAbsent(dataBlock.getCategory(), c -> new AtomicInteger())
+                                .incrementAndGet();
+                        decodingThreads.put(dataBlock.getCategory(), Thread.currentThread().getName());
+                    }
+                })
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(10000);
+        boolean threadsFinished = pipeline.shutdown(10000);
+
+        //assert
+        assertTrue(threadsFinished);
+        assertEquals(1, decodedBlocks.get(4).get());
+        assertEquals(cat062Payloads.size(), decodedBlocks.get(62).get());
+        assertEquals("jade-alert-lane", decodingThreads.get(4));
+        assertEquals("jade-decode-0", decodingThreads.get(62));
+        assertEquals(1, pipeline.getLaneMetrics(Lane.ALERT).getNbDatagrams());
+        assertEquals(cat062Payloads.size(), pipeline.getLaneMetrics(Lane.BULK).getNbDatagrams());
+        assertEquals(0, pipeline.getLaneMetrics(Lane.ALERT).getNbDecodingFailures());
+    }
+
+    @Test
+    public void when_cat062_floods_the_pipeline_cat004_lane_latency_should_stay_bounded()
+            throws InterruptedException {
+        //arrange
+        byte[] cat062Payload = TestHelper.readFinalFramePayloads("final_frame_cat062_one_packet.ff").get(0);
+        List<byte[]> payloads = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            payloads.add(i % 100 == 50 ? CAT004_BLOCK : cat062Payload);
+        }
+        //load the decoding classes, so the first alert does not measure class loading
+        new AsterixDecoder(4, 62).decode(CAT004_BLOCK, 0, CAT004_BLOCK.length);
+        new AsterixDecoder(4, 62).decode(cat062Payload, 0, cat062Payload.length);
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new PayloadListSource(payloads))
+                .categories(4, 62)
+                .priorityLane(4)
+                .stage((datagram, dataBlocks) -> {
+                    //slow track processing: the Cat062 datagrams pile up in the decoding queue
+                    if (datagram.getFirstCategory() == 62) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(500));
+                    }
+                    return dataBlocks;
+                })
+                .sink(new CountingSink())
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(10000);
+        boolean threadsFinished = pipeline.shutdown(60000);
+
+        //assert
+        LaneMetrics alertLane = pipeline.getLaneMetrics(Lane.ALERT);
+        LaneMetrics bulkLane = pipeline.getLaneMetrics(Lane.BULK);
+        assertTrue(threadsFinished);
+        assertEquals(20, alertLane.getNbDatagrams());
+        assertEquals(1980, bulkLane.getNbDatagrams());
+        //the last Cat062 datagrams wait for the whole backlog (about one second), the alerts do not
+        assertTrue(bulkLane.getMaxLatencyNanos() > TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(alertLane.getMaxLatencyNanos() * 10 < bulkLane.getMaxLatencyNanos());
+    }
+
+    @Test
+    public void when_no_priority_lane_is_configured_lane_metrics_should_be_null() {
+        //arrange
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource("any.ff"))
+                .categories(62)
+                .sink(new CountingSink())
+                .build();
+
+        //act
+        LaneMetrics alertLane = pipeline.getLaneMetrics(Lane.ALERT);
+
+        //assert
+        assertNull(alertLane);
+    }
+
+    /**
+     * Emits the given payloads, one datagram each
+     */
+    private static class PayloadListSource implements DatagramSource {
+        private final List<byte[]> payloads;
+
+        private PayloadListSource(List<byte[]> payloads) {
+            this.payloads = payloads;
+        }
+
+        @Override
+        public void read(DatagramConsumer consumer) throws InterruptedException {
+            for (byte[] payload : payloads) {
+                consumer.accept(new RawDatagram(payload));
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "payloads";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class CountingSink implements DataBlockSink {
+        private final AtomicInteger nbDatagrams = new AtomicInteger();
+        private final AtomicInteger nbDataBlocks = new AtomicInteger();
+        private final AtomicInteger nbRecords = new AtomicInteger();
+        private final AtomicInteger nbBatches = new AtomicInteger();
+        private final AtomicInteger nbRecordsWithOddTrackNb = new AtomicInteger();
+        private final AtomicInteger nbRecordsWithTrackNbMultipleOfFour = new AtomicInteger();
+
+        @Override
+        public void onDataBlocks(RawDatagram datagram, List<AsterixDataBlock> dataBlocks) {
+            nbDatagrams.incrementAndGet();
+            nbDataBlocks.addAndGet(dataBlocks.size());
+            dataBlocks.forEach(dataBlock -> dataBlock.getRecords().forEach(record -> {
+                nbRecords.incrementAndGet();
+                if (record.getCategory() == 62) {
+                    int trackNb = record.getCat062Record().getItem040().getTrackNb();
+                    if (trackNb % 2 != 0) {
+                        nbRecordsWithOddTrackNb.incrementAndGet();
+                    } else if (trackNb % 4 == 0) {
+                        nbRecordsWithTrackNbMultipleOfFour.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            nbBatches.incrementAndGet();
+        }
+    }
+}
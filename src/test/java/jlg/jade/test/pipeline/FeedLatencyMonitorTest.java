@@ -0,0 +1,139 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.asterix.AsterixDataBlock;
+import jlg.jade.asterix.AsterixDecoder;
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.pipeline.AsterixPipeline;
+import jlg.jade.pipeline.DataAgeStatistics;
+import jlg.jade.pipeline.FeedLatencyMonitor;
+import jlg.jade.pipeline.FinalFrameFileSource;
+import jlg.jade.test.utils.TestHelper;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FeedLatencyMonitorTest {
+    private static final long MIDNIGHT = LocalDateTime.of(2026, 10, 19, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long ONE_HOUR = 3600 * 1000;
+
+    @Test
+    public void data_age_should_be_the_difference_between_receive_time_and_time_of_day() {
+        //arrange
+        long receiveTime = MIDNIGHT + 10 * ONE_HOUR + 500;
+        int asterixTime = 10 * 3600 * 128;
+
+        //act
+        long age = FeedLatencyMonitor.dataAgeMillis(receiveTime, asterixTime);
+
+        //assert
+        assertEquals(500, age);
+    }
+
+    @Test
+    public void data_age_should_handle_midnight_rollover() {
+        //arrange
+        int justBeforeMidnight = 24 * 3600 * 128 - 13;     //23:59:59.898
+        int justAfterMidnight = 13;                         //00:00:00.101
+
+        //act
+        long ageAfterRollover = FeedLatencyMonitor.dataAgeMillis(MIDNIGHT + 100, justBeforeMidnight);
+        long ageOfFutureRecord = FeedLatencyMonitor.dataAgeMillis(MIDNIGHT - 100, justAfterMidnight);
+
+        //assert
+        assertEquals(202, ageAfterRollover);
+        assertEquals(-201, ageOfFutureRecord);
+    }
+
+    @Test
+    public void statistics_should_compute_mean_deviation_jitter_and_extremes() {
+        //arrange
+        DataAgeStatistics statistics = new DataAgeStatistics(62, 1, 2);
+
+        //act
+        statistics.record(100);
+        statistics.record(300);
+        statistics.record(200);
+        statistics.record(-40);
+
+        //assert
+        assertEquals(4, statistics.getNbRecords());
+        assertEquals(1, statistics.getNbNegativeAges());
+        assertEquals(-40, statistics.getMinAgeMillis());
+        assertEquals(300, statistics.getMaxAgeMillis());
+        assertEquals(140, statistics.getMeanAgeMillis(), 0.001);
+        assertEquals(145.144, statistics.getStandardDeviationMillis(), 0.001);
+        //jitter: 200/16 = 12.5, then 12.5 + (100 - 12.5)/16 = 17.97, then 17.97 + (240 - 17.97)/16
+        assertEquals(31.846, statistics.getJitterMillis(), 0.001);
+        assertTrue(statistics.getAgeDistribution().getValueAtPercentile(50) >= 100);
+    }
+
+    @Test
+    public void monitor_should_keep_statistics_for_each_source() {
+        //arrange
+        FeedLatencyMonitor monitor = new FeedLatencyMonitor();
+        AsterixDecoder decoder = new AsterixDecoder(62, 65);
+        int nbRecords = 0;
+
+        //act
+        for (byte[] payload : TestHelper.readFinalFramePayloads("final_frame_062_065_large_packet_30min.ff")) {
+            for (AsterixDataBlock dataBlock : decoder.decode(payload, 0, payload.length)) {
+                for (AsterixRecord record : dataBlock.getRecords()) {
+                    //received 1.5 seconds after the time of day of the record
+                    int time = record.getCategory() == 62 ?
+                            record.getCat062Record().getItem070().getTime() :
+                            record.getCat065Record().getItem030().getTime();
+                    monitor.record(record, MIDNIGHT + time * 1000L / 128 + 1500);
+                    nbRecords++;
+                }
+            }
+        }
+
+        //assert
+        long nbMeasuredRecords = monitor.getAllStatistics().stream().mapToLong(DataAgeStatistics::getNbRecords).sum();
+        assertEquals(nbRecords, nbMeasuredRecords + monitor.getNbIgnoredRecords());
+        assertTrue(monitor.getAllStatistics().stream().anyMatch(s -> s.getCategory() == 65));
+        for (DataAgeStatistics statistics : monitor.getAllStatistics()) {
+            assertEquals(1500, statistics.getMeanAgeMillis(), 0.001);
+            assertEquals(0, statistics.getJitterMillis(), 0.001);
+        }
+        assertNull(monitor.getStatistics(48, 1, 1));
+        assertTrue(monitor.toDebugString().contains("Cat062"));
+    }
+
+    @Test
+    public void monitor_should_measure_data_age_as_a_pipeline_sink() throws InterruptedException {
+        //arrange
+        FeedLatencyMonitor monitor = new FeedLatencyMonitor();
+        AsterixPipeline pipeline = AsterixPipeline.builder()
+                .source(new FinalFrameFileSource(
+                        TestHelper.getFileFromResource("final_frame_cat062_one_packet.ff").getPath()))
+                .categories(62)
+                .sink(monitor)
+                .build();
+
+        //act
+        pipeline.start();
+        pipeline.awaitSources(60000);
+        pipeline.shutdown(60000);
+
+        //assert
+        assertEquals(1, monitor.getAllStatistics().size());
+        DataAgeStatistics statistics = monitor.getAllStatistics().get(0);
+        assertNotNull(monitor.getStatistics(62, statistics.getSac(), statistics.getSic()));
+        assertTrue(statistics.getNbRecords() > 0);
+
+        monitor.reset();
+        assertEquals(0, statistics.getNbRecords());
+    }
+}
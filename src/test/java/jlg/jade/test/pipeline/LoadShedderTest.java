@@ -0,0 +1,182 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.pipeline.LoadShedder;
+import jlg.jade.pipeline.LoadSheddingPolicy;
+import jlg.jade.pipeline.OverloadLevel;
+import jlg.jade.pipeline.RawDatagram;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LoadShedderTest {
+    private static final byte[] CAT004_BLOCK = {4, 0, 19, (byte) 221, (byte) 129, 64, 48, (byte) 255, 7, 32,
+            (byte) 254, (byte) 128, 0, 84, 0, 20, 55, 29, 65};
+
+    @Test
+    public void when_level_is_none_should_keep_datagram() {
+        //arrange
+        LoadShedder shedder = new LoadShedder(new LoadSheddingPolicy());
+        RawDatagram datagram = new RawDatagram(cat048Block(1, 2));
+
+        //act
+        RawDatagram result = shedder.shed(datagram, OverloadLevel.NONE);
+
+        //assert
+        assertSame(datagram, result);
+    }
+
+    @Test
+    public void when_level_is_elevated_should_drop_cat048_from_chosen_sources_only() {
+        //arrange
+        LoadSheddingPolicy policy = new LoadSheddingPolicy().withCat048SourceToDropFirst(1, 2);
+        LoadShedder shedder = new LoadShedder(policy);
+        byte[] data = concat(cat048Block(1, 2), cat048Block(3, 4));
+
+        //act
+        RawDatagram result = shedder.shed(new RawDatagram(data), OverloadLevel.ELEVATED);
+
+        //assert
+        assertArrayEquals(cat048Block(3, 4), result.getData());
+        assertEquals(1, shedder.getStatistics().getShedDataBlocks(48));
+    }
+
+    @Test
+    public void when_level_is_critical_should_drop_all_cat048_and_keep_cat004() {
+        //arrange
+        LoadShedder shedder = new LoadShedder(new LoadSheddingPolicy());
+        byte[] data = concat(cat048Block(1, 2), CAT004_BLOCK, cat048Block(3, 4));
+
+        //act
+        RawDatagram result = shedder.shed(new RawDatagram(data), OverloadLevel.CRITICAL);
+
+        //assert
+        assertArrayEquals(CAT004_BLOCK, result.getData());
+        assertEquals(2, shedder.getStatistics().getShedDataBlocks(48));
+    }
+
+    @Test
+    public void when_everything_is_shed_should_return_null() {
+        //arrange
+        LoadShedder shedder = new LoadShedder(new LoadSheddingPolicy());
+
+        //act
+        RawDatagram result = shedder.shed(new RawDatagram(cat048Block(1, 2)), OverloadLevel.CRITICAL);
+
+        //assert
+        assertNull(result);
+    }
+
+    @Test
+    public void when_level_is_critical_should_keep_one_cat062_update_out_of_n_per_track() {
+        //arrange
+        LoadSheddingPolicy policy = new LoadSheddingPolicy().withCat062SamplingRate(2);
+        LoadShedder shedder = new LoadShedder(policy);
+        byte[] first = cat062Block(10, 20);
+        byte[] second = cat062Block(10, 21);
+
+        //act
+        RawDatagram firstResult = shedder.shed(new RawDatagram(first), OverloadLevel.CRITICAL);
+        RawDatagram secondResult = shedder.shed(new RawDatagram(second), OverloadLevel.CRITICAL);
+
+        //assert
+        assertArrayEquals(first, firstResult.getData());
+        assertArrayEquals(cat062Block(21), secondResult.getData());
+        assertEquals(1, shedder.getStatistics().getShedRecords(62));
+        assertEquals(0, shedder.getStatistics().getShedDataBlocks(62));
+    }
+
+    @Test
+    public void when_cat062_block_can_not_be_walked_should_keep_it() {
+        //arrange
+        LoadShedder shedder = new LoadShedder(new LoadSheddingPolicy());
+        //fspec announces I062/010 but the data is truncated
+        byte[] data = {62, 0, 5, (byte) 128, 1};
+
+        //act
+        RawDatagram result = shedder.shed(new RawDatagram(data), OverloadLevel.CRITICAL);
+
+        //assert
+        assertArrayEquals(data, result.getData());
+    }
+
+    @Test
+    public void when_category_is_protected_should_never_shed_it() {
+        //arrange
+        LoadSheddingPolicy policy = new LoadSheddingPolicy().withProtectedCategory(48, true);
+        LoadShedder shedder = new LoadShedder(policy);
+        byte[] data = cat048Block(1, 2);
+
+        //act
+        RawDatagram result = shedder.shed(new RawDatagram(data), OverloadLevel.CRITICAL);
+
+        //assert
+        assertArrayEquals(data, result.getData());
+    }
+
+    @Test
+    public void when_policy_is_updated_should_apply_the_new_policy_without_changing_the_old_one() {
+        //arrange
+        LoadSheddingPolicy initialPolicy = new LoadSheddingPolicy();
+        LoadShedder shedder = new LoadShedder(initialPolicy);
+        byte[] data = cat048Block(1, 2);
+
+        //act
+        shedder.updatePolicy(policy -> policy.withProtectedCategory(48, true));
+        RawDatagram result = shedder.shed(new RawDatagram(data), OverloadLevel.CRITICAL);
+
+        //assert
+        assertArrayEquals(data, result.getData());
+        assertTrue(shedder.getPolicy().isProtectedCategory(48));
+        assertFalse(initialPolicy.isProtectedCategory(48));
+    }
+
+    /**
+     * Cat048 data block with a single record containing only I048/010
+     */
+    static byte[] cat048Block(int sac, int sic) {
+        return new byte[]{48, 0, 6, (byte) 128, (byte) sac, (byte) sic};
+    }
+
+    /**
+     * Cat062 data block with one record (I062/010 SAC 1 SIC 2 and I062/040) per track number
+     */
+    static byte[] cat062Block(int... trackNbs) {
+        byte[] block = new byte[3 + trackNbs.length * 6];
+        block[0] = 62;
+        block[2] = (byte) block.length;
+        for (int i = 0; i < trackNbs.length; i++) {
+            int offset = 3 + i * 6;
+            block[offset] = (byte) 129;
+            block[offset + 1] = 8;
+            block[offset + 2] = 1;
+            block[offset + 3] = 2;
+            block[offset + 4] = (byte) (trackNbs[i] >> 8);
+            block[offset + 5] = (byte) trackNbs[i];
+        }
+        return block;
+    }
+
+    static byte[] concat(byte[]... blocks) {
+        int length = 0;
+        for (byte[] block : blocks) {
+            length += block.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] block : blocks) {
+            System.arraycopy(block, 0, result, offset, block.length);
+            offset += block.length;
+        }
+        return result;
+    }
+}
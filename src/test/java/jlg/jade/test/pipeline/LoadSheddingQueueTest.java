@@ -0,0 +1,88 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.pipeline.LoadSheddingPolicy;
+import jlg.jade.pipeline.LoadSheddingQueue;
+import jlg.jade.pipeline.OverloadLevel;
+import jlg.jade.pipeline.RawDatagram;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LoadSheddingQueueTest {
+    @Test
+    public void when_queue_fills_up_overload_level_should_increase() throws InterruptedException {
+        //arrange
+        LoadSheddingQueue sheddingQueue = new LoadSheddingQueue(new ArrayBlockingQueue<>(10), 10,
+                new LoadSheddingPolicy());
+
+        //act
+        for (int i = 0; i < 6; i++) {
+            sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat062Block(i)));
+        }
+        OverloadLevel elevated = sheddingQueue.getCurrentLevel();
+        for (int i = 0; i < 3; i++) {
+            sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat062Block(100 + i)));
+        }
+        OverloadLevel critical = sheddingQueue.getCurrentLevel();
+
+        //assert
+        assertEquals(OverloadLevel.ELEVATED, elevated);
+        assertEquals(OverloadLevel.CRITICAL, critical);
+    }
+
+    @Test
+    public void when_queue_is_full_should_drop_unprotected_datagrams_without_blocking() throws InterruptedException {
+        //arrange
+        LoadSheddingPolicy policy = new LoadSheddingPolicy().withCat062SamplingRate(1);
+        LoadSheddingQueue sheddingQueue = new LoadSheddingQueue(new ArrayBlockingQueue<>(2), 2, policy);
+        sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat062Block(1)));
+        sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat062Block(2)));
+
+        //act
+        boolean queued = sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat062Block(3)));
+
+        //assert
+        assertFalse(queued);
+        assertEquals(1, sheddingQueue.getStatistics().getDroppedDatagrams());
+        assertEquals(2, sheddingQueue.getQueue().size());
+    }
+
+    @Test
+    public void when_datagram_is_shed_completely_should_not_be_queued() throws InterruptedException {
+        //arrange
+        LoadSheddingQueue sheddingQueue = new LoadSheddingQueue(new ArrayBlockingQueue<>(1), 1,
+                new LoadSheddingPolicy());
+        sheddingQueue.getQueue().put(new RawDatagram(LoadShedderTest.cat062Block(1)));
+
+        //act
+        boolean queued = sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat048Block(1, 2)));
+
+        //assert
+        assertFalse(queued);
+        assertEquals(1, sheddingQueue.getStatistics().getShedDataBlocks(48));
+        assertEquals(0, sheddingQueue.getStatistics().getDroppedDatagrams());
+    }
+
+    @Test
+    public void when_queue_has_room_should_queue_datagram() throws InterruptedException {
+        //arrange
+        LoadSheddingQueue sheddingQueue = new LoadSheddingQueue(new ArrayBlockingQueue<>(10), 10,
+                new LoadSheddingPolicy());
+
+        //act
+        boolean queued = sheddingQueue.offer(new RawDatagram(LoadShedderTest.cat048Block(1, 2)));
+
+        //assert
+        assertTrue(queued);
+        assertEquals(OverloadLevel.NONE, sheddingQueue.getCurrentLevel());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.pipeline.LatencyStage;
+import jlg.jade.pipeline.PipelineLatencyMetrics;
+import jlg.jade.pipeline.RawDatagram;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static jlg.jade.test.pipeline.LoadShedderTest.cat048Block;
+import static jlg.jade.test.pipeline.LoadShedderTest.cat062Block;
+import static jlg.jade.test.pipeline.LoadShedderTest.concat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PipelineLatencyMetricsTest {
+
+    @Test
+    public void datagram_should_be_counted_once_for_each_category_it_contains() {
+        //arrange
+        PipelineLatencyMetrics metrics = new PipelineLatencyMetrics(Arrays.asList("udp"),
+                PipelineLatencyMetrics.DEFAULT_HIGHEST_TRACKABLE_NANOS);
+        RawDatagram datagram = new RawDatagram(concat(cat062Block(1), cat048Block(1, 2), cat062Block(2)));
+
+        //act
+        metrics.record(LatencyStage.DECODE, datagram, 20000);
+
+        //assert
+        assertEquals(1, metrics.getHistogram(LatencyStage.DECODE).snapshot().getTotalCount());
+        assertEquals(1, metrics.getHistogram(LatencyStage.DECODE, 0, 62).snapshot().getTotalCount());
+        assertEquals(1, metrics.getHistogram(LatencyStage.DECODE, 0, 48).snapshot().getTotalCount());
+        assertNull(metrics.getHistogram(LatencyStage.TOTAL, 0, 62));
+    }
+
+    @Test
+    public void category_snapshot_should_include_all_sources() {
+        //arrange
+        PipelineLatencyMetrics metrics = new PipelineLatencyMetrics(Arrays.asList("udp", "tcp"),
+                PipelineLatencyMetrics.DEFAULT_HIGHEST_TRACKABLE_NANOS);
+
+        //act
+        metrics.record(LatencyStage.QUEUE, new RawDatagram(cat062Block(1)), 1000);
+        metrics.record(LatencyStage.QUEUE, new RawDatagram(cat062Block(2)), 3000);
+
+        //assert
+        assertEquals(2, metrics.snapshot(LatencyStage.QUEUE, 62).getTotalCount());
+        assertEquals(0, metrics.snapshot(LatencyStage.QUEUE, 48).getTotalCount());
+    }
+
+    @Test
+    public void interval_report_should_contain_only_new_values_and_reset_should_clear_all() {
+        //arrange
+        PipelineLatencyMetrics metrics = new PipelineLatencyMetrics(Arrays.asList("udp"),
+                PipelineLatencyMetrics.DEFAULT_HIGHEST_TRACKABLE_NANOS);
+        metrics.record(LatencyStage.TOTAL, new RawDatagram(cat062Block(1)), 5000000);
+
+        //act
+        String firstInterval = metrics.toIntervalDebugString();
+        String secondInterval = metrics.toIntervalDebugString();
+        metrics.reset();
+
+        //assert
+        assertTrue(firstInterval.contains("Cat062 udp          1 values"));
+        assertTrue(secondInterval.contains("Cat062 udp          0 values"));
+        assertEquals(0, metrics.getHistogram(LatencyStage.TOTAL).snapshot().getTotalCount());
+    }
+}
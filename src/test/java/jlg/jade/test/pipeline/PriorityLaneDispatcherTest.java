@@ -0,0 +1,121 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.pipeline.PriorityLaneDispatcher;
+import jlg.jade.pipeline.RawDatagram;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PriorityLaneDispatcherTest {
+    private static final byte[] CAT004_BLOCK = {4, 0, 5, 1, 2};
+    private static final byte[] CAT062_BLOCK = {62, 0, 4, 9};
+
+    private BlockingQueue<RawDatagram> alertQueue;
+    private BlockingQueue<RawDatagram> bulkQueue;
+    private PriorityLaneDispatcher dispatcher;
+
+    @Before
+    public void init() {
+        alertQueue = new ArrayBlockingQueue<>(10);
+        bulkQueue = new ArrayBlockingQueue<>(10);
+        dispatcher = new PriorityLaneDispatcher(alertQueue, bulkQueue, 4);
+    }
+
+    @Test
+    public void alert_categories_should_be_routed_to_the_alert_lane() throws InterruptedException {
+        // arrange
+        RawDatagram datagram = new RawDatagram(CAT004_BLOCK);
+
+        // act
+        dispatcher.dispatch(datagram);
+
+        // assert
+        assertSame(datagram, alertQueue.poll());
+        assertEquals(0, bulkQueue.size());
+        assertEquals(1, dispatcher.getNbAlertDatagrams());
+    }
+
+    @Test
+    public void other_categories_should_be_routed_to_the_bulk_lane() throws InterruptedException {
+        // arrange
+        RawDatagram datagram = new RawDatagram(CAT062_BLOCK);
+
+        // act
+        dispatcher.dispatch(datagram);
+
+        // assert
+        assertSame(datagram, bulkQueue.poll());
+        assertEquals(0, alertQueue.size());
+        assertEquals(1, dispatcher.getNbBulkDatagrams());
+    }
+
+    @Test
+    public void mixed_datagrams_should_be_split_by_data_block() throws InterruptedException {
+        // arrange
+        byte[] mixed = concat(CAT062_BLOCK, CAT004_BLOCK, CAT062_BLOCK);
+        RawDatagram datagram = new RawDatagram(mixed, 123, 456);
+
+        // act
+        dispatcher.dispatch(datagram);
+
+        // assert
+        RawDatagram alert = alertQueue.poll();
+        RawDatagram bulk = bulkQueue.poll();
+        assertArrayEquals(CAT004_BLOCK, alert.getData());
+        assertArrayEquals(concat(CAT062_BLOCK, CAT062_BLOCK), bulk.getData());
+        assertEquals("Receive time should be kept", 123, alert.getReceiveTimeNanos());
+        assertEquals(456, bulk.getReceiveTimeMillis());
+        assertEquals(1, dispatcher.getNbSplitDatagrams());
+    }
+
+    @Test
+    public void datagrams_with_only_alert_blocks_should_not_be_split() throws InterruptedException {
+        // arrange
+        RawDatagram datagram = new RawDatagram(concat(CAT004_BLOCK, CAT004_BLOCK));
+
+        // act
+        dispatcher.dispatch(datagram);
+
+        // assert
+        assertSame(datagram, alertQueue.poll());
+        assertEquals(0, dispatcher.getNbSplitDatagrams());
+    }
+
+    @Test
+    public void malformed_trailing_data_should_be_kept_in_the_bulk_lane() throws InterruptedException {
+        // arrange
+        byte[] malformed = concat(CAT004_BLOCK, new byte[]{62, 0, 50, 1});
+
+        // act
+        dispatcher.dispatch(new RawDatagram(malformed));
+
+        // assert
+        assertArrayEquals(CAT004_BLOCK, alertQueue.poll().getData());
+        assertArrayEquals(new byte[]{62, 0, 50, 1}, bulkQueue.poll().getData());
+    }
+
+    private static byte[] concat(byte[]... blocks) {
+        int length = 0;
+        for (byte[] block : blocks) {
+            length += block.length;
+        }
+        byte[] result = new byte[length];
+        int index = 0;
+        for (byte[] block : blocks) {
+            System.arraycopy(block, 0, result, index, block.length);
+            index += block.length;
+        }
+        return result;
+    }
+}
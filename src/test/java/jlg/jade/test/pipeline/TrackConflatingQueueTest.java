@@ -0,0 +1,139 @@
+/*
+* This code is the property of JLG Consulting. Please
+* check the license terms for this product to see under what
+* conditions you can use or modify this source code.
+*/
+package jlg.jade.test.pipeline;
+
+import jlg.jade.asterix.AsterixRecord;
+import jlg.jade.asterix.StandardAsterixRecord;
+import jlg.jade.asterix.cat062.Cat062Item010;
+import jlg.jade.asterix.cat062.Cat062Item040;
+import jlg.jade.pipeline.TrackConflatingQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TrackConflatingQueueTest {
+
+    @Test
+    public void drainTo_should_return_only_the_latest_update_of_each_track() {
+        // arrange
+        TrackConflatingQueue queue = new TrackConflatingQueue();
+        AsterixRecord firstUpdate = buildCat062Record(1, 2, 100);
+        AsterixRecord otherTrack = buildCat062Record(1, 2, 200);
+        AsterixRecord lastUpdate = buildCat062Record(1, 2, 100);
+
+        // act
+        queue.offer(firstUpdate);
+        queue.offer(otherTrack);
+        queue.offer(lastUpdate);
+        List<AsterixRecord> drained = new ArrayList<>();
+        int nbDrained = queue.drainTo(drained);
+
+        // assert
+        assertEquals(2, nbDrained);
+        assertSame("Latest update should replace the previous one", lastUpdate, drained.get(0));
+        assertSame(otherTrack, drained.get(1));
+        assertEquals(1, queue.getNbConflatedUpdates());
+        assertEquals(3, queue.getNbOfferedUpdates());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void tracks_with_same_number_from_different_sources_should_not_be_conflated() {
+        // arrange
+        TrackConflatingQueue queue = new TrackConflatingQueue();
+
+        // act
+        queue.offer(buildCat062Record(1, 2, 100));
+        queue.offer(buildCat062Record(1, 3, 100));
+
+        // assert
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.getNbConflatedUpdates());
+    }
+
+    @Test
+    public void offer_should_reject_records_without_track_number() {
+        // arrange
+        TrackConflatingQueue queue = new TrackConflatingQueue();
+        StandardAsterixRecord record = new StandardAsterixRecord(62);
+        record.getCat062Record().setItem010(new Cat062Item010());
+
+        // act
+        boolean result = queue.offer(record);
+
+        // assert
+        assertFalse(result);
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.getNbRejectedUpdates());
+    }
+
+    @Test
+    public void the_queue_should_grow_when_more_tracks_than_expected_are_offered() {
+        // arrange
+        TrackConflatingQueue queue = new TrackConflatingQueue(4);
+
+        // act
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(buildCat062Record(1, 2, i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(buildCat062Record(1, 2, i));
+        }
+        List<AsterixRecord> drained = new ArrayList<>();
+        queue.drainTo(drained);
+
+        // assert
+        assertEquals(1000, drained.size());
+        assertEquals(1000, queue.getNbConflatedUpdates());
+        assertEquals(1000, queue.getNbDrainedUpdates());
+    }
+
+    @Test
+    public void the_queue_should_accept_new_updates_after_drain() {
+        // arrange
+        TrackConflatingQueue queue = new TrackConflatingQueue();
+        queue.offer(buildCat062Record(1, 2, 100));
+        queue.drainTo(new ArrayList<>());
+
+        // act
+        boolean result = queue.offer(buildCat062Record(1, 2, 100));
+
+        // assert
+        assertTrue(result);
+        assertEquals(1, queue.size());
+        assertEquals(0, queue.getNbConflatedUpdates());
+    }
+
+    @Test
+    public void trackKey_should_be_unique_for_each_component() {
+        long key = TrackConflatingQueue.trackKey(62, 1, 2, 100);
+
+        assertNotEquals(key, TrackConflatingQueue.trackKey(48, 1, 2, 100));
+        assertNotEquals(key, TrackConflatingQueue.trackKey(62, 2, 2, 100));
+        assertNotEquals(key, TrackConflatingQueue.trackKey(62, 1, 3, 100));
+        assertNotEquals(key, TrackConflatingQueue.trackKey(62, 1, 2, 101));
+        assertTrue(TrackConflatingQueue.trackKey(255, 255, 255, 65535) > 0);
+    }
+
+    private static AsterixRecord buildCat062Record(int sac, int sic, int trackNb) {
+        StandardAsterixRecord record = new StandardAsterixRecord(62);
+        Cat062Item010 item010 = new Cat062Item010();
+        item010.setSac(sac);
+        item010.setSic(sic);
+        Cat062Item040 item040 = new Cat062Item040();
+        item040.setTrackNb(trackNb);
+        record.getCat062Record().setItem010(item010);
+        record.getCat062Record().setItem040(item040);
+        return record;
+    }
+}
@@ -58,4 +58,23 @@ public class TestHelper {
         }
         return asterixRecords;
     }
+
+    /**
+     * Reads all the Asterix payloads from a Final Frame recording in the test resources
+     */
+    public static List<byte[]> readFinalFramePayloads(String fileName) {
+        List<byte[]> payloads = new ArrayList<>();
+        try (InputStream is = getFileInputStreamFromResource(fileName)) {
+            FinalFrameReader ffReader = new FinalFrameReader();
+            while (is.available() > 0) {
+                byte[] ffPayload = ffReader.read(is);
+                if (ffPayload != null) {
+                    payloads.add(ffPayload);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read test resource " + fileName, e);
+        }
+        return payloads;
+    }
 }